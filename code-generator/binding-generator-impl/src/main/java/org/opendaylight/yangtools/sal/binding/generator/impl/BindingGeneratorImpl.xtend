@@ -13,9 +13,12 @@ import static org.opendaylight.yangtools.binding.generator.util.BindingGenerator
 import static org.opendaylight.yangtools.binding.generator.util.BindingTypes.*;
 import static org.opendaylight.yangtools.yang.model.util.SchemaContextUtil.*;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -198,6 +201,63 @@ public class BindingGeneratorImpl implements BindingGenerator {
         return filteredGenTypes;
     }
 
+    /**
+     * Resolves module contexts for modules specified in <code>modules</code>.
+     *
+     * Unlike {@link #generateTypes(SchemaContext, Set)} only specified modules
+     * and modules they import, directly or transitively, are processed, so the
+     * cost does not grow with the number of unrelated modules in
+     * <code>context</code>.
+     *
+     * @param context
+     *            schema context which contains data about all schema nodes
+     *            saved in modules
+     * @param modules
+     *            set of modules for which module contexts should be resolved
+     * @return map of module contexts of modules in <code>modules</code>
+     * @throws IllegalArgumentException
+     *             <ul>
+     *             <li>if param <code>context</code> is null or</li>
+     *             <li>if param <code>modules</code> is null</li>
+     *             </ul>
+     */
+    def Map<Module, ModuleContext> generateModuleContexts(SchemaContext context, Set<Module> modules) {
+        checkArgument(context !== null, "Schema Context reference cannot be NULL.");
+        checkArgument(modules !== null, "Set of Modules cannot be NULL.");
+
+        schemaContext = context;
+        typeProvider = new TypeProviderImpl(context);
+        val contextModules = ModuleDependencySort.sort(withImportedModules(context, modules));
+        genTypeBuilders = new HashMap();
+
+        for (contextModule : contextModules) {
+            moduleToGenTypes(contextModule, context);
+        }
+        for (contextModule : contextModules) {
+            allAugmentsToGenTypes(contextModule);
+        }
+
+        val Map<Module, ModuleContext> ret = new HashMap();
+        for (Module m : modules) {
+            ret.put(m, checkNotNull(genCtx.get(m), "Module context not found for module %s", m));
+        }
+        return ret;
+    }
+
+    private static def Set<Module> withImportedModules(SchemaContext context, Set<Module> modules) {
+        val Set<Module> ret = new HashSet(modules);
+        val Deque<Module> queue = new ArrayDeque(modules);
+        while (!queue.empty) {
+            for (ModuleImport moduleImport : queue.poll.imports) {
+                val imported = context.findModuleByName(moduleImport.moduleName, moduleImport.revision);
+                if (imported !== null && ret.add(imported)) {
+                    queue.add(imported);
+                }
+            }
+        }
+        return ret;
+    }
+
     private def void moduleToGenTypes(Module m, SchemaContext context) {
         genCtx.put(m, new ModuleContext)
         allTypeDefinitionsToGenTypes(m)
@@ -1121,7 +1181,7 @@ public class BindingGeneratorImpl implements BindingGenerator {
                     val List<QName> nodeNames = nodeSp.path
                     val List<QName> nodeNewNames = new ArrayList(nodeNames)
                     nodeNewNames.remove(nodeNewNames.size - 1)
-                    val SchemaPath nodeNewSp = new SchemaPath(nodeNewNames, nodeSp.absolute)
+                    val SchemaPath nodeNewSp = SchemaPath.create(nodeNewNames, nodeSp.absolute)
                     parentNode = findDataSchemaNode(schemaContext, nodeNewSp)
 
                     var SchemaNode parent
@@ -1144,7 +1204,7 @@ public class BindingGeneratorImpl implements BindingGenerator {
                         val List<QName> names = sp.path
                         val List<QName> newNames = new ArrayList(names)
                         newNames.remove(newNames.size - 1)
-                        val SchemaPath newSp = new SchemaPath(newNames, sp.absolute)
+                        val SchemaPath newSp = SchemaPath.create(newNames, sp.absolute)
                         parent = findDataSchemaNode(schemaContext, newSp)
                     }
                     var GeneratedTypeBuilder childOfType = findChildNodeByPath(parent.path)
@@ -1198,7 +1258,7 @@ public class BindingGeneratorImpl implements BindingGenerator {
                 val List<QName> nodeNames = nodeSp.path
                 val List<QName> nodeNewNames = new ArrayList(nodeNames)
                 nodeNewNames.remove(nodeNewNames.size - 1)
-                val SchemaPath nodeNewSp = new SchemaPath(nodeNewNames, nodeSp.absolute)
+                val SchemaPath nodeNewSp = SchemaPath.create(nodeNewNames, nodeSp.absolute)
                 parent = findDataSchemaNode(schemaContext, nodeNewSp)
 
                 var GeneratedTypeBuilder childOfType = null;
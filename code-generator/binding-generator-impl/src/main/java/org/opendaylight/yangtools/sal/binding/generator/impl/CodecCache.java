@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.binding.generator.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Concurrent cache of per-class codecs. Keys are weakly referenced, so that
+ * binding classes can be unloaded.
+ *
+ * Lookups of computed values do not take any locks. Missing values are
+ * computed at most once per class: concurrent requests for a class which is
+ * being computed wait for the result of the computing thread. A recursive
+ * request for the same class from the computing thread is computed again
+ * and not cached, as waiting would deadlock. The same applies to a request
+ * which would close a cycle of threads waiting for each other's computations,
+ * possibly in different caches.
+ *
+ * @param <V> codec type
+ */
+final class CodecCache<V> {
+    /**
+     * Striped counter. Hits are counted on every lookup from all threads, so
+     * a single atomic would become the contention point we are trying to avoid.
+     */
+    private static final class StripedCounter {
+        private static final int STRIPES = 16;
+        // Spread cells to separate cache lines
+        private static final int SPREAD = 8;
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * SPREAD);
+
+        void increment() {
+            final int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+            cells.incrementAndGet(stripe * SPREAD);
+        }
+
+        long sum() {
+            long ret = 0;
+            for (int i = 0; i < STRIPES; ++i) {
+                ret += cells.get(i * SPREAD);
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * Placeholder stored in the map while a value is being computed.
+     */
+    private static final class Pending<V> {
+        private final SettableFuture<V> future = SettableFuture.create();
+        private final Thread owner = Thread.currentThread();
+    }
+
+    /**
+     * Computations threads are waiting for, shared by all caches, as codecs in
+     * one cache are computed from codecs in the others.
+     */
+    private static final ConcurrentMap<Thread, Pending<?>> WAITING = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Object> map = new MapMaker().weakKeys().makeMap();
+    private final StripedCounter hits = new StripedCounter();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong contentions = new AtomicLong();
+    private final String name;
+
+    CodecCache(final String name) {
+        this.name = Preconditions.checkNotNull(name);
+    }
+
+    /**
+     * Return the value for specified class, if it has been computed.
+     *
+     * @param key class
+     * @return cached value, or null
+     */
+    @SuppressWarnings("unchecked")
+    V get(final Class<?> key) {
+        final Object obj = map.get(key);
+        if (obj == null || obj instanceof Pending) {
+            return null;
+        }
+        hits.increment();
+        return (V) obj;
+    }
+
+    /**
+     * Return the value for specified class, computing it if it is not present.
+     *
+     * @param key class
+     * @param loader value computation, must not return null
+     * @return cached or computed value
+     * @throws UncheckedExecutionException if the loader throws a checked exception
+     */
+    @SuppressWarnings("unchecked")
+    V getOrCompute(final Class<?> key, final Callable<? extends V> loader) {
+        Object obj = map.get(key);
+        if (obj != null && !(obj instanceof Pending)) {
+            hits.increment();
+            return (V) obj;
+        }
+
+        if (obj == null) {
+            final Pending<V> pending = new Pending<>();
+            obj = map.putIfAbsent(key, pending);
+            if (obj == null) {
+                misses.incrementAndGet();
+                return compute(key, pending, loader);
+            }
+            if (!(obj instanceof Pending)) {
+                hits.increment();
+                return (V) obj;
+            }
+        }
+
+        final Pending<V> pending = (Pending<V>) obj;
+        if (!startWaiting(pending)) {
+            return call(loader);
+        }
+        return await(key, pending);
+    }
+
+    /*
+     * Registers the current thread as waiting for a computation, unless that computation
+     * is done by this thread or by a thread which waits, possibly indirectly, for this one.
+     */
+    private static boolean startWaiting(final Pending<?> pending) {
+        final Thread self = Thread.currentThread();
+        synchronized (WAITING) {
+            Pending<?> p = pending;
+            while (p != null && !p.future.isDone()) {
+                if (p.owner == self) {
+                    return false;
+                }
+                p = WAITING.get(p.owner);
+            }
+            WAITING.put(self, pending);
+        }
+        return true;
+    }
+
+    private V await(final Class<?> key, final Pending<V> pending) {
+        contentions.incrementAndGet();
+        try {
+            return pending.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for codec of " + key, e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            WAITING.remove(Thread.currentThread());
+        }
+    }
+
+    private V compute(final Class<?> key, final Pending<V> pending, final Callable<? extends V> loader) {
+        final V value;
+        try {
+            value = Preconditions.checkNotNull(call(loader), "Loader returned null codec for %s", key);
+        } catch (RuntimeException | Error e) {
+            map.remove(key, pending);
+            pending.future.setException(e);
+            throw e;
+        }
+
+        map.replace(key, pending, value);
+        pending.future.set(value);
+        return value;
+    }
+
+    private static <V> V call(final Callable<? extends V> loader) {
+        try {
+            return loader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UncheckedExecutionException(e);
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new UncheckedExecutionException(cause);
+    }
+
+    /**
+     * Store a value, unless a value or a computation for the class is present.
+     *
+     * @param key class
+     * @param value value
+     * @return previously computed value, or null if the value was stored or
+     *         if waiting for the pending computation would deadlock
+     */
+    V putIfAbsent(final Class<?> key, final V value) {
+        final Object prev = map.putIfAbsent(key, Preconditions.checkNotNull(value));
+        if (prev == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (prev instanceof Pending) {
+            @SuppressWarnings("unchecked")
+            final Pending<V> pending = (Pending<V>) prev;
+            Preconditions.checkState(pending.owner != Thread.currentThread(),
+                    "Attempted to store codec for %s while computing it", key);
+            return startWaiting(pending) ? await(key, pending) : null;
+        }
+
+        hits.increment();
+        @SuppressWarnings("unchecked")
+        final V ret = (V) prev;
+        return ret;
+    }
+
+    boolean containsKey(final Class<?> key) {
+        final Object obj = map.get(key);
+        return obj != null && !(obj instanceof Pending);
+    }
+
+    /**
+     * Return a snapshot of computed values.
+     *
+     * @return snapshot of computed entries
+     */
+    @SuppressWarnings("unchecked")
+    Map<Class<?>, V> snapshot() {
+        final Map<Class<?>, V> ret = new HashMap<>();
+        for (Entry<Class<?>, Object> e : map.entrySet()) {
+            if (!(e.getValue() instanceof Pending)) {
+                ret.put(e.getKey(), (V) e.getValue());
+            }
+        }
+        return ret;
+    }
+
+    CodecCacheStatistics getStatistics() {
+        return new CodecCacheStatistics(name, map.size(), hits.sum(), misses.get(), contentions.get());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.binding.generator.impl;
+
+import org.opendaylight.yangtools.concepts.Immutable;
+
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of counters of a codec cache maintained by
+ * {@link LazyGeneratedCodecRegistry}.
+ */
+public final class CodecCacheStatistics implements Immutable {
+    private final String name;
+    private final int size;
+    private final long hitCount;
+    private final long missCount;
+    private final long contentionCount;
+
+    CodecCacheStatistics(final String name, final int size, final long hitCount, final long missCount,
+            final long contentionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.contentionCount = contentionCount;
+    }
+
+    /**
+     * @return name of the cache
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of entries in the cache, including those being computed
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of lookups which found a computed codec
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of codecs computed and stored
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return number of lookups which had to wait for another thread computing the codec
+     */
+    public long getContentionCount() {
+        return contentionCount;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this).add("name", name).add("size", size).add("hits", hitCount)
+                .add("misses", missCount).add("contentions", contentionCount).toString();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.binding.generator.impl;
+
+import org.opendaylight.yangtools.concepts.Immutable;
+
+import com.google.common.base.Objects;
+
+/**
+ * Snapshot of counters of codec classes resolved by {@link TransformerGenerator}.
+ * A codec class is resolved when it is first requested, either by loading an
+ * existing class or by generating a new one.
+ *
+ * Resolution times include resolution of codecs the class depends on, so
+ * times of nested codecs are counted more than once in the total.
+ */
+public final class CodecGenerationStatistics implements Immutable {
+    private final long resolvedCount;
+    private final long totalTimeNanos;
+    private final long maxTimeNanos;
+    private final CodecCacheStatistics cacheStatistics;
+
+    CodecGenerationStatistics(final long resolvedCount, final long totalTimeNanos, final long maxTimeNanos,
+            final CodecCacheStatistics cacheStatistics) {
+        this.resolvedCount = resolvedCount;
+        this.totalTimeNanos = totalTimeNanos;
+        this.maxTimeNanos = maxTimeNanos;
+        this.cacheStatistics = cacheStatistics;
+    }
+
+    /**
+     * @return number of resolved codec classes
+     */
+    public long getResolvedCount() {
+        return resolvedCount;
+    }
+
+    /**
+     * @return total time spent resolving codec classes, in nanoseconds
+     */
+    public long getTotalTimeNanos() {
+        return totalTimeNanos;
+    }
+
+    /**
+     * @return longest time spent resolving a single codec class, in nanoseconds
+     */
+    public long getMaxTimeNanos() {
+        return maxTimeNanos;
+    }
+
+    /**
+     * @return statistics of the lookups of resolved codec classes
+     */
+    public CodecCacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
+    @Override
+    public String toString() {
+        return Objects.toStringHelper(this).add("resolved", resolvedCount).add("totalTimeNanos", totalTimeNanos)
+                .add("maxTimeNanos", maxTimeNanos).add("cache", cacheStatistics).toString();
+    }
+}
@@ -77,6 +77,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 public class LazyGeneratedCodecRegistry implements //
         CodecRegistry, //
         SchemaContextListener, //
@@ -91,20 +93,15 @@ public class LazyGeneratedCodecRegistry implements //
     private TransformerGenerator generator;
 
     // Concrete class to codecs
-    private static final Map<Class<?>, DataContainerCodec<?>> containerCodecs = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, DataContainerCodec<?>>());
-    private static final Map<Class<?>, IdentifierCodec<?>> identifierCodecs = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, IdentifierCodec<?>>());
-    private static final Map<Class<?>, ChoiceCodecImpl<?>> choiceCodecs = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, ChoiceCodecImpl<?>>());
-    private static final Map<Class<?>, ChoiceCaseCodecImpl<?>> caseCodecs = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, ChoiceCaseCodecImpl<?>>());
-    private static final Map<Class<?>, AugmentableCompositeCodec> augmentableCodecs = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, AugmentableCompositeCodec>());
-    private static final Map<Class<?>, AugmentationCodec<?>> augmentationCodecs = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, AugmentationCodec<?>>());
-    private static final Map<Class<?>, QName> identityQNames = Collections
-            .synchronizedMap(new WeakHashMap<Class<?>, QName>());
+    private static final CodecCache<DataContainerCodec<?>> containerCodecs = new CodecCache<>("containerCodecs");
+    private static final CodecCache<IdentifierCodec<?>> identifierCodecs = new CodecCache<>("identifierCodecs");
+    private static final CodecCache<ChoiceCodecImpl<?>> choiceCodecs = new CodecCache<>("choiceCodecs");
+    private static final CodecCache<ChoiceCaseCodecImpl<?>> caseCodecs = new CodecCache<>("caseCodecs");
+    private static final CodecCache<AugmentableCompositeCodec> augmentableCodecs = new CodecCache<>(
+            "augmentableCodecs");
+    private static final CodecCache<AugmentationCodec<?>> augmentationCodecs = new CodecCache<>(
+            "augmentationCodecs");
+    private static final CodecCache<QName> identityQNames = new CodecCache<>("identityQNames");
     private static final Map<QName, Type> qnamesToIdentityMap = new ConcurrentHashMap<>();
     /** Binding type to encountered classes mapping **/
     @SuppressWarnings("rawtypes")
@@ -122,6 +119,15 @@ public class LazyGeneratedCodecRegistry implements //
 
     private final SchemaLock lock;
 
+    // Augmentable codecs whose augmentations are being loaded by the current thread
+    private final ThreadLocal<Map<Class<?>, AugmentableCompositeCodec>> loadingAugmentableCodecs =
+            new ThreadLocal<Map<Class<?>, AugmentableCompositeCodec>>() {
+                @Override
+                protected Map<Class<?>, AugmentableCompositeCodec> initialValue() {
+                    return new HashMap<>();
+                }
+            };
+
     private SchemaContext currentSchema;
 
     private final ClassLoadingStrategy classLoadingStrategy;
@@ -149,27 +155,37 @@ public class LazyGeneratedCodecRegistry implements //
     }
 
     @Override
-    public <T extends Augmentation<?>> AugmentationCodec<T> getCodecForAugmentation(Class<T> object) {
+    @SuppressWarnings("unchecked")
+    public <T extends Augmentation<?>> AugmentationCodec<T> getCodecForAugmentation(final Class<T> object) {
         AugmentationCodec<T> codec = null;
-        @SuppressWarnings("rawtypes")
-        AugmentationCodec potentialCodec = augmentationCodecs.get(object);
-        if (potentialCodec != null) {
-            codec = potentialCodec;
-        } else
-            try {
+        try {
+            AugmentationCodec<T> potentialCodec = (AugmentationCodec<T>) augmentationCodecs.get(object);
+            if (potentialCodec == null) {
+                // Other threads requesting the codec should not wait for the schema as well
                 lock.waitForSchema(object);
-                Class<? extends BindingCodec<Map<QName, Object>, Object>> augmentRawCodec = generator
-                        .augmentationTransformerFor(object);
-                BindingCodec<Map<QName, Object>, Object> rawCodec = augmentRawCodec.newInstance();
-                codec = new AugmentationCodecWrapper<T>(rawCodec);
-                augmentationCodecs.put(object, codec);
-            } catch (InstantiationException e) {
-                LOG.error("Can not instantiate raw augmentation codec {}", object.getSimpleName(), e);
-            } catch (IllegalAccessException e) {
+                potentialCodec = (AugmentationCodec<T>) augmentationCodecs.getOrCompute(object,
+                        new Callable<AugmentationCodec<T>>() {
+                            @Override
+                            public AugmentationCodec<T> call() throws InstantiationException, IllegalAccessException {
+                                Class<? extends BindingCodec<Map<QName, Object>, Object>> augmentRawCodec = generator
+                                        .augmentationTransformerFor(object);
+                                BindingCodec<Map<QName, Object>, Object> rawCodec = augmentRawCodec.newInstance();
+                                return new AugmentationCodecWrapper<T>(rawCodec);
+                            }
+                        });
+            }
+            codec = potentialCodec;
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof InstantiationException) {
+                LOG.error("Can not instantiate raw augmentation codec {}", object.getSimpleName(), e.getCause());
+            } else if (e.getCause() instanceof IllegalAccessException) {
                 LOG.debug(
                         "Run-time consistency issue: constructor {} is not available. This indicates either a code generation bug or a misconfiguration of JVM.",
-                        object.getSimpleName(), e);
+                        object.getSimpleName(), e.getCause());
+            } else {
+                throw e;
             }
+        }
         Class<? extends Augmentable<?>> objectSupertype = getAugmentableArgumentFrom(object);
         if (objectSupertype != null) {
             getAugmentableCodec(objectSupertype).addAugmentationCodec(object, codec);
@@ -244,17 +260,19 @@ public class LazyGeneratedCodecRegistry implements //
     }
 
     @Override
-    public <T extends DataContainer> DataContainerCodec<T> getCodecForDataObject(Class<T> type) {
+    public <T extends DataContainer> DataContainerCodec<T> getCodecForDataObject(final Class<T> type) {
         @SuppressWarnings("unchecked")
-        DataContainerCodec<T> ret = (DataContainerCodec<T>) containerCodecs.get(type);
-        if (ret != null) {
-            return ret;
-        }
-        Class<? extends BindingCodec<Map<QName, Object>, Object>> newType = generator.transformerFor(type);
-        BindingCodec<Map<QName, Object>, Object> rawCodec = newInstanceOf(newType);
-        DataContainerCodecImpl<T> newWrapper = new DataContainerCodecImpl<>(rawCodec);
-        containerCodecs.put(type, newWrapper);
-        return newWrapper;
+        DataContainerCodec<T> ret = (DataContainerCodec<T>) containerCodecs.getOrCompute(type,
+                new Callable<DataContainerCodec<T>>() {
+                    @Override
+                    public DataContainerCodec<T> call() {
+                        Class<? extends BindingCodec<Map<QName, Object>, Object>> newType = generator
+                                .transformerFor(type);
+                        BindingCodec<Map<QName, Object>, Object> rawCodec = newInstanceOf(newType);
+                        return new DataContainerCodecImpl<>(rawCodec);
+                    }
+                });
+        return ret;
     }
 
     @Override
@@ -347,18 +365,16 @@ public class LazyGeneratedCodecRegistry implements //
     }
 
     @Override
-    public <T extends Identifiable<?>> IdentifierCodec<?> getIdentifierCodecForIdentifiable(Class<T> type) {
-        IdentifierCodec<?> obj = identifierCodecs.get(type);
-        if (obj != null) {
-            return obj;
-        }
-        Class<? extends BindingCodec<Map<QName, Object>, Object>> newCodec = generator
-                .keyTransformerForIdentifiable(type);
-        BindingCodec<Map<QName, Object>, Object> newInstance;
-        newInstance = newInstanceOf(newCodec);
-        IdentifierCodecImpl<?> newWrapper = new IdentifierCodecImpl<>(newInstance);
-        identifierCodecs.put(type, newWrapper);
-        return newWrapper;
+    public <T extends Identifiable<?>> IdentifierCodec<?> getIdentifierCodecForIdentifiable(final Class<T> type) {
+        return identifierCodecs.getOrCompute(type, new Callable<IdentifierCodec<?>>() {
+            @Override
+            public IdentifierCodec<?> call() {
+                Class<? extends BindingCodec<Map<QName, Object>, Object>> newCodec = generator
+                        .keyTransformerForIdentifiable(type);
+                BindingCodec<Map<QName, Object>, Object> newInstance = newInstanceOf(newCodec);
+                return new IdentifierCodecImpl<>(newInstance);
+            }
+        });
     }
 
     @Override
@@ -379,27 +395,33 @@ public class LazyGeneratedCodecRegistry implements //
     }
 
     @Override
-    public <T extends Identifier<?>> IdentifierCodec<T> getCodecForIdentifier(Class<T> object) {
+    public <T extends Identifier<?>> IdentifierCodec<T> getCodecForIdentifier(final Class<T> object) {
         @SuppressWarnings("unchecked")
-        IdentifierCodec<T> obj = (IdentifierCodec<T>) identifierCodecs.get(object);
-        if (obj != null) {
-            return obj;
-        }
-        Class<? extends BindingCodec<Map<QName, Object>, Object>> newCodec = generator
-                .keyTransformerForIdentifier(object);
-        BindingCodec<Map<QName, Object>, Object> newInstance;
-        newInstance = newInstanceOf(newCodec);
-        IdentifierCodecImpl<T> newWrapper = new IdentifierCodecImpl<>(newInstance);
-        identifierCodecs.put(object, newWrapper);
-        return newWrapper;
+        IdentifierCodec<T> obj = (IdentifierCodec<T>) identifierCodecs.getOrCompute(object,
+                new Callable<IdentifierCodec<T>>() {
+                    @Override
+                    public IdentifierCodec<T> call() {
+                        Class<? extends BindingCodec<Map<QName, Object>, Object>> newCodec = generator
+                                .keyTransformerForIdentifier(object);
+                        BindingCodec<Map<QName, Object>, Object> newInstance = newInstanceOf(newCodec);
+                        return new IdentifierCodecImpl<>(newInstance);
+                    }
+                });
+        return obj;
     }
 
     @SuppressWarnings("rawtypes")
-    public ChoiceCaseCodecImpl getCaseCodecFor(Class caseClass) {
-        ChoiceCaseCodecImpl<?> potential = caseCodecs.get(caseClass);
-        if (potential != null) {
-            return potential;
-        }
+    public ChoiceCaseCodecImpl getCaseCodecFor(final Class caseClass) {
+        return caseCodecs.getOrCompute(caseClass, new Callable<ChoiceCaseCodecImpl<?>>() {
+            @Override
+            public ChoiceCaseCodecImpl<?> call() {
+                return createCaseCodec(caseClass);
+            }
+        });
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ChoiceCaseCodecImpl createCaseCodec(final Class caseClass) {
         ConcreteType typeref = Types.typeForClass(caseClass);
         ChoiceCaseCodecImpl caseCodec = typeToCaseCodecs.get(typeref);
 
@@ -411,9 +433,8 @@ public class LazyGeneratedCodecRegistry implements //
         Class<? extends BindingCodec> newCodec = generator.caseCodecFor(caseClass, caseCodec.getSchema());
         BindingCodec newInstance = newInstanceOf(newCodec);
         caseCodec.setDelegate(newInstance);
-        caseCodecs.put(caseClass, caseCodec);
 
-        for (Entry<Class<?>, ChoiceCodecImpl<?>> choice : choiceCodecs.entrySet()) {
+        for (Entry<Class<?>, ChoiceCodecImpl<?>> choice : choiceCodecs.snapshot().entrySet()) {
             if (choice.getKey().isAssignableFrom(caseClass)) {
                 choice.getValue().cases.put(caseClass, caseCodec);
             }
@@ -433,6 +454,19 @@ public class LazyGeneratedCodecRegistry implements //
         captureCases(context.getCases(), schemaContext);
     }
 
+    public void onModuleContextRemoved(ModuleContext context) {
+        pathToType.keySet().removeAll(context.getChildNodes().keySet());
+        pathToType.keySet().removeAll(context.getCases().keySet());
+        augmentToType.keySet().removeAll(context.getTypeToAugmentation().values());
+        qnamesToIdentityMap.keySet().removeAll(context.getIdentities().keySet());
+        for (GeneratedTOBuilder identity : context.getIdentities().values()) {
+            typeToQname.remove(new ReferencedTypeImpl(identity.getPackageName(), identity.getName()));
+        }
+        for (GeneratedTypeBuilder caseNode : context.getCases().values()) {
+            typeToCaseCodecs.remove(new ReferencedTypeImpl(caseNode.getPackageName(), caseNode.getName()));
+        }
+    }
+
     private void captureCases(Map<SchemaPath, GeneratedTypeBuilder> cases, SchemaContext module) {
         for (Entry<SchemaPath, GeneratedTypeBuilder> caseNode : cases.entrySet()) {
             ReferencedTypeImpl typeref = new ReferencedTypeImpl(caseNode.getValue().getPackageName(), caseNode
@@ -465,11 +499,10 @@ public class LazyGeneratedCodecRegistry implements //
     @Override
     public void onChoiceCodecCreated(Class<?> choiceClass,
             Class<? extends BindingCodec<Map<QName, Object>, Object>> choiceCodec, ChoiceNode schema) {
-        ChoiceCodec<?> oldCodec = choiceCodecs.get(choiceClass);
-        Preconditions.checkState(oldCodec == null);
         BindingCodec<Map<QName, Object>, Object> delegate = newInstanceOf(choiceCodec);
         ChoiceCodecImpl<?> newCodec = new ChoiceCodecImpl(delegate);
-        choiceCodecs.put(choiceClass, newCodec);
+        ChoiceCodec<?> oldCodec = choiceCodecs.putIfAbsent(choiceClass, newCodec);
+        Preconditions.checkState(oldCodec == null);
         CodecMapping.setClassToCaseMap(choiceCodec, classToCaseRawCodec);
         CodecMapping.setCompositeNodeToCaseMap(choiceCodec, newCodec.getCompositeToCase());
 
@@ -524,20 +557,35 @@ public class LazyGeneratedCodecRegistry implements //
 
     }
 
-    public AugmentableCompositeCodec getAugmentableCodec(Class<?> dataClass) {
-        AugmentableCompositeCodec ret = augmentableCodecs.get(dataClass);
+    public AugmentableCompositeCodec getAugmentableCodec(final Class<?> dataClass) {
+        final AugmentableCompositeCodec ret = augmentableCodecs.get(dataClass);
         if (ret != null) {
             return ret;
         }
-        ret = new AugmentableCompositeCodec(dataClass);
-        augmentableCodecs.put(dataClass, ret);
-
-        Map<Type, SchemaNode> typeToSchemaNode = generator.getTypeToSchemaNode();
-        Type refType = new ReferencedTypeImpl(dataClass.getPackage().getName(), dataClass.getSimpleName());
-        SchemaNode node = typeToSchemaNode.get(refType);
-        tryToLoadAugmentations(node);
+        // Loading augmentations registers them with the codec being loaded
+        final Map<Class<?>, AugmentableCompositeCodec> loading = loadingAugmentableCodecs.get();
+        final AugmentableCompositeCodec inProgress = loading.get(dataClass);
+        if (inProgress != null) {
+            return inProgress;
+        }
 
-        return ret;
+        // Published only once its augmentations are known
+        return augmentableCodecs.getOrCompute(dataClass, new Callable<AugmentableCompositeCodec>() {
+            @Override
+            public AugmentableCompositeCodec call() {
+                final AugmentableCompositeCodec codec = new AugmentableCompositeCodec(dataClass);
+                loading.put(dataClass, codec);
+                try {
+                    Map<Type, SchemaNode> typeToSchemaNode = generator.getTypeToSchemaNode();
+                    Type refType = new ReferencedTypeImpl(dataClass.getPackage().getName(), dataClass.getSimpleName());
+                    SchemaNode node = typeToSchemaNode.get(refType);
+                    tryToLoadAugmentations(node);
+                } finally {
+                    loading.remove(dataClass);
+                }
+                return codec;
+            }
+        });
     }
 
     private void tryToLoadAugmentations(SchemaNode schemaNode) {
@@ -1081,7 +1129,8 @@ public class LazyGeneratedCodecRegistry implements //
             ConcreteType typeref = Types.typeForClass(input);
             qname = typeToQname.get(typeref);
             if (qname != null) {
-                identityQNames.put(input, qname);
+                // Lookup is idempotent, no need to guard against concurrent computation
+                identityQNames.putIfAbsent(input, qname);
             }
             return qname;
         }
@@ -1093,6 +1142,35 @@ public class LazyGeneratedCodecRegistry implements //
         }
     }
 
+    /**
+     * Return current counters of class-keyed codec caches. Counters are
+     * global, as the caches are shared by all registry instances.
+     *
+     * @return list of cache statistics snapshots
+     */
+    public List<CodecCacheStatistics> getCodecCacheStatistics() {
+        final List<CodecCacheStatistics> ret = new ArrayList<>(7);
+        ret.add(containerCodecs.getStatistics());
+        ret.add(identifierCodecs.getStatistics());
+        ret.add(choiceCodecs.getStatistics());
+        ret.add(caseCodecs.getStatistics());
+        ret.add(augmentableCodecs.getStatistics());
+        ret.add(augmentationCodecs.getStatistics());
+        ret.add(identityQNames.getStatistics());
+        return ret;
+    }
+
+    /**
+     * Return statistics of codec classes resolved by the generator backing
+     * this registry.
+     *
+     * @return statistics snapshot
+     */
+    public CodecGenerationStatistics getCodecGenerationStatistics() {
+        Preconditions.checkState(generator != null, "Codec generator is not set");
+        return generator.getGenerationStatistics();
+    }
+
     public boolean isCodecAvailable(Class<? extends DataContainer> cls) {
         if (containerCodecs.containsKey(cls)) {
             return true;
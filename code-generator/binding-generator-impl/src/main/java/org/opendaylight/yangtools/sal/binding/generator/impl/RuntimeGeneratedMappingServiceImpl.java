@@ -10,12 +10,19 @@ package org.opendaylight.yangtools.sal.binding.generator.impl;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.SettableFuture;
 
+import java.net.URI;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -62,6 +69,8 @@ import org.opendaylight.yangtools.yang.data.impl.codec.DataContainerCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DeserializationException;
 import org.opendaylight.yangtools.yang.data.impl.codec.ValueWithQName;
 import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleIdentifier;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextHolder;
@@ -91,6 +100,7 @@ public class RuntimeGeneratedMappingServiceImpl implements BindingIndependentMap
     private final ConcurrentMap<Type, SchemaNode> typeToSchemaNode = new ConcurrentHashMap<>();
     private final ConcurrentMap<Type, Set<QName>> serviceTypeToRpc = new ConcurrentHashMap<>();
     private final HashMultimap<Type, SettableFuture<Type>> promisedTypes = HashMultimap.create();
+    private final Map<ModuleKey, ProcessedModule> processedModules = new HashMap<>();
     private final ClassLoadingStrategy classLoadingStrategy;
     private SchemaContext schemaContext;
 
@@ -159,11 +169,36 @@ public class RuntimeGeneratedMappingServiceImpl implements BindingIndependentMap
         _registry.onGlobalContextUpdated(arg0);
     }
 
-    private void recreateBindingContext(SchemaContext schemaContext) {
+    /**
+     * Process module contexts of modules which were added or changed since the
+     * last update, and of modules which import them. A module is considered
+     * unchanged only if the schema context provides the same instance or the
+     * same source for it, so contexts of such modules, and codecs created for
+     * them, are kept as they are. Bindings of modules which are no longer
+     * present in the schema context are removed, so they are processed again
+     * if they come back.
+     */
+    private synchronized void recreateBindingContext(SchemaContext schemaContext) {
+        removeMissingModules(schemaContext);
+
+        final Set<Module> modules = modulesToProcess(schemaContext);
+        if (modules.isEmpty()) {
+            LOG.debug("Binding context is up to date with schema context {}", schemaContext);
+            return;
+        }
+        LOG.debug("Updating binding context for {} of {} modules", modules.size(), schemaContext.getModules().size());
+
+        for (Module module : modules) {
+            final ProcessedModule previous = processedModules.remove(new ModuleKey(module));
+            if (previous != null) {
+                removeBindingFor(previous.module, previous.context);
+            }
+        }
+
         BindingGeneratorImpl newBinding = new BindingGeneratorImpl();
-        newBinding.generateTypes(schemaContext);
+        Map<Module, ModuleContext> moduleContexts = newBinding.generateModuleContexts(schemaContext, modules);
 
-        for (Map.Entry<Module, ModuleContext> entry : newBinding.getModuleContexts().entrySet()) {
+        for (Map.Entry<Module, ModuleContext> entry : moduleContexts.entrySet()) {
 
             registry.onModuleContextAdded(schemaContext, entry.getKey(), entry.getValue());
             binding.getPathToType().putAll(entry.getValue().getChildNodes());
@@ -171,16 +206,13 @@ public class RuntimeGeneratedMappingServiceImpl implements BindingIndependentMap
             ModuleContext context = entry.getValue();
             updateBindingFor(context.getChildNodes(), schemaContext);
             updateBindingFor(context.getCases(), schemaContext);
-            String namespace = BindingGeneratorUtil.moduleNamespaceToPackageName(module);
 
             if (!module.getRpcs().isEmpty()) {
                 Set<QName> rpcs = new HashSet<>();
                 for (RpcDefinition rpc : module.getRpcs()) {
                     rpcs.add(rpc.getQName());
                 }
-                Type serviceClass = new ReferencedTypeImpl(namespace, BindingMapping.getClassName(module.getName())
-                        + "Service");
-                serviceTypeToRpc.put(serviceClass, rpcs);
+                serviceTypeToRpc.put(serviceTypeFor(module), rpcs);
             }
 
             Map<SchemaPath, Type> typedefs = context.getTypedefs();
@@ -204,7 +236,92 @@ public class RuntimeGeneratedMappingServiceImpl implements BindingIndependentMap
             for (GeneratedTypeBuilder augmentation : augmentations) {
                 updatePromisedSchemas(augmentation);
             }
+
+            processedModules.put(new ModuleKey(module),
+                    new ProcessedModule(module, schemaContext.getModuleSource(module), context));
+        }
+    }
+
+    private void removeMissingModules(SchemaContext schemaContext) {
+        final Set<ModuleKey> present = new HashSet<>();
+        for (Module module : schemaContext.getModules()) {
+            present.add(new ModuleKey(module));
+        }
+
+        final Iterator<Map.Entry<ModuleKey, ProcessedModule>> it = processedModules.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<ModuleKey, ProcessedModule> entry = it.next();
+            if (!present.contains(entry.getKey())) {
+                LOG.debug("Removing binding context of module {}", entry.getValue().module.getName());
+                removeBindingFor(entry.getValue().module, entry.getValue().context);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove everything {@link #recreateBindingContext(SchemaContext)} has
+     * registered for a module. Codecs already generated for its classes stay
+     * cached, as they are bound to the classes themselves.
+     */
+    private void removeBindingFor(Module module, ModuleContext context) {
+        registry.onModuleContextRemoved(context);
+        binding.getPathToType().keySet().removeAll(context.getChildNodes().keySet());
+        removeBindingFor(context.getChildNodes());
+        removeBindingFor(context.getCases());
+        serviceTypeToRpc.remove(serviceTypeFor(module));
+
+        for (Type value : context.getTypedefs().values()) {
+            Type typeRef = new ReferencedTypeImpl(value.getPackageName(), value.getName());
+            binding.getTypeDefinitions().remove(typeRef);
+            binding.getTypeToSchemaNode().remove(typeRef);
+        }
+        for (GeneratedTypeBuilder augmentation : context.getAugmentations()) {
+            binding.getTypeToDefinition().remove(augmentation);
+            binding.getTypeToAugmentation().remove(augmentation);
+        }
+    }
+
+    private void removeBindingFor(Map<SchemaPath, GeneratedTypeBuilder> map) {
+        for (GeneratedTypeBuilder builder : map.values()) {
+            Type typeRef = new ReferencedTypeImpl(builder.getPackageName(), builder.getName());
+            typeToDefinition.remove(typeRef);
+            typeToSchemaNode.remove(typeRef);
+        }
+    }
+
+    private static Type serviceTypeFor(Module module) {
+        return new ReferencedTypeImpl(BindingGeneratorUtil.moduleNamespaceToPackageName(module),
+                BindingMapping.getClassName(module.getName()) + "Service");
+    }
+
+    private Set<Module> modulesToProcess(SchemaContext schemaContext) {
+        final Set<Module> ret = new HashSet<>();
+        final Multimap<Module, Module> importers = HashMultimap.create();
+        for (Module module : schemaContext.getModules()) {
+            final ProcessedModule processed = processedModules.get(new ModuleKey(module));
+            if (processed == null || !processed.isSameAs(module, schemaContext.getModuleSource(module))) {
+                ret.add(module);
+            }
+            for (ModuleImport moduleImport : module.getImports()) {
+                Module imported = schemaContext.findModuleByName(moduleImport.getModuleName(),
+                        moduleImport.getRevision());
+                if (imported != null) {
+                    importers.put(imported, module);
+                }
+            }
+        }
+
+        // Types of modules importing a new or changed module may refer to its types, so they need to be processed, too
+        final Deque<Module> queue = new ArrayDeque<>(ret);
+        while (!queue.isEmpty()) {
+            for (Module importer : importers.get(queue.poll())) {
+                if (ret.add(importer)) {
+                    queue.add(importer);
+                }
+            }
         }
+        return ret;
     }
 
     public CompositeNode toDataDom(final DataObject data) {
@@ -453,4 +570,57 @@ public class RuntimeGeneratedMappingServiceImpl implements BindingIndependentMap
                 + BindingMapping.RPC_SERVICE_SUFFIX));
     }
 
+    /**
+     * Identifier of a processed module.
+     */
+    private static final class ModuleKey {
+        private final String name;
+        private final URI namespace;
+        private final Date revision;
+
+        ModuleKey(final ModuleIdentifier module) {
+            this.name = module.getName();
+            this.namespace = module.getNamespace();
+            this.revision = module.getRevision();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name, namespace, revision);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ModuleKey)) {
+                return false;
+            }
+            final ModuleKey other = (ModuleKey) obj;
+            return Objects.equal(name, other.name) && Objects.equal(namespace, other.namespace)
+                    && Objects.equal(revision, other.revision);
+        }
+    }
+
+    private static final class ProcessedModule {
+        private final Module module;
+        private final Optional<String> source;
+        private final ModuleContext context;
+
+        ProcessedModule(final Module module, final Optional<String> source, final ModuleContext context) {
+            this.module = module;
+            this.source = source;
+            this.context = context;
+        }
+
+        /**
+         * A module with the same name, namespace and revision may still have
+         * different content, so it is the same only if it is the same
+         * instance, or if both have a known and equal source.
+         */
+        boolean isSameAs(final Module other, final Optional<String> otherSource) {
+            return module == other || (source.isPresent() && source.equals(otherSource));
+        }
+    }
 }
@@ -52,6 +52,7 @@ import org.opendaylight.yangtools.yang.binding.Augmentation
 import java.util.Iterator
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema
 import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
 import static extension org.opendaylight.yangtools.sal.binding.generator.util.YangSchemaUtils.*;
 import org.opendaylight.yangtools.binding.generator.util.ReferencedTypeImpl
 import org.opendaylight.yangtools.yang.model.util.ExtendedType
@@ -118,6 +119,14 @@ class TransformerGenerator {
     @Property
     var extension GeneratedClassLoadingStrategy classLoadingStrategy
 
+    val generatedCodecs = new CodecCache<Class<?>>("generatedCodecs")
+
+    val resolvedCount = new AtomicLong
+
+    val resolveTimeNanos = new AtomicLong
+
+    val maxResolveTimeNanos = new AtomicLong
+
     public static val CLASS_TYPE = Types.typeForClass(Class);
 
     public new(ClassPool pool) {
@@ -131,7 +140,7 @@ class TransformerGenerator {
     }
 
     def Class<? extends BindingCodec<Map<QName, Object>, Object>> transformerFor(Class<?> inputType) {
-        return withClassLoaderAndLock(inputType.classLoader, lock) [ |
+        return codecFor(inputType) [ |
             val ret = getGeneratedClass(inputType)
             if (ret !== null) {
                 listener.onClassProcessed(inputType);
@@ -145,11 +154,11 @@ class TransformerGenerator {
             val newret = generateTransformerFor(inputType, typeSpec, node);
             listener.onClassProcessed(inputType);
             return newret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
-        ]
+        ] as Class<? extends BindingCodec<Map<QName,Object>, Object>>
     }
 
     def Class<? extends BindingCodec<Map<QName, Object>, Object>> transformerFor(Class<?> inputType, DataSchemaNode node) {
-        return withClassLoaderAndLock(inputType.classLoader, lock) [ |
+        return codecFor(inputType) [ |
             val ret = getGeneratedClass(inputType)
             if (ret !== null) {
                 listener.onClassProcessed(inputType);
@@ -166,11 +175,11 @@ class TransformerGenerator {
             val newret = generateTransformerFor(inputType, typeSpec, node);
             listener.onClassProcessed(inputType);
             return newret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
-        ]
+        ] as Class<? extends BindingCodec<Map<QName,Object>, Object>>
     }
 
     def Class<? extends BindingCodec<Map<QName, Object>, Object>> augmentationTransformerFor(Class<?> inputType) {
-        return withClassLoaderAndLock(inputType.classLoader, lock) [ |
+        return codecFor(inputType) [ |
             val ret = getGeneratedClass(inputType)
             if (ret !== null) {
                 return ret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
@@ -182,11 +191,11 @@ class TransformerGenerator {
             val newret = generateAugmentationTransformerFor(inputType, typeSpec, node);
             listener.onClassProcessed(inputType);
             return newret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
-        ]
+        ] as Class<? extends BindingCodec<Map<QName,Object>, Object>>
     }
 
     def Class<? extends BindingCodec<Object, Object>> caseCodecFor(Class<?> inputType, ChoiceCaseNode node) {
-        return withClassLoaderAndLock(inputType.classLoader, lock) [ |
+        return codecFor(inputType) [ |
             val ret = getGeneratedClass(inputType)
             if (ret !== null) {
                 return ret as Class<? extends BindingCodec<Object, Object>>;
@@ -196,13 +205,15 @@ class TransformerGenerator {
             val typeSpec = typeSpecBuilder.toInstance();
             val newret = generateCaseCodec(inputType, typeSpec, node);
             return newret as Class<? extends BindingCodec<Object, Object>>;
-        ]
+        ] as Class<? extends BindingCodec<Object, Object>>
     }
 
     def Class<? extends BindingCodec<Map<QName, Object>, Object>> keyTransformerForIdentifiable(Class<?> parentType) {
-        return withClassLoaderAndLock(parentType.classLoader, lock) [ |
-            val inputName = parentType.name + "Key";
-            val inputType = loadClass(inputName);
+        val inputName = parentType.name + "Key";
+        val inputType = withClassLoader(parentType.classLoader) [ |
+            return loadClass(inputName);
+        ]
+        return codecFor(inputType) [ |
             val ret = getGeneratedClass(inputType)
             if (ret !== null) {
                 return ret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
@@ -213,7 +224,7 @@ class TransformerGenerator {
             val typeSpec = typeSpecBuilder.identifierDefinition;
             val newret = generateKeyTransformerFor(inputType, typeSpec, node);
             return newret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
-        ]
+        ] as Class<? extends BindingCodec<Map<QName,Object>, Object>>
     }
 
     def getIdentifierDefinition(GeneratedTypeBuilder builder) {
@@ -223,7 +234,7 @@ class TransformerGenerator {
     }
 
     def Class<? extends BindingCodec<Map<QName, Object>, Object>> keyTransformerForIdentifier(Class<?> inputType) {
-        return withClassLoaderAndLock(inputType.classLoader, lock) [ |
+        return codecFor(inputType) [ |
             val ret = getGeneratedClass(inputType)
             if (ret !== null) {
                 return ret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
@@ -234,11 +245,11 @@ class TransformerGenerator {
             val typeSpec = typeSpecBuilder.toInstance();
             val newret = generateKeyTransformerFor(inputType, typeSpec, node);
             return newret as Class<? extends BindingCodec<Map<QName,Object>, Object>>;
-        ]
+        ] as Class<? extends BindingCodec<Map<QName,Object>, Object>>
     }
 
     private def Class<?> keyTransformerFor(Class<?> inputType, GeneratedType type, ListSchemaNode schema) {
-        return withClassLoaderAndLock(inputType.classLoader, lock) [ |
+        return codecFor(inputType) [ |
             val transformer = getGeneratedClass(inputType)
             if (transformer != null) {
                 return transformer;
@@ -248,6 +259,44 @@ class TransformerGenerator {
         ]
     }
 
+    /**
+     * Returns the codec class for specified class, loading or generating it
+     * if it has not been resolved yet.
+     *
+     * Lookups of resolved codecs do not take any locks and codecs of distinct
+     * classes are generated concurrently. Concurrent requests for a class
+     * which is being generated wait for the generating thread. Only changes
+     * of the shared class pool are done under the class pool lock, which is
+     * never held while waiting for another codec.
+     */
+    protected def Class<?> codecFor(Class<?> inputType, Callable<Class<?>> function) {
+        return generatedCodecs.getOrCompute(inputType) [ |
+            val start = System.nanoTime
+            val ret = withClassLoader(inputType.classLoader, function)
+            recordResolveTime(System.nanoTime - start)
+            return ret
+        ]
+    }
+
+    private def recordResolveTime(long nanos) {
+        resolvedCount.incrementAndGet
+        resolveTimeNanos.addAndGet(nanos)
+        var max = maxResolveTimeNanos.get
+        while (nanos > max && !maxResolveTimeNanos.compareAndSet(max, nanos)) {
+            max = maxResolveTimeNanos.get
+        }
+    }
+
+    /**
+     * Returns statistics of codec classes resolved by this generator.
+     *
+     * @return statistics snapshot
+     */
+    def CodecGenerationStatistics getGenerationStatistics() {
+        return new CodecGenerationStatistics(resolvedCount.get, resolveTimeNanos.get, maxResolveTimeNanos.get,
+            generatedCodecs.statistics)
+    }
+
     private def Class<?> getGeneratedClass(Class<? extends Object> cls) {
 
         try {
@@ -269,16 +318,16 @@ class TransformerGenerator {
 
     private def Class<?> valueSerializer(GeneratedTransferObject type, TypeDefinition<?> typeDefinition) {
         val cls = loadClass(type.resolvedName);
-        val transformer = cls.generatedClass;
-        if (transformer !== null) {
-            return transformer;
-        }
         var baseType = typeDefinition;
         while (baseType.baseType != null) {
             baseType = baseType.baseType;
         }
         val finalType = baseType;
-        return withClassLoaderAndLock(cls.classLoader, lock) [ |
+        return codecFor(cls) [ |
+            val transformer = cls.generatedClass;
+            if (transformer !== null) {
+                return transformer;
+            }
             val valueTransformer = generateValueTransformer(cls, type, finalType);
             return valueTransformer;
         ]
@@ -286,12 +335,11 @@ class TransformerGenerator {
 
     private def Class<?> valueSerializer(Enumeration type, TypeDefinition<?> typeDefinition) {
         val cls = loadClass(type.resolvedName);
-        val transformer = cls.generatedClass;
-        if (transformer !== null) {
-            return transformer;
-        }
-
-        return withClassLoaderAndLock(cls.classLoader, lock) [ |
+        return codecFor(cls) [ |
+            val transformer = cls.generatedClass;
+            if (transformer !== null) {
+                return transformer;
+            }
             val valueTransformer = generateValueTransformer(cls, type);
             return valueTransformer;
         ]
@@ -1242,10 +1290,13 @@ class TransformerGenerator {
     }
 
     def Class<?> toClassImpl(CtClass newClass, ClassLoader loader, ProtectionDomain domain) {
-        val cls = newClass.toClass(loader, domain);
-        if (classFileCapturePath !== null) {
-            newClass.writeFile(classFileCapturePath.absolutePath);
-        }
+        val Class<?> cls = withLock(utils.lock) [ |
+            val ret = newClass.toClass(loader, domain);
+            if (classFileCapturePath !== null) {
+                newClass.writeFile(classFileCapturePath.absolutePath);
+            }
+            return ret
+        ]
         listener?.onCodecCreated(cls);
         return cls;
     }
@@ -1503,11 +1554,11 @@ class TransformerGenerator {
     '''
 
     private def codecClassName(GeneratedType typeSpec) {
-        return '''«typeSpec.resolvedName»$Broker$Codec$DOM'''
+        return typeSpec.resolvedName + BindingMapping.DOM_CODEC_SUFFIX
     }
 
     private def codecClassName(Class<?> typeSpec) {
-        return '''«typeSpec.name»$Broker$Codec$DOM'''
+        return typeSpec.name + BindingMapping.DOM_CODEC_SUFFIX
     }
 
     private def HashMap<String, Type> getAllProperties(GeneratedType type) {
@@ -1561,18 +1612,31 @@ class TransformerGenerator {
     }
 
     private def setBodyChecked(CtMethod method, String body) {
+        // Compilation resolves classes through the shared class pool
+        utils.lock.lock
         try {
             method.setBody(body);
         } catch (CannotCompileException e) {
             log.error("Cannot compile method: {}#{} {}, Reason: {} Body: {}", method.declaringClass, method.name,
                 method.signature, e.message, body)
             throw e;
+        } finally {
+            utils.lock.unlock
         }
     }
 
-    private def <V> V withClassLoaderAndLock(ClassLoader cls, Lock lock, Callable<V> function) throws Exception {
+    private def <V> V withClassLoader(ClassLoader cls, Callable<V> function) throws Exception {
         appendClassLoaderIfMissing(cls);
-        ClassLoaderUtils.withClassLoaderAndLock(cls, lock, function);
+        ClassLoaderUtils.withClassLoader(cls, function);
+    }
+
+    private static def <V> V withLock(Lock lock, Callable<V> function) throws Exception {
+        lock.lock
+        try {
+            return function.call
+        } finally {
+            lock.unlock
+        }
     }
 
 }
@@ -13,7 +13,6 @@ import javassist.ClassPool;
 
 import java.util.Arrays;
 
-import javassist.ClassPath;
 import javassist.CtField;
 import javassist.Modifier;
 import javassist.NotFoundException;
@@ -48,6 +47,12 @@ public class JavassistUtils {
         classPool = pool;
     }
 
+    /**
+     * Returns the lock which guards changes of the class pool. It is held only
+     * for the duration of single class pool operations.
+     *
+     * @return class pool lock
+     */
     public Lock getLock() {
         return lock;
     }
@@ -109,18 +114,31 @@ public class JavassistUtils {
     }
 
     public CtClass createClass(String fqn, ClassGenerator cls) {
-        CtClass target = classPool.makeClass(fqn);
+        CtClass target = makeClass(fqn);
         cls.process(target);
         return target;
     }
 
     public CtClass createClass(String fqn, CtClass superInterface, ClassGenerator cls) {
-        CtClass target = classPool.makeClass(fqn);
+        CtClass target = makeClass(fqn);
         implementsType(target, superInterface);
         cls.process(target);
         return target;
     }
 
+    /*
+     * The new class is used only by the calling thread, so filling it in does not
+     * need the lock. The generator may resolve other classes while doing so.
+     */
+    private CtClass makeClass(String fqn) {
+        lock.lock();
+        try {
+            return classPool.makeClass(fqn);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public void implementsType(final CtClass it, final CtClass supertype) {
         Preconditions.checkArgument(supertype.isInterface(), "Supertype must be interface");
         it.addInterface(supertype);
@@ -153,6 +171,16 @@ public class JavassistUtils {
     }
 
     public CtClass get(final ClassPool pool, final Class<? extends Object> cls) {
+        // Lookups may extend the class path of the pool
+        lock.lock();
+        try {
+            return getUnlocked(pool, cls);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CtClass getUnlocked(final ClassPool pool, final Class<? extends Object> cls) {
         try {
             return pool.get(cls.getName());
         } catch (NotFoundException nfe1) {
@@ -178,11 +206,15 @@ public class JavassistUtils {
     }
 
     public void appendClassLoaderIfMissing(ClassLoader loader) {
-        if (loaderClassPaths.containsKey(loader)) {
-            return;
+        // Codecs are generated concurrently, make sure each loader is appended only once
+        synchronized (loaderClassPaths) {
+            if (loaderClassPaths.containsKey(loader)) {
+                return;
+            }
+            LoaderClassPath ctLoader = new LoaderClassPath(loader);
+            classPool.appendClassPath(ctLoader);
+            loaderClassPaths.put(loader, ctLoader);
         }
-        ClassPath ctLoader = new LoaderClassPath(loader);
-        classPool.appendClassPath(ctLoader);
     }
 
     public void ensureClassLoader(Class<?> child) {
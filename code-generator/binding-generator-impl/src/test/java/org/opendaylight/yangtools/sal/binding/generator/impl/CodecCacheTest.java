@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.binding.generator.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class CodecCacheTest {
+
+    @Test
+    public void testComputedOnce() throws Exception {
+        final CodecCache<Object> cache = new CodecCache<>("test");
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Callable<Object> loader = new Callable<Object>() {
+            @Override
+            public Object call() throws InterruptedException {
+                loads.incrementAndGet();
+                // Give other threads a chance to pile up on the pending computation
+                Thread.sleep(50);
+                return new Object();
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws InterruptedException {
+                        start.await();
+                        return cache.getOrCompute(String.class, loader);
+                    }
+                }));
+            }
+            start.countDown();
+
+            final Object expected = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Object> f : futures) {
+                assertSame(expected, f.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertSame(cache.get(String.class), cache.getOrCompute(String.class, loader));
+
+        final CodecCacheStatistics stats = cache.getStatistics();
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(9, stats.getHitCount() + stats.getContentionCount());
+    }
+
+    @Test
+    public void testDistinctKeysComputedConcurrently() throws Exception {
+        final CodecCache<Object> cache = new CodecCache<>("test");
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Object> first = executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return cache.getOrCompute(String.class, new Callable<Object>() {
+                        @Override
+                        public Object call() throws InterruptedException {
+                            firstStarted.countDown();
+                            assertTrue(releaseFirst.await(10, TimeUnit.SECONDS));
+                            return "first";
+                        }
+                    });
+                }
+            });
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+
+            // A miss on another key does not wait for the pending one
+            assertEquals("second", executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return cache.getOrCompute(Integer.class, new Callable<Object>() {
+                        @Override
+                        public Object call() {
+                            return "second";
+                        }
+                    });
+                }
+            }).get(10, TimeUnit.SECONDS));
+            assertNull(cache.get(String.class));
+
+            releaseFirst.countDown();
+            assertEquals("first", first.get(10, TimeUnit.SECONDS));
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThreadsWaitingForEachOther() throws Exception {
+        final CodecCache<Object> first = new CodecCache<>("first");
+        final CodecCache<Object> second = new CodecCache<>("second");
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Each computation needs the value the other thread is computing
+            final Future<Object> f1 = executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return first.getOrCompute(String.class, dependentLoader(bothStarted, second, Integer.class));
+                }
+            });
+            final Future<Object> f2 = executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return second.getOrCompute(Integer.class, dependentLoader(bothStarted, first, String.class));
+                }
+            });
+
+            assertTrue(f1.get(10, TimeUnit.SECONDS) instanceof List);
+            assertTrue(f2.get(10, TimeUnit.SECONDS) instanceof List);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertSame(first.get(String.class), first.getOrCompute(String.class, null));
+        assertSame(second.get(Integer.class), second.getOrCompute(Integer.class, null));
+    }
+
+    private static Callable<Object> dependentLoader(final CountDownLatch bothStarted, final CodecCache<Object> cache,
+            final Class<?> key) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() throws InterruptedException {
+                bothStarted.countDown();
+                assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+                final List<Object> ret = new ArrayList<>();
+                ret.add(cache.getOrCompute(key, new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        return new Object();
+                    }
+                }));
+                return ret;
+            }
+        };
+    }
+
+        @Test
+    public void testPutIfAbsent() {
+        final CodecCache<String> cache = new CodecCache<>("test");
+        assertNull(cache.get(Integer.class));
+        assertNull(cache.putIfAbsent(Integer.class, "first"));
+        assertEquals("first", cache.putIfAbsent(Integer.class, "second"));
+        assertEquals("first", cache.get(Integer.class));
+    }
+}
@@ -178,7 +178,7 @@ public class RefineTest {
 
         QName qname = createQname();
         List<QName> path = Lists.newArrayList(qname);
-        DataSchemaNodeBuilder builderChc2 = new ChoiceBuilder("module", 4, qname, new SchemaPath(path, true));
+        DataSchemaNodeBuilder builderChc2 = new ChoiceBuilder("module", 4, qname, SchemaPath.create(path, true));
         assertNotNull("Refine holder chc2 wasn't initialized.", refHolderChc2);
 
         RefineUtils.refineChoice((ChoiceBuilder) builderChc2, refHolderChc2);
@@ -194,7 +194,7 @@ public class RefineTest {
 
         QName qname = createQname();
         List<QName> path = Lists.newArrayList(qname);
-        DataSchemaNodeBuilder builderChc = new ChoiceBuilder("module", 4, qname, new SchemaPath(path, true));
+        DataSchemaNodeBuilder builderChc = new ChoiceBuilder("module", 4, qname, SchemaPath.create(path, true));
 
         assertNotNull("Refine holder chc wasn't initialized.", refHolderChc);
         assertNotNull("Data schema node builder chc wasn't initialized.", builderChc);
@@ -268,7 +268,7 @@ public class RefineTest {
     private SchemaPath createSchemaPath(QName qname) {
         List<QName> qnames = new ArrayList<>();
         qnames.add(createQname());
-        return new SchemaPath(qnames, true);
+        return SchemaPath.create(qnames, true);
     }
 
 }
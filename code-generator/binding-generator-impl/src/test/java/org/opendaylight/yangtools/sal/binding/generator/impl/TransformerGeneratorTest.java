@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.binding.generator.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javassist.ClassPool;
+
+import org.junit.Test;
+
+public class TransformerGeneratorTest {
+    private static final class First {
+    }
+
+    private static final class Second {
+    }
+
+    @Test
+    public void testCodecsOfDistinctClassesAreGeneratedConcurrently() throws Exception {
+        final TransformerGenerator generator = new TransformerGenerator(ClassPool.getDefault());
+        final CountDownLatch firstStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Class<?>> first = executor.submit(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() {
+                    return generator.codecFor(First.class, new Callable<Class<?>>() {
+                        @Override
+                        public Class<?> call() throws InterruptedException {
+                            firstStarted.countDown();
+                            assertTrue(releaseFirst.await(10, TimeUnit.SECONDS));
+                            return Object.class;
+                        }
+                    });
+                }
+            });
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+
+            final Future<Class<?>> second = executor.submit(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() {
+                    return generator.codecFor(Second.class, new Callable<Class<?>>() {
+                        @Override
+                        public Class<?> call() {
+                            return Number.class;
+                        }
+                    });
+                }
+            });
+
+            // Generation of the second codec does not wait for the first one
+            assertSame(Number.class, second.get(10, TimeUnit.SECONDS));
+            assertFalse(first.isDone());
+
+            releaseFirst.countDown();
+            assertSame(Object.class, first.get(10, TimeUnit.SECONDS));
+        } finally {
+            releaseFirst.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, generator.getGenerationStatistics().getResolvedCount());
+    }
+}
@@ -52,7 +52,7 @@ public final class EnumerationBuilderImpl extends AbstractBaseType implements En
 
     @Override
     public void addValue(final String name, final Integer value) {
-        values.add(new EnumPairImpl(name, value));
+        values.add(new EnumPairImpl(name, null, value));
     }
 
     @Override
@@ -139,7 +139,7 @@ public final class EnumerationBuilderImpl extends AbstractBaseType implements En
                     if (enumPairValue == null) {
                         enumPairValue = listIndex;
                     }
-                    this.addValue(enumPairName, enumPairValue);
+                    values.add(new EnumPairImpl(enumPairName, enumPair.getName(), enumPairValue));
                     listIndex++;
                 }
             }
@@ -150,11 +150,13 @@ public final class EnumerationBuilderImpl extends AbstractBaseType implements En
     private static final class EnumPairImpl implements Enumeration.Pair {
 
         private final String name;
+        private final String yangName;
         private final Integer value;
 
-        public EnumPairImpl(String name, Integer value) {
+        public EnumPairImpl(String name, String yangName, Integer value) {
             super();
             this.name = name;
+            this.yangName = yangName;
             this.value = value;
         }
 
@@ -168,6 +170,11 @@ public final class EnumerationBuilderImpl extends AbstractBaseType implements En
             return value;
         }
 
+        @Override
+        public String getYangName() {
+            return yangName;
+        }
+
         /*
          * (non-Javadoc)
          * 
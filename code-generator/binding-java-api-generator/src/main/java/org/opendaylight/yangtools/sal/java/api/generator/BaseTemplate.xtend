@@ -14,14 +14,16 @@ import org.opendaylight.yangtools.sal.binding.model.api.Type
 import org.opendaylight.yangtools.binding.generator.util.Types
 import com.google.common.base.Splitter
 import org.opendaylight.yangtools.sal.binding.model.api.MethodSignature
-import com.google.common.collect.Range
-import java.util.ArrayList
+import com.google.common.base.CaseFormat
+import java.math.BigInteger
 import java.util.List
 import org.opendaylight.yangtools.sal.binding.model.api.ConcreteType
 import org.opendaylight.yangtools.sal.binding.model.api.Restrictions
 import org.opendaylight.yangtools.sal.binding.model.api.GeneratedTransferObject
 import java.util.Collection
 import java.util.Arrays
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint
+import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint
 
 abstract class BaseTemplate {
 
@@ -170,91 +172,136 @@ abstract class BaseTemplate {
 
     def generateRestrictions(Type type, String paramName, Type returnType) '''
         «val boolean isArray = returnType.name.contains("[")»
-        «processRestrictions(type, paramName, returnType, isArray)»
+        «processRestrictions(type, paramName, returnType, isArray, paramName)»
     '''
 
     def generateRestrictions(GeneratedProperty field, String paramName) '''
         «val Type type = field.returnType»
         «IF type instanceof ConcreteType»
-            «processRestrictions(type, paramName, field.returnType, type.name.contains("["))»
+            «processRestrictions(type, paramName, field.returnType, type.name.contains("["), field.name)»
         «ELSEIF type instanceof GeneratedTransferObject»
-            «processRestrictions(type, paramName, field.returnType, isArrayType(type as GeneratedTransferObject))»
+            «processRestrictions(type, paramName, field.returnType, isArrayType(type as GeneratedTransferObject), field.name)»
         «ENDIF»
     '''
 
 
-    private def processRestrictions(Type type, String paramName, Type returnType, boolean isArray) '''
+    private def processRestrictions(Type type, String paramName, Type returnType, boolean isArray, String propertyName) '''
         «val restrictions = type.getRestrictions»
         «IF restrictions !== null»
             «IF !restrictions.lengthConstraints.empty»
                 «generateLengthRestriction(type, restrictions, paramName, isArray,
             !(returnType instanceof ConcreteType))»
             «ENDIF»
-            «IF !restrictions.rangeConstraints.empty &&
-            ("java.lang".equals(returnType.packageName) || "java.math".equals(returnType.packageName))»
+            «IF hasRangeRestriction(restrictions, returnType)»
                 «generateRangeRestriction(type, returnType, restrictions, paramName,
-            !(returnType instanceof ConcreteType))»
+            !(returnType instanceof ConcreteType), propertyName)»
             «ENDIF»
         «ENDIF»
     '''
 
+    /**
+     * Generates static bounds used by range check of a property. Bounds are
+     * only needed for arbitrary precision types, bounds of other types are
+     * compared as primitive values.
+     */
+    def generateRangeConstants(Type type, Type returnType, String propertyName) '''
+        «val restrictions = type.getRestrictions»
+        «IF restrictions !== null && hasRangeRestriction(restrictions, returnType) && isArbitraryPrecision(returnType)»
+            «val javaType = Class.forName(returnType.fullyQualifiedName)»
+            private static final «javaType.importedName»[] «rangeConstantName(propertyName)» = {
+                «FOR r : restrictions.rangeConstraints SEPARATOR ","»
+                    new «javaType.importedName»(«r.min.toQuote»), new «javaType.importedName»(«r.max.toQuote»)
+                «ENDFOR»
+            };
+        «ENDIF»
+    '''
+
     def generateLengthRestriction(Type type, Restrictions restrictions, String paramName, boolean isArray,
         boolean isNestedType) '''
-        if («paramName» != null) {
-            boolean isValidLength = false;
-            «List.importedName»<«Range.importedName»<«Integer.importedName»>> lengthConstraints = new «ArrayList.
-            importedName»<>(); 
-            «FOR r : restrictions.lengthConstraints»
-                lengthConstraints.add(«Range.importedName».closed(«r.min», «r.max»));
-            «ENDFOR»
-            for («Range.importedName»<«Integer.importedName»> r : lengthConstraints) {
-                «IF isArray»
-                    «IF isNestedType»
-                        if (r.contains(«paramName».getValue().length)) {
-                    «ELSE»
-                        if (r.contains(«paramName».length)) {
-                    «ENDIF»
-                «ELSE»
-                    «IF isNestedType»
-                        if (r.contains(«paramName».getValue().length())) {
-                    «ELSE»
-                        if (r.contains(«paramName».length())) {
-                    «ENDIF»
-                «ENDIF»
-                isValidLength = true;
-                }
-            }
-            if (!isValidLength) {
-                throw new IllegalArgumentException(String.format("Invalid length: {}, expected: {}.", «paramName», lengthConstraints));
-            }
+        «val length = lengthExpression(paramName, isArray, isNestedType)»
+        if («paramName» != null && !(«FOR r : restrictions.lengthConstraints SEPARATOR " || "»«lengthCheck(r, length)»«ENDFOR»)) {
+            throw new IllegalArgumentException(String.format("Invalid length: {}, expected: {}.", «paramName», "«describeLengths(restrictions)»"));
         }
     '''
 
     def generateRangeRestriction(Type type, Type returnType, Restrictions restrictions, String paramName,
-        boolean isNestedType) '''
-        «val javaType = Class.forName(returnType.fullyQualifiedName)»
-        if («paramName» != null) {
-            boolean isValidRange = false;
-            «List.importedName»<«Range.importedName»<«javaType.importedName»>> rangeConstraints = new «ArrayList.
-            importedName»<>(); 
-            «FOR r : restrictions.rangeConstraints»
-                rangeConstraints.add(«Range.importedName».closed(new «javaType.importedName»(«r.min.toQuote»), new «javaType.
-            importedName»(«r.max.toQuote»)));
-            «ENDFOR»
-            for («Range.importedName»<«javaType.importedName»> r : rangeConstraints) {
-                «IF isNestedType»
-                    if (r.contains(«paramName».getValue())) {
-                «ELSE»
-                    if (r.contains(«paramName»)) {
-                «ENDIF»
-                isValidRange = true;
-                }
+        boolean isNestedType, String propertyName) '''
+        «val value = if (isNestedType) paramName + ".getValue()" else paramName»
+        if («paramName» != null && !(«rangeChecks(restrictions, returnType, value, propertyName)»)) {
+            throw new IllegalArgumentException(String.format("Invalid range: %s, expected: %s.", «paramName», "«describeRanges(restrictions)»"));
+        }
+    '''
+
+    def private boolean hasRangeRestriction(Restrictions restrictions, Type returnType) {
+        return !restrictions.rangeConstraints.empty &&
+            ("java.lang".equals(returnType.packageName) || "java.math".equals(returnType.packageName))
+    }
+
+    def private boolean isArbitraryPrecision(Type returnType) {
+        return "java.math".equals(returnType.packageName)
+    }
+
+    def private String rangeConstantName(String propertyName) {
+        val name = if (propertyName.startsWith("_")) propertyName.substring(1) else propertyName
+        return CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, name) + "_RANGE"
+    }
+
+    def private String lengthExpression(String paramName, boolean isArray, boolean isNestedType) {
+        val value = if (isNestedType) paramName + ".getValue()" else paramName
+        return if (isArray) value + ".length" else value + ".length()"
+    }
+
+    /*
+     * Length is never negative and never exceeds Integer.MAX_VALUE, such bounds are not checked.
+     */
+    def private String lengthCheck(LengthConstraint r, String length) {
+        val min = new BigInteger(r.min.toString)
+        val max = new BigInteger(r.max.toString)
+        val checkMin = min.signum > 0
+        val checkMax = max.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) < 0
+        if (checkMin && checkMax) {
+            return "(" + length + " >= " + min + " && " + length + " <= " + max + ")"
+        } else if (checkMin) {
+            return "(" + length + " >= " + min + ")"
+        } else if (checkMax) {
+            return "(" + length + " <= " + max + ")"
+        }
+        return "true"
+    }
+
+    /*
+     * Integral types are compared as long primitives, arbitrary precision types
+     * against bounds precomputed by generateRangeConstants.
+     */
+    def private String rangeChecks(Restrictions restrictions, Type returnType, String value, String propertyName) {
+        val sb = new StringBuilder
+        var i = 0
+        for (RangeConstraint r : restrictions.rangeConstraints) {
+            if (i != 0) {
+                sb.append(" || ")
             }
-            if (!isValidRange) {
-                throw new IllegalArgumentException(String.format("Invalid range: %s, expected: %s.", «paramName», rangeConstraints));
+            if (isArbitraryPrecision(returnType)) {
+                val bounds = rangeConstantName(propertyName)
+                sb.append("(" + value + ".compareTo(" + bounds + "[" + (2 * i) + "]) >= 0 && " + value + ".compareTo("
+                    + bounds + "[" + (2 * i + 1) + "]) <= 0)")
+            } else {
+                sb.append("(" + value + ".longValue() >= " + r.min + "L && " + value + ".longValue() <= " + r.max + "L)")
             }
+            i = i + 1
         }
-    '''
+        return sb.toString
+    }
+
+    /*
+     * Same format as toString() of a list of closed Guava ranges.
+     */
+    def private String describeRanges(Restrictions restrictions) {
+        return "[" + restrictions.rangeConstraints.map["[" + min + "\\u2025" + max + "]"].join(", ") + "]"
+    }
+
+    def private String describeLengths(Restrictions restrictions) {
+        return "[" + restrictions.lengthConstraints.map["[" + min + "\\u2025" + max + "]"].join(", ") + "]"
+    }
 
     def protected generateToString(Collection<GeneratedProperty> properties) '''
         «IF !properties.empty»
@@ -207,6 +207,10 @@ class BuilderTemplate extends BaseTemplate {
 
             «generateFields(false)»
 
+            «FOR f : properties»
+                «generateRangeConstants(f.returnType, f.returnType, f.name)»
+            «ENDFOR»
+
             «generateConstructorsFromIfcs(type)»
 
             «generateMethodFieldsFrom(type)»
@@ -399,10 +403,16 @@ class BuilderTemplate extends BaseTemplate {
             «ENDFOR»
         «ENDIF»
         «IF augmentField != null»
-            private «Map.importedName»<Class<? extends «augmentField.returnType.importedName»>, «augmentField.returnType.importedName»> «augmentField.name» = new «HashMap.importedName»<>();
+            «IF _final»
+                private final «augmentationMapType» «augmentField.name»;
+            «ELSE»
+                private «augmentationMapType» «augmentField.name» = «Collections.importedName».emptyMap();
+            «ENDIF»
         «ENDIF»
     '''
 
+    def private augmentationMapType() '''«Map.importedName»<Class<? extends «augmentField.returnType.importedName»>, «augmentField.returnType.importedName»>'''
+
 	/**
 	 * Template method which generates setter methods
 	 * 
@@ -420,6 +430,10 @@ class BuilderTemplate extends BaseTemplate {
         «IF augmentField != null»
 
             public «type.name»«BUILDER» add«augmentField.name.toFirstUpper»(Class<? extends «augmentField.returnType.importedName»> augmentationType, «augmentField.returnType.importedName» augmentation) {
+                if (!(this.«augmentField.name» instanceof «HashMap.importedName»)) {
+                    this.«augmentField.name» = new «HashMap.importedName»<>(this.«augmentField.name»);
+                }
+
                 this.«augmentField.name».put(augmentationType, augmentation);
                 return this;
             }
@@ -464,14 +478,36 @@ class BuilderTemplate extends BaseTemplate {
                 }
             «ENDIF»
             «FOR field : allProps»
-                this.«field.fieldName» = builder.«field.getterMethodName»();
+                «IF field.returnType.isListType»
+                    this.«field.fieldName» = builder.«field.getterMethodName»() == null ? null : «Collections.importedName».unmodifiableList(new «ArrayList.importedName»<>(builder.«field.getterMethodName»()));
+                «ELSE»
+                    this.«field.fieldName» = builder.«field.getterMethodName»();
+                «ENDIF»
             «ENDFOR»
             «IF augmentField != null»
-                this.«augmentField.name».putAll(builder.«augmentField.name»);
+                switch (builder.«augmentField.name».size()) {
+                case 0:
+                    this.«augmentField.name» = «Collections.importedName».emptyMap();
+                    break;
+                case 1:
+                    final «Map.importedName».Entry<Class<? extends «augmentField.returnType.importedName»>, «augmentField.returnType.importedName»> e = builder.«augmentField.name».entrySet().iterator().next();
+                    this.«augmentField.name» = «Collections.importedName».<Class<? extends «augmentField.returnType.importedName»>, «augmentField.returnType.importedName»>singletonMap(e.getKey(), e.getValue());
+                    break;
+                default :
+                    this.«augmentField.name» = «Collections.importedName».unmodifiableMap(new «HashMap.importedName»<>(builder.«augmentField.name»));
+                }
             «ENDIF»
         }
     '''
 
+    /**
+     * Lists are copied by the IMPL class constructor, as the cached hash code
+     * would not survive modification of a list shared with the builder.
+     */
+    private def boolean isListType(Type type) {
+        return "java.util".equals(type.packageName) && "List".equals(type.name)
+    }
+
     private def boolean implementsIfc(GeneratedType type, Type impl) {
         for (Type ifc : type.implements) {
             if (ifc.equals(impl)) {
@@ -534,8 +570,15 @@ class BuilderTemplate extends BaseTemplate {
      */
     def protected generateHashCode() '''
         «IF !properties.empty || augmentField != null»
+            private int hash = 0;
+            private volatile boolean hashValid = false;
+
             @Override
             public int hashCode() {
+                if (hashValid) {
+                    return hash;
+                }
+
                 final int prime = 31;
                 int result = 1;
                 «FOR property : properties»
@@ -548,6 +591,9 @@ class BuilderTemplate extends BaseTemplate {
                 «IF augmentField != null»
                     result = prime * result + ((«augmentField.name» == null) ? 0 : «augmentField.name».hashCode());
                 «ENDIF»
+
+                hash = result;
+                hashValid = true;
                 return result;
             }
         «ENDIF»
@@ -572,6 +618,9 @@ class BuilderTemplate extends BaseTemplate {
                     return false;
                 }
                 «type.name»«IMPL» other = («type.name»«IMPL») obj;
+                if (hashValid && other.hashValid && hash != other.hash) {
+                    return false;
+                }
                 «FOR property : properties»
                     «val fieldName = property.fieldName»
                     if («fieldName» == null) {
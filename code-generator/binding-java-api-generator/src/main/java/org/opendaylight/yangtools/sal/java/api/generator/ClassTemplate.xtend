@@ -15,7 +15,8 @@ import org.opendaylight.yangtools.sal.binding.model.api.GeneratedProperty
 import org.opendaylight.yangtools.sal.binding.model.api.GeneratedTransferObject
 import org.opendaylight.yangtools.sal.binding.model.api.GeneratedType
 import java.util.ArrayList
-import java.util.Collectionsimport java.util.Arrays
+import java.util.Collections
+import java.util.Arrays
 import org.opendaylight.yangtools.sal.binding.model.api.Restrictions
 import com.google.common.collect.Range
 import java.util.regex.Pattern
@@ -326,7 +327,7 @@ class ClassTemplate extends BaseTemplate {
                     «val cValue = c.value»
                     «IF cValue instanceof List<?>»
                         «val cValues = cValue as List<?>»
-                        private static final «List.importedName»<«Pattern.importedName»> «Constants.MEMBER_PATTERN_LIST» = new «ArrayList.importedName»<«Pattern.importedName»>();
+                        private static final «Pattern.importedName»[] «Constants.MEMBER_PATTERN_LIST»;
                         public static final «List.importedName»<String> «TypeConstants.PATTERN_CONSTANT_NAME» = «Arrays.importedName».asList(«
                         FOR v : cValues SEPARATOR ", "»«
                             IF v instanceof String»"«
@@ -350,9 +351,13 @@ class ClassTemplate extends BaseTemplate {
      */
     def protected generateStaticInicializationBlock() '''
         static {
+            final «Pattern.importedName»[] a = new «Pattern.importedName»[«TypeConstants.PATTERN_CONSTANT_NAME».size()];
+            int i = 0;
             for (String regEx : «TypeConstants.PATTERN_CONSTANT_NAME») {
-                «Constants.MEMBER_PATTERN_LIST».add(Pattern.compile(regEx));
+                a[i++] = Pattern.compile(regEx);
             }
+
+            «Constants.MEMBER_PATTERN_LIST» = a;
         }
     '''
 
@@ -367,6 +372,9 @@ class ClassTemplate extends BaseTemplate {
                 «IF f.readOnly»final«ENDIF» private «f.returnType.importedName» «f.fieldName»;
             «ENDFOR»
         «ENDIF»
+        «FOR p : allProperties»
+            «generateRangeConstants(type, p.returnType, p.fieldName.toString)»
+        «ENDFOR»
     '''
 
 
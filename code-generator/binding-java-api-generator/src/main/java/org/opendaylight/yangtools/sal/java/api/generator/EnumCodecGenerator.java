@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.java.api.generator;
+
+import org.opendaylight.yangtools.sal.binding.model.api.CodeGenerator;
+import org.opendaylight.yangtools.sal.binding.model.api.Enumeration;
+import org.opendaylight.yangtools.sal.binding.model.api.Type;
+import org.opendaylight.yangtools.yang.binding.BindingMapping;
+
+/**
+ * Transformator of the enumeration to JAVA source code of its DOM codec.
+ * Precompiled codecs are picked up by the runtime binding generator, so it
+ * does not need to generate them when the enumeration is first used.
+ *
+ * Only enumerations created from YANG enumerations are accepted, as the codec
+ * needs to know the YANG names of the enumeration items.
+ *
+ * Enumeration codecs are the only codecs generated at build time. Data object,
+ * key, augmentation and choice codecs delegate to the runtime codec registry
+ * through static fields (instance identifier, identityref, augmentation and
+ * case codecs), which the registry fills in only when the runtime generator
+ * creates the codec class itself. A precompiled class found on the class path
+ * skips that step and would be left unwired. The augmentations and cases such
+ * codecs dispatch on are also known only from the global schema context, which
+ * may contain modules compiled separately from the one being built.
+ */
+public final class EnumCodecGenerator implements CodeGenerator {
+
+    @Override
+    public boolean isAcceptable(final Type type) {
+        if (!(type instanceof Enumeration)) {
+            return false;
+        }
+        for (Enumeration.Pair pair : ((Enumeration) type).getValues()) {
+            if (pair.getYangName() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String generate(final Type type) {
+        if (type instanceof Enumeration) {
+            return new EnumCodecTemplate((Enumeration) type).generate();
+        }
+        return "";
+    }
+
+    @Override
+    public String getUnitName(final Type type) {
+        return type.getName() + BindingMapping.DOM_CODEC_SUFFIX;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.java.api.generator
+
+import org.opendaylight.yangtools.sal.binding.model.api.Enumeration
+import org.opendaylight.yangtools.yang.binding.BindingMapping
+
+/**
+ * Template for generating DOM codec of JAVA enumeration type. The generated
+ * class has the same name and static methods as the codec generated by the
+ * runtime binding generator, which uses it instead of generating its own.
+ */
+class EnumCodecTemplate {
+
+    /**
+     * Enumeration for which the codec is generated
+     */
+    val Enumeration enums
+
+    /**
+     * Constructs instance of this class with concrete <code>enums</code>.
+     *
+     * @param enums enumeration for which the codec will be generated
+     */
+    new(Enumeration enums) {
+        this.enums = enums
+    }
+
+    /**
+     * Returns name of the generated codec class.
+     *
+     * @param enums enumeration
+     * @return simple name of the codec class
+     */
+    def static String codecName(Enumeration enums) {
+        return enums.name + BindingMapping.DOM_CODEC_SUFFIX
+    }
+
+    /**
+     * Generates JAVA source code of the codec.
+     *
+     * @return string with JAVA source code
+     */
+    def String generate() '''
+        package «enums.packageName»;
+
+        /**
+         * DOM codec for {@link «enums.name»}, generated at build time.
+         */
+        public final class «codecName(enums)» {
+
+            public static java.lang.Object toDomValue(java.lang.Object value) {
+                if (value == null) {
+                    return null;
+                }
+                switch ((«enums.name») value) {
+                «FOR v : enums.values»
+                case «v.name»:
+                    return "«v.yangName.escape»";
+                «ENDFOR»
+                default:
+                    return null;
+                }
+            }
+
+            public static java.lang.Object fromDomValue(java.lang.Object value) {
+                if (value == null) {
+                    return null;
+                }
+                switch ((java.lang.String) value) {
+                «FOR v : enums.values»
+                case "«v.yangName.escape»":
+                    return «enums.name».«v.name»;
+                «ENDFOR»
+                default:
+                    return null;
+                }
+            }
+
+            public java.lang.Object serialize(java.lang.Object input) {
+                return toDomValue(input);
+            }
+
+            public java.lang.Object deserialize(java.lang.Object input) {
+                return fromDomValue(input);
+            }
+        }
+    '''
+
+    private def escape(String str) {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"")
+    }
+}
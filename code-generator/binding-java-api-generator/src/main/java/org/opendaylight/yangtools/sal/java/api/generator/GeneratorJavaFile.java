@@ -7,15 +7,22 @@
  */
 package org.opendaylight.yangtools.sal.java.api.generator;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.opendaylight.yangtools.sal.binding.model.api.CodeGenerator;
 import org.opendaylight.yangtools.sal.binding.model.api.GeneratedTransferObject;
@@ -26,6 +33,7 @@ import org.sonatype.plexus.build.incremental.BuildContext;
 import org.sonatype.plexus.build.incremental.DefaultBuildContext;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 
 /**
  * Generates files with JAVA source codes for every specified type.
@@ -50,6 +58,11 @@ public final class GeneratorJavaFile {
      */
     private final BuildContext buildContext;
 
+    /**
+     * Number of threads used for generating and writing files
+     */
+    private final int threads;
+
     /**
      * Creates instance of this class with the set of <code>types</code> for
      * which the JAVA code is generated.
@@ -62,12 +75,53 @@ public final class GeneratorJavaFile {
      *            set of types for which JAVA code should be generated
      */
     public GeneratorJavaFile(final BuildContext buildContext, final Collection<? extends Type> types) {
+        this(buildContext, types, false);
+    }
+
+    /**
+     * Creates instance of this class with the set of <code>types</code> for
+     * which the JAVA code is generated, optionally generating also DOM codecs
+     * which would otherwise be generated at runtime.
+     *
+     * @param buildContext
+     *            build context to use for accessing files
+     * @param types
+     *            set of types for which JAVA code should be generated
+     * @param generateCodecs
+     *            true if DOM codecs should be generated for supported types
+     */
+    public GeneratorJavaFile(final BuildContext buildContext, final Collection<? extends Type> types,
+            final boolean generateCodecs) {
+        this(buildContext, types, generateCodecs, 1);
+    }
+
+    /**
+     * Creates instance of this class with the set of <code>types</code> for
+     * which the JAVA code is generated using given number of threads. The
+     * generated files do not depend on the number of threads.
+     *
+     * @param buildContext
+     *            build context to use for accessing files
+     * @param types
+     *            set of types for which JAVA code should be generated
+     * @param generateCodecs
+     *            true if DOM codecs should be generated for supported types
+     * @param threads
+     *            number of threads generating the files
+     */
+    public GeneratorJavaFile(final BuildContext buildContext, final Collection<? extends Type> types,
+            final boolean generateCodecs, final int threads) {
+        Preconditions.checkArgument(threads > 0, "Number of threads must be positive, was %s", threads);
         this.buildContext = Preconditions.checkNotNull(buildContext);
         this.types = Preconditions.checkNotNull(types);
+        this.threads = threads;
         generators.add(new InterfaceGenerator());
         generators.add(new TOGenerator());
         generators.add(new EnumGenerator());
         generators.add(new BuilderGenerator());
+        if (generateCodecs) {
+            generators.add(new EnumCodecGenerator());
+        }
     }
 
     /**
@@ -100,32 +154,73 @@ public final class GeneratorJavaFile {
 
     public List<File> generateToFile(final File generatedSourcesDirectory, final File persistenSourcesDirectory)
             throws IOException {
-        final List<File> result = new ArrayList<>();
+        // Files are claimed in iteration order, so naming conflicts resolve the same way regardless of threads
+        final List<GenerationTask> tasks = new ArrayList<>();
+        final Set<File> claimedFiles = new HashSet<>();
         for (Type type : types) {
             if (type != null) {
                 for (CodeGenerator generator : generators) {
-                    File generatedJavaFile = null;
+                    final GenerationTask task;
                     if (type instanceof GeneratedTransferObject
                             && ((GeneratedTransferObject) type).isUnionTypeBuilder()) {
                         File packageDir = packageToDirectory(persistenSourcesDirectory, type.getPackageName());
                         File file = new File(packageDir, generator.getUnitName(type) + ".java");
-                        if (!file.exists()) {
-                            generatedJavaFile = generateTypeToJavaFile(persistenSourcesDirectory, type, generator);
+                        if (file.exists()) {
+                            task = null;
+                        } else {
+                            task = createTask(persistenSourcesDirectory, type, generator, claimedFiles);
                         }
                     } else {
-                        generatedJavaFile = generateTypeToJavaFile(generatedSourcesDirectory, type, generator);
+                        task = createTask(generatedSourcesDirectory, type, generator, claimedFiles);
                     }
-                    if (generatedJavaFile != null) {
-                        result.add(generatedJavaFile);
+                    if (task != null) {
+                        tasks.add(task);
                     }
                 }
             }
         }
+
+        if (threads == 1 || tasks.size() < 2) {
+            for (GenerationTask task : tasks) {
+                task.call();
+            }
+        } else {
+            runConcurrently(tasks);
+        }
+
+        final List<File> result = new ArrayList<>(tasks.size());
+        int unchanged = 0;
+        for (GenerationTask task : tasks) {
+            result.add(task.file);
+            if (!task.written) {
+                unchanged++;
+            }
+        }
+        LOG.debug("Generated {} files, {} of them were up to date", result.size(), unchanged);
         return result;
     }
 
+    private void runConcurrently(final List<GenerationTask> tasks) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwables.propagateIfPossible(e.getCause(), IOException.class);
+                    throw new IllegalStateException("Failed to generate sources", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating sources", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
-     * Generates <code>File</code> for <code>type</code>. All files are stored
+     * Creates task generating <code>File</code> for <code>type</code>. All files are stored
      * to subfolders of base directory <code>parentDir</code>. Subdirectories
      * are generated according to packages to which the type belongs (e. g. if
      * type belongs to the package <i>org.pcg</i> then in <code>parentDir</code>
@@ -138,16 +233,16 @@ public final class GeneratorJavaFile {
      *            generated
      * @param generator
      *            code generator which is used for generating of the source code
-     * @return file which contains JAVA source code
-     * @throws IOException
-     *             if the error during writing to the file occurs
+     * @param claimedFiles
+     *            files which are already generated by other tasks
+     * @return task generating file which contains JAVA source code, or null if
+     *         the generator does not accept the type or the file is generated
+     *         by another task
      * @throws IllegalArgumentException
      *             if <code>type</code> equals <code>null</code>
-     * @throws IllegalStateException
-     *             if string with generated code is empty
      */
-    private File generateTypeToJavaFile(final File parentDir, final Type type, final CodeGenerator generator)
-            throws IOException {
+    private GenerationTask createTask(final File parentDir, final Type type, final CodeGenerator generator,
+            final Set<File> claimedFiles) {
         if (parentDir == null) {
             LOG.warn("Parent Directory not specified, files will be generated "
                     + "accordingly to generated Type package path.");
@@ -167,33 +262,62 @@ public final class GeneratorJavaFile {
         }
 
         if (generator.isAcceptable(type)) {
+            final File file = new File(packageDir, generator.getUnitName(type) + ".java");
+            if (!claimedFiles.add(file)) {
+                LOG.warn(
+                        "Naming conflict for type '{}': file with same name already exists and will not be generated.",
+                        type.getFullyQualifiedName());
+                return null;
+            }
+            return new GenerationTask(type, generator, file);
+        }
+        return null;
+    }
+
+    /**
+     * Generates source code of a single file and writes it, unless the file
+     * already has the same content. Leaving the file untouched keeps its
+     * timestamp, so it is not compiled again.
+     */
+    private final class GenerationTask implements Callable<Void> {
+        private final Type type;
+        private final CodeGenerator generator;
+        private final File file;
+        private boolean written;
+
+        GenerationTask(final Type type, final CodeGenerator generator, final File file) {
+            this.type = type;
+            this.generator = generator;
+            this.file = file;
+        }
+
+        @Override
+        public Void call() throws IOException {
             final String generatedCode = generator.generate(type);
             if (generatedCode.isEmpty()) {
                 throw new IllegalStateException("Generated code should not be empty!");
             }
-            final File file = new File(packageDir, generator.getUnitName(type) + ".java");
 
-            if (file.exists()) {
-                LOG.warn(
-                        "Naming conflict for type '{}': file with same name already exists and will not be generated.",
-                        type.getFullyQualifiedName());
+            // Same encoding as the one used by OutputStreamWriter
+            final byte[] content = generatedCode.getBytes(Charset.defaultCharset());
+            if (file.isFile() && file.length() == content.length
+                    && Arrays.equals(content, Files.readAllBytes(file.toPath()))) {
+                LOG.trace("File {} is up to date", file);
                 return null;
             }
 
-            try (final OutputStream stream = buildContext.newFileOutputStream(file)) {
-                try (final Writer fw = new OutputStreamWriter(stream)) {
-                    try (final BufferedWriter bw = new BufferedWriter(fw)) {
-                        bw.write(generatedCode);
-                    }
+            // BuildContext implementations are not required to be thread-safe
+            synchronized (buildContext) {
+                try (final OutputStream stream = buildContext.newFileOutputStream(file)) {
+                    stream.write(content);
                 } catch (IOException e) {
                     LOG.error("Failed to write generate output into {}", file.getPath(), e);
                     throw e;
                 }
             }
-            return file;
-
+            written = true;
+            return null;
         }
-        return null;
     }
 
     /**
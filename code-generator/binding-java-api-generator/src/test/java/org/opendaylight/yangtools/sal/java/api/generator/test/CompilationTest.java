@@ -8,6 +8,8 @@
 package org.opendaylight.yangtools.sal.java.api.generator.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.opendaylight.yangtools.sal.java.api.generator.test.CompilationTestUtils.*;
 
@@ -22,8 +24,11 @@ import java.math.BigInteger;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Test;
@@ -419,6 +424,21 @@ public class CompilationTest extends BaseCompilationTest {
         expectedMsg = String.format("Invalid range: %s, expected: %s.", arg, rangeConstraints);
         assertContainsRestrictionCheck(builderObj, m, expectedMsg, arg);
 
+        // Test built objects
+        builderClass.getMethod("setIdString", String.class).invoke(builderObj, "id");
+        Method build = builderClass.getMethod("build");
+        Object nodes = build.invoke(builderObj);
+        Object other = build.invoke(builderObj);
+        assertEquals(nodes, other);
+        assertEquals(nodes.hashCode(), other.hashCode());
+        builderClass.getMethod("setIdString", String.class).invoke(builderObj, "other-id");
+        Object different = build.invoke(builderObj);
+        assertFalse(nodes.equals(different));
+        assertFalse(different.equals(nodes));
+        Field augmentation = nodes.getClass().getDeclaredField("augmentation");
+        augmentation.setAccessible(true);
+        assertSame(Collections.emptyMap(), augmentation.get(nodes));
+
         cleanUp(sourcesOutputDir, compiledOutputDir);
     }
 
@@ -503,6 +523,101 @@ public class CompilationTest extends BaseCompilationTest {
         cleanUp(sourcesOutputDir, compiledOutputDir);
     }
 
+    @Test
+    public void testBuiltObjects() throws Exception {
+        final File sourcesOutputDir = new File(GENERATOR_OUTPUT_PATH + FS + "augmentations");
+        assertTrue("Failed to create test file '" + sourcesOutputDir + "'", sourcesOutputDir.mkdir());
+        final File compiledOutputDir = new File(COMPILER_OUTPUT_PATH + FS + "augmentations");
+        assertTrue("Failed to create test file '" + compiledOutputDir + "'", compiledOutputDir.mkdir());
+
+        generateTestSources("/compilation/augmentations", sourcesOutputDir);
+
+        // Test if sources are compilable
+        testCompilation(sourcesOutputDir, compiledOutputDir);
+
+        ClassLoader loader = new URLClassLoader(new URL[] { compiledOutputDir.toURI().toURL() });
+        String fooPkg = BASE_PKG + ".urn.opendaylight.foo.rev131008";
+        String barPkg = BASE_PKG + ".urn.opendaylight.bar.rev131008";
+        Class<?> contClass = Class.forName(fooPkg + ".Cont", true, loader);
+        Class<?> contBuilderClass = Class.forName(fooPkg + ".ContBuilder", true, loader);
+        Class<?> cont1Class = Class.forName(barPkg + ".Cont1", true, loader);
+        Class<?> cont2Class = Class.forName(barPkg + ".Cont2", true, loader);
+        Object cont1 = buildAugmentation(loader, barPkg + ".Cont1Builder", "setFirst", "first");
+        Object cont2 = buildAugmentation(loader, barPkg + ".Cont2Builder", "setSecond", "second");
+
+        Object builderObj = contBuilderClass.newInstance();
+        Method build = contBuilderClass.getMethod("build");
+        Method getNames = contClass.getMethod("getNames");
+        Method addAugmentation = contBuilderClass.getMethod("addAugmentation", Class.class,
+                Class.forName("org.opendaylight.yangtools.yang.binding.Augmentation", true, loader));
+        contBuilderClass.getMethod("setName", String.class).invoke(builderObj, "name");
+
+        // Lists are copied, later changes to the builder's list do not affect built objects
+        List<String> names = new ArrayList<>(Arrays.asList("a", "b"));
+        contBuilderClass.getMethod("setNames", List.class).invoke(builderObj, names);
+        Object noAugmentations = build.invoke(builderObj);
+        int hash = noAugmentations.hashCode();
+        names.add("c");
+        assertEquals(Arrays.asList("a", "b"), getNames.invoke(noAugmentations));
+        assertEquals(hash, noAugmentations.hashCode());
+        assertEquals(noAugmentations, buildCont(contBuilderClass, "name", Arrays.asList("a", "b")));
+        try {
+            ((List<?>) getNames.invoke(noAugmentations)).clear();
+            throw new AssertionError("List of a built object should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+        names.remove("c");
+
+        // One augmentation
+        addAugmentation.invoke(builderObj, cont1Class, cont1);
+        Object oneAugmentation = build.invoke(builderObj);
+        assertEquals(oneAugmentation, build.invoke(builderObj));
+        assertEquals(oneAugmentation.hashCode(), build.invoke(builderObj).hashCode());
+        assertFalse(oneAugmentation.equals(noAugmentations));
+        assertFalse(noAugmentations.equals(oneAugmentation));
+        assertEquals(1, getAugmentations(oneAugmentation).size());
+
+        // Two augmentations
+        addAugmentation.invoke(builderObj, cont2Class, cont2);
+        Object twoAugmentations = build.invoke(builderObj);
+        assertEquals(twoAugmentations, build.invoke(builderObj));
+        assertEquals(twoAugmentations.hashCode(), build.invoke(builderObj).hashCode());
+        assertFalse(twoAugmentations.equals(oneAugmentation));
+        assertFalse(oneAugmentation.equals(twoAugmentations));
+        Map<?, ?> augmentations = getAugmentations(twoAugmentations);
+        assertEquals(2, augmentations.size());
+        try {
+            augmentations.clear();
+            throw new AssertionError("Augmentations of a built object should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        cleanUp(sourcesOutputDir, compiledOutputDir);
+    }
+
+    private static Object buildAugmentation(ClassLoader loader, String builderName, String setter, String value)
+            throws Exception {
+        Class<?> builderClass = Class.forName(builderName, true, loader);
+        Object builder = builderClass.newInstance();
+        builderClass.getMethod(setter, String.class).invoke(builder, value);
+        return builderClass.getMethod("build").invoke(builder);
+    }
+
+    private static Object buildCont(Class<?> builderClass, String name, List<String> names) throws Exception {
+        Object builder = builderClass.newInstance();
+        builderClass.getMethod("setName", String.class).invoke(builder, name);
+        builderClass.getMethod("setNames", List.class).invoke(builder, names);
+        return builderClass.getMethod("build").invoke(builder);
+    }
+
+    private static Map<?, ?> getAugmentations(Object obj) throws Exception {
+        Field augmentation = obj.getClass().getDeclaredField("augmentation");
+        augmentation.setAccessible(true);
+        return (Map<?, ?>) augmentation.get(obj);
+    }
+
     private void generateTestSources(String resourceDirPath, File sourcesOutputDir) throws Exception {
         final List<File> sourceFiles = getSourceFiles(resourceDirPath);
         final Set<Module> modulesToBuild = parser.parseYangModels(sourceFiles);
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.sal.java.api.generator.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.sal.java.api.generator.test.CompilationTestUtils.*;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.sal.binding.model.api.Type;
+import org.opendaylight.yangtools.sal.java.api.generator.GeneratorJavaFile;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
+
+/**
+ * Test generation of precompiled enumeration codecs.
+ */
+public class EnumCodecCompilationTest extends BaseCompilationTest {
+
+    @Test
+    public void test() throws Exception {
+        final File sourcesOutputDir = new File(GENERATOR_OUTPUT_PATH + FS + "enum-codec");
+        assertTrue("Failed to create test file '" + sourcesOutputDir + "'", sourcesOutputDir.mkdir());
+        final File compiledOutputDir = new File(COMPILER_OUTPUT_PATH + FS + "enum-codec");
+        assertTrue("Failed to create test file '" + compiledOutputDir + "'", compiledOutputDir.mkdir());
+
+        final List<File> sourceFiles = getSourceFiles("/compilation/typedef");
+        final Set<Module> modulesToBuild = parser.parseYangModels(sourceFiles);
+        final SchemaContext context = parser.resolveSchemaContext(modulesToBuild);
+        final List<Type> types = bindingGenerator.generateTypes(context);
+        final GeneratorJavaFile generator = new GeneratorJavaFile(new DefaultBuildContext(), new HashSet<>(types),
+                true);
+        generator.generateToFile(sourcesOutputDir);
+
+        File parent = new File(sourcesOutputDir, NS_FOO);
+        assertTrue(new File(parent, "Myenum$Broker$Codec$DOM.java").exists());
+
+        // Test if sources are compilable
+        testCompilation(sourcesOutputDir, compiledOutputDir);
+
+        String pkg = BASE_PKG + ".urn.opendaylight.foo.rev131008";
+        ClassLoader loader = new URLClassLoader(new URL[] { compiledOutputDir.toURI().toURL() });
+        Class<?> enumClass = Class.forName(pkg + ".Myenum", true, loader);
+        Class<?> codecClass = Class.forName(pkg + ".Myenum$Broker$Codec$DOM", true, loader);
+        Method toDom = codecClass.getMethod("toDomValue", Object.class);
+        Method fromDom = codecClass.getMethod("fromDomValue", Object.class);
+
+        for (Object constant : enumClass.getEnumConstants()) {
+            final Object domValue = toDom.invoke(null, constant);
+            assertEquals(constant, fromDom.invoke(null, domValue));
+        }
+        assertEquals("seven", toDom.invoke(null, enumClass.getField("Seven").get(null)));
+        assertNull(fromDom.invoke(null, "eight"));
+        assertNull(toDom.invoke(null, new Object[] { null }));
+
+        cleanUp(sourcesOutputDir, compiledOutputDir);
+    }
+}
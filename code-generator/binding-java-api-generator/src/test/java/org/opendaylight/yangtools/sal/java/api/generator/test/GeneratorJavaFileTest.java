@@ -7,10 +7,12 @@
  */
 package org.opendaylight.yangtools.sal.java.api.generator.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +25,7 @@ import org.opendaylight.yangtools.binding.generator.util.generated.type.builder.
 import org.opendaylight.yangtools.sal.binding.model.api.GeneratedType;
 import org.opendaylight.yangtools.sal.binding.model.api.type.builder.GeneratedTypeBuilder;
 import org.opendaylight.yangtools.sal.java.api.generator.GeneratorJavaFile;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
 
 public class GeneratorJavaFileTest {
     private static final String FS = File.separator;
@@ -54,6 +57,30 @@ public class GeneratorJavaFileTest {
         assertTrue(filesList.contains("Type4Builder.java"));
     }
 
+    @Test
+    public void testParallelGeneration() throws IOException {
+        final List<GeneratedType> types = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            types.add(createGeneratedType("org.opendaylight.controller.gen.parallel", "Type" + i));
+        }
+        // naming conflict, the first type wins
+        types.add(createGeneratedType("org.opendaylight.controller.gen.parallel", "Type0"));
+
+        final File dir = new File(PATH + FS + "parallel");
+        final List<File> sequential = new GeneratorJavaFile(new DefaultBuildContext(), types, false, 1)
+                .generateToFile(dir);
+        assertEquals(100, sequential.size());
+
+        final File type0 = sequential.get(0);
+        assertTrue(type0.setLastModified(0));
+
+        final List<File> parallel = new GeneratorJavaFile(new DefaultBuildContext(), types, false, 4)
+                .generateToFile(dir);
+        assertEquals(sequential, parallel);
+        // unchanged files are not rewritten
+        assertEquals(0, type0.lastModified());
+    }
+
     private GeneratedType createGeneratedType(String pkgName, String name) {
         GeneratedTypeBuilder builder = new GeneratedTypeBuilderImpl(pkgName, name);
         builder.addImplementsType(BindingTypes.DATA_OBJECT);
@@ -58,5 +58,14 @@ public interface Enumeration extends GeneratedType {
          * @return the value of the enumeration item.
          */
         Integer getValue();
+
+        /**
+         * Returns the name of the enumeration item as it is defined in the
+         * YANG model, before it has been mapped to a JAVA identifier.
+         *
+         * @return the YANG name of the enumeration item, or null if the item
+         *         has not been created from a YANG enumeration.
+         */
+        String getYangName();
     }
 }
@@ -25,6 +25,7 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang2sources.spi.BuildContextAware;
 import org.opendaylight.yangtools.yang2sources.spi.CodeGenerator;
+import org.opendaylight.yangtools.yang2sources.spi.ParallelGenerationAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonatype.plexus.build.incremental.BuildContext;
@@ -40,9 +41,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public final class CodeGeneratorImpl implements CodeGenerator, BuildContextAware {
+public final class CodeGeneratorImpl implements CodeGenerator, BuildContextAware, ParallelGenerationAware {
     private static final String FS = File.separator;
     private BuildContext buildContext;
+    private int generatorThreads = 1;
     private File projectBaseDir;
     private Map<String, String> additionalConfig;
 
@@ -59,15 +61,18 @@ public final class CodeGeneratorImpl implements CodeGenerator, BuildContextAware
 
         final BindingGenerator bindingGenerator = new BindingGeneratorImpl();
         final List<Type> types = bindingGenerator.generateTypes(context, yangModules);
-        final GeneratorJavaFile generator = new GeneratorJavaFile(buildContext, types);
 
         File persistentSourcesDir = null;
+        boolean generateCodecs = false;
         if (additionalConfig != null) {
             String persistenSourcesPath = additionalConfig.get("persistentSourcesDir");
             if (persistenSourcesPath != null) {
                 persistentSourcesDir = new File(persistenSourcesPath);
             }
+            generateCodecs = Boolean.parseBoolean(additionalConfig.get("generateCodecs"));
         }
+        final GeneratorJavaFile generator = new GeneratorJavaFile(buildContext, types, generateCodecs, generatorThreads);
+
         if (persistentSourcesDir == null) {
             persistentSourcesDir = new File(projectBaseDir, "src" + FS + "main" + FS + "java");
         }
@@ -148,6 +153,12 @@ public final class CodeGeneratorImpl implements CodeGenerator, BuildContextAware
         this.buildContext = Preconditions.checkNotNull(buildContext);
     }
 
+    @Override
+    public void setGeneratorThreads(int threads) {
+        Preconditions.checkArgument(threads > 0, "Number of threads must be positive, was %s", threads);
+        this.generatorThreads = threads;
+    }
+
     private Set<File> generateYangModuleInfo(File outputBaseDir, Module module, SchemaContext ctx,
             Builder<String> providerSourceSet) {
         Builder<File> generatedFiles = ImmutableSet.<File> builder();
@@ -0,0 +1,117 @@
+package org.opendaylight.yangtools.it.yang.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import javassist.ClassPool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.link.attributes.Destination;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.link.attributes.Source;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Link;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.Node;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.TopologyTypes;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.topology.node.TerminationPoint;
+import org.opendaylight.yangtools.sal.binding.generator.impl.CodecGenerationStatistics;
+import org.opendaylight.yangtools.sal.binding.generator.impl.LazyGeneratedCodecRegistry;
+import org.opendaylight.yangtools.sal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yangtools.sal.binding.generator.impl.RuntimeGeneratedMappingServiceImpl;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataContainerCodec;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Requests codecs for the same set of classes from multiple threads at once
+ * and checks all threads observe the same codecs.
+ */
+public class ConcurrentCodecGenerationTest {
+
+    private static final int THREADS = 8;
+
+    private static final List<Class<? extends DataContainer>> CLASSES = ImmutableList.of(NetworkTopology.class,
+            Topology.class, TopologyTypes.class, Node.class, TerminationPoint.class, Link.class, Source.class,
+            Destination.class);
+
+    private RuntimeGeneratedMappingServiceImpl mappingService;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() throws Exception {
+        ModuleInfoBackedContext moduleInfoContext = ModuleInfoBackedContext.create();
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(NetworkTopology.class));
+        Optional<SchemaContext> schemaContext = moduleInfoContext.tryToCreateSchemaContext();
+        assertTrue(schemaContext.isPresent());
+
+        mappingService = new RuntimeGeneratedMappingServiceImpl(moduleInfoContext);
+        mappingService.setPool(ClassPool.getDefault());
+        mappingService.init();
+        mappingService.onGlobalContextUpdated(schemaContext.get());
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentCodecLookup() throws Exception {
+        final LazyGeneratedCodecRegistry registry = mappingService.getRegistry();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final List<Future<Map<Class<?>, DataContainerCodec<?>>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; ++i) {
+            final int offset = i;
+            futures.add(executor.submit(new Callable<Map<Class<?>, DataContainerCodec<?>>>() {
+                @Override
+                public Map<Class<?>, DataContainerCodec<?>> call() throws InterruptedException {
+                    start.await();
+
+                    // Each thread walks the classes in a different order
+                    final Map<Class<?>, DataContainerCodec<?>> ret = new HashMap<>();
+                    for (int j = 0; j < CLASSES.size(); ++j) {
+                        final Class<? extends DataContainer> cls = CLASSES.get((offset + j) % CLASSES.size());
+                        ret.put(cls, registry.getCodecForDataObject(cls));
+                    }
+                    return ret;
+                }
+            }));
+        }
+        start.countDown();
+
+        final Map<Class<?>, DataContainerCodec<?>> expected = futures.get(0).get(60, TimeUnit.SECONDS);
+        assertEquals(CLASSES.size(), expected.size());
+        for (Future<Map<Class<?>, DataContainerCodec<?>>> f : futures) {
+            final Map<Class<?>, DataContainerCodec<?>> codecs = f.get(60, TimeUnit.SECONDS);
+            for (Class<?> cls : CLASSES) {
+                assertNotNull(codecs.get(cls));
+                assertSame(expected.get(cls), codecs.get(cls));
+            }
+        }
+
+        final CodecGenerationStatistics stats = registry.getCodecGenerationStatistics();
+        assertEquals(stats.getCacheStatistics().getMissCount(), stats.getResolvedCount());
+        assertTrue(stats.getMaxTimeNanos() <= stats.getTotalTimeNanos());
+    }
+}
@@ -0,0 +1,103 @@
+package org.opendaylight.yangtools.it.yang.runtime.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import javassist.ClassPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.yang.test.regression.bug466.augmentation.empty.rev140226.Bug4661;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.yang.test.regression.bug466.base.rev140226.Bug466;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yangtools.binding.generator.util.Types;
+import org.opendaylight.yangtools.sal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yangtools.sal.binding.generator.impl.RuntimeGeneratedMappingServiceImpl;
+import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataContainerCodec;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+
+import com.google.common.base.Optional;
+
+/**
+ * Adds modules to the schema context in several steps and checks codecs
+ * created before an update keep working after it.
+ */
+public class IncrementalContextUpdateTest {
+
+    private ModuleInfoBackedContext moduleInfoContext;
+    private RuntimeGeneratedMappingServiceImpl mappingService;
+
+    @Before
+    public void setup() {
+        moduleInfoContext = ModuleInfoBackedContext.create();
+        mappingService = new RuntimeGeneratedMappingServiceImpl(moduleInfoContext);
+        mappingService.setPool(ClassPool.getDefault());
+        mappingService.init();
+    }
+
+    @Test
+    public void addModules() throws Exception {
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(NetworkTopology.class));
+        mappingService.onGlobalContextUpdated(createContext());
+        DataContainerCodec<NetworkTopology> topologyCodec = mappingService.getCodecRegistry().getCodecForDataObject(
+                NetworkTopology.class);
+        assertNotNull(topologyCodec);
+
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(Bug466.class));
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(Bug4661.class));
+        mappingService.onGlobalContextUpdated(createContext());
+
+        assertNotNull(mappingService.getCodecRegistry().getCodecForDataObject(Bug466.class));
+        assertSame(topologyCodec, mappingService.getCodecRegistry().getCodecForDataObject(NetworkTopology.class));
+
+        // Update with the same modules does not need to process anything
+        mappingService.onGlobalContextUpdated(createContext());
+        assertSame(topologyCodec, mappingService.getCodecRegistry().getCodecForDataObject(NetworkTopology.class));
+    }
+
+    @Test
+    public void reparsedModulesWithSameSourceAreNotProcessed() throws Exception {
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(Bug466.class));
+        mappingService.onGlobalContextUpdated(createContext());
+        SchemaNode schemaNode = mappingService.getTypeToSchemaNode().get(Types.typeForClass(Bug466.class));
+        assertNotNull(schemaNode);
+
+        // Parsed again, so modules are different instances with the same source
+        mappingService.onGlobalContextUpdated(createContext());
+        assertSame(schemaNode, mappingService.getTypeToSchemaNode().get(Types.typeForClass(Bug466.class)));
+    }
+
+    @Test
+    public void removedModulesAreProcessedWhenAddedAgain() throws Exception {
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(NetworkTopology.class));
+        moduleInfoContext.registerModuleInfo(BindingReflections.getModuleInfo(Bug466.class));
+        mappingService.onGlobalContextUpdated(createContext());
+        SchemaNode schemaNode = mappingService.getTypeToSchemaNode().get(Types.typeForClass(Bug466.class));
+        assertNotNull(schemaNode);
+
+        ModuleInfoBackedContext topologyOnly = ModuleInfoBackedContext.create();
+        topologyOnly.registerModuleInfo(BindingReflections.getModuleInfo(NetworkTopology.class));
+        mappingService.onGlobalContextUpdated(createContext(topologyOnly));
+        assertFalse(mappingService.getTypeToSchemaNode().containsKey(Types.typeForClass(Bug466.class)));
+        assertNotNull(mappingService.getTypeToSchemaNode().get(Types.typeForClass(NetworkTopology.class)));
+
+        mappingService.onGlobalContextUpdated(createContext());
+        SchemaNode readdedNode = mappingService.getTypeToSchemaNode().get(Types.typeForClass(Bug466.class));
+        assertNotNull(readdedNode);
+        assertNotSame(schemaNode, readdedNode);
+    }
+
+    private SchemaContext createContext() {
+        return createContext(moduleInfoContext);
+    }
+
+    private static SchemaContext createContext(final ModuleInfoBackedContext context) {
+        Optional<SchemaContext> schemaContext = context.tryToCreateSchemaContext();
+        assertTrue(schemaContext.isPresent());
+        return schemaContext.get();
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client.api.data;
+
+import java.util.Set;
+
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * A retrieval strategy which limits the result of the query to selected
+ * children of the requested node. Children which are not selected are not
+ * present in the returned object.
+ */
+public interface FieldsRetrievalStrategy extends RetrievalStrategy {
+    /**
+     * @return names of selected children, never empty
+     */
+    Set<QName> getFields();
+}
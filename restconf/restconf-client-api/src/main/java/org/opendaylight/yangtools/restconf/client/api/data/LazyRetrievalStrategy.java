@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client.api.data;
+
+/**
+ * A retrieval strategy which fetches the tree up to the depth limit and
+ * returns an object which fetches nodes below the limit on first access.
+ * Fetched nodes are cached by the returned object, so each part of the
+ * tree is retrieved at most once. Accessing such a node blocks until it
+ * is retrieved.
+ */
+public interface LazyRetrievalStrategy extends LimitedDepthRetrievalStrategy {
+
+}
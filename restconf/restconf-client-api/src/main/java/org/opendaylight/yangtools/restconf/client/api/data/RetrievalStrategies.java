@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client.api.data;
+
+import java.util.Set;
+
+import org.opendaylight.yangtools.yang.common.QName;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Factory methods for commonly used retrieval strategies.
+ */
+public final class RetrievalStrategies {
+
+    private RetrievalStrategies() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Create a strategy which retrieves the tree up to given depth.
+     *
+     * @param depthLimit maximum depth of the tree, the requested node is at depth 1
+     * @return limited depth strategy
+     */
+    public static LimitedDepthRetrievalStrategy limitedDepth(final int depthLimit) {
+        return new LimitedDepth(depthLimit);
+    }
+
+    /**
+     * Create a strategy which retrieves the tree up to given depth and the rest
+     * on demand.
+     *
+     * @param depthLimit depth of the tree retrieved by a single request, the
+     *        requested node is at depth 1, has to be at least 2
+     * @return lazy strategy
+     */
+    public static LazyRetrievalStrategy lazy(final int depthLimit) {
+        Preconditions.checkArgument(depthLimit > 1, "Depth limit of lazy retrieval has to be at least 2, was %s",
+                depthLimit);
+        return new Lazy(depthLimit);
+    }
+
+    /**
+     * Create a strategy which retrieves only selected children of the requested node.
+     *
+     * @param fields names of selected children
+     * @return fields strategy
+     */
+    public static FieldsRetrievalStrategy fields(final Set<QName> fields) {
+        return new Fields(fields);
+    }
+
+    private static class LimitedDepth implements LimitedDepthRetrievalStrategy {
+        private final int depthLimit;
+
+        LimitedDepth(final int depthLimit) {
+            Preconditions.checkArgument(depthLimit > 0, "Depth limit has to be positive, was %s", depthLimit);
+            this.depthLimit = depthLimit;
+        }
+
+        @Override
+        public int getDepthLimit() {
+            return depthLimit;
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toStringHelper(this).add("depthLimit", depthLimit).toString();
+        }
+    }
+
+    private static final class Lazy extends LimitedDepth implements LazyRetrievalStrategy {
+        Lazy(final int depthLimit) {
+            super(depthLimit);
+        }
+    }
+
+    private static final class Fields implements FieldsRetrievalStrategy {
+        private final Set<QName> fields;
+
+        Fields(final Set<QName> fields) {
+            Preconditions.checkArgument(!fields.isEmpty(), "At least one field has to be selected");
+            this.fields = ImmutableSet.copyOf(fields);
+        }
+
+        @Override
+        public Set<QName> getFields() {
+            return fields;
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toStringHelper(this).add("fields", fields).toString();
+        }
+    }
+}
@@ -2,15 +2,22 @@ package org.opendaylight.yangtools.restconf.client;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.sun.jersey.api.client.ClientResponse;
 import java.util.Map.Entry;
+import javax.ws.rs.core.MediaType;
 import org.opendaylight.yangtools.restconf.client.api.data.Datastore;
 import org.opendaylight.yangtools.restconf.client.api.data.DefaultRetrievalStrategy;
+import org.opendaylight.yangtools.restconf.client.api.data.FieldsRetrievalStrategy;
+import org.opendaylight.yangtools.restconf.client.api.data.LazyRetrievalStrategy;
+import org.opendaylight.yangtools.restconf.client.api.data.LimitedDepthRetrievalStrategy;
 import org.opendaylight.yangtools.restconf.client.api.data.RetrievalStrategy;
+import org.opendaylight.yangtools.restconf.common.QueryParameters;
 import org.opendaylight.yangtools.restconf.utils.RestconfUtils;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.impl.codec.BindingIndependentMappingService;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -36,11 +43,34 @@ public abstract class AbstractDataStore implements Datastore {
     @Override
     public <T extends DataObject> ListenableFuture<Optional<T>> readData(final InstanceIdentifier<T> path,
             RetrievalStrategy strategy) {
+        final ListenableFuture<Optional<T>> data = readDataEagerly(path, strategy);
+        if (!(strategy instanceof LazyRetrievalStrategy)) {
+            return data;
+        }
+
+        final LazyRetrievalStrategy lazyStrategy = (LazyRetrievalStrategy) strategy;
+        return Futures.transform(data, new Function<Optional<T>, Optional<T>>() {
+            @Override
+            public Optional<T> apply(Optional<T> input) {
+                if (!input.isPresent()) {
+                    return input;
+                }
+                return Optional.of(LazyDataObjectHandler.createProxy(AbstractDataStore.this, path, input.get(), lazyStrategy));
+            }
+        });
+    }
+
+    /**
+     * Reads data from data store, without wrapping the result of lazy retrieval
+     * into a proxy.
+     */
+    <T extends DataObject> ListenableFuture<Optional<T>> readDataEagerly(final InstanceIdentifier<T> path,
+            RetrievalStrategy strategy) {
 
         final SchemaContext schemaContext = client.getSchemaContext();
         final BindingIndependentMappingService mappingService = client.getMappingService();
         final Entry<String, DataSchemaNode> pathWithSchema = RestconfUtils.toRestconfIdentifier(path, mappingService, schemaContext);
-        String restconfPath = getStorePrefix() + pathWithSchema.getKey();
+        String restconfPath = getStorePrefix() + pathWithSchema.getKey() + toQuery(strategy, schemaContext);
 
         return client.get(restconfPath, "application/xml",new Function<ClientResponse, Optional<T>>() {
 
@@ -48,8 +78,14 @@ public abstract class AbstractDataStore implements Datastore {
             public com.google.common.base.Optional<T> apply(ClientResponse response) {
                 switch (response.getStatus()) {
                 case 200: // Status OK
-                    DataObject dataObject = RestconfUtils.dataObjectFromInputStream(path,
-                            response.getEntityInputStream(), schemaContext, mappingService,pathWithSchema.getValue());
+                    final DataObject dataObject;
+                    if (isJson(response.getType())) {
+                        dataObject = RestconfUtils.dataObjectFromJsonInputStream(path,
+                                response.getEntityInputStream(), schemaContext, mappingService,pathWithSchema.getValue());
+                    } else {
+                        dataObject = RestconfUtils.dataObjectFromInputStream(path,
+                                response.getEntityInputStream(), schemaContext, mappingService,pathWithSchema.getValue());
+                    }
                     return (Optional<T>) Optional.of(dataObject);
                 case 404: // Status Not Found
                     return Optional.<T> absent();
@@ -62,4 +98,35 @@ public abstract class AbstractDataStore implements Datastore {
 
     protected abstract String getStorePrefix();
 
+    /**
+     * Translate retrieval strategy into query parameters of the request.
+     */
+    static String toQuery(RetrievalStrategy strategy, SchemaContext schemaContext) {
+        final StringBuilder sb = new StringBuilder();
+        if (strategy instanceof LimitedDepthRetrievalStrategy) {
+            sb.append('?').append(QueryParameters.DEPTH.getQueryParameter())
+                    .append(((LimitedDepthRetrievalStrategy) strategy).getDepthLimit());
+        }
+        if (strategy instanceof FieldsRetrievalStrategy) {
+            sb.append(sb.length() == 0 ? '?' : '&').append(QueryParameters.FIELDS.getQueryParameter());
+            boolean first = true;
+            for (QName field : ((FieldsRetrievalStrategy) strategy).getFields()) {
+                final CharSequence identifier = RestconfUtils.toRestconfIdentifier(field, schemaContext);
+                if (identifier == null) {
+                    throw new IllegalArgumentException("Field " + field + " does not belong to any known module");
+                }
+                if (!first) {
+                    sb.append(';');
+                }
+                sb.append(identifier);
+                first = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isJson(MediaType type) {
+        return type != null && (type.getSubtype().equals("json") || type.getSubtype().endsWith("+json"));
+    }
+
 }
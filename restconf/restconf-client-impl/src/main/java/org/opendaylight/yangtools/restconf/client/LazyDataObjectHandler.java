@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.opendaylight.yangtools.restconf.client.api.data.LazyRetrievalStrategy;
+import org.opendaylight.yangtools.restconf.client.api.data.RetrievalStrategies;
+import org.opendaylight.yangtools.restconf.client.api.data.RetrievalStrategy;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.Identifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+/**
+ * Invocation handler of a data object retrieved with {@link LazyRetrievalStrategy}.
+ * Nodes at the depth limit were retrieved without their children, these are
+ * retrieved on first access. Children are wrapped into proxies as well, and
+ * are cached, so that each subtree is retrieved at most once.
+ *
+ * List entries at the depth limit are retrieved without their key leaves, so
+ * they could not be addressed later. The codec still creates a key for them,
+ * with the missing leaves set to null. When such entries are accessed, their
+ * parent is read again with one more level, which includes the keys.
+ */
+final class LazyDataObjectHandler implements InvocationHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(LazyDataObjectHandler.class);
+    private static final String GET_IMPLEMENTED_INTERFACE = "getImplementedInterface";
+    private static final String GET_AUGMENTATION = "getAugmentation";
+    /*
+     * Reads a node with its list entries and their leaves
+     */
+    private static final RetrievalStrategy ENTRY_KEYS_STRATEGY = RetrievalStrategies.limitedDepth(3);
+    private static final ConcurrentMap<Class<?>, List<Method>> KEY_GETTERS = new ConcurrentHashMap<>();
+
+    private final AbstractDataStore store;
+    private final InstanceIdentifier<?> path;
+    private final LazyRetrievalStrategy strategy;
+    private final Class<?> type;
+    private final ConcurrentMap<Object, Optional<Object>> children = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private DataObject data;
+    private int depth;
+
+    private LazyDataObjectHandler(final AbstractDataStore store, final InstanceIdentifier<?> path,
+            final DataObject data, final LazyRetrievalStrategy strategy, final int depth) {
+        this.store = Preconditions.checkNotNull(store);
+        this.path = Preconditions.checkNotNull(path);
+        this.data = Preconditions.checkNotNull(data);
+        this.strategy = Preconditions.checkNotNull(strategy);
+        this.type = data.getImplementedInterface();
+        this.depth = depth;
+    }
+
+    /**
+     * Wrap a data object retrieved with lazy strategy into a proxy.
+     *
+     * @param store data store the object was retrieved from
+     * @param path path of the object
+     * @param data object retrieved from the store
+     * @param strategy strategy used to retrieve the object
+     * @return proxy implementing the same interface as the object
+     */
+    static <T extends DataObject> T createProxy(final AbstractDataStore store, final InstanceIdentifier<T> path,
+            final T data, final LazyRetrievalStrategy strategy) {
+        return createProxy(store, path, data, strategy, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends DataObject> T createProxy(final AbstractDataStore store, final InstanceIdentifier<?> path,
+            final T data, final LazyRetrievalStrategy strategy, final int depth) {
+        final Class<?> type = data.getImplementedInterface();
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new LazyDataObjectHandler(store, path, data, strategy, depth));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        final String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            switch (name) {
+            case "equals":
+                return proxy == args[0] || getData().equals(unwrap(args[0]));
+            case "hashCode":
+                return getData().hashCode();
+            default:
+                synchronized (this) {
+                    return data.toString();
+                }
+            }
+        }
+        if (GET_IMPLEMENTED_INTERFACE.equals(name) && args == null) {
+            return type;
+        }
+
+        final DataObject target = getData();
+        final Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        if (args == null) {
+            if (hasMissingKeys(result)) {
+                return cachedEntries(method, result);
+            }
+            return cachedChild(method, result, false);
+        }
+        if (GET_AUGMENTATION.equals(name) && args.length == 1) {
+            return cachedChild(args[0], result, true);
+        }
+        return result;
+    }
+
+    /**
+     * Get data of this node, retrieving its children if they were not retrieved yet.
+     */
+    private synchronized DataObject getData() {
+        if (depth >= strategy.getDepthLimit()) {
+            LOG.debug("Retrieving children of {}", path);
+            final Optional<? extends DataObject> fresh = readEagerly(strategy);
+            if (fresh.isPresent()) {
+                data = fresh.get();
+            } else {
+                LOG.debug("Node {} was removed, keeping data retrieved previously", path);
+            }
+            depth = 1;
+        }
+        return data;
+    }
+
+    private Optional<? extends DataObject> readEagerly(final RetrievalStrategy readStrategy) {
+        try {
+            return store.readDataEagerly(path, readStrategy).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrieving " + path, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to retrieve " + path, e.getCause());
+        }
+    }
+
+    private static boolean hasMissingKeys(final Object value) {
+        if (value instanceof List) {
+            for (Object item : (List<?>) value) {
+                if (item instanceof Identifiable && !isComplete(((Identifiable<?>) item).getKey())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check that a key has all its components, which are exposed by getters of
+     * the key class.
+     */
+    private static boolean isComplete(final Object key) {
+        if (key == null) {
+            return false;
+        }
+        for (Method getter : keyGetters(key.getClass())) {
+            final Object component;
+            try {
+                component = getter.invoke(key);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Failed to read " + getter.getName() + " of " + key, e);
+            }
+            if (component == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Method> keyGetters(final Class<?> keyClass) {
+        List<Method> ret = KEY_GETTERS.get(keyClass);
+        if (ret == null) {
+            ret = new ArrayList<>();
+            for (Method method : keyClass.getMethods()) {
+                final String name = method.getName();
+                if (method.getDeclaringClass() != Object.class && !Modifier.isStatic(method.getModifiers())
+                        && method.getParameterTypes().length == 0 && method.getReturnType() != void.class
+                        && (name.startsWith("get") || name.startsWith("is"))) {
+                    ret.add(method);
+                }
+            }
+            KEY_GETTERS.putIfAbsent(keyClass, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Get list entries returned by a getter, which were cut off at the depth limit without
+     * their keys. The entries are retrieved again together with their leaves, their other
+     * children are retrieved on first access.
+     */
+    private Object cachedEntries(final Method method, final Object entriesWithoutKeys) throws Throwable {
+        final Optional<Object> cached = children.get(method);
+        if (cached != null) {
+            return cached.orNull();
+        }
+
+        LOG.debug("Retrieving keys of {} entries of {}", method.getName(), path);
+        final Optional<? extends DataObject> fresh = readEagerly(ENTRY_KEYS_STRATEGY);
+        if (!fresh.isPresent()) {
+            LOG.debug("Node {} was removed, entries cannot be addressed", path);
+            return cachedChild(method, entriesWithoutKeys, false);
+        }
+
+        final Object entries;
+        try {
+            entries = method.invoke(fresh.get());
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        // Children of the entries are at the depth limit
+        final Optional<Object> wrapped = Optional.fromNullable(wrap(entries, strategy.getDepthLimit() - 1));
+        final Optional<Object> existing = children.putIfAbsent(method, wrapped);
+        return existing == null ? wrapped.orNull() : existing.orNull();
+    }
+
+    private Object cachedChild(final Object key, final Object value, final boolean augmentation) {
+        final Optional<Object> cached = children.get(key);
+        if (cached != null) {
+            return cached.orNull();
+        }
+
+        final int childDepth;
+        synchronized (this) {
+            childDepth = augmentation ? depth : depth + 1;
+        }
+        final Optional<Object> wrapped = Optional.fromNullable(wrap(value, childDepth));
+        final Optional<Object> existing = children.putIfAbsent(key, wrapped);
+        return existing == null ? wrapped.orNull() : existing.orNull();
+    }
+
+    private Object wrap(final Object value, final int childDepth) {
+        if (value instanceof DataObject) {
+            return wrapDataObject((DataObject) value, childDepth);
+        }
+        if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            final List<Object> ret = new ArrayList<>(list.size());
+            for (Object item : list) {
+                ret.add(item instanceof DataObject ? wrapDataObject((DataObject) item, childDepth) : item);
+            }
+            return Collections.unmodifiableList(ret);
+        }
+        return value;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private DataObject wrapDataObject(final DataObject child, final int childDepth) {
+        final InstanceIdentifier<?> childPath;
+        if (child instanceof Identifiable) {
+            final Object key = ((Identifiable) child).getKey();
+            if (!isComplete(key)) {
+                // Key is missing in data, we cannot address the entry
+                return child;
+            }
+            childPath = (InstanceIdentifier<?>) InstanceIdentifier.builder((InstanceIdentifier) path)
+                    .node((Class) child.getImplementedInterface(), (Identifier) key).toInstance();
+        } else {
+            childPath = (InstanceIdentifier<?>) InstanceIdentifier.builder((InstanceIdentifier) path)
+                    .node((Class) child.getImplementedInterface()).toInstance();
+        }
+        return createProxy(store, childPath, child, strategy, childDepth);
+    }
+
+    private static Object unwrap(final Object obj) {
+        if (obj != null && Proxy.isProxyClass(obj.getClass())) {
+            final InvocationHandler handler = Proxy.getInvocationHandler(obj);
+            if (handler instanceof LazyDataObjectHandler) {
+                return ((LazyDataObjectHandler) handler).getData();
+            }
+        }
+        return obj;
+    }
+}
@@ -0,0 +1,579 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.core.header.InBoundHeaders;
+
+/**
+ * Asynchronous HTTP transport for RESTCONF requests to a single server.
+ *
+ * Requests are queued and sent over a pool of keep-alive connections, which
+ * are opened on demand up to {@link Configuration#getMaxConnections()}. No
+ * thread is blocked while a request is in flight, the returned future is
+ * completed from the I/O thread once the whole response is received.
+ *
+ * Idempotent requests may be pipelined on a connection up to
+ * {@link Configuration#getPipeliningDepth()}, POST requests are always sent
+ * alone. An idempotent request, whose connection was closed before the
+ * response arrived, is sent once more. A request whose response exceeds
+ * {@link Configuration#getMaxResponseLength()} fails and is not sent again.
+ */
+public final class NettyHttpTransport implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(NettyHttpTransport.class);
+
+    /**
+     * Configuration of the transport.
+     */
+    public static final class Configuration {
+        private int maxConnections = 4;
+        private int pipeliningDepth = 1;
+        private int maxPendingRequests = 1024;
+        private int connectTimeoutMillis = 10000;
+        private int idleTimeoutSeconds = 60;
+        private int maxResponseLength = 16 * 1024 * 1024;
+        private int ioThreads = 0;
+
+        /**
+         * @return maximum number of connections opened to the server
+         */
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public Configuration setMaxConnections(final int maxConnections) {
+            Preconditions.checkArgument(maxConnections > 0, "Maximum number of connections must be positive");
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * @return maximum number of requests in flight on a single connection,
+         *         1 disables pipelining
+         */
+        public int getPipeliningDepth() {
+            return pipeliningDepth;
+        }
+
+        public Configuration setPipeliningDepth(final int pipeliningDepth) {
+            Preconditions.checkArgument(pipeliningDepth > 0, "Pipelining depth must be positive");
+            this.pipeliningDepth = pipeliningDepth;
+            return this;
+        }
+
+        /**
+         * @return maximum number of requests waiting for a connection, further
+         *         requests are rejected
+         */
+        public int getMaxPendingRequests() {
+            return maxPendingRequests;
+        }
+
+        public Configuration setMaxPendingRequests(final int maxPendingRequests) {
+            Preconditions.checkArgument(maxPendingRequests > 0, "Maximum number of pending requests must be positive");
+            this.maxPendingRequests = maxPendingRequests;
+            return this;
+        }
+
+        public int getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public Configuration setConnectTimeoutMillis(final int connectTimeoutMillis) {
+            Preconditions.checkArgument(connectTimeoutMillis >= 0, "Connect timeout must not be negative");
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @return time in seconds after which an idle connection is closed
+         */
+        public int getIdleTimeoutSeconds() {
+            return idleTimeoutSeconds;
+        }
+
+        public Configuration setIdleTimeoutSeconds(final int idleTimeoutSeconds) {
+            Preconditions.checkArgument(idleTimeoutSeconds > 0, "Idle timeout must be positive");
+            this.idleTimeoutSeconds = idleTimeoutSeconds;
+            return this;
+        }
+
+        /**
+         * @return maximum length of a response body in bytes
+         */
+        public int getMaxResponseLength() {
+            return maxResponseLength;
+        }
+
+        public Configuration setMaxResponseLength(final int maxResponseLength) {
+            Preconditions.checkArgument(maxResponseLength > 0, "Maximum response length must be positive");
+            this.maxResponseLength = maxResponseLength;
+            return this;
+        }
+
+        /**
+         * @return number of I/O threads, 0 selects Netty default
+         */
+        public int getIoThreads() {
+            return ioThreads;
+        }
+
+        public Configuration setIoThreads(final int ioThreads) {
+            Preconditions.checkArgument(ioThreads >= 0, "Number of I/O threads must not be negative");
+            this.ioThreads = ioThreads;
+            return this;
+        }
+    }
+
+    private final String host;
+    private final int port;
+    private final String hostHeader;
+    private final int maxConnections;
+    private final int pipeliningDepth;
+    private final int maxPendingRequests;
+    private final int idleTimeoutSeconds;
+    private final int maxResponseLength;
+    private final EventLoopGroup group;
+    private final Bootstrap bootstrap;
+
+    // Guarded by this
+    private final Deque<PendingRequest> pending = new ArrayDeque<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private boolean closed;
+
+    private volatile String authorization;
+
+    public NettyHttpTransport(final URI serverUri, final Configuration configuration) {
+        Preconditions.checkArgument("http".equals(serverUri.getScheme()), "Unsupported protocol %s",
+                serverUri.getScheme());
+        // URI keeps brackets around IPv6 literals, name resolution does not need them
+        final String uriHost = serverUri.getHost();
+        this.host = uriHost.startsWith("[") ? uriHost.substring(1, uriHost.length() - 1) : uriHost;
+        this.port = serverUri.getPort() == -1 ? 80 : serverUri.getPort();
+        this.hostHeader = hostHeader(host, serverUri.getPort());
+        this.maxConnections = configuration.getMaxConnections();
+        this.pipeliningDepth = configuration.getPipeliningDepth();
+        this.maxPendingRequests = configuration.getMaxPendingRequests();
+        this.idleTimeoutSeconds = configuration.getIdleTimeoutSeconds();
+        this.maxResponseLength = configuration.getMaxResponseLength();
+
+        this.group = new NioEventLoopGroup(configuration.getIoThreads());
+        this.bootstrap = new Bootstrap().group(group).channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, configuration.getConnectTimeoutMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.TCP_NODELAY, true);
+    }
+
+    /**
+     * Value of the Host header, IPv6 literals are enclosed in brackets as
+     * required by RFC 7230 section 5.4.
+     *
+     * @param host host name or address without brackets
+     * @param port port, -1 if the default port is used
+     * @return Host header value
+     */
+    static String hostHeader(final String host, final int port) {
+        final String name = host.indexOf(':') != -1 ? "[" + host + "]" : host;
+        return port == -1 ? name : name + ":" + port;
+    }
+
+    /**
+     * Set credentials sent with every request using HTTP basic authentication.
+     *
+     * @param userName user name
+     * @param password password
+     */
+    public void setBasicAuthentication(final String userName, final String password) {
+        final byte[] credentials = (userName + ":" + password).getBytes(Charsets.UTF_8);
+        this.authorization = "Basic " + BaseEncoding.base64().encode(credentials);
+    }
+
+    /**
+     * Send a request.
+     *
+     * @param method HTTP method
+     * @param uri URI of the resource
+     * @param acceptType accepted media type of the response
+     * @param contentType media type of the payload
+     * @param payload payload of the request, may be null
+     * @return future completed with the response
+     */
+    public ListenableFuture<ClientResponse> execute(final HttpMethod method, final URI uri, final String acceptType,
+            final String contentType, final String payload) {
+        final String path = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        final PendingRequest request = new PendingRequest(method, path, acceptType, payload == null ? null
+                : contentType, payload == null ? new byte[0] : payload.getBytes(Charsets.UTF_8));
+
+        synchronized (this) {
+            if (closed) {
+                return Futures.immediateFailedFuture(new IllegalStateException("Transport is closed"));
+            }
+            if (pending.size() >= maxPendingRequests) {
+                return Futures.immediateFailedFuture(new RejectedExecutionException(
+                        "Too many pending requests to " + hostHeader));
+            }
+            pending.add(request);
+            dispatch();
+        }
+        return request.future;
+    }
+
+    @Override
+    public void close() {
+        final List<PendingRequest> failed;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            failed = new ArrayList<>(pending);
+            pending.clear();
+            for (Connection connection : connections) {
+                if (connection.channel != null) {
+                    connection.channel.close();
+                }
+            }
+        }
+        for (PendingRequest request : failed) {
+            request.future.setException(new IllegalStateException("Transport is closed"));
+        }
+        group.shutdownGracefully();
+    }
+
+    /**
+     * Send pending requests over connections which can accept them and open new
+     * connections if needed. Requests are sent in the order they were queued.
+     */
+    private synchronized void dispatch() {
+        while (!pending.isEmpty()) {
+            final Connection connection = selectConnection(pending.peek());
+            if (connection == null) {
+                break;
+            }
+            connection.send(pending.poll());
+        }
+
+        int connecting = 0;
+        for (Connection connection : connections) {
+            if (connection.channel == null) {
+                connecting++;
+            }
+        }
+        while (connections.size() < maxConnections && connecting * pipeliningDepth < pending.size()) {
+            openConnection();
+            connecting++;
+        }
+    }
+
+    private Connection selectConnection(final PendingRequest request) {
+        Connection ret = null;
+        for (Connection connection : connections) {
+            if (connection.canAccept(request) && (ret == null || connection.inFlight.size() < ret.inFlight.size())) {
+                ret = connection;
+            }
+        }
+        return ret;
+    }
+
+    private void openConnection() {
+        final Connection connection = new Connection();
+        connections.add(connection);
+        bootstrap.clone().handler(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(final SocketChannel ch) {
+                final ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast("idle", new IdleStateHandler(0, 0, idleTimeoutSeconds));
+                pipeline.addLast("http-codec", new HttpClientCodec());
+                pipeline.addLast("aggregator", new HttpObjectAggregator(maxResponseLength));
+                pipeline.addLast("handler", connection);
+            }
+        }).connect(host, port).addListener(connection);
+    }
+
+    private void connected(final Connection connection, final Channel channel) {
+        synchronized (this) {
+            if (!closed) {
+                connection.channel = channel;
+                dispatch();
+                return;
+            }
+        }
+        channel.close();
+    }
+
+    private void connectFailed(final Connection connection, final Throwable cause) {
+        final List<PendingRequest> failed = new ArrayList<>();
+        synchronized (this) {
+            connections.remove(connection);
+            // Requests are left for other connections, if there are any
+            if (connections.isEmpty()) {
+                failed.addAll(pending);
+                pending.clear();
+            }
+        }
+        LOG.debug("Failed to connect to {}", hostHeader, cause);
+        for (PendingRequest request : failed) {
+            request.future.setException(cause);
+        }
+    }
+
+    private void connectionClosed(final Connection connection) {
+        final List<PendingRequest> failed = new ArrayList<>();
+        synchronized (this) {
+            connections.remove(connection);
+            final Iterator<PendingRequest> it = connection.inFlight.descendingIterator();
+            while (it.hasNext()) {
+                final PendingRequest request = it.next();
+                if (!closed && request.isIdempotent() && !request.retried) {
+                    request.retried = true;
+                    pending.addFirst(request);
+                } else {
+                    failed.add(0, request);
+                }
+            }
+            connection.inFlight.clear();
+            if (!closed) {
+                dispatch();
+            }
+        }
+        for (PendingRequest request : failed) {
+            request.future.setException(new IOException("Connection to " + hostHeader
+                    + " was closed before response was received"));
+        }
+    }
+
+    private void responseReceived(final Connection connection, final Channel channel, final FullHttpResponse response) {
+        final PendingRequest request;
+        final boolean keepAlive = HttpHeaders.isKeepAlive(response);
+        synchronized (this) {
+            request = connection.inFlight.poll();
+            if (!keepAlive) {
+                connection.closing = true;
+            }
+        }
+
+        if (request == null) {
+            LOG.warn("Received unexpected response {} from {}", response.getStatus(), hostHeader);
+            channel.close();
+            return;
+        }
+        request.future.set(toClientResponse(response));
+
+        if (keepAlive) {
+            dispatch();
+        } else {
+            // Pipelined requests are sent again once the connection is closed
+            channel.close();
+        }
+    }
+
+    /*
+     * A response over the maximum length would be rejected again, so its request
+     * fails instead of being sent once more when the connection is closed.
+     */
+    private void responseRejected(final Connection connection, final Throwable cause) {
+        final PendingRequest request;
+        synchronized (this) {
+            request = connection.inFlight.poll();
+            connection.closing = true;
+        }
+        if (request != null) {
+            request.future.setException(cause);
+        }
+    }
+
+    private void connectionIdle(final Connection connection, final Channel channel) {
+        synchronized (this) {
+            if (!connection.inFlight.isEmpty()) {
+                return;
+            }
+            connection.closing = true;
+        }
+        channel.close();
+    }
+
+    private static ClientResponse toClientResponse(final FullHttpResponse response) {
+        final InBoundHeaders headers = new InBoundHeaders();
+        for (Map.Entry<String, String> header : response.headers()) {
+            headers.add(header.getKey(), header.getValue());
+        }
+        final ByteBuf content = response.content();
+        final byte[] entity = new byte[content.readableBytes()];
+        content.readBytes(entity);
+
+        // Message body workers are not needed, consumers read the entity stream directly
+        return new ClientResponse(response.getStatus().code(), headers, new ByteArrayInputStream(entity), null);
+    }
+
+    private final class PendingRequest {
+        private final SettableFuture<ClientResponse> future = SettableFuture.create();
+        private final HttpMethod method;
+        private final String path;
+        private final String acceptType;
+        private final String contentType;
+        private final byte[] payload;
+        private boolean retried;
+
+        PendingRequest(final HttpMethod method, final String path, final String acceptType, final String contentType,
+                final byte[] payload) {
+            this.method = method;
+            this.path = path;
+            this.acceptType = acceptType;
+            this.contentType = contentType;
+            this.payload = payload;
+        }
+
+        boolean isIdempotent() {
+            return !HttpMethod.POST.equals(method);
+        }
+
+        FullHttpRequest toHttpRequest() {
+            final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, path,
+                    Unpooled.wrappedBuffer(payload));
+            final HttpHeaders headers = request.headers();
+            headers.set(HttpHeaders.Names.HOST, hostHeader);
+            headers.set(HttpHeaders.Names.CONNECTION, HttpHeaders.Values.KEEP_ALIVE);
+            headers.set(HttpHeaders.Names.CONTENT_LENGTH, payload.length);
+            if (acceptType != null) {
+                headers.set(HttpHeaders.Names.ACCEPT, acceptType);
+            }
+            if (contentType != null) {
+                headers.set(HttpHeaders.Names.CONTENT_TYPE, contentType);
+            }
+            final String auth = authorization;
+            if (auth != null) {
+                headers.set(HttpHeaders.Names.AUTHORIZATION, auth);
+            }
+            return request;
+        }
+    }
+
+    private final class Connection extends SimpleChannelInboundHandler<FullHttpResponse> implements
+            ChannelFutureListener {
+        // Guarded by NettyHttpTransport.this
+        private final Deque<PendingRequest> inFlight = new ArrayDeque<>();
+        private Channel channel;
+        private boolean closing;
+
+        boolean canAccept(final PendingRequest request) {
+            if (channel == null || closing) {
+                return false;
+            }
+            if (inFlight.isEmpty()) {
+                return true;
+            }
+            if (inFlight.size() >= pipeliningDepth || !request.isIdempotent()) {
+                return false;
+            }
+            for (PendingRequest r : inFlight) {
+                if (!r.isIdempotent()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void send(final PendingRequest request) {
+            inFlight.add(request);
+            channel.writeAndFlush(request.toHttpRequest()).addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(final ChannelFuture future) {
+                    if (!future.isSuccess()) {
+                        LOG.debug("Failed to send request to {}", hostHeader, future.cause());
+                        future.channel().close();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void operationComplete(final ChannelFuture future) {
+            if (future.isSuccess()) {
+                connected(this, future.channel());
+            } else {
+                connectFailed(this, future.cause());
+            }
+        }
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpResponse msg) {
+            responseReceived(this, ctx.channel(), msg);
+        }
+
+        @Override
+        public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+            connectionClosed(this);
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                connectionIdle(this, ctx.channel());
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
+            if (cause instanceof TooLongFrameException) {
+                responseRejected(this, cause);
+            }
+            LOG.debug("Closing connection to {} after failure", hostHeader, cause);
+            ctx.close();
+        }
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.restconf.client;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
 
 import java.io.UnsupportedEncodingException;
@@ -14,12 +16,15 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.concurrent.Callable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 
 import javax.ws.rs.core.MediaType;
+import javax.xml.stream.XMLStreamException;
 
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -28,47 +33,63 @@ import org.opendaylight.yangtools.restconf.client.api.event.EventStreamReplay;
 import org.opendaylight.yangtools.restconf.client.api.event.ListenableEventStreamContext;
 import org.opendaylight.yangtools.restconf.client.to.RestRpcResult;
 import org.opendaylight.yangtools.restconf.common.ResourceUri;
+import org.opendaylight.yangtools.restconf.utils.XmlStreamDecoder;
+import org.opendaylight.yangtools.websocket.client.StreamingConfiguration;
 import org.opendaylight.yangtools.websocket.client.WebSocketIClient;
-import org.opendaylight.yangtools.websocket.client.callback.ClientMessageCallback;
+import org.opendaylight.yangtools.websocket.client.callback.MessageBatchCallback;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
 import org.opendaylight.yangtools.yang.binding.NotificationListener;
 import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.data.api.CompositeNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
 import com.sun.jersey.api.client.ClientResponse;
 
-
-
-
-public class RestListenableEventStreamContext<L extends NotificationListener> implements ListenableEventStreamContext,ClientMessageCallback {
+/**
+ * Event stream context which receives notifications over a web socket. Messages
+ * are decoded from network buffers straight into binding notifications and
+ * delivered to the listener in batches from a single thread. When the listener
+ * falls behind, reading from the web socket is suspended.
+ */
+public class RestListenableEventStreamContext<L extends NotificationListener> implements ListenableEventStreamContext,MessageBatchCallback {
 
     private static final Logger logger = LoggerFactory.getLogger(RestListenableEventStreamContext.class.toString());
-    private final ListeningExecutorService pool = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(10));
     private WebSocketIClient wsClient;
-    private Method listenerCallbackMethod;
+    private volatile NotificationListener listener;
+    private volatile Map<QName, Method> listenerCallbackMethods = new HashMap<>();
     private final RestconfClientImpl restconfClient;
     private final EventStreamInfo streamInfo;
+    private final StreamingConfiguration streamingConfiguration;
 
     public RestListenableEventStreamContext(EventStreamInfo streamInfo,RestconfClientImpl restconfClient){
+        this(streamInfo, restconfClient, new StreamingConfiguration());
+    }
+
+    public RestListenableEventStreamContext(EventStreamInfo streamInfo,RestconfClientImpl restconfClient,
+            StreamingConfiguration streamingConfiguration){
         this.restconfClient = restconfClient;
         this.streamInfo = streamInfo;
+        this.streamingConfiguration = streamingConfiguration;
     }
     @Override
     public <L extends NotificationListener> ListenerRegistration<L> registerNotificationListener(L listener) {
 
-        for (Method m:listener.getClass().getDeclaredMethods()){
+        final Map<QName, Method> callbacks = new HashMap<>();
+        for (Method m:listener.getClass().getMethods()){
             if (BindingReflections.isNotificationCallback(m)){
-                this.listenerCallbackMethod = m;
-                break;
+                callbacks.put(BindingReflections.findQName(m.getParameterTypes()[0]), m);
             }
         }
+        this.listenerCallbackMethods = callbacks;
+        this.listener = listener;
         return new AbstractListenerRegistration<L>(listener) {
             @Override
             protected void removeRegistration() {
@@ -101,15 +122,14 @@ public class RestListenableEventStreamContext<L extends NotificationListener> im
 
         final RestRpcResult rpcResult = new RestRpcResult(success,response.getLocation());
         createWebsocketClient(response.getLocation());
+        try {
+            wsClient.connect();
+        } catch (InterruptedException e) {
+            logger.trace("InterruptedException while connecting to stream {}",e);
+            throw new IllegalStateException(e);
+        }
 
-        ListenableFuture<RpcResult<Void>> future = pool.submit(new Callable<RpcResult<Void>>() {
-            @Override
-            public RpcResult<Void> call() throws Exception {
-                return rpcResult;
-            }
-        });
-
-        return future;
+        return Futures.<RpcResult<Void>>immediateFuture(rpcResult);
     }
 
     @Override
@@ -131,7 +151,17 @@ public class RestListenableEventStreamContext<L extends NotificationListener> im
 
     @Override
     public void close() {
+        if (this.wsClient == null) {
+            return;
+        }
         this.stopListening();
+        try {
+            // Releases the connection and the delivery thread of the client
+            this.wsClient.close();
+        } catch (InterruptedException e) {
+            logger.trace("InterruptedException while closing stream {}",e);
+            Thread.currentThread().interrupt();
+        }
     }
 
     private ClientResponse extractWebSocketUriFromRpc(String methodName) throws ExecutionException, InterruptedException, UnsupportedEncodingException {
@@ -142,30 +172,73 @@ public class RestListenableEventStreamContext<L extends NotificationListener> im
                 return clientResponse;
             }
         });
-        while (!clientFuture.isDone()){
-            //noop
-        }
         return clientFuture.get();
     }
     private void createWebsocketClient(URI websocketServerUri){
-        this.wsClient = new WebSocketIClient(websocketServerUri,this);
+        this.wsClient = new WebSocketIClient(websocketServerUri,this,streamingConfiguration);
     }
     private String encodeUri(String encodedPart) throws UnsupportedEncodingException {
         return URI.create(URLEncoder.encode(encodedPart, Charsets.US_ASCII.name()).toString()).toASCIIString();
     }
 
     @Override
-    public void onMessageReceived(Object message) {
-        if (null == this.listenerCallbackMethod){
-            throw new IllegalStateException("No listener method to invoke.");
+    public void onMessagesReceived(List<ByteBuf> messages) {
+        final NotificationListener currentListener = this.listener;
+        if (null == currentListener){
+            throw new IllegalStateException("No listener to invoke.");
         }
-        try {
-            this.listenerCallbackMethod.invoke(message);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e.getMessage());
-        } catch (InvocationTargetException e) {
-            throw new IllegalStateException(e.getMessage());
+
+        // Decode whole batch first, so that listener callbacks run back to back
+        final Map<QName, Method> callbacks = this.listenerCallbackMethods;
+        final List<Method> methods = new ArrayList<>(messages.size());
+        final List<DataContainer> notifications = new ArrayList<>(messages.size());
+        for (ByteBuf message : messages) {
+            final CompositeNode domNotification;
+            try {
+                domNotification = XmlStreamDecoder.decodeNotification(new ByteBufInputStream(message),
+                        restconfClient.getSchemaContext().getNotifications());
+            } catch (XMLStreamException e) {
+                logger.warn("Failed to decode notification from stream {}", streamInfo.getIdentifier(), e);
+                continue;
+            }
+            if (domNotification == null) {
+                logger.debug("Ignoring message without known notification");
+                continue;
+            }
+
+            final Method method = findCallback(callbacks, domNotification.getNodeType());
+            if (method == null) {
+                logger.debug("Listener does not handle notification {}", domNotification.getNodeType());
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            final Class<? extends DataContainer> type = (Class<? extends DataContainer>) method.getParameterTypes()[0];
+            methods.add(method);
+            notifications.add(restconfClient.getMappingService().dataObjectFromDataDom(type, domNotification));
         }
+
+        for (int i = 0; i < methods.size(); ++i) {
+            try {
+                methods.get(i).invoke(currentListener, notifications.get(i));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e.getMessage());
+            } catch (InvocationTargetException e) {
+                logger.warn("Listener failed to process notification {}", notifications.get(i), e.getCause());
+            }
+        }
+    }
+
+    private static Method findCallback(Map<QName, Method> callbacks, QName notification) {
+        final Method exact = callbacks.get(notification);
+        if (exact != null) {
+            return exact;
+        }
+        for (Map.Entry<QName, Method> entry : callbacks.entrySet()) {
+            if (entry.getKey().isEqualWithoutRevision(notification)) {
+                return entry.getValue();
+            }
+        }
+        return null;
     }
 
 }
@@ -21,13 +21,14 @@ public class RestconfClientFactory implements RestconfClientContextFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(RestconfClientFactory.class);
     private AuthenticationHolder authenticationHolder;
+    private NettyHttpTransport.Configuration transportConfiguration;
 
     @Override
     public RestconfClientContext getRestconfClientContext(URL baseUrl, BindingIndependentMappingService mappingService, SchemaContextHolder schemaContextHolder) throws UnsupportedProtocolException {
         if (!baseUrl.getProtocol().equals("http")){
             throw new UnsupportedProtocolException("Unsupported protocol "+baseUrl.getProtocol());
         }
-        RestconfClientImpl restconfClient = new RestconfClientImpl(baseUrl,mappingService,schemaContextHolder);
+        RestconfClientImpl restconfClient = new RestconfClientImpl(baseUrl,mappingService,schemaContextHolder,transportConfiguration);
         if (null!=authenticationHolder){
             restconfClient.setAuthenticationHolder(authenticationHolder);
         }
@@ -38,4 +39,15 @@ public class RestconfClientFactory implements RestconfClientContextFactory {
     public void setAuthentication(AuthenticationHolder authenticationHolder) {
         this.authenticationHolder = authenticationHolder;
     }
+
+    /**
+     * Make clients created by this factory send requests through an asynchronous
+     * connection pool with given configuration.
+     *
+     * @param transportConfiguration transport configuration, null restores default
+     *        synchronous transport
+     */
+    public void setTransportConfiguration(NettyHttpTransport.Configuration transportConfiguration) {
+        this.transportConfiguration = transportConfiguration;
+    }
 }
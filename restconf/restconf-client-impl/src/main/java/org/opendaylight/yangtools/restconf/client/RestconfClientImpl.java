@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.restconf.client;
 
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -19,6 +20,7 @@ import com.sun.jersey.api.client.config.ClientConfig;
 import com.sun.jersey.api.client.config.DefaultClientConfig;
 import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
 import com.sun.jersey.api.client.filter.HTTPDigestAuthFilter;
+import io.netty.handler.codec.http.HttpMethod;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -28,6 +30,7 @@ import java.util.concurrent.Executors;
 import javax.ws.rs.core.MediaType;
 import org.opendaylight.yangtools.restconf.client.api.RestconfClientContext;
 import org.opendaylight.yangtools.restconf.client.api.auth.AuthenticationHolder;
+import org.opendaylight.yangtools.restconf.client.api.auth.RestAuthType;
 import org.opendaylight.yangtools.restconf.client.api.data.ConfigurationDatastore;
 import org.opendaylight.yangtools.restconf.client.api.data.OperationalDatastore;
 import org.opendaylight.yangtools.restconf.client.api.event.EventStreamInfo;
@@ -51,6 +54,8 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
 
     private final Client restClient;
 
+    private final NettyHttpTransport transport;
+
     private final ListeningExecutorService pool = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(10));
 
     private final Logger logger = LoggerFactory.getLogger(RestconfClientImpl.class.toString());
@@ -64,6 +69,19 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
 
     public RestconfClientImpl(URL url,BindingIndependentMappingService mappingService,
                               SchemaContextHolder schemaContextHolder){
+        this(url, mappingService, schemaContextHolder, null);
+    }
+
+    /**
+     * Creates client, which sends requests using given transport configuration. Requests
+     * are sent asynchronously over a pool of connections and do not occupy a thread while
+     * in flight, the thread pool of the client only processes the responses.
+     *
+     * @param transportConfiguration configuration of the asynchronous transport, if null
+     *        requests are sent synchronously from the thread pool of the client
+     */
+    public RestconfClientImpl(URL url,BindingIndependentMappingService mappingService,
+                              SchemaContextHolder schemaContextHolder, NettyHttpTransport.Configuration transportConfiguration){
         Preconditions.checkArgument(url != null,"Restconf endpoint URL must be supplied.");
         Preconditions.checkArgument(mappingService != null, "Mapping service must not be null.");
         Preconditions.checkNotNull(schemaContextHolder, "Schema Context Holder must not be null.");
@@ -76,6 +94,8 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
             logger.trace("Error in URI syntax {}",e.getMessage(),e);
         }
         this.defaultUri = uri;
+        this.transport = transportConfiguration == null || uri == null ? null
+                : new NettyHttpTransport(uri, transportConfiguration);
         this.mappingService = mappingService;
         this.schemaContextHolder = schemaContextHolder;
     }
@@ -156,6 +176,13 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
     }
 
     public void setAuthenticationHolder(AuthenticationHolder authenticationHolder) {
+        if (transport != null && authenticationHolder.authenticationRequired()) {
+            if (authenticationHolder.getAuthType() == RestAuthType.DIGEST) {
+                throw new UnsupportedOperationException("Digest authentication is not supported by asynchronous transport");
+            }
+            transport.setBasicAuthentication(authenticationHolder.getUserName(), authenticationHolder.getPassword());
+            return;
+        }
         if(authenticationHolder.authenticationRequired()){
             switch (authenticationHolder.getAuthType()){
                 case DIGEST: restClient.addFilter(new HTTPDigestAuthFilter(authenticationHolder.getUserName(), authenticationHolder.getPassword()));
@@ -168,6 +195,9 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
 
     @Override
     public void close() {
+        if (transport != null) {
+            transport.close();
+        }
         this.pool.shutdown();
     }
 
@@ -182,34 +212,45 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
     }
 
     protected <T> ListenableFuture<T> get(final String path, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path), RestOperation.GET, processingFunction));
+        return execute(path, null, RestOperation.GET, MediaType.APPLICATION_XML, processingFunction);
     }
 
     protected <T> ListenableFuture<T> get(final String path,final String mediaType, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),mediaType,RestOperation.GET,processingFunction));
+        return execute(path, null, RestOperation.GET, mediaType, processingFunction);
     }
 
     protected <T> ListenableFuture<T> post(final String path, String payload, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),payload,RestOperation.POST,processingFunction));
+        return execute(path, payload, RestOperation.POST, MediaType.APPLICATION_XML, processingFunction);
     }
 
     protected <T> ListenableFuture<T> post(final String path,String payload,final String mediaType, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),payload,RestOperation.POST,mediaType,processingFunction));
+        return execute(path, payload, RestOperation.POST, mediaType, processingFunction);
     }
 
     protected <T> ListenableFuture<T> put(final String path, String payload, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),RestOperation.PUT,payload,processingFunction));
+        return execute(path, payload, RestOperation.PUT, MediaType.APPLICATION_XML, processingFunction);
     }
 
     protected <T> ListenableFuture<T> put(final String path,String payload,final String mediaType, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),payload,RestOperation.PUT,mediaType,processingFunction));
+        return execute(path, payload, RestOperation.PUT, mediaType, processingFunction);
     }
     protected <T> ListenableFuture<T> delete(final String path, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),RestOperation.DELETE,processingFunction));
+        return execute(path, null, RestOperation.DELETE, MediaType.APPLICATION_XML, processingFunction);
     }
 
     protected <T> ListenableFuture<T> delete(final String path,final String mediaType, final Function<ClientResponse, T> processingFunction) {
-        return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path),RestOperation.DELETE,mediaType,processingFunction));
+        return execute(path, null, RestOperation.DELETE, mediaType, processingFunction);
+    }
+
+    private <T> ListenableFuture<T> execute(final String path, final String payload, final RestOperation operation,
+            final String acceptType, final Function<ClientResponse, T> processingFunction) {
+        if (transport == null) {
+            return pool.submit(new ExecuteOperationAndTransformTask<T>(constructPath(path), payload, operation, acceptType, processingFunction));
+        }
+
+        final ListenableFuture<ClientResponse> response = transport.execute(operation.getMethod(),
+                URI.create(constructPath(path)), acceptType, MediaType.APPLICATION_XML, payload);
+        return Futures.transform(response, processingFunction, pool);
     }
 
     protected String constructPath(String path) {
@@ -217,7 +258,17 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
     }
 
     private enum RestOperation{
-        PUT,POST,GET,DELETE;
+        PUT(HttpMethod.PUT),POST(HttpMethod.POST),GET(HttpMethod.GET),DELETE(HttpMethod.DELETE);
+
+        private final HttpMethod method;
+
+        private RestOperation(HttpMethod method) {
+            this.method = method;
+        }
+
+        HttpMethod getMethod() {
+            return method;
+        }
     }
 
     private class ExecuteOperationAndTransformTask<T> implements Callable<T> {
@@ -227,14 +278,6 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
         private final String payload;
         private final RestOperation restOperation;
 
-        public ExecuteOperationAndTransformTask(String path, String payload, RestOperation operation, Function<ClientResponse, T> processingFunction) {
-            this.path = path;
-            this.transformation = processingFunction;
-            this.acceptType = MediaType.APPLICATION_XML; //ResourceMediaTypes.XML.getMediaType();
-            this.payload = payload;
-            this.restOperation = operation;
-        }
-
         public ExecuteOperationAndTransformTask(String path,String payload, RestOperation operation,String mediaType, Function<ClientResponse, T> processingFunction) {
             this.path = path;
             this.transformation = processingFunction;
@@ -242,20 +285,6 @@ public class RestconfClientImpl implements RestconfClientContext, SchemaContextL
             this.payload = payload;
             this.restOperation = operation;
         }
-        public ExecuteOperationAndTransformTask(String path, RestOperation operation,String mediaType, Function<ClientResponse, T> processingFunction) {
-            this.path = path;
-            this.transformation = processingFunction;
-            this.acceptType = mediaType;
-            this.payload = null;
-            this.restOperation = operation;
-        }
-        public ExecuteOperationAndTransformTask(String path, RestOperation operation, Function<ClientResponse, T> processingFunction) {
-            this.path = path;
-            this.transformation = processingFunction;
-            this.acceptType =  MediaType.APPLICATION_XML;
-            this.payload = null;
-            this.restOperation = operation;
-        }
 
         @Override
         public T call() {
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javassist.ClassPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.NetworkTopology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.TopologyId;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.Topology;
+import org.opendaylight.yang.gen.v1.urn.tbd.params.xml.ns.yang.network.topology.rev131021.network.topology.TopologyKey;
+import org.opendaylight.yangtools.restconf.client.api.data.DefaultRetrievalStrategy;
+import org.opendaylight.yangtools.restconf.client.api.data.RetrievalStrategies;
+import org.opendaylight.yangtools.restconf.client.api.data.RetrievalStrategy;
+import org.opendaylight.yangtools.restconf.utils.RestconfUtils;
+import org.opendaylight.yangtools.sal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yangtools.sal.binding.generator.impl.RuntimeGeneratedMappingServiceImpl;
+import org.opendaylight.yangtools.yang.binding.ChildOf;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.DataRoot;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.Identifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+import com.google.common.base.Charsets;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+public class LazyDataObjectHandlerTest {
+    private static final String TOPOLOGY_NS = "urn:TBD:params:xml:ns:yang:network-topology";
+
+    public interface Root extends ChildOf<DataRoot> {
+        String getName();
+
+        Child getChild();
+    }
+
+    public interface Child extends ChildOf<Root> {
+        String getValue();
+    }
+
+    public interface Folder extends ChildOf<DataRoot> {
+        List<Entry> getEntry();
+    }
+
+    public interface Entry extends ChildOf<Folder>, Identifiable<EntryKey> {
+        String getName();
+
+        Detail getDetail();
+    }
+
+    public interface Detail extends ChildOf<Entry> {
+        String getValue();
+    }
+
+    public static final class EntryKey implements Identifier<Entry> {
+        private static final long serialVersionUID = 1L;
+        private final String name;
+
+        EntryKey(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof EntryKey && Objects.equals(name, ((EntryKey) obj).name);
+        }
+    }
+
+    private static final class FolderImpl implements Folder {
+        private final List<Entry> entries;
+
+        FolderImpl(final Entry... entries) {
+            this.entries = Arrays.asList(entries);
+        }
+
+        @Override
+        public Class<Folder> getImplementedInterface() {
+            return Folder.class;
+        }
+
+        @Override
+        public List<Entry> getEntry() {
+            return entries;
+        }
+    }
+
+    private static final class EntryImpl implements Entry {
+        private final String name;
+        private final Detail detail;
+
+        EntryImpl(final String name, final Detail detail) {
+            this.name = name;
+            this.detail = detail;
+        }
+
+        @Override
+        public Class<Entry> getImplementedInterface() {
+            return Entry.class;
+        }
+
+        // Like generated classes, a key is created even if its leaves are missing
+        @Override
+        public EntryKey getKey() {
+            return new EntryKey(name);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Detail getDetail() {
+            return detail;
+        }
+    }
+
+    private static final class DetailImpl implements Detail {
+        private final String value;
+
+        DetailImpl(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Class<Detail> getImplementedInterface() {
+            return Detail.class;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private static final class RootImpl implements Root {
+        private final String name;
+        private final Child child;
+
+        RootImpl(final String name, final Child child) {
+            this.name = name;
+            this.child = child;
+        }
+
+        @Override
+        public Class<Root> getImplementedInterface() {
+            return Root.class;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Child getChild() {
+            return child;
+        }
+    }
+
+    private static final class ChildImpl implements Child {
+        private final String value;
+
+        ChildImpl(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Class<Child> getImplementedInterface() {
+            return Child.class;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private final List<InstanceIdentifier<?>> reads = new ArrayList<>();
+    private final List<RetrievalStrategy> readStrategies = new ArrayList<>();
+    private final Map<InstanceIdentifier<?>, DataObject> responses = new HashMap<>();
+    private AbstractDataStore store;
+
+    @Before
+    public void setUp() {
+        store = new AbstractDataStore(null) {
+            @Override
+            protected String getStorePrefix() {
+                return "/config";
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            <T extends DataObject> ListenableFuture<Optional<T>> readDataEagerly(final InstanceIdentifier<T> path,
+                    final RetrievalStrategy strategy) {
+                reads.add(path);
+                readStrategies.add(strategy);
+                final DataObject response = responses.get(path);
+                return Futures.immediateFuture(Optional.of((T) (response != null ? response : new ChildImpl("value"))));
+            }
+        };
+    }
+
+    @Test
+    public void testChildrenRetrievedOnDemand() {
+        final InstanceIdentifier<Root> rootPath = InstanceIdentifier.builder(Root.class).toInstance();
+        final Root root = LazyDataObjectHandler.createProxy(store, rootPath, (Root) new RootImpl("root",
+                new ChildImpl(null)), RetrievalStrategies.lazy(2));
+
+        assertEquals("root", root.getName());
+        assertSame(Root.class, root.getImplementedInterface());
+
+        final Child child = root.getChild();
+        assertSame(child, root.getChild());
+        assertEquals(0, reads.size());
+
+        assertEquals("value", child.getValue());
+        assertEquals("value", child.getValue());
+        assertEquals(1, reads.size());
+        assertEquals(InstanceIdentifier.builder(rootPath).child(Child.class).toInstance(), reads.get(0));
+    }
+
+    @Test
+    public void testAbsentChild() {
+        final Root root = LazyDataObjectHandler.createProxy(store, InstanceIdentifier.builder(Root.class)
+                .toInstance(), (Root) new RootImpl("root", null), RetrievalStrategies.lazy(3));
+        assertNull(root.getChild());
+        assertEquals(0, reads.size());
+    }
+
+    @Test
+    public void testKeyedListAtDepthLimit() {
+        final InstanceIdentifier<Folder> folderPath = InstanceIdentifier.builder(Folder.class).toInstance();
+        final InstanceIdentifier<Entry> firstPath = InstanceIdentifier.builder(folderPath)
+                .child(Entry.class, new EntryKey("first")).toInstance();
+        final InstanceIdentifier<Detail> detailPath = InstanceIdentifier.builder(firstPath).child(Detail.class)
+                .toInstance();
+        // Children of entries are at the depth limit of the second read
+        responses.put(folderPath, new FolderImpl(new EntryImpl("first", new DetailImpl(null)), new EntryImpl(
+                "second", new DetailImpl(null))));
+        responses.put(detailPath, new DetailImpl("detail"));
+
+        // Entries are at the depth limit, so their keys were not retrieved
+        final Folder folder = LazyDataObjectHandler.createProxy(store, folderPath, (Folder) new FolderImpl(
+                new EntryImpl(null, null), new EntryImpl(null, null)), RetrievalStrategies.lazy(2));
+
+        final List<Entry> entries = folder.getEntry();
+        assertSame(entries, folder.getEntry());
+        assertEquals(1, reads.size());
+        assertEquals(folderPath, reads.get(0));
+        assertEquals("?depth=3", AbstractDataStore.toQuery(readStrategies.get(0), null));
+
+        assertEquals(2, entries.size());
+        final Entry first = entries.get(0);
+        assertEquals(new EntryKey("first"), first.getKey());
+        assertEquals("first", first.getName());
+        assertEquals(1, reads.size());
+
+        assertEquals("detail", first.getDetail().getValue());
+        assertEquals(2, reads.size());
+        assertEquals(detailPath, reads.get(1));
+    }
+
+    @Test
+    public void testDecodedListAtDepthLimit() {
+        final RuntimeGeneratedMappingServiceImpl mappingService = new RuntimeGeneratedMappingServiceImpl();
+        mappingService.setPool(new ClassPool());
+        mappingService.init();
+        final ModuleInfoBackedContext moduleInfo = ModuleInfoBackedContext.create();
+        moduleInfo.addModuleInfos(BindingReflections.loadModuleInfos());
+        mappingService.onGlobalContextUpdated(moduleInfo.tryToCreateSchemaContext().get());
+
+        final InstanceIdentifier<NetworkTopology> path = InstanceIdentifier.builder(NetworkTopology.class)
+                .toInstance();
+        final DataSchemaNode schema = RestconfUtils.toRestconfIdentifier(path, mappingService,
+                mappingService.getSchemaContext()).getValue();
+        responses.put(path, decode(path, mappingService, schema, "<network-topology xmlns=\"" + TOPOLOGY_NS + "\">"
+                + "<topology><topology-id>first</topology-id></topology>"
+                + "<topology><topology-id>second</topology-id></topology></network-topology>"));
+
+        // Entries are at the depth limit, so their key leaves were not retrieved
+        final NetworkTopology decoded = decode(path, mappingService, schema, "<network-topology xmlns=\""
+                + TOPOLOGY_NS + "\"><topology/><topology/></network-topology>");
+        final NetworkTopology topology = LazyDataObjectHandler.createProxy(store, path, decoded,
+                RetrievalStrategies.lazy(2));
+
+        final List<Topology> entries = topology.getTopology();
+        assertEquals(1, reads.size());
+        assertEquals(path, reads.get(0));
+        assertEquals(2, entries.size());
+        assertEquals(new TopologyKey(new TopologyId("first")), entries.get(0).getKey());
+        assertEquals(new TopologyKey(new TopologyId("second")), entries.get(1).getKey());
+    }
+
+    private static NetworkTopology decode(final InstanceIdentifier<NetworkTopology> path,
+            final RuntimeGeneratedMappingServiceImpl mappingService, final DataSchemaNode schema, final String xml) {
+        final InputStream is = new ByteArrayInputStream(xml.getBytes(Charsets.UTF_8));
+        return (NetworkTopology) RestconfUtils.dataObjectFromInputStream(path, is, mappingService.getSchemaContext(),
+                mappingService, schema);
+    }
+
+    @Test
+    public void testQuery() {
+        assertEquals("", AbstractDataStore.toQuery(DefaultRetrievalStrategy.getInstance(), null));
+        assertEquals("?depth=2", AbstractDataStore.toQuery(RetrievalStrategies.lazy(2), null));
+        assertEquals("?depth=5", AbstractDataStore.toQuery(RetrievalStrategies.limitedDepth(5), null));
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.sun.jersey.api.client.ClientResponse;
+
+public class NettyHttpTransportTest {
+    private static final String REQUEST_HOST = "X-Request-Host";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private EventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private URI serverUri;
+
+    @Before
+    public void startServer() throws Exception {
+        serverGroup = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap().group(serverGroup).channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel ch) {
+                        connections.incrementAndGet();
+                        ch.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(65536),
+                                new EchoHandler(requests));
+                    }
+                }).bind("localhost", 0).sync().channel();
+        serverUri = URI.create("http://localhost:" + ((InetSocketAddress) serverChannel.localAddress()).getPort());
+    }
+
+    @After
+    public void stopServer() throws Exception {
+        serverChannel.close().sync();
+        serverGroup.shutdownGracefully().sync();
+    }
+
+    @Test
+    public void testRequests() throws Exception {
+        try (NettyHttpTransport transport = new NettyHttpTransport(serverUri, new NettyHttpTransport.Configuration())) {
+            final ClientResponse get = transport.execute(HttpMethod.GET, serverUri.resolve("/restconf/config"),
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_XML, null).get(10, TimeUnit.SECONDS);
+            assertEquals(200, get.getStatus());
+            assertEquals("GET /restconf/config ", body(get));
+
+            final ClientResponse post = transport.execute(HttpMethod.POST, serverUri.resolve("/restconf/operations"),
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_XML, "<input/>").get(10, TimeUnit.SECONDS);
+            assertEquals("POST /restconf/operations <input/>", body(post));
+            assertEquals(MediaType.APPLICATION_XML, post.getHeaders().getFirst(HttpHeaders.Names.CONTENT_TYPE));
+            assertEquals(serverUri.getAuthority(), post.getHeaders().getFirst(REQUEST_HOST));
+        }
+    }
+
+    @Test
+    public void testHostHeader() {
+        assertEquals("localhost", NettyHttpTransport.hostHeader("localhost", -1));
+        assertEquals("127.0.0.1:8080", NettyHttpTransport.hostHeader("127.0.0.1", 8080));
+        assertEquals("[::1]", NettyHttpTransport.hostHeader("::1", -1));
+        assertEquals("[fe80::1]:8080", NettyHttpTransport.hostHeader("fe80::1", 8080));
+    }
+
+    @Test
+    public void testOversizedResponseIsNotRetried() throws Exception {
+        final NettyHttpTransport.Configuration configuration = new NettyHttpTransport.Configuration()
+                .setMaxResponseLength(8);
+        try (NettyHttpTransport transport = new NettyHttpTransport(serverUri, configuration)) {
+            try {
+                transport.execute(HttpMethod.GET, serverUri.resolve("/restconf/config"), MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_XML, null).get(10, TimeUnit.SECONDS);
+                fail("Oversized response should have been rejected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TooLongFrameException);
+            }
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testConnectionsAreReused() throws Exception {
+        final NettyHttpTransport.Configuration configuration = new NettyHttpTransport.Configuration()
+                .setMaxConnections(2).setPipeliningDepth(4);
+        try (NettyHttpTransport transport = new NettyHttpTransport(serverUri, configuration)) {
+            final List<ListenableFuture<ClientResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; ++i) {
+                futures.add(transport.execute(HttpMethod.GET, serverUri.resolve("/data/" + i),
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_XML, null));
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                assertEquals("GET /data/" + i + " ", body(futures.get(i).get(10, TimeUnit.SECONDS)));
+            }
+        }
+        assertTrue(connections.get() <= 2);
+    }
+
+    @Test
+    public void testPendingRequestsLimit() throws Exception {
+        final NettyHttpTransport.Configuration configuration = new NettyHttpTransport.Configuration()
+                .setMaxConnections(1).setMaxPendingRequests(1);
+        try (NettyHttpTransport transport = new NettyHttpTransport(serverUri, configuration)) {
+            final List<ListenableFuture<ClientResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; ++i) {
+                futures.add(transport.execute(HttpMethod.GET, serverUri.resolve("/data"), MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_XML, null));
+            }
+
+            int rejected = 0;
+            for (ListenableFuture<ClientResponse> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof RejectedExecutionException);
+                    rejected++;
+                }
+            }
+            assertTrue(rejected > 0);
+        }
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        final NettyHttpTransport transport = new NettyHttpTransport(serverUri, new NettyHttpTransport.Configuration());
+        transport.close();
+        try {
+            transport.execute(HttpMethod.GET, serverUri.resolve("/data"), MediaType.APPLICATION_XML,
+                    MediaType.APPLICATION_XML, null).get();
+            fail("Request on closed transport should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private static String body(final ClientResponse response) throws IOException {
+        return new String(ByteStreams.toByteArray(response.getEntityInputStream()), Charsets.UTF_8);
+    }
+
+    private static final class EchoHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+        private final AtomicInteger requests;
+
+        EchoHandler(final AtomicInteger requests) {
+            this.requests = requests;
+        }
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+            requests.incrementAndGet();
+            final String content = request.getMethod() + " " + request.getUri() + " "
+                    + request.content().toString(Charsets.UTF_8);
+            final FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.copiedBuffer(content, Charsets.UTF_8));
+            response.headers().set(HttpHeaders.Names.CONTENT_TYPE, MediaType.APPLICATION_XML);
+            response.headers().set(REQUEST_HOST, request.headers().get(HttpHeaders.Names.HOST));
+            response.headers().set(HttpHeaders.Names.CONTENT_LENGTH, response.content().readableBytes());
+            ctx.writeAndFlush(response);
+        }
+    }
+}
@@ -17,7 +17,8 @@ public enum QueryParameters {
     INSERT_LAST("insert=last"),
     INSERT_BEFORE("insert=before"),
     INSERT_AFTER("insert=first"),
-    DEPTH("depth=");
+    DEPTH("depth="),
+    FIELDS("fields=");
 
     private String queryParameter;
 
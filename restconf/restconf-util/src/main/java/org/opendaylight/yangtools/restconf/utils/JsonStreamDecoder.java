@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.Node;
+import org.opendaylight.yangtools.yang.data.impl.ImmutableCompositeNode;
+import org.opendaylight.yangtools.yang.data.impl.SimpleNodeTOImpl;
+import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlDocumentUtils;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+/**
+ * Decoder of JSON encoded RESTCONF data which builds Data DOM nodes directly
+ * while reading the stream. Member names are either plain local names, which
+ * inherit namespace of the parent, or are prefixed with a module name, as in
+ * <code>"module:node"</code>. Lists and leaf-lists are encoded as arrays.
+ */
+public final class JsonStreamDecoder {
+    private final JsonReader reader;
+    private final SchemaContext schemaContext;
+
+    private JsonStreamDecoder(final Reader reader, final SchemaContext schemaContext) {
+        this.reader = new JsonReader(reader);
+        this.schemaContext = schemaContext;
+    }
+
+    /**
+     * Decode the top-level member of a JSON document.
+     *
+     * @param inputStream stream containing UTF-8 encoded JSON data
+     * @param schema schema of the top-level member
+     * @param schemaContext schema context used to resolve module names
+     * @return node representing the top-level member
+     * @throws IOException if the stream cannot be read or does not match the schema
+     */
+    public static Node<?> decode(final InputStream inputStream, final DataSchemaNode schema,
+            final SchemaContext schemaContext) throws IOException {
+        Preconditions.checkNotNull(schema);
+        Preconditions.checkNotNull(schemaContext);
+        final JsonStreamDecoder decoder = new JsonStreamDecoder(new BufferedReader(new InputStreamReader(inputStream,
+                Charsets.UTF_8)), schemaContext);
+        return decoder.decodeRoot(schema);
+    }
+
+    private Node<?> decodeRoot(final DataSchemaNode schema) throws IOException {
+        reader.consume('{');
+        final QName qname = toQName(reader.readString(), null);
+        if (!schema.getQName().isEqualWithoutRevision(qname)) {
+            throw reader.error("Unexpected top-level member " + qname + ", expected " + schema.getQName());
+        }
+        reader.consume(':');
+        final List<Node<?>> nodes = readMember(qname, Optional.of(schema));
+        reader.consume('}');
+        if (reader.peek() != -1) {
+            throw reader.error("Unexpected content after top-level object");
+        }
+        if (nodes.size() != 1) {
+            throw reader.error("Expected single instance of " + qname + ", found " + nodes.size());
+        }
+        return nodes.get(0);
+    }
+
+    private List<Node<?>> readMember(final QName qname, final Optional<DataSchemaNode> schema) throws IOException {
+        if (reader.peek() != '[') {
+            return Collections.<Node<?>> singletonList(readValue(qname, schema));
+        }
+
+        reader.consume('[');
+        final List<Node<?>> ret = new ArrayList<>();
+        if (reader.peek() == ']') {
+            reader.consume(']');
+            return ret;
+        }
+        do {
+            ret.add(readValue(qname, schema));
+        } while (reader.next(']'));
+        return ret;
+    }
+
+    private Node<?> readValue(final QName qname, final Optional<DataSchemaNode> schema) throws IOException {
+        if (reader.peek() == '{') {
+            if (schema.isPresent() && !(schema.get() instanceof DataNodeContainer)) {
+                throw reader.error("Unexpected object as value of " + qname);
+            }
+            return readObject(qname, schema);
+        }
+
+        final String text = reader.readScalar();
+        if (schema.isPresent()) {
+            final DataSchemaNode node = schema.get();
+            final TypeDefinition<?> type;
+            if (node instanceof LeafSchemaNode) {
+                type = ((LeafSchemaNode) node).getType();
+            } else if (node instanceof LeafListSchemaNode) {
+                type = ((LeafListSchemaNode) node).getType();
+            } else {
+                throw reader.error("Unexpected scalar value of " + qname);
+            }
+
+            final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = TypeDefinitionAwareCodec
+                    .from(type);
+            final Object value = codec != null && text != null ? codec.deserialize(text) : text;
+            return new SimpleNodeTOImpl<>(node.getQName(), null, value);
+        }
+        return new SimpleNodeTOImpl<>(qname, null, text);
+    }
+
+    private Node<?> readObject(final QName qname, final Optional<DataSchemaNode> schema) throws IOException {
+        reader.consume('{');
+        final List<Node<?>> values = new ArrayList<>();
+        if (reader.peek() == '}') {
+            reader.consume('}');
+        } else {
+            do {
+                final QName childQName = toQName(reader.readString(), qname.getNamespace());
+                reader.consume(':');
+                final Optional<DataSchemaNode> childSchema = schema.isPresent() ? XmlDocumentUtils.findFirstSchema(
+                        childQName, ((DataNodeContainer) schema.get()).getChildNodes()) : Optional
+                        .<DataSchemaNode> absent();
+                values.addAll(readMember(childQName, childSchema));
+            } while (reader.next('}'));
+        }
+
+        return ImmutableCompositeNode.create(schema.isPresent() ? schema.get().getQName() : qname, values);
+    }
+
+    private QName toQName(final String name, final URI parentNamespace) throws IOException {
+        final int colon = name.indexOf(':');
+        if (colon == -1) {
+            if (parentNamespace == null) {
+                throw reader.error("Top-level member " + name + " is not qualified with module name");
+            }
+            return QName.create(parentNamespace, null, name);
+        }
+
+        final String moduleName = name.substring(0, colon);
+        // Newest revision of the module
+        final Module module = schemaContext.findModuleByName(moduleName, null);
+        if (module == null) {
+            throw reader.error("Unknown module " + moduleName);
+        }
+        return QName.create(module.getNamespace(), null, name.substring(colon + 1));
+    }
+
+    /**
+     * Minimal pull tokenizer of JSON text.
+     */
+    private static final class JsonReader {
+        private final Reader in;
+        private int lookahead = -2;
+        private long offset;
+
+        JsonReader(final Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Next non-whitespace character without consuming it, -1 at the end of input.
+         */
+        int peek() throws IOException {
+            while (isWhitespace(peekChar())) {
+                readChar();
+            }
+            return peekChar();
+        }
+
+        void consume(final char expected) throws IOException {
+            if (peek() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            readChar();
+        }
+
+        /**
+         * Consume separator between values of an object or an array.
+         *
+         * @return true if another value follows, false if the closing character was consumed
+         */
+        boolean next(final char closing) throws IOException {
+            final int c = peek();
+            if (c == ',') {
+                readChar();
+                return true;
+            }
+            consume(closing);
+            return false;
+        }
+
+        String readString() throws IOException {
+            consume('"');
+            final StringBuilder sb = new StringBuilder();
+            while (true) {
+                final int c = readChar();
+                switch (c) {
+                case -1:
+                    throw error("Unterminated string");
+                case '"':
+                    return sb.toString();
+                case '\\':
+                    sb.append(readEscape());
+                    break;
+                default:
+                    sb.append((char) c);
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Read a string, number or literal value.
+         *
+         * @return text of the value, null for JSON null
+         */
+        String readScalar() throws IOException {
+            final int first = peek();
+            if (first == '"') {
+                return readString();
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            while (isLiteralChar(peekChar())) {
+                sb.append((char) readChar());
+            }
+            final String literal = sb.toString();
+            switch (literal) {
+            case "":
+                throw error("Expected value");
+            case "null":
+                return null;
+            case "true":
+            case "false":
+                return literal;
+            default:
+                if (first != '-' && (first < '0' || first > '9')) {
+                    throw error("Invalid literal " + literal);
+                }
+                return literal;
+            }
+        }
+
+        IOException error(final String message) {
+            return new IOException(message + " at offset " + offset);
+        }
+
+        private char readEscape() throws IOException {
+            final int c = readChar();
+            switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; ++i) {
+                    final int digit = Character.digit(readChar(), 16);
+                    if (digit == -1) {
+                        throw error("Invalid unicode escape");
+                    }
+                    value = value * 16 + digit;
+                }
+                return (char) value;
+            default:
+                throw error("Invalid escape sequence");
+            }
+        }
+
+        private int peekChar() throws IOException {
+            if (lookahead == -2) {
+                lookahead = in.read();
+            }
+            return lookahead;
+        }
+
+        private int readChar() throws IOException {
+            final int c = peekChar();
+            if (c != -1) {
+                lookahead = -2;
+                offset++;
+            }
+            return c;
+        }
+
+        private static boolean isWhitespace(final int c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+        }
+
+        private static boolean isLiteralChar(final int c) {
+            return c != -1 && !isWhitespace(c) && c != ',' && c != ':' && c != '}' && c != ']' && c != '{'
+                    && c != '[' && c != '"';
+        }
+    }
+}
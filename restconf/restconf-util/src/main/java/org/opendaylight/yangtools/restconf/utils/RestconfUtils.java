@@ -20,9 +20,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.RpcService;
@@ -35,8 +33,6 @@ import org.opendaylight.yangtools.yang.data.api.Node;
 import org.opendaylight.yangtools.yang.data.impl.ImmutableCompositeNode;
 import org.opendaylight.yangtools.yang.data.impl.codec.BindingIndependentMappingService;
 import org.opendaylight.yangtools.yang.data.impl.codec.DeserializationException;
-import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlCodecProvider;
-import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlDocumentUtils;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -45,9 +41,6 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.xml.sax.SAXException;
 
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
@@ -226,13 +219,7 @@ public class RestconfUtils {
      */
     public static Set<Class<? extends RpcService>> rpcServicesFromInputStream(InputStream inputStream, BindingIndependentMappingService mappingService,SchemaContext schemaContext){
         try {
-            DocumentBuilderFactory documentBuilder = DocumentBuilderFactory.newInstance();
-            documentBuilder.setNamespaceAware(true);
-            DocumentBuilder builder = documentBuilder.newDocumentBuilder();
-            Document doc = builder.parse(inputStream);
-            Element rootElement = doc.getDocumentElement();
-
-            List<Node<?>> domNodes = XmlDocumentUtils.toDomNodes(rootElement, Optional.of(schemaContext.getChildNodes()));
+            List<Node<?>> domNodes = XmlStreamDecoder.decodeChildren(inputStream, schemaContext.getChildNodes());
             Set<Class<? extends RpcService>> rpcServices = new HashSet<Class<? extends RpcService>>();
             for (Node<?> node:domNodes){
                 if (node instanceof ImmutableCompositeNode){
@@ -260,18 +247,15 @@ public class RestconfUtils {
             }
 
             return rpcServices;
-        } catch (ParserConfigurationException e) {
-            logger.trace("Parse configuration exception {}",e);
-        } catch (SAXException e) {
-            logger.trace("SAX exception {}",e);
-        } catch (IOException e) {
-            logger.trace("IOException {}",e);
+        } catch (XMLStreamException e) {
+            logger.trace("XML stream exception {}",e);
         }
         return null;
     }
 
     /**
-     * Parse DataObject from input stream.
+     * Parse DataObject from input stream. The stream is decoded directly into
+     * Data DOM nodes, without building an intermediate XML document.
      *
      * @param path
      *            identifier of expected result object
@@ -286,22 +270,39 @@ public class RestconfUtils {
      * @return DataObject instance parsed from input stream
      */
     public static DataObject dataObjectFromInputStream(org.opendaylight.yangtools.yang.binding.InstanceIdentifier<?> path, InputStream inputStream, SchemaContext schemaContext, BindingIndependentMappingService mappingService, DataSchemaNode dataSchema) {
-        // Parse stream into w3c Document
         try {
-            DocumentBuilderFactory documentBuilder = DocumentBuilderFactory.newInstance();
-            documentBuilder.setNamespaceAware(true);
-            DocumentBuilder builder = documentBuilder.newDocumentBuilder();
-            Document doc = builder.parse(inputStream);
-            Element rootElement = doc.getDocumentElement();
-            Node<?> domNode =  XmlDocumentUtils.toDomNode(rootElement, Optional.of(dataSchema), Optional.<XmlCodecProvider>absent());
+            Node<?> domNode = XmlStreamDecoder.decode(inputStream, dataSchema);
             DataObject  dataObject = mappingService.dataObjectFromDataDom(path, (CompositeNode) domNode); //getDataFromResponse
             return dataObject;
         } catch (DeserializationException e) {
             logger.trace("Deserialization exception {}",e);
-        } catch (ParserConfigurationException e) {
-            logger.trace("Parse configuration exception {}",e);
-        } catch (SAXException e) {
-            logger.trace("SAX exception {}", e);
+        } catch (XMLStreamException e) {
+            logger.trace("XML stream exception {}", e);
+        }
+        return null;
+    }
+
+    /**
+     * Parse DataObject from input stream containing JSON data.
+     *
+     * @param path
+     *            identifier of expected result object
+     * @param inputStream
+     *            stream containing json data to parse
+     * @param schemaContext
+     *            parsed yang data context
+     * @param mappingService
+     *            current mapping service
+     * @param dataSchema
+     *            yang data schema node representation of resulting data object
+     * @return DataObject instance parsed from input stream
+     */
+    public static DataObject dataObjectFromJsonInputStream(org.opendaylight.yangtools.yang.binding.InstanceIdentifier<?> path, InputStream inputStream, SchemaContext schemaContext, BindingIndependentMappingService mappingService, DataSchemaNode dataSchema) {
+        try {
+            Node<?> domNode = JsonStreamDecoder.decode(inputStream, dataSchema, schemaContext);
+            return mappingService.dataObjectFromDataDom(path, (CompositeNode) domNode);
+        } catch (DeserializationException e) {
+            logger.trace("Deserialization exception {}",e);
         } catch (IOException e) {
             logger.trace("IOException {}", e);
         }
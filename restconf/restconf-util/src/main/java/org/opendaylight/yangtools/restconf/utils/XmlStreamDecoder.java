@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.restconf.utils;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.CompositeNode;
+import org.opendaylight.yangtools.yang.data.api.ModifyAction;
+import org.opendaylight.yangtools.yang.data.api.Node;
+import org.opendaylight.yangtools.yang.data.impl.ImmutableCompositeNode;
+import org.opendaylight.yangtools.yang.data.impl.SimpleNodeTOImpl;
+import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlDocumentUtils;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+/**
+ * Decoder of XML encoded RESTCONF data which builds Data DOM nodes directly
+ * from a pull parser, without materializing a W3C Document first. Nodes are
+ * built the same way as {@link XmlDocumentUtils#toDomNode(org.w3c.dom.Element, Optional, Optional)}
+ * does, so both paths can be used interchangeably.
+ */
+public final class XmlStreamDecoder {
+    private static final XMLInputFactory XML_INPUT_FACTORY;
+    static {
+        XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    }
+
+    private XmlStreamDecoder() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Decode the root element of a stream.
+     *
+     * @param inputStream stream containing XML data
+     * @param schema schema of the root element
+     * @return node representing the root element
+     * @throws XMLStreamException if the stream does not contain well-formed XML
+     */
+    public static Node<?> decode(final InputStream inputStream, final DataSchemaNode schema) throws XMLStreamException {
+        Preconditions.checkNotNull(schema);
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            toRootElement(reader);
+            checkState(schema.getQName().getNamespace().toString().equals(reader.getNamespaceURI()),
+                    "Unexpected namespace %s of root element, expected %s", reader.getNamespaceURI(),
+                    schema.getQName().getNamespace());
+            checkState(schema.getQName().getLocalName().equals(reader.getLocalName()),
+                    "Unexpected root element %s, expected %s", reader.getLocalName(), schema.getQName().getLocalName());
+            return readNode(reader, Optional.of(schema));
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Decode children of the root element of a stream. Each child is matched
+     * against given set of schema nodes, children which do not have a schema
+     * are decoded without type information.
+     *
+     * @param inputStream stream containing XML data
+     * @param context schema nodes of children
+     * @return nodes representing children of the root element
+     * @throws XMLStreamException if the stream does not contain well-formed XML
+     */
+    public static List<Node<?>> decodeChildren(final InputStream inputStream, final Set<DataSchemaNode> context)
+            throws XMLStreamException {
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            toRootElement(reader);
+            return readChildren(reader, context);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Decode body of a notification. The root element wraps notification
+     * metadata, such as event time, and the notification itself. Only the
+     * notification is decoded, as in
+     * {@link XmlDocumentUtils#notificationToDomNodes(org.w3c.dom.Document, Optional)}.
+     *
+     * @param inputStream stream containing XML notification
+     * @param notifications known notification definitions
+     * @return node representing notification body, or null if the stream does not
+     *         contain any known notification
+     * @throws XMLStreamException if the stream does not contain well-formed XML
+     */
+    public static CompositeNode decodeNotification(final InputStream inputStream,
+            final Set<NotificationDefinition> notifications) throws XMLStreamException {
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            toRootElement(reader);
+            while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+                if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+                    final QName qname = currentQName(reader);
+                    for (NotificationDefinition notification : notifications) {
+                        if (qname.isEqualWithoutRevision(notification.getQName())) {
+                            return ImmutableCompositeNode.create(notification.getQName(),
+                                    readChildren(reader, notification.getChildNodes()));
+                        }
+                    }
+                    skipElement(reader);
+                }
+            }
+            return null;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static void toRootElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            reader.next();
+        }
+    }
+
+    /*
+     * Reads the element the reader is positioned at, leaves the reader at its end element.
+     */
+    private static Node<?> readNode(final XMLStreamReader reader, final Optional<DataSchemaNode> schema)
+            throws XMLStreamException {
+        if (schema.isPresent()) {
+            final DataSchemaNode node = schema.get();
+            if (node instanceof DataNodeContainer) {
+                final Optional<ModifyAction> modifyAction = getModifyOperation(reader);
+                final List<Node<?>> values = readChildren(reader, ((DataNodeContainer) node).getChildNodes());
+                return ImmutableCompositeNode.create(node.getQName(), values, modifyAction.orNull());
+            } else if (node instanceof LeafSchemaNode) {
+                return readSimpleNode(reader, node.getQName(), ((LeafSchemaNode) node).getType());
+            } else if (node instanceof LeafListSchemaNode) {
+                return readSimpleNode(reader, node.getQName(), ((LeafListSchemaNode) node).getType());
+            }
+            skipElement(reader);
+            return null;
+        }
+        return readUntypedNode(reader);
+    }
+
+    private static List<Node<?>> readChildren(final XMLStreamReader reader, final Set<DataSchemaNode> context)
+            throws XMLStreamException {
+        final List<Node<?>> values = new ArrayList<>();
+        while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+                final Optional<DataSchemaNode> childSchema = context == null ? Optional.<DataSchemaNode> absent()
+                        : XmlDocumentUtils.findFirstSchema(currentQName(reader), context);
+                final Node<?> child = readNode(reader, childSchema);
+                if (child != null) {
+                    values.add(child);
+                }
+            }
+        }
+        return values;
+    }
+
+    private static Node<?> readSimpleNode(final XMLStreamReader reader, final QName qname,
+            final TypeDefinition<?> type) throws XMLStreamException {
+        final Optional<ModifyAction> modifyAction = getModifyOperation(reader);
+        final String text = readText(reader);
+        final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = TypeDefinitionAwareCodec.from(type);
+        final Object value = codec != null ? codec.deserialize(text) : text;
+        return new SimpleNodeTOImpl<>(qname, null, value, modifyAction.orNull());
+    }
+
+    private static Node<?> readUntypedNode(final XMLStreamReader reader) throws XMLStreamException {
+        final QName qname = currentQName(reader);
+        final List<Node<?>> values = new ArrayList<>();
+        StringBuilder text = null;
+        while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+            switch (reader.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                values.add(readUntypedNode(reader));
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(reader.getText());
+                break;
+            default:
+                break;
+            }
+        }
+        if (values.isEmpty()) {
+            return new SimpleNodeTOImpl<>(qname, null, text == null ? null : text.toString());
+        }
+        return ImmutableCompositeNode.create(qname, values);
+    }
+
+    /*
+     * Equivalent of Element.getTextContent(), includes text of nested elements.
+     */
+    private static String readText(final XMLStreamReader reader) throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                depth++;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                text.append(reader.getText());
+                break;
+            default:
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static QName currentQName(final XMLStreamReader reader) {
+        final String namespace = reader.getNamespaceURI();
+        return QName.create(namespace == null || namespace.isEmpty() ? null : URI.create(namespace), null,
+                reader.getLocalName());
+    }
+
+    private static Optional<ModifyAction> getModifyOperation(final XMLStreamReader reader) {
+        final QName operation = XmlDocumentUtils.OPERATION_ATTRIBUTE_QNAME;
+        final String value = reader.getAttributeValue(operation.getNamespace().toString(), operation.getLocalName());
+        if (value == null) {
+            return Optional.absent();
+        }
+
+        final ModifyAction action = ModifyAction.fromXmlValue(value);
+        Preconditions.checkArgument(action.isOnElementPermitted(), "Unexpected operation %s on %s", action,
+                reader.getLocalName());
+        return Optional.of(action);
+    }
+}
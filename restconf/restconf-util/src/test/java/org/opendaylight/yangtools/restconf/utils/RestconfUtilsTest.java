@@ -72,4 +72,33 @@ public class RestconfUtilsTest {
         assertEquals("66", igpAttributes1.getIsisNodeAttributes().getIso().getIsoSystemId().getValue());
     }
 
+    @Test
+    public void testToDataObjectMappingFromJson() {
+        final InstanceIdentifier<Topology> topologyIdentifier = InstanceIdentifier.builder(NetworkTopology.class)
+                .child(Topology.class, new TopologyKey(new TopologyId("topology"))).toInstance();
+        final InputStream is = this.getClass().getClassLoader().getResourceAsStream("topology.json");
+        final DataSchemaNode dataSchema = RestconfUtils.toRestconfIdentifier(topologyIdentifier, this.mappingService,
+                this.mappingService.getSchemaContext()).getValue();
+        final Topology topology = (Topology) RestconfUtils.dataObjectFromJsonInputStream(topologyIdentifier, is,
+                this.mappingService.getSchemaContext(), this.mappingService, dataSchema);
+
+        assertNotNull(topology);
+        assertEquals(1, topology.getNode().size());
+        final Node node = topology.getNode().get(0);
+        assertEquals("bgpls://IsisLevel2:1/type=node&as=72&domain=673720360&router=0000.0000.0042", node.getNodeId()
+                .getValue());
+
+        final Node1 node1 = node.getAugmentation(Node1.class);
+        assertNotNull(node1);
+        assertNotNull(node1.getIgpNodeAttributes());
+        assertEquals("Of-9k-02", node1.getIgpNodeAttributes().getName().getValue());
+        assertEquals(1, node1.getIgpNodeAttributes().getRouterId().size());
+
+        final IgpNodeAttributes1 igpAttributes1 = node1.getIgpNodeAttributes()
+                .getAugmentation(IgpNodeAttributes1.class);
+        assertNotNull(igpAttributes1);
+        assertNotNull(igpAttributes1.getIsisNodeAttributes());
+        assertEquals("66", igpAttributes1.getIsisNodeAttributes().getIso().getIsoSystemId().getValue());
+    }
+
 }
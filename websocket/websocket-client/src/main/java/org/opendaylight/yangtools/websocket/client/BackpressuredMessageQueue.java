@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.websocket.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.opendaylight.yangtools.websocket.client.callback.MessageBatchCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Queue of received messages waiting for delivery to a {@link MessageBatchCallback}.
+ * Messages are delivered in batches on the executor, one batch at a time. Reading
+ * from the channel is suspended while the queue is full.
+ */
+final class BackpressuredMessageQueue {
+    private static final Logger logger = LoggerFactory.getLogger(BackpressuredMessageQueue.class);
+
+    private final Channel channel;
+    private final Executor executor;
+    private final MessageBatchCallback callback;
+    private final int capacity;
+    private final int lowWatermark;
+    private final int maxBatchSize;
+
+    private final Runnable deliveryTask = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    // Guarded by this
+    private final Deque<ByteBuf> queue = new ArrayDeque<>();
+    private boolean deliveryScheduled;
+    private boolean suspended;
+    private boolean closed;
+
+    BackpressuredMessageQueue(final Channel channel, final Executor executor, final MessageBatchCallback callback,
+            final StreamingConfiguration configuration) {
+        Preconditions.checkArgument(configuration.getLowWatermark() < configuration.getQueueCapacity(),
+                "Low watermark %s has to be lower than queue capacity %s", configuration.getLowWatermark(),
+                configuration.getQueueCapacity());
+        this.channel = Preconditions.checkNotNull(channel);
+        this.executor = Preconditions.checkNotNull(executor);
+        this.callback = Preconditions.checkNotNull(callback);
+        this.capacity = configuration.getQueueCapacity();
+        this.lowWatermark = configuration.getLowWatermark();
+        this.maxBatchSize = configuration.getMaxBatchSize();
+    }
+
+    /**
+     * Queue a message for delivery. The queue takes ownership of the buffer.
+     */
+    void offer(final ByteBuf message) {
+        synchronized (this) {
+            if (closed) {
+                message.release();
+                return;
+            }
+
+            queue.add(message);
+            if (!suspended && queue.size() >= capacity) {
+                logger.debug("Message queue of {} is full, suspending reading", channel);
+                suspended = true;
+                channel.config().setAutoRead(false);
+            }
+            if (deliveryScheduled) {
+                return;
+            }
+            deliveryScheduled = true;
+        }
+
+        try {
+            executor.execute(deliveryTask);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Failed to schedule delivery of messages from {}", channel, e);
+            close();
+        }
+    }
+
+    /**
+     * Release all queued messages, messages offered afterwards are released immediately.
+     */
+    void close() {
+        final List<ByteBuf> dropped;
+        synchronized (this) {
+            closed = true;
+            dropped = new ArrayList<>(queue);
+            queue.clear();
+        }
+        for (ByteBuf message : dropped) {
+            message.release();
+        }
+    }
+
+    private void deliver() {
+        while (true) {
+            final List<ByteBuf> batch = new ArrayList<>(maxBatchSize);
+            synchronized (this) {
+                while (batch.size() < maxBatchSize && !queue.isEmpty()) {
+                    batch.add(queue.poll());
+                }
+                if (batch.isEmpty()) {
+                    deliveryScheduled = false;
+                    return;
+                }
+                if (suspended && queue.size() <= lowWatermark) {
+                    logger.debug("Message queue of {} drained, resuming reading", channel);
+                    suspended = false;
+                    channel.config().setAutoRead(true);
+                }
+            }
+
+            try {
+                callback.onMessagesReceived(Collections.unmodifiableList(batch));
+            } catch (RuntimeException e) {
+                logger.warn("Callback failed to process {} messages", batch.size(), e);
+            } finally {
+                for (ByteBuf message : batch) {
+                    message.release();
+                }
+            }
+        }
+    }
+}
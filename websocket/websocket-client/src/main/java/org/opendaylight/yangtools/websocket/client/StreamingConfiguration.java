@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.websocket.client;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Configuration of streaming delivery of web socket messages. Received
+ * messages are queued until they are delivered to the callback. When the
+ * queue is full, the client stops reading from the connection until the
+ * queue drains below the low watermark.
+ */
+public final class StreamingConfiguration {
+    private int maxMessageSize = 1024 * 1024;
+    private int maxFramePayloadLength = 16 * 1024 * 1024;
+    private int queueCapacity = 1024;
+    private int lowWatermark = 512;
+    private int maxBatchSize = 64;
+
+    public int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    /**
+     * Set the maximum size of a message, including all its fragments. Larger
+     * messages are discarded and the connection stays open, as long as none
+     * of their frames exceeds {@link #getMaxFramePayloadLength()}.
+     */
+    public StreamingConfiguration setMaxMessageSize(final int maxMessageSize) {
+        Preconditions.checkArgument(maxMessageSize > 0, "Maximum message size has to be positive");
+        this.maxMessageSize = maxMessageSize;
+        return this;
+    }
+
+    public int getMaxFramePayloadLength() {
+        return maxFramePayloadLength;
+    }
+
+    /**
+     * Set the maximum payload length of a single frame. A frame is read whole
+     * before it can be discarded, so a longer one closes the connection. The
+     * limit should not be lower than the maximum message size, otherwise
+     * oversized messages sent in a single frame close the connection too.
+     */
+    public StreamingConfiguration setMaxFramePayloadLength(final int maxFramePayloadLength) {
+        Preconditions.checkArgument(maxFramePayloadLength > 0, "Frame payload length has to be positive");
+        this.maxFramePayloadLength = maxFramePayloadLength;
+        return this;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Set the number of queued messages at which reading from the connection
+     * is suspended. Messages which were already read from the socket are
+     * still queued, so the capacity is not a strict bound.
+     */
+    public StreamingConfiguration setQueueCapacity(final int queueCapacity) {
+        Preconditions.checkArgument(queueCapacity > 0, "Queue capacity has to be positive");
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * Set the number of queued messages at which suspended reading is resumed.
+     */
+    public StreamingConfiguration setLowWatermark(final int lowWatermark) {
+        Preconditions.checkArgument(lowWatermark >= 0, "Low watermark cannot be negative");
+        this.lowWatermark = lowWatermark;
+        return this;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Set the maximum number of messages delivered to the callback at once.
+     */
+    public StreamingConfiguration setMaxBatchSize(final int maxBatchSize) {
+        Preconditions.checkArgument(maxBatchSize > 0, "Batch size has to be positive");
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+}
@@ -7,19 +7,24 @@
  */
 package org.opendaylight.yangtools.websocket.client;
 
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.util.CharsetUtil;
+import java.util.concurrent.Executor;
 import org.opendaylight.yangtools.websocket.client.callback.ClientMessageCallback;
+import org.opendaylight.yangtools.websocket.client.callback.MessageBatchCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +40,12 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     private final WebSocketClientHandshaker handshaker;
     private ChannelPromise handshakeFuture;
     private ClientMessageCallback messageListener;
+    private final MessageBatchCallback batchCallback;
+    private final StreamingConfiguration streamingConfiguration;
+    private final Executor deliveryExecutor;
+    private BackpressuredMessageQueue messageQueue;
+    private CompositeByteBuf pendingMessage;
+    private boolean discardingMessage;
 
     /**
      * Create new Web Socket Client Handler.
@@ -49,6 +60,34 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
             ClientMessageCallback listener) {
         this.handshaker = handshaker;
         this.messageListener = listener;
+        this.batchCallback = null;
+        this.streamingConfiguration = null;
+        this.deliveryExecutor = null;
+    }
+
+    /**
+     * Create new Web Socket Client Handler, which reassembles fragmented
+     * messages and delivers them in batches on given executor. Reading from
+     * the connection is suspended while too many messages are waiting for
+     * delivery.
+     *
+     * @param handshaker
+     *            manages handshake process
+     * @param callback
+     *            callback receiving batches of messages
+     * @param configuration
+     *            limits of message size, queue and batches
+     * @param executor
+     *            executor delivering messages, it should run one task at a
+     *            time to deliver messages in order
+     */
+    public WebSocketClientHandler(WebSocketClientHandshaker handshaker,
+            MessageBatchCallback callback, StreamingConfiguration configuration,
+            Executor executor) {
+        this.handshaker = handshaker;
+        this.batchCallback = callback;
+        this.streamingConfiguration = configuration;
+        this.deliveryExecutor = executor;
     }
 
     /**
@@ -63,6 +102,10 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
         handshakeFuture = ctx.newPromise();
+        if (batchCallback != null) {
+            messageQueue = new BackpressuredMessageQueue(ctx.channel(),
+                    deliveryExecutor, batchCallback, streamingConfiguration);
+        }
     }
 
     @Override
@@ -73,6 +116,10 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         logger.info("WebSocket Client disconnected!");
+        if (messageQueue != null) {
+            releasePendingMessage();
+            messageQueue.close();
+        }
     }
 
     @Override
@@ -95,8 +142,17 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
                             + ')');
         }
 
-        messageListener.onMessageReceived(msg);
         WebSocketFrame frame = (WebSocketFrame) msg;
+        if (messageQueue != null) {
+            if (frame instanceof TextWebSocketFrame
+                    || frame instanceof BinaryWebSocketFrame
+                    || frame instanceof ContinuationWebSocketFrame) {
+                streamFrame(ctx, frame);
+                return;
+            }
+        } else {
+            messageListener.onMessageReceived(msg);
+        }
 
         if (frame instanceof TextWebSocketFrame) {
             TextWebSocketFrame textFrame = (TextWebSocketFrame) frame;
@@ -110,6 +166,56 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
         }
     }
 
+    /**
+     * Appends content of a data frame to the message being received, without
+     * copying it. Complete messages are queued for delivery.
+     */
+    private void streamFrame(ChannelHandlerContext ctx, WebSocketFrame frame) {
+        if (frame instanceof ContinuationWebSocketFrame) {
+            if (pendingMessage == null && !discardingMessage) {
+                logger.debug("Ignoring continuation frame without preceding fragment");
+                return;
+            }
+        } else {
+            if (pendingMessage != null) {
+                logger.debug("Discarding incomplete message of {} bytes",
+                        pendingMessage.readableBytes());
+                releasePendingMessage();
+            }
+            discardingMessage = false;
+            pendingMessage = ctx.alloc().compositeBuffer();
+        }
+
+        if (!discardingMessage) {
+            final int size = pendingMessage.readableBytes()
+                    + frame.content().readableBytes();
+            if (size > streamingConfiguration.getMaxMessageSize()) {
+                logger.warn("Discarding message exceeding {} bytes",
+                        streamingConfiguration.getMaxMessageSize());
+                releasePendingMessage();
+                discardingMessage = true;
+            } else {
+                pendingMessage.addComponent(frame.content().retain());
+                pendingMessage.writerIndex(size);
+            }
+        }
+
+        if (frame.isFinalFragment()) {
+            if (!discardingMessage) {
+                messageQueue.offer(pendingMessage);
+                pendingMessage = null;
+            }
+            discardingMessage = false;
+        }
+    }
+
+    private void releasePendingMessage() {
+        if (pendingMessage != null) {
+            pendingMessage.release();
+            pendingMessage = null;
+        }
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause)
             throws Exception {
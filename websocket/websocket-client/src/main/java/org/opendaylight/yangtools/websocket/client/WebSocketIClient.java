@@ -26,11 +26,16 @@ import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
 
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.opendaylight.yangtools.websocket.client.callback.ClientMessageCallback;
+import org.opendaylight.yangtools.websocket.client.callback.MessageBatchCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * Implementation of web socket client that supports WS and HTTP protocols.
  */
@@ -43,6 +48,7 @@ public class WebSocketIClient {
             .getLogger(WebSocketIClient.class);
     private Channel clientChannel;
     private final EventLoopGroup group = new NioEventLoopGroup();
+    private final ExecutorService deliveryExecutor;
 
     /**
      * Creates new web socket client
@@ -59,6 +65,33 @@ public class WebSocketIClient {
                         WebSocketVersion.V13, null, false, null),
                 clientMessageCallback); // last null could be replaced with
                                         // DefaultHttpHeaders
+        deliveryExecutor = null;
+        initialize();
+    }
+
+    /**
+     * Creates new web socket client, which delivers messages in batches from
+     * a dedicated thread. Reading from the connection is suspended while the
+     * callback falls behind.
+     *
+     * @param uri
+     *            URI
+     * @param callback
+     *            callback receiving batches of messages
+     * @param configuration
+     *            limits of message size, queue and batches
+     */
+    public WebSocketIClient(URI uri, MessageBatchCallback callback,
+            StreamingConfiguration configuration) {
+        this.uri = uri;
+        // Daemon, so that a client which was not closed does not keep the JVM running
+        deliveryExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("websocket-delivery-%d").setDaemon(true).build());
+        clientHandler = new WebSocketClientHandler(
+                WebSocketClientHandshakerFactory.newHandshaker(uri,
+                        WebSocketVersion.V13, null, false, null,
+                        configuration.getMaxFramePayloadLength()), callback,
+                configuration, deliveryExecutor);
         initialize();
     }
 
@@ -139,6 +172,9 @@ public class WebSocketIClient {
         clientChannel.writeAndFlush(new CloseWebSocketFrame());
         clientChannel.closeFuture().sync();
         group.shutdownGracefully();
+        if (deliveryExecutor != null) {
+            deliveryExecutor.shutdown();
+        }
     }
 
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.websocket.client.callback;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.List;
+
+/**
+ * {@link MessageBatchCallback} receives complete messages from a web socket
+ * in batches. Messages of a batch are delivered in the order they were
+ * received, one batch at a time.
+ */
+public interface MessageBatchCallback {
+
+    /**
+     * Notifies client that messages have been received. Buffers hold content of
+     * whole messages, fragmented messages are already reassembled. They are
+     * released once this method returns, the callback has to retain them if it
+     * needs them afterwards.
+     *
+     * @param messages
+     *            content of received messages
+     */
+    void onMessagesReceived(List<ByteBuf> messages);
+}
@@ -21,10 +21,16 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.opendaylight.yangtools.websocket.client.StreamingConfiguration;
 import org.opendaylight.yangtools.websocket.client.WebSocketIClient;
+import org.opendaylight.yangtools.websocket.client.callback.MessageBatchCallback;
 import org.opendaylight.yangtools.websocket.server.WebSocketServer;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.util.CharsetUtil;
+
+import java.util.List;
 
 import com.google.common.util.concurrent.SettableFuture;
 
@@ -91,7 +97,54 @@ public class WebSocketClientTest {
         }
     }
 
-    private class ClientMessageCallback implements org.opendaylight.yangtools.websocket.client.callback.ClientMessageCallback {
+    @Test
+    public void connectAndReceiveBatches() throws Exception {
+        final SettableFuture<String> batchReceived = SettableFuture.create();
+        final SettableFuture<Thread> deliveryThread = SettableFuture.create();
+        URI uri = new URI(String.format("ws://localhost:%d/websocket", port));
+        WebSocketIClient wsClient = new WebSocketIClient(uri, new MessageBatchCallback() {
+            @Override
+            public void onMessagesReceived(List<ByteBuf> messages) {
+                deliveryThread.set(Thread.currentThread());
+                batchReceived.set(messages.get(0).toString(CharsetUtil.UTF_8));
+            }
+        }, new StreamingConfiguration());
+        wsClient.connect();
+        wsClient.writeAndFlush(MESSAGE);
+
+        Assert.assertEquals(MESSAGE.toUpperCase(), batchReceived.get(5, TimeUnit.SECONDS));
+        // Delivery thread must not keep the JVM running
+        Assert.assertTrue(deliveryThread.get().isDaemon());
+        wsClient.close();
+        webSocketServerThread.interrupt();
+    }
+
+    @Test
+    public void oversizedMessageIsDiscarded() throws Exception {
+        final SettableFuture<String> batchReceived = SettableFuture.create();
+        URI uri = new URI(String.format("ws://localhost:%d/websocket", port));
+        WebSocketIClient wsClient = new WebSocketIClient(uri, new MessageBatchCallback() {
+            @Override
+            public void onMessagesReceived(List<ByteBuf> messages) {
+                batchReceived.set(messages.get(0).toString(CharsetUtil.UTF_8));
+            }
+        }, new StreamingConfiguration().setMaxMessageSize(MESSAGE.length()));
+        wsClient.connect();
+
+        // The echo of the first message is dropped without closing the connection
+        StringBuilder oversized = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            oversized.append(MESSAGE);
+        }
+        wsClient.writeAndFlush(oversized.toString());
+        wsClient.writeAndFlush(MESSAGE);
+
+        Assert.assertEquals(MESSAGE.toUpperCase(), batchReceived.get(5, TimeUnit.SECONDS));
+        wsClient.close();
+        webSocketServerThread.interrupt();
+    }
+
+        private class ClientMessageCallback implements org.opendaylight.yangtools.websocket.client.callback.ClientMessageCallback {
         @Override
         public void onMessageReceived(Object message) {
             logger.info("received message {}",message);
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.websocket.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.websocket.client.callback.MessageBatchCallback;
+
+public class BackpressuredMessageQueueTest {
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private final List<List<String>> batches = new ArrayList<>();
+    private EmbeddedChannel channel;
+    private BackpressuredMessageQueue queue;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+        final Executor executor = new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                tasks.add(command);
+            }
+        };
+        final MessageBatchCallback callback = new MessageBatchCallback() {
+            @Override
+            public void onMessagesReceived(final List<ByteBuf> messages) {
+                final List<String> batch = new ArrayList<>();
+                for (ByteBuf message : messages) {
+                    batch.add(message.toString(CharsetUtil.UTF_8));
+                }
+                batches.add(batch);
+            }
+        };
+        queue = new BackpressuredMessageQueue(channel, executor, callback, new StreamingConfiguration()
+                .setQueueCapacity(3).setLowWatermark(1).setMaxBatchSize(2));
+    }
+
+    @Test
+    public void testBatchingAndBackpressure() {
+        final List<ByteBuf> messages = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            final ByteBuf message = Unpooled.copiedBuffer("message" + i, CharsetUtil.UTF_8);
+            messages.add(message);
+            queue.offer(message);
+        }
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(3, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals("message0", batches.get(0).get(0));
+        assertEquals("message4", batches.get(2).get(0));
+        for (ByteBuf message : messages) {
+            assertEquals(0, message.refCnt());
+        }
+
+        queue.offer(Unpooled.copiedBuffer("message5", CharsetUtil.UTF_8));
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testClose() {
+        final ByteBuf queued = Unpooled.copiedBuffer("queued", CharsetUtil.UTF_8);
+        queue.offer(queued);
+        queue.close();
+        assertEquals(0, queued.refCnt());
+
+        final ByteBuf late = Unpooled.copiedBuffer("late", CharsetUtil.UTF_8);
+        queue.offer(late);
+        assertEquals(0, late.refCnt());
+
+        tasks.poll().run();
+        assertTrue(batches.isEmpty());
+    }
+}
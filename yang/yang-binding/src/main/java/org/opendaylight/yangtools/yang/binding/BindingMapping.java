@@ -37,6 +37,7 @@ public final class BindingMapping {
 
     public static final String MODULE_INFO_CLASS_NAME = "$YangModuleInfoImpl";
     public static final String MODEL_BINDING_PROVIDER_CLASS_NAME = "$YangModelBindingProvider";
+    public static final String DOM_CODEC_SUFFIX = "$Broker$Codec$DOM";
 
     public static final String getMethodName(QName name) {
         checkArgument(name != null, "Name should not be null.");
@@ -8,6 +8,8 @@
 package org.opendaylight.yangtools.yang.common;
 
 import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.objcache.ObjectCache;
+import org.opendaylight.yangtools.objcache.ObjectCacheFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,7 +46,7 @@ import static org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil.getRev
  */
 public final class QName implements Immutable, Serializable, Comparable<QName> {
 
-    private static final long serialVersionUID = 5398411242927766414L;
+    private static final long serialVersionUID = -7464398512593197599L;
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(QName.class);
 
@@ -53,17 +55,29 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
     static final String QNAME_LEFT_PARENTHESIS = "(";
     static final String QNAME_RIGHT_PARENTHESIS = ")";
 
+    /*
+     * The cache is looked up lazily, so that QNames can be used without
+     * an object cache implementation being present.
+     */
+    private static final class CacheHolder {
+        static final ObjectCache CACHE = ObjectCacheFactory.getObjectCache(QName.class);
+    }
 
-    //Nullable
-    private final URI namespace;
-    //Mandatory
+    // Mandatory
+    private final QNameModule module;
+    // Mandatory
     private final String localName;
-    //Nullable
+    // Nullable
     private final String prefix;
-    //Nullable
-    private final String formattedRevision;
-    //Nullable
-    private final Date revision;
+    // Computed once, QNames are used as keys in most maps
+    private final int hash;
+
+    private QName(final QNameModule module, final String prefix, final String localName) {
+        this.localName = checkLocalName(localName);
+        this.module = module;
+        this.prefix = prefix;
+        this.hash = 31 * module.hashCode() + localName.hashCode();
+    }
 
     /**
      * QName Constructor.
@@ -78,15 +92,7 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
      *            YANG schema identifier
      */
     public QName(URI namespace, Date revision, String prefix, String localName) {
-        this.localName = checkLocalName(localName);
-        this.namespace = namespace;
-        this.revision = revision;
-        this.prefix = prefix;
-        if(revision != null) {
-            this.formattedRevision = getRevisionFormat().format(revision);
-        } else {
-            this.formattedRevision = null;
-        }
+        this(QNameModule.create(namespace, revision), prefix, localName);
     }
 
     /**
@@ -134,7 +140,7 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
     }
 
     public QName(QName base, String localName) {
-        this(base.getNamespace(), base.getRevision(), base.getPrefix(), localName);
+        this(base.getModule(), base.getPrefix(), localName);
     }
 
     /**
@@ -143,24 +149,38 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
      */
     @Deprecated
     public QName(String input) throws ParseException {
-        Date revision = null;
+        this(parseModule(input), null, input.substring(input.indexOf(")") + 1));
+    }
+
+    private static QNameModule parseModule(final String input) throws ParseException {
         String nsAndRev = input.substring(input.indexOf("(") + 1, input.indexOf(")"));
         if (nsAndRev.contains("?")) {
             String[] splitted = nsAndRev.split("\\?");
-            this.namespace = URI.create(splitted[0]);
-            revision = getRevisionFormat().parse(splitted[1]);
-        } else {
-            this.namespace = URI.create(nsAndRev);
+            return QNameModule.create(URI.create(splitted[0]), getRevisionFormat().parse(splitted[1]));
         }
+        return QNameModule.create(URI.create(nsAndRev), null);
+    }
+
+    /**
+     * Look up specified QName in the global cache and return a shared
+     * reference. The {@link QNameModule} of the returned QName is also
+     * a cached reference, so all QNames of a module share it.
+     *
+     * @param qname QName instance
+     * @return Cached instance, according to {@link ObjectCache} policy.
+     */
+    public static QName cachedReference(final QName qname) {
+        final QNameModule myModule = qname.getModule();
+        final QNameModule cachedModule = QNameModule.cachedReference(myModule);
 
-        this.localName = checkLocalName(input.substring(input.indexOf(")") + 1));
-        this.revision = revision;
-        this.prefix = null;
-        if (revision != null) {
-            this.formattedRevision = getRevisionFormat().format(revision);
+        final QName what;
+        if (cachedModule == myModule) {
+            what = qname;
         } else {
-            this.formattedRevision = null;
+            what = new QName(cachedModule, qname.prefix, qname.localName);
         }
+
+        return CacheHolder.CACHE.getReference(what);
     }
 
 
@@ -199,7 +219,16 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
      * @return XMLNamespace assigned to the YANG module.
      */
     public URI getNamespace() {
-        return namespace;
+        return module.getNamespace();
+    }
+
+    /**
+     * Returns the module namespace and revision of this QName.
+     *
+     * @return module of this QName
+     */
+    public QNameModule getModule() {
+        return module;
     }
 
     /**
@@ -221,7 +250,7 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
      *         otherwise returns <code>null</code>
      */
     public Date getRevision() {
-        return revision;
+        return module.getRevision();
     }
 
     /**
@@ -235,12 +264,7 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((localName == null) ? 0 : localName.hashCode());
-        result = prime * result + ((namespace == null) ? 0 : namespace.hashCode());
-        result = prime * result + ((formattedRevision == null) ? 0 : formattedRevision.hashCode());
-        return result;
+        return hash;
     }
 
     @Override
@@ -248,37 +272,16 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
-            return false;
-        }
-        if (getClass() != obj.getClass()) {
-            return false;
-        }
-        QName other = (QName) obj;
-        if (localName == null) {
-            if (other.localName != null) {
-                return false;
-            }
-        } else if (!localName.equals(other.localName)) {
-            return false;
-        }
-        if (namespace == null) {
-            if (other.namespace != null) {
-                return false;
-            }
-        } else if (!namespace.equals(other.namespace)) {
-            return false;
-        }
-        if (formattedRevision == null) {
-            if (other.formattedRevision != null) {
-                return false;
-            }
-        } else if (!revision.equals(other.revision)) {
+        if (!(obj instanceof QName)) {
             return false;
         }
-        return true;
+        final QName other = (QName) obj;
+        return hash == other.hash && localName.equals(other.localName) && module.equals(other.module);
     }
 
+    public static QName create(final QNameModule module, final String localName) {
+        return new QName(module, null, localName);
+    }
 
     public static QName create(QName base, String localName){
         return new QName(base, localName);
@@ -302,11 +305,12 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        final URI namespace = getNamespace();
         if (namespace != null) {
             sb.append(QNAME_LEFT_PARENTHESIS + namespace);
 
-            if (revision != null) {
-                sb.append(QNAME_REVISION_DELIMITER + getRevisionFormat().format(revision));
+            if (getRevision() != null) {
+                sb.append(QNAME_REVISION_DELIMITER + getFormattedRevision());
             }
             sb.append(QNAME_RIGHT_PARENTHESIS);
         }
@@ -326,14 +330,14 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
      *
      */
     URI getRevisionNamespace() {
-
+        final URI namespace = getNamespace();
         if (namespace == null) {
             return null;
         }
 
         String query = "";
-        if (revision != null) {
-            query = "revision=" + formattedRevision;
+        if (getRevision() != null) {
+            query = "revision=" + getFormattedRevision();
         }
 
         URI compositeURI = null;
@@ -347,11 +351,11 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
     }
 
     public String getFormattedRevision() {
-        return formattedRevision;
+        return module.getFormattedRevision();
     }
 
     public QName withoutRevision() {
-        return QName.create(namespace, null, localName);
+        return QName.create(getNamespace(), null, localName);
     }
 
     public static Date parseRevision(String formatedDate) {
@@ -370,7 +374,7 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
     }
 
     public boolean isEqualWithoutRevision(QName other) {
-        return localName.equals(other.getLocalName()) && Objects.equals(namespace, other.getNamespace());
+        return localName.equals(other.getLocalName()) && Objects.equals(getNamespace(), other.getNamespace());
     }
 
     @Override
@@ -382,30 +386,34 @@ public final class QName implements Immutable, Serializable, Comparable<QName> {
         }
 
         // compare nullable namespace parameter
+        final URI namespace = getNamespace();
+        final URI otherNamespace = other.getNamespace();
         if (namespace == null) {
-            if (other.namespace != null) {
+            if (otherNamespace != null) {
                 return -1;
             }
         } else {
-            if (other.namespace == null) {
+            if (otherNamespace == null) {
                 return 1;
             }
-            result = namespace.compareTo(other.namespace);
+            result = namespace.compareTo(otherNamespace);
             if (result != 0) {
                 return result;
             }
         }
 
         // compare nullable revision parameter
+        final Date revision = getRevision();
+        final Date otherRevision = other.getRevision();
         if (revision == null) {
-            if (other.revision != null) {
+            if (otherRevision != null) {
                 return -1;
             }
         } else {
-            if (other.revision == null) {
+            if (otherRevision == null) {
                 return 1;
             }
-            result = revision.compareTo(other.revision);
+            result = revision.compareTo(otherRevision);
             if (result != 0) {
                 return result;
             }
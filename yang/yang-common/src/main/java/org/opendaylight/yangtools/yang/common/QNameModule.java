@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2013 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.common;
+
+import static org.opendaylight.yangtools.yang.common.SimpleDateFormatUtil.getRevisionFormat;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.util.Date;
+import java.util.Objects;
+
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.objcache.ObjectCache;
+import org.opendaylight.yangtools.objcache.ObjectCacheFactory;
+
+/**
+ * Namespace and revision of a YANG module, shared by all {@link QName}s
+ * defined in that module.
+ *
+ * Hash code is computed once at construction time and the formatted
+ * revision is computed on first access, so sharing one instance across all
+ * QNames of a module makes both hashing and revision formatting cheap.
+ */
+public final class QNameModule implements Immutable, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /*
+     * The cache is looked up lazily, so that QNames can be used without
+     * an object cache implementation being present.
+     */
+    private static final class CacheHolder {
+        static final ObjectCache CACHE = ObjectCacheFactory.getObjectCache(QNameModule.class);
+    }
+
+    private static final QNameModule NULL_INSTANCE = new QNameModule(null, null);
+
+    //Nullable
+    private final URI namespace;
+    //Nullable
+    private final Date revision;
+    private final int hash;
+    //Nullable, lazily computed from revision
+    private transient volatile String formattedRevision;
+
+    private QNameModule(final URI namespace, final Date revision) {
+        this.namespace = namespace;
+        this.revision = revision;
+        this.hash = Objects.hash(namespace, revision);
+    }
+
+    /**
+     * Create a new QName module instance with specified namespace/revision.
+     *
+     * @param namespace Module namespace, may be null
+     * @param revision Module revision, may be null
+     * @return A new, potentially shared, QNameModule instance
+     */
+    public static QNameModule create(final URI namespace, final Date revision) {
+        if (namespace == null && revision == null) {
+            return NULL_INSTANCE;
+        }
+        return new QNameModule(namespace, revision);
+    }
+
+    /**
+     * Look up specified module in the global cache and return a shared
+     * reference.
+     *
+     * @param module Module instance
+     * @return Cached instance, according to {@link ObjectCache} policy.
+     */
+    public static QNameModule cachedReference(final QNameModule module) {
+        return CacheHolder.CACHE.getReference(module);
+    }
+
+    /**
+     * Returns the namespace of the module which is specified as argument of
+     * YANG Module <b><font color="#00FF00">namespace</font></b> keyword.
+     *
+     * @return URI format of the namespace of the module
+     */
+    public URI getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the revision date for the module.
+     *
+     * @return date of the module revision which is specified as argument of
+     *         YANG Module <b><font color="#339900">revison</font></b> keyword
+     */
+    public Date getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns the revision date formatted as defined by YANG, e.g.
+     * <code>2013-12-24</code>.
+     *
+     * @return formatted revision, or null if the module has no revision
+     */
+    public String getFormattedRevision() {
+        if (revision == null) {
+            return null;
+        }
+
+        String ret = formattedRevision;
+        if (ret == null) {
+            ret = getRevisionFormat().format(revision);
+            formattedRevision = ret;
+        }
+        return ret;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof QNameModule)) {
+            return false;
+        }
+        final QNameModule other = (QNameModule) obj;
+        return hash == other.hash && Objects.equals(namespace, other.namespace)
+                && Objects.equals(revision, other.revision);
+    }
+
+    @Override
+    public String toString() {
+        return "QNameModule [namespace=" + namespace + ", revision=" + getFormattedRevision() + "]";
+    }
+}
@@ -108,6 +108,24 @@ public class QNameTest {
         assertTrue(b.compareTo(a) == 0);
     }
 
+    @Test
+    public void testQNameModuleSharing() throws Exception {
+        QName a = QName.create(namespace, revision, localName);
+        QName b = QName.create(a, "baz");
+        assertSame(a.getModule(), b.getModule());
+        assertEquals(revision, b.getFormattedRevision());
+
+        QName c = QName.create(QNameModule.create(ns, QName.parseRevision(revision)), localName);
+        assertEquals(a, c);
+        assertEquals(a.hashCode(), c.hashCode());
+        assertEquals(a.getModule(), c.getModule());
+        assertFalse(a.equals(b));
+
+        QName cached = QName.cachedReference(a);
+        assertEquals(a, cached);
+        assertEquals(a.getModule(), cached.getModule());
+    }
+
     private void assertLocalNameFails(String localName) {
         try {
             new QName((URI)null, localName);
@@ -16,12 +16,16 @@ import static org.opendaylight.yangtools.yang.model.util.BaseTypes.UINT32_QNAME;
 import static org.opendaylight.yangtools.yang.model.util.BaseTypes.UINT64_QNAME;
 import static org.opendaylight.yangtools.yang.model.util.BaseTypes.UINT8_QNAME;
 
+import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.codec.BinaryCodec;
 import org.opendaylight.yangtools.yang.data.api.codec.BitsCodec;
 import org.opendaylight.yangtools.yang.data.api.codec.BooleanCodec;
@@ -54,6 +58,9 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.BaseEncoding;
 
@@ -234,6 +241,64 @@ public abstract class TypeDefinitionAwareCodec<J, T extends TypeDefinition<T>> i
         return ret;
     }
 
+    /*
+     * Keys are weak, hence compared by identity. Type definitions of different schema
+     * contexts may be equal while carrying different restrictions. An entry is dropped
+     * once its type definition is no longer reachable, which requires that the cached
+     * codecs refer to their type definition only weakly, see AbstractValidatingCodec.
+     */
+    private static final LoadingCache<TypeDefinition<?>, Optional<TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>>>> VALIDATING_CODECS =
+            CacheBuilder.newBuilder().weakKeys().build(
+                    new CacheLoader<TypeDefinition<?>, Optional<TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>>>>() {
+                        @Override
+                        public Optional<TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>>> load(
+                                final TypeDefinition<?> key) {
+                            return Optional.<TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>>> fromNullable(
+                                    createValidatingCodec(key));
+                        }
+                    });
+
+    /**
+     * Returns codec of a type which enforces its restrictions. Values are checked
+     * against length, range and pattern restrictions of the type and all of its base
+     * types, enumeration and bits values are checked against defined names. Union
+     * values are decoded using the first member type which accepts them, instead of
+     * being passed through as strings. Violations are reported as
+     * {@link IllegalArgumentException}.
+     *
+     * <p>
+     * Base type resolution and compilation of restrictions happen once per type
+     * definition instance, the codec is cached for as long as the type definition
+     * is in use.
+     *
+     * @param typeDefinition type definition
+     * @return codec for the type, or null if the type does not have a string codec
+     */
+    public static final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> validatingFrom(
+            final TypeDefinition<?> typeDefinition) {
+        Preconditions.checkNotNull(typeDefinition);
+        return VALIDATING_CODECS.getUnchecked(typeDefinition).orNull();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> createValidatingCodec(
+            final TypeDefinition typeDefinition) {
+        TypeDefinition<?> superType = typeDefinition;
+        while (superType.getBaseType() != null) {
+            superType = superType.getBaseType();
+        }
+        if (superType instanceof UnionTypeDefinition) {
+            return new ValidatingUnionCodec(typeDefinition, (UnionTypeDefinition) superType);
+        }
+
+        final TypeDefinitionAwareCodec delegate = fromType(typeDefinition);
+        if (delegate == null) {
+            return null;
+        }
+        return new ValidatingCodec(typeDefinition, delegate, ValueRestrictions.compile(typeDefinition,
+                delegate.getInputClass()));
+    }
+
     public static class BooleanCodecStringImpl extends TypeDefinitionAwareCodec<Boolean, BooleanTypeDefinition>
             implements BooleanCodec<String> {
 
@@ -559,4 +624,132 @@ public abstract class TypeDefinitionAwareCodec<J, T extends TypeDefinition<T>> i
             return stringRepresentation;
         }
     };
+
+    /*
+     * Base of codecs cached by validatingFrom(). A strong reference to the type definition
+     * would keep the weak key of the cache entry reachable, so the type definition is
+     * referenced weakly and only its QName is kept for error messages.
+     */
+    private static abstract class AbstractValidatingCodec<J, T extends TypeDefinition<T>> extends
+            TypeDefinitionAwareCodec<J, T> {
+        private final WeakReference<T> typeDefinition;
+        private final QName typeName;
+
+        AbstractValidatingCodec(final T typeDef, final Class<J> inputClass) {
+            super(Optional.<T> absent(), inputClass);
+            this.typeDefinition = new WeakReference<>(typeDef);
+            this.typeName = typeDef.getQName();
+        }
+
+        @Override
+        public final Optional<T> getTypeDefinition() {
+            return Optional.fromNullable(typeDefinition.get());
+        }
+
+        final QName getTypeName() {
+            return typeName;
+        }
+    }
+
+    private static final class ValidatingCodec<J, T extends TypeDefinition<T>> extends AbstractValidatingCodec<J, T> {
+        private final TypeDefinitionAwareCodec<J, ?> delegate;
+        private final ValueRestrictions restrictions;
+
+        ValidatingCodec(final T typeDef, final TypeDefinitionAwareCodec<J, ?> delegate,
+                final ValueRestrictions restrictions) {
+            super(typeDef, delegate.getInputClass());
+            this.delegate = delegate;
+            this.restrictions = restrictions;
+        }
+
+        @Override
+        public String serialize(final J data) {
+            final String ret = delegate.serialize(data);
+            if (data != null) {
+                restrictions.checkValue(data);
+                restrictions.checkLexical(ret);
+            }
+            return ret;
+        }
+
+        @Override
+        public J deserialize(final String stringRepresentation) {
+            if (stringRepresentation == null) {
+                return delegate.deserialize(null);
+            }
+            restrictions.checkLexical(stringRepresentation);
+            final J ret = delegate.deserialize(stringRepresentation);
+            restrictions.checkValue(ret);
+            return ret;
+        }
+    }
+
+    private static final class ValidatingUnionCodec<T extends TypeDefinition<T>> extends
+            AbstractValidatingCodec<Object, T> {
+        private final List<TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>>> memberCodecs;
+        /*
+         * Members such as leafref or identityref do not have a string codec. Values
+         * not accepted by other members are passed through as strings for them.
+         */
+        private final boolean hasOpaqueMembers;
+
+        ValidatingUnionCodec(final T typeDef, final UnionTypeDefinition union) {
+            super(typeDef, Object.class);
+            memberCodecs = new ArrayList<>(union.getTypes().size());
+            boolean opaque = false;
+            for (TypeDefinition<?> member : union.getTypes()) {
+                final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = validatingFrom(member);
+                if (codec != null) {
+                    memberCodecs.add(codec);
+                } else {
+                    opaque = true;
+                }
+            }
+            hasOpaqueMembers = opaque;
+        }
+
+        @Override
+        public String serialize(final Object data) {
+            if (data == null) {
+                return "";
+            }
+            for (TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec : memberCodecs) {
+                if (codec.getInputClass().isInstance(data)) {
+                    try {
+                        return codec.serialize(data);
+                    } catch (IllegalArgumentException e) {
+                        continue;
+                    }
+                }
+            }
+            if (data instanceof String) {
+                // Value in its string form, as produced by the default union codec
+                deserialize((String) data);
+                return (String) data;
+            }
+            Preconditions.checkArgument(hasOpaqueMembers, "Value %s is not valid for any member of union %s", data,
+                    getTypeName());
+            return data.toString();
+        }
+
+        @Override
+        public Object deserialize(final String stringRepresentation) {
+            if (stringRepresentation == null) {
+                return null;
+            }
+            IllegalArgumentException cause = null;
+            for (TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec : memberCodecs) {
+                try {
+                    return codec.deserialize(stringRepresentation);
+                } catch (IllegalArgumentException e) {
+                    cause = e;
+                }
+            }
+            if (hasOpaqueMembers) {
+                return stringRepresentation;
+            }
+            throw new IllegalArgumentException(String.format("Value \"%s\" is not valid for any member of union %s",
+                    stringRepresentation, getTypeName()), cause);
+        }
+    }
 }
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition.Bit;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition.EnumPair;
+import org.opendaylight.yangtools.yang.model.api.type.IntegerTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnsignedIntegerTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.ExtendedType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Restrictions of a type and all of its base types, compiled into checks of
+ * string and value representations. Length and range bounds are converted to
+ * the representation of checked values and patterns are compiled when
+ * the restrictions are created, so checking a value does not inspect the type
+ * definition at all.
+ *
+ * Constraints of a single type are alternatives, constraints of a type and
+ * its base types have to be satisfied all.
+ */
+final class ValueRestrictions {
+    private static final Logger LOG = LoggerFactory.getLogger(ValueRestrictions.class);
+    private static final Restriction[] NO_RESTRICTIONS = new Restriction[0];
+    private static final Set<String> BOOLEAN_VALUES = ImmutableSet.of("true", "false");
+    private static final Set<String> EMPTY_VALUES = ImmutableSet.of("");
+
+    private final Restriction[] lexicalRestrictions;
+    private final Restriction[] valueRestrictions;
+
+    private ValueRestrictions(final List<Restriction> lexicalRestrictions, final List<Restriction> valueRestrictions) {
+        this.lexicalRestrictions = lexicalRestrictions.toArray(NO_RESTRICTIONS);
+        this.valueRestrictions = valueRestrictions.toArray(NO_RESTRICTIONS);
+    }
+
+    /**
+     * Compile restrictions of a type.
+     *
+     * @param type type definition, base types are walked as well
+     * @param valueClass class of values produced by codec of the type
+     * @return compiled restrictions
+     */
+    static ValueRestrictions compile(final TypeDefinition<?> type, final Class<?> valueClass) {
+        final List<Restriction> lexical = new ArrayList<>();
+        final List<Restriction> value = new ArrayList<>();
+
+        for (TypeDefinition<?> current = type; current != null; current = current.getBaseType()) {
+            final List<LengthConstraint> lengths = lengthConstraints(current);
+            if (!lengths.isEmpty()) {
+                value.add(new LengthRestriction(lengths));
+            }
+            final List<RangeConstraint> ranges = rangeConstraints(current);
+            if (!ranges.isEmpty()) {
+                value.add(rangeRestriction(ranges, valueClass));
+            }
+            final List<PatternConstraint> patterns = patternConstraints(current);
+            if (!patterns.isEmpty()) {
+                final PatternRestriction restriction = PatternRestriction.compile(patterns, current);
+                if (restriction != null) {
+                    lexical.add(restriction);
+                }
+            }
+
+            if (current instanceof BooleanTypeDefinition) {
+                lexical.add(new NameRestriction(BOOLEAN_VALUES, "value"));
+            } else if (current instanceof EmptyTypeDefinition) {
+                lexical.add(new NameRestriction(EMPTY_VALUES, "value"));
+            } else if (current instanceof EnumTypeDefinition) {
+                final ImmutableSet.Builder<String> names = ImmutableSet.builder();
+                for (EnumPair pair : ((EnumTypeDefinition) current).getValues()) {
+                    names.add(pair.getName());
+                }
+                lexical.add(new NameRestriction(names.build(), "enum"));
+            } else if (current instanceof BitsTypeDefinition) {
+                final ImmutableSet.Builder<String> names = ImmutableSet.builder();
+                for (Bit bit : ((BitsTypeDefinition) current).getBits()) {
+                    names.add(bit.getName());
+                }
+                value.add(new NameRestriction(names.build(), "bit"));
+            }
+        }
+        return new ValueRestrictions(lexical, value);
+    }
+
+    /**
+     * Check string representation of a value. This check is cheap compared
+     * to parsing the value, so it is done first.
+     *
+     * @throws IllegalArgumentException if the representation violates any restriction
+     */
+    void checkLexical(final String lexical) {
+        for (Restriction restriction : lexicalRestrictions) {
+            restriction.check(lexical);
+        }
+    }
+
+    /**
+     * Check a parsed value.
+     *
+     * @throws IllegalArgumentException if the value violates any restriction
+     */
+    void checkValue(final Object value) {
+        for (Restriction restriction : valueRestrictions) {
+            restriction.check(value);
+        }
+    }
+
+    private static List<LengthConstraint> lengthConstraints(final TypeDefinition<?> type) {
+        if (type instanceof ExtendedType) {
+            return ((ExtendedType) type).getLengthConstraints();
+        } else if (type instanceof StringTypeDefinition) {
+            return ((StringTypeDefinition) type).getLengthConstraints();
+        } else if (type instanceof BinaryTypeDefinition) {
+            return ((BinaryTypeDefinition) type).getLengthConstraints();
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<RangeConstraint> rangeConstraints(final TypeDefinition<?> type) {
+        if (type instanceof ExtendedType) {
+            return ((ExtendedType) type).getRangeConstraints();
+        } else if (type instanceof IntegerTypeDefinition) {
+            return ((IntegerTypeDefinition) type).getRangeConstraints();
+        } else if (type instanceof UnsignedIntegerTypeDefinition) {
+            return ((UnsignedIntegerTypeDefinition) type).getRangeConstraints();
+        } else if (type instanceof DecimalTypeDefinition) {
+            return ((DecimalTypeDefinition) type).getRangeConstraints();
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<PatternConstraint> patternConstraints(final TypeDefinition<?> type) {
+        if (type instanceof ExtendedType) {
+            return ((ExtendedType) type).getPatternConstraints();
+        } else if (type instanceof StringTypeDefinition) {
+            return ((StringTypeDefinition) type).getPatternConstraints();
+        }
+        return Collections.emptyList();
+    }
+
+    private static Restriction rangeRestriction(final List<RangeConstraint> ranges, final Class<?> valueClass) {
+        if (BigInteger.class.equals(valueClass) || BigDecimal.class.equals(valueClass)) {
+            return new BigRangeRestriction(ranges);
+        }
+        return new LongRangeRestriction(ranges);
+    }
+
+    /*
+     * Bounds are usually Long, BigInteger or BigDecimal. Unresolved min/max
+     * boundaries do not have a numeric representation, these are reported
+     * as null and treated as unbounded.
+     */
+    private static BigDecimal toBigDecimal(final Number bound) {
+        if (bound == null) {
+            return null;
+        } else if (bound instanceof BigDecimal) {
+            return (BigDecimal) bound;
+        } else if (bound instanceof BigInteger) {
+            return new BigDecimal((BigInteger) bound);
+        } else if (bound instanceof Long || bound instanceof Integer || bound instanceof Short
+                || bound instanceof Byte) {
+            return BigDecimal.valueOf(bound.longValue());
+        }
+        try {
+            return new BigDecimal(bound.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long toLong(final Number bound, final long unbounded) {
+        final BigDecimal value = toBigDecimal(bound);
+        if (value == null) {
+            return unbounded;
+        }
+        if (value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        if (value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        return value.longValue();
+    }
+
+    private static String describe(final Collection<? extends Number> mins, final Collection<? extends Number> maxs) {
+        final StringBuilder sb = new StringBuilder("[");
+        final Iterator<? extends Number> maxIt = maxs.iterator();
+        for (Number min : mins) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append('[').append(min).append('\u2025').append(maxIt.next()).append(']');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static abstract class Restriction {
+        abstract void check(Object value);
+    }
+
+    private static final class LengthRestriction extends Restriction {
+        private final long[] mins;
+        private final long[] maxs;
+        private final String expected;
+
+        LengthRestriction(final List<LengthConstraint> constraints) {
+            mins = new long[constraints.size()];
+            maxs = new long[constraints.size()];
+            final List<Number> minBounds = new ArrayList<>(constraints.size());
+            final List<Number> maxBounds = new ArrayList<>(constraints.size());
+            for (int i = 0; i < mins.length; ++i) {
+                final LengthConstraint constraint = constraints.get(i);
+                mins[i] = toLong(constraint.getMin(), 0);
+                maxs[i] = toLong(constraint.getMax(), Long.MAX_VALUE);
+                minBounds.add(constraint.getMin());
+                maxBounds.add(constraint.getMax());
+            }
+            expected = describe(minBounds, maxBounds);
+        }
+
+        @Override
+        void check(final Object value) {
+            final long length;
+            if (value instanceof String) {
+                final String str = (String) value;
+                length = str.codePointCount(0, str.length());
+            } else if (value instanceof byte[]) {
+                length = ((byte[]) value).length;
+            } else {
+                return;
+            }
+
+            for (int i = 0; i < mins.length; ++i) {
+                if (length >= mins[i] && length <= maxs[i]) {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Invalid length: %s, expected: %s.", length, expected));
+        }
+    }
+
+    private static final class LongRangeRestriction extends Restriction {
+        private final long[] mins;
+        private final long[] maxs;
+        private final String expected;
+
+        LongRangeRestriction(final List<RangeConstraint> constraints) {
+            mins = new long[constraints.size()];
+            maxs = new long[constraints.size()];
+            final List<Number> minBounds = new ArrayList<>(constraints.size());
+            final List<Number> maxBounds = new ArrayList<>(constraints.size());
+            for (int i = 0; i < mins.length; ++i) {
+                final RangeConstraint constraint = constraints.get(i);
+                mins[i] = toLong(constraint.getMin(), Long.MIN_VALUE);
+                maxs[i] = toLong(constraint.getMax(), Long.MAX_VALUE);
+                minBounds.add(constraint.getMin());
+                maxBounds.add(constraint.getMax());
+            }
+            expected = describe(minBounds, maxBounds);
+        }
+
+        @Override
+        void check(final Object value) {
+            if (!(value instanceof Number)) {
+                return;
+            }
+
+            final long number = ((Number) value).longValue();
+            for (int i = 0; i < mins.length; ++i) {
+                if (number >= mins[i] && number <= maxs[i]) {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Invalid range: %s, expected: %s.", value, expected));
+        }
+    }
+
+    private static final class BigRangeRestriction extends Restriction {
+        private final BigDecimal[] mins;
+        private final BigDecimal[] maxs;
+        private final String expected;
+
+        BigRangeRestriction(final List<RangeConstraint> constraints) {
+            mins = new BigDecimal[constraints.size()];
+            maxs = new BigDecimal[constraints.size()];
+            final List<Number> minBounds = new ArrayList<>(constraints.size());
+            final List<Number> maxBounds = new ArrayList<>(constraints.size());
+            for (int i = 0; i < mins.length; ++i) {
+                final RangeConstraint constraint = constraints.get(i);
+                mins[i] = toBigDecimal(constraint.getMin());
+                maxs[i] = toBigDecimal(constraint.getMax());
+                minBounds.add(constraint.getMin());
+                maxBounds.add(constraint.getMax());
+            }
+            expected = describe(minBounds, maxBounds);
+        }
+
+        @Override
+        void check(final Object value) {
+            final BigDecimal number;
+            if (value instanceof BigDecimal) {
+                number = (BigDecimal) value;
+            } else if (value instanceof BigInteger) {
+                number = new BigDecimal((BigInteger) value);
+            } else {
+                return;
+            }
+
+            for (int i = 0; i < mins.length; ++i) {
+                if ((mins[i] == null || number.compareTo(mins[i]) >= 0)
+                        && (maxs[i] == null || number.compareTo(maxs[i]) <= 0)) {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Invalid range: %s, expected: %s.", value, expected));
+        }
+    }
+
+    private static final class PatternRestriction extends Restriction {
+        private final Pattern[] patterns;
+
+        private PatternRestriction(final List<Pattern> patterns) {
+            this.patterns = patterns.toArray(new Pattern[patterns.size()]);
+        }
+
+        static PatternRestriction compile(final List<PatternConstraint> constraints, final TypeDefinition<?> type) {
+            final List<Pattern> patterns = new ArrayList<>(constraints.size());
+            for (PatternConstraint constraint : constraints) {
+                try {
+                    patterns.add(Pattern.compile(constraint.getRegularExpression()));
+                } catch (PatternSyntaxException e) {
+                    LOG.warn("Pattern {} of type {} cannot be compiled, values will not be checked against it",
+                            constraint.getRegularExpression(), type.getQName(), e);
+                }
+            }
+            return patterns.isEmpty() ? null : new PatternRestriction(patterns);
+        }
+
+        @Override
+        void check(final Object value) {
+            if (!(value instanceof String)) {
+                return;
+            }
+
+            final String str = (String) value;
+            for (Pattern pattern : patterns) {
+                Preconditions.checkArgument(pattern.matcher(str).matches(),
+                        "Supplied value \"%s\" does not match the regular expression %s.", str, pattern);
+            }
+        }
+    }
+
+    private static final class NameRestriction extends Restriction {
+        private final Set<String> names;
+        private final String kind;
+
+        NameRestriction(final Set<String> names, final String kind) {
+            this.names = names;
+            this.kind = kind;
+        }
+
+        @Override
+        void check(final Object value) {
+            if (value instanceof String) {
+                Preconditions.checkArgument(names.contains(value), "Invalid %s: %s, expected one of %s.", kind,
+                        value, names);
+            } else if (value instanceof Set) {
+                for (Object name : (Set<?>) value) {
+                    Preconditions.checkArgument(names.contains(name), "Invalid %s: %s, expected one of %s.", kind,
+                            name, names);
+                }
+            }
+        }
+    }
+}
@@ -11,7 +11,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.net.URI;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -76,6 +76,28 @@ public class XmlDocumentUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(XmlDocumentUtils.class);
 
+    /*
+     * Creating a DocumentBuilderFactory involves a service lookup, which is expensive. Builders
+     * are not thread-safe, so each thread gets its own.
+     */
+    private static final DocumentBuilderFactory BUILDER_FACTORY;
+    static {
+        BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+        BUILDER_FACTORY.setNamespaceAware(true);
+    }
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<DocumentBuilder>() {
+        @Override
+        protected DocumentBuilder initialValue() {
+            try {
+                synchronized (BUILDER_FACTORY) {
+                    return BUILDER_FACTORY.newDocumentBuilder();
+                }
+            } catch (ParserConfigurationException e) {
+                throw new IllegalStateException("Failed to create document builder", e);
+            }
+        }
+    };
+
     /**
      * Converts Data DOM structure to XML Document for specified XML Codec Provider and corresponding
      * Data Node Container schema. The CompositeNode data parameter enters as root of Data DOM tree and will
@@ -105,15 +127,7 @@ public class XmlDocumentUtils {
     }
 
     public static Document getDocument() {
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        Document doc = null;
-        try {
-            DocumentBuilder bob = dbf.newDocumentBuilder();
-            doc = bob.newDocument();
-        } catch (ParserConfigurationException e) {
-            throw new RuntimeException(e);
-        }
-        return doc;
+        return DOCUMENT_BUILDER.get().newDocument();
     }
 
     /**
@@ -130,16 +144,7 @@ public class XmlDocumentUtils {
             throws UnsupportedDataTypeException {
         Preconditions.checkNotNull(data);
 
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        Document doc = null;
-        try {
-            DocumentBuilder bob = dbf.newDocumentBuilder();
-            doc = bob.newDocument();
-        } catch (ParserConfigurationException e) {
-            return null;
-        }
-
+        Document doc = getDocument();
         doc.appendChild(createXmlRootElement(doc, data, null, codecProvider));
         return doc;
     }
@@ -206,6 +211,30 @@ public class XmlDocumentUtils {
     }
 
     public static void writeValueByType(Element element, TypeDefinition<?> type, XmlCodecProvider codecProvider, Object nodeValue) {
+        // Map< key = namespace, value = prefix>
+        Map<String, String> prefixes = new LinkedHashMap<>();
+        String text = encodeValueByType(type, codecProvider, nodeValue, prefixes);
+
+        for (Entry<String, String> prefix : prefixes.entrySet()) {
+            element.setAttribute("xmlns:" + prefix.getValue(), prefix.getKey());
+        }
+        if (text != null) {
+            element.setTextContent(text);
+        }
+    }
+
+    /**
+     * Encodes a value to its XML text representation, according to its type. Identityref and instance-identifier
+     * values refer to namespaces through prefixes, which have to be declared on the element holding the text.
+     *
+     * @param type type of the value
+     * @param codecProvider XML Codec Provider
+     * @param nodeValue value to encode
+     * @param prefixes map of namespace to prefix, filled with namespaces which the text refers to
+     * @return XML text of the value, or null if there is no value
+     */
+    public static String encodeValueByType(TypeDefinition<?> type, XmlCodecProvider codecProvider, Object nodeValue,
+            Map<String, String> prefixes) {
         TypeDefinition<?> baseType = resolveBaseTypeFrom(type);
         if (baseType instanceof IdentityrefTypeDefinition) {
             if (nodeValue instanceof QName) {
@@ -214,32 +243,28 @@ public class XmlDocumentUtils {
                 if (value.getPrefix() != null && !value.getPrefix().isEmpty()) {
                     prefix = value.getPrefix();
                 }
-                element.setAttribute("xmlns:" + prefix, value.getNamespace().toString());
-                element.setTextContent(prefix + ":" + value.getLocalName());
+                prefixes.put(value.getNamespace().toString(), prefix);
+                return prefix + ":" + value.getLocalName();
             } else {
                 Object value = nodeValue;
                 logger.debug("Value of {}:{} is not instance of QName but is {}", baseType.getQName().getNamespace(),
                         baseType.getQName().getLocalName(), value != null ? value.getClass() : "null");
-                if (value != null) {
-                    element.setTextContent(String.valueOf(value));
-                }
+                return value != null ? String.valueOf(value) : null;
             }
         } else if (baseType instanceof InstanceIdentifierTypeDefinition) {
             if (nodeValue instanceof InstanceIdentifier) {
-                // Map< key = namespace, value = prefix>
-                Map<String, String> prefixes = new HashMap<>();
                 InstanceIdentifier instanceIdentifier = (InstanceIdentifier) nodeValue;
                 StringBuilder textContent = new StringBuilder();
                 for (PathArgument pathArgument : instanceIdentifier.getPath()) {
                     textContent.append("/");
-                    writeIdentifierWithNamespacePrefix(element, textContent, pathArgument.getNodeType(), prefixes);
+                    writeIdentifierWithNamespacePrefix(textContent, pathArgument.getNodeType(), prefixes);
                     if (pathArgument instanceof NodeIdentifierWithPredicates) {
                         Map<QName, Object> predicates = ((NodeIdentifierWithPredicates) pathArgument).getKeyValues();
 
                         for (QName keyValue : predicates.keySet()) {
                             String predicateValue = String.valueOf(predicates.get(keyValue));
                             textContent.append("[");
-                            writeIdentifierWithNamespacePrefix(element, textContent, keyValue, prefixes);
+                            writeIdentifierWithNamespacePrefix(textContent, keyValue, prefixes);
                             textContent.append("='");
                             textContent.append(predicateValue);
                             textContent.append("'");
@@ -252,37 +277,35 @@ public class XmlDocumentUtils {
                         textContent.append("]");
                     }
                 }
-                element.setTextContent(textContent.toString());
+                return textContent.toString();
 
             } else {
                 Object value = nodeValue;
                 logger.debug("Value of {}:{} is not instance of InstanceIdentifier but is {}", baseType.getQName()
                         .getNamespace(), //
                         baseType.getQName().getLocalName(), value != null ? value.getClass() : "null");
-                if (value != null) {
-                    element.setTextContent(String.valueOf(value));
-                }
+                return value != null ? String.valueOf(value) : null;
             }
         } else {
             if (nodeValue != null) {
                 final TypeDefinitionAwareCodec<Object, ?> codec = codecProvider.codecFor(baseType);
                 if (codec != null) {
                     try {
-                        final String text = codec.serialize(nodeValue);
-                        element.setTextContent(text);
+                        return codec.serialize(nodeValue);
                     } catch (ClassCastException e) {
                         logger.error("Provided node value {} did not have type {} required by mapping. Using stream instead.", nodeValue, baseType, e);
-                        element.setTextContent(String.valueOf(nodeValue));
+                        return String.valueOf(nodeValue);
                     }
                 } else {
                     logger.error("Failed to find codec for {}, falling back to using stream", baseType);
-                    element.setTextContent(String.valueOf(nodeValue));
+                    return String.valueOf(nodeValue);
                 }
             }
+            return null;
         }
     }
 
-    private static void writeIdentifierWithNamespacePrefix(Element element, StringBuilder textContent, QName qName,
+    private static void writeIdentifierWithNamespacePrefix(StringBuilder textContent, QName qName,
             Map<String, String> prefixes) {
         String namespace = qName.getNamespace().toString();
         String prefix = prefixes.get(namespace);
@@ -293,7 +316,6 @@ public class XmlDocumentUtils {
             }
         }
 
-        element.setAttribute("xmlns:" + prefix, namespace.toString());
         textContent.append(prefix);
         prefixes.put(namespace, prefix);
 
@@ -7,7 +7,6 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,29 +17,26 @@ import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.util.PersistentLinkedHashMap;
 
 abstract class AbstractImmutableDataContainerNodeBuilder<I extends InstanceIdentifier.PathArgument, R extends DataContainerNode<I>>
         implements DataContainerNodeBuilder<I, R> {
 
-    private Map<InstanceIdentifier.PathArgument, DataContainerChild<? extends InstanceIdentifier.PathArgument, ?>> value;
-    private I nodeIdentifier;
-
     /*
-     * Tracks whether the builder is dirty, e.g. whether the value map has been used
-     * to construct a child. If it has, we detect this condition before any further
-     * modification and create a new value map with same contents. This way we do not
-     * force a map copy if the builder is not reused.
+     * The value map is persistent, e.g. every modification creates a new map sharing
+     * unmodified structure with the previous one. Nodes constructed from the builder
+     * therefore never observe further modifications and the builder can be reused
+     * without copying the map.
      */
-    private boolean dirty;
+    private PersistentLinkedHashMap<InstanceIdentifier.PathArgument, DataContainerChild<? extends InstanceIdentifier.PathArgument, ?>> value;
+    private I nodeIdentifier;
 
     protected AbstractImmutableDataContainerNodeBuilder() {
-        this.value = new HashMap<>();
-        this.dirty = false;
+        this.value = PersistentLinkedHashMap.of();
     }
 
     protected AbstractImmutableDataContainerNodeBuilder(final AbstractImmutableDataContainerNode<I> node) {
-        this.value = node.getChildren();
-        this.dirty = true;
+        this.value = PersistentLinkedHashMap.copyOf(node.getChildren());
     }
 
     protected final I getNodeIdentifier() {
@@ -52,17 +48,9 @@ abstract class AbstractImmutableDataContainerNodeBuilder<I extends InstanceIdent
     }
 
     protected final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> buildValue() {
-        dirty = true;
         return value;
     }
 
-    private void checkDirty() {
-        if (dirty) {
-            value = new HashMap<>(value);
-            dirty = false;
-        }
-    }
-
     @Override
     public DataContainerNodeBuilder<I, R> withValue(final List<DataContainerChild<? extends InstanceIdentifier.PathArgument, ?>> value) {
         // TODO Replace or putAll ?
@@ -74,15 +62,13 @@ abstract class AbstractImmutableDataContainerNodeBuilder<I extends InstanceIdent
 
     @Override
     public DataContainerNodeBuilder<I, R> withChild(final DataContainerChild<?, ?> child) {
-        checkDirty();
-        this.value.put(child.getIdentifier(), child);
+        this.value = value.plus(child.getIdentifier(), child);
         return this;
     }
 
     @Override
     public DataContainerNodeBuilder<I, R> withoutChild(final PathArgument key) {
-        checkDirty();
-        this.value.remove(key);
+        this.value = value.minus(key);
         return this;
     }
 
@@ -7,9 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.yang.data.api.InstanceIdentifier;
@@ -20,6 +18,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.util.PersistentLinkedHashMap;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
@@ -27,18 +26,19 @@ import com.google.common.collect.Iterables;
 public class ImmutableMapNodeBuilder
         implements CollectionNodeBuilder<MapEntryNode, MapNode> {
 
-    private Map<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> value;
+    /*
+     * Persistent map shares structure with all nodes built from it, hence it
+     * is safe to keep modifying the builder after build() without copying.
+     */
+    private PersistentLinkedHashMap<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> value;
     private InstanceIdentifier.NodeIdentifier nodeIdentifier;
-    private boolean dirty = false;
 
     protected ImmutableMapNodeBuilder() {
-        this.value = new LinkedHashMap<>();
-        this.dirty = false;
+        this.value = PersistentLinkedHashMap.of();
     }
 
     protected ImmutableMapNodeBuilder(final ImmutableMapNode node) {
         this.value = node.children;
-        this.dirty = true;
     }
 
     public static CollectionNodeBuilder<MapEntryNode, MapNode> create() {
@@ -53,24 +53,15 @@ public class ImmutableMapNodeBuilder
         return new ImmutableMapNodeBuilder((ImmutableMapNode) node);
     }
 
-    private void checkDirty() {
-        if (dirty) {
-            value = new LinkedHashMap<>(value);
-            dirty = false;
-        }
-    }
-
     @Override
     public CollectionNodeBuilder<MapEntryNode, MapNode> withChild(final MapEntryNode child) {
-        checkDirty();
-        this.value.put(child.getIdentifier(), child);
+        this.value = value.plus(child.getIdentifier(), child);
         return this;
     }
 
     @Override
     public CollectionNodeBuilder<MapEntryNode, MapNode> withoutChild(final InstanceIdentifier.PathArgument key) {
-        checkDirty();
-        this.value.remove(key);
+        this.value = value.minus(key);
         return this;
     }
 
@@ -92,7 +83,6 @@ public class ImmutableMapNodeBuilder
 
     @Override
     public MapNode build() {
-        dirty = true;
         return new ImmutableMapNode(nodeIdentifier, value);
     }
 
@@ -111,10 +101,10 @@ public class ImmutableMapNodeBuilder
 
     protected static final class ImmutableMapNode extends AbstractImmutableNormalizedNode<InstanceIdentifier.NodeIdentifier, Iterable<MapEntryNode>> implements Immutable,MapNode {
 
-        private final Map<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> children;
+        private final PersistentLinkedHashMap<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> children;
 
         ImmutableMapNode(final InstanceIdentifier.NodeIdentifier nodeIdentifier,
-                         final Map<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> children) {
+                         final PersistentLinkedHashMap<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> children) {
             super(nodeIdentifier, Iterables.unmodifiableIterable(children.values()));
             this.children = children;
         }
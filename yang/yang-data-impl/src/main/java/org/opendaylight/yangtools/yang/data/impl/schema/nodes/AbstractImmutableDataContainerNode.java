@@ -42,6 +42,9 @@ public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
 
     public final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> getChildren() {
         // Make sure we do not leak a mutable view
+        if (children instanceof Immutable) {
+            return children;
+        }
         return Collections.unmodifiableMap(children);
     }
 
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.transform.base;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.ChoiceNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Schema-derived dispatch information for children of a single data container schema.
+ *
+ * Schema nodes are immutable, so mapping of child QNames to augmentations and choices
+ * is computed once, when the plan is created. Child schemas and augmentation proxies
+ * are resolved on first use and remembered. Augmentation proxies are handed out as
+ * stable instances, so that plans for augmentation children can be cached as well.
+ *
+ * Plans are thread-safe and can be shared by concurrent parsers. Plans are derived from
+ * schema only, so a single plan is kept for each schema object and used by all parsers,
+ * see {@link #forSchema(Object, Source)}.
+ */
+public final class ParsePlan {
+    /**
+     * Schema-specific mapping of child nodes, from which a plan is built.
+     */
+    public interface Source {
+        /**
+         * @return map from QName to child elements that are added by augmentation
+         *         that targets the schema.
+         */
+        Map<QName, AugmentationSchema> mapChildElementsFromAugments();
+
+        /**
+         * @return map from QName to ChoiceNode schema of child nodes that are
+         *         contained within a choice statement under the schema.
+         */
+        Map<QName, ChoiceNode> mapChildElementsFromChoices();
+    }
+
+    /**
+     * Parse plans, keyed by schema object. Keys are weak, so that plans do not outlive
+     * their schema context.
+     */
+    private static final Cache<Object, ParsePlan> PLANS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Map<QName, AugmentationSchema> augmentChildNodes;
+    private final Map<QName, ChoiceNode> choiceChildNodes;
+    private final ConcurrentMap<QName, DataSchemaNode> childSchemas = new ConcurrentHashMap<>();
+    private final ConcurrentMap<AugmentationSchema, AugmentationSchemaProxy> augmentProxies = new ConcurrentHashMap<>();
+
+    private ParsePlan(final Map<QName, AugmentationSchema> augmentChildNodes, final Map<QName, ChoiceNode> choiceChildNodes) {
+        this.augmentChildNodes = ImmutableMap.copyOf(augmentChildNodes);
+        this.choiceChildNodes = ImmutableMap.copyOf(choiceChildNodes);
+    }
+
+    /**
+     * Return the parse plan for a schema, creating it on first use.
+     *
+     * @param schema schema object
+     * @param source mapping of child nodes of the schema, used if the plan is created
+     * @return parse plan shared by all parsers of schema
+     */
+    public static ParsePlan forSchema(final Object schema, final Source source) {
+        Preconditions.checkNotNull(source);
+        try {
+            return PLANS.get(schema, new Callable<ParsePlan>() {
+                @Override
+                public ParsePlan call() {
+                    return new ParsePlan(source.mapChildElementsFromAugments(), source.mapChildElementsFromChoices());
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * @param childQName QName of a child node
+     * @return augmentation, which defines the child node, or null if the child is not augmented
+     */
+    public AugmentationSchema getAugmentation(final QName childQName) {
+        return augmentChildNodes.get(childQName);
+    }
+
+    /**
+     * @param childQName QName of a child node
+     * @return choice, which contains the child node, or null if the child is not part of a choice
+     */
+    public ChoiceNode getChoice(final QName childQName) {
+        return choiceChildNodes.get(childQName);
+    }
+
+    /**
+     * @param childQName QName of a child node as it appears in input, possibly without revision
+     * @return previously resolved schema for the child node, or null
+     */
+    public DataSchemaNode getChildSchema(final QName childQName) {
+        return childSchemas.get(childQName);
+    }
+
+    /**
+     * Remember resolved schema for a child node.
+     *
+     * @param childQName QName of a child node as it appears in input
+     * @param childSchema resolved schema
+     * @return schema, which should be used for the child node
+     */
+    public DataSchemaNode putChildSchema(final QName childQName, final DataSchemaNode childSchema) {
+        final DataSchemaNode prev = childSchemas.putIfAbsent(childQName, Preconditions.checkNotNull(childSchema));
+        return prev != null ? prev : childSchema;
+    }
+
+    /**
+     * @param augmentSchema augmentation schema
+     * @return previously created proxy for the augmentation, or null
+     */
+    public AugmentationSchemaProxy getAugmentationProxy(final AugmentationSchema augmentSchema) {
+        return augmentProxies.get(augmentSchema);
+    }
+
+    /**
+     * Remember a proxy for an augmentation.
+     *
+     * @param augmentSchema augmentation schema
+     * @param proxy proxy with real child schemas
+     * @return proxy, which should be used for the augmentation
+     */
+    public AugmentationSchemaProxy putAugmentationProxy(final AugmentationSchema augmentSchema,
+            final AugmentationSchemaProxy proxy) {
+        final AugmentationSchemaProxy prev = augmentProxies.putIfAbsent(augmentSchema, Preconditions.checkNotNull(proxy));
+        return prev != null ? prev : proxy;
+    }
+}
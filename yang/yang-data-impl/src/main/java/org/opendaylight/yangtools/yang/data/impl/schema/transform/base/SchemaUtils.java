@@ -12,7 +12,11 @@ import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -25,6 +29,24 @@ import java.util.*;
 
 public final class SchemaUtils {
 
+    /**
+     * QNames of augmentation child nodes. Augmentations are matched against sets of child QNames
+     * on every augmentation node, so the sets are computed once per augmentation schema.
+     */
+    private static final LoadingCache<AugmentationSchema, Set<QName>> AUGMENTATION_CHILD_QNAMES = CacheBuilder
+            .newBuilder().weakKeys().build(new CacheLoader<AugmentationSchema, Set<QName>>() {
+                @Override
+                public Set<QName> load(final AugmentationSchema augment) {
+                    return ImmutableSet.copyOf(Collections2.transform(augment.getChildNodes(),
+                            new Function<DataSchemaNode, QName>() {
+                                @Override
+                                public QName apply(final DataSchemaNode input) {
+                                    return input.getQName();
+                                }
+                            }));
+                }
+            });
+
     private SchemaUtils() {
     }
 
@@ -62,15 +84,14 @@ public final class SchemaUtils {
         return schemaForAugment.get();
     }
 
+    private static Set<QName> getChildQNames(final AugmentationSchema augment) {
+        return AUGMENTATION_CHILD_QNAMES.getUnchecked(augment);
+    }
+
     private static Optional<AugmentationSchema> findAugment(AugmentationTarget schema, Set<QName> qNames) {
         for (AugmentationSchema augment : schema.getAvailableAugmentations()) {
 
-            HashSet<QName> qNamesFromAugment = Sets.newHashSet(Collections2.transform(augment.getChildNodes(), new Function<DataSchemaNode, QName>() {
-                @Override
-                public QName apply(DataSchemaNode input) {
-                    return input.getQName();
-                }
-            }));
+            Set<QName> qNamesFromAugment = getChildQNames(augment);
 
             if(qNamesFromAugment.equals(qNames)) {
                 return Optional.of(augment);
@@ -275,6 +296,51 @@ public final class SchemaUtils {
         return realChildNodes;
     }
 
+    /**
+     * Retrieves real schemas for augmented child node of a choice, looking into the choice and all its cases.
+     */
+    public static Set<DataSchemaNode> getRealSchemasForChoiceAugment(ChoiceNode schema, AugmentationSchema augmentSchema) {
+        Set<DataSchemaNode> fromAllCases = Sets.newHashSet();
+
+        fromAllCases.addAll(getRealSchemasForAugment((AugmentationTarget) schema, augmentSchema));
+
+        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
+            fromAllCases.addAll(getRealSchemasForAugment((AugmentationTarget) choiceCaseNode, augmentSchema));
+        }
+
+        return fromAllCases;
+    }
+
+    /**
+     * Find all child nodes that come from choices nested in cases of a choice.
+     *
+     * @return Map with all child nodes, to their nested choice
+     */
+    public static Map<QName, ChoiceNode> mapChildElementsFromCaseChoices(ChoiceNode schema) {
+        Map<QName, ChoiceNode> mappedChoices = Maps.newLinkedHashMap();
+
+        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
+            mappedChoices.putAll(mapChildElementsFromChoices(choiceCaseNode));
+        }
+
+        return mappedChoices;
+    }
+
+    /**
+     * Find all child nodes that come from augmentations of cases of a choice.
+     *
+     * @return Map with all child nodes, to their most top augmentation
+     */
+    public static Map<QName, AugmentationSchema> mapChildElementsFromCaseAugments(ChoiceNode schema) {
+        Map<QName, AugmentationSchema> mappedAugments = Maps.newLinkedHashMap();
+
+        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
+            mappedAugments.putAll(mapChildElementsFromAugments(choiceCaseNode));
+        }
+
+        return mappedAugments;
+    }
+
     public static Optional<ChoiceCaseNode> detectCase(ChoiceNode schema, DataContainerChild<?, ?> child) {
         for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
             if (child instanceof AugmentationNode
@@ -292,10 +358,7 @@ public final class SchemaUtils {
     public static boolean belongsToCaseAugment(ChoiceCaseNode caseNode, InstanceIdentifier.AugmentationIdentifier childToProcess) {
         for (AugmentationSchema augmentationSchema : caseNode.getAvailableAugmentations()) {
 
-            Set<QName> currentAugmentChildNodes = Sets.newHashSet();
-            for (DataSchemaNode dataSchemaNode : augmentationSchema.getChildNodes()) {
-                currentAugmentChildNodes.add(dataSchemaNode.getQName());
-            }
+            Set<QName> currentAugmentChildNodes = getChildQNames(augmentationSchema);
 
             if(childToProcess.getPossibleChildNames().equals(currentAugmentChildNodes)){
                 return true;
@@ -20,6 +20,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.AttributesBu
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.transform.ToNormalizedNodeParser;
 import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.AugmentationSchemaProxy;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.ParsePlan;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.ChoiceNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
@@ -100,33 +101,33 @@ public abstract class BaseDispatcherParser<E, N extends DataContainerNode<?>, S>
         // Map child nodes to QName
         LinkedListMultimap<QName, E> mappedChildElements = mapChildElements(elements);
 
-        // Map child nodes from Augments
-        Map<QName, AugmentationSchema> mappedAugmentChildNodes = mapChildElementsFromAugments(schema);
+        final ParsePlan plan = getParsePlan(schema);
         LinkedListMultimap<AugmentationSchema, E> augmentsToElements = LinkedListMultimap.create();
-
-        // Map child nodes from choices
-        Map<QName, ChoiceNode> mappedChoiceChildNodes = mapChildElementsFromChoices(schema);
         LinkedListMultimap<ChoiceNode, E> choicesToElements = LinkedListMultimap.create();
 
         // process Child nodes
         for (QName childPartialQName : mappedChildElements.keySet()) {
-            DataSchemaNode childSchema = getSchemaForChild(schema, childPartialQName);
+            DataSchemaNode childSchema = getChildSchema(plan, schema, childPartialQName);
             List<E> childrenForQName = mappedChildElements.get(childPartialQName);
 
             // Augment
-            if (isMarkedAs(mappedAugmentChildNodes, childSchema.getQName())) {
-                AugmentationSchema augmentationSchema = mappedAugmentChildNodes.get(childSchema.getQName());
+            AugmentationSchema augmentationSchema = plan.getAugmentation(childSchema.getQName());
+            if (augmentationSchema != null) {
                 augmentsToElements.putAll(augmentationSchema, childrenForQName);
-                // Choices
-            } else if (isMarkedAs(mappedChoiceChildNodes, childSchema.getQName())) {
-                ChoiceNode choiceSchema = mappedChoiceChildNodes.get(childSchema.getQName());
+                continue;
+            }
+
+            // Choices
+            ChoiceNode choiceSchema = plan.getChoice(childSchema.getQName());
+            if (choiceSchema != null) {
                 choicesToElements.putAll(choiceSchema, childrenForQName);
-                // Regular child nodes
-            } else {
-                DataContainerChild<? extends InstanceIdentifier.PathArgument, ?> builtChildNode = getDispatcher()
-                        .dispatchChildElement(childSchema, childrenForQName);
-                containerBuilder.withChild(builtChildNode);
+                continue;
             }
+
+            // Regular child nodes
+            DataContainerChild<? extends InstanceIdentifier.PathArgument, ?> builtChildNode = getDispatcher()
+                    .dispatchChildElement(childSchema, childrenForQName);
+            containerBuilder.withChild(builtChildNode);
         }
 
         // TODO ordering is not preserved for choice and augment elements
@@ -136,8 +137,7 @@ public abstract class BaseDispatcherParser<E, N extends DataContainerNode<?>, S>
         }
 
         for (AugmentationSchema augmentSchema : augmentsToElements.keySet()) {
-            Set<DataSchemaNode> realChildSchemas = getRealSchemasForAugment(schema, augmentSchema);
-            AugmentationSchemaProxy augSchemaProxy = new AugmentationSchemaProxy(augmentSchema, realChildSchemas);
+            AugmentationSchemaProxy augSchemaProxy = getAugmentationProxy(plan, schema, augmentSchema);
             containerBuilder.withChild(getDispatcher().dispatchChildElement(augSchemaProxy, augmentsToElements.get(augmentSchema)));
         }
 
@@ -155,8 +155,45 @@ public abstract class BaseDispatcherParser<E, N extends DataContainerNode<?>, S>
         return Collections.emptyMap();
     }
 
-    private boolean isMarkedAs(Map<QName, ?> mappedAugmentChildNodes, QName qName) {
-        return mappedAugmentChildNodes.containsKey(qName);
+    /**
+     * Return the parse plan for a schema, creating it on first use.
+     *
+     * @param schema
+     * @return parse plan shared by all parsers of schema
+     */
+    protected final ParsePlan getParsePlan(final S schema) {
+        return ParsePlan.forSchema(schema, new ParsePlan.Source() {
+            @Override
+            public Map<QName, AugmentationSchema> mapChildElementsFromAugments() {
+                return BaseDispatcherParser.this.mapChildElementsFromAugments(schema);
+            }
+
+            @Override
+            public Map<QName, ChoiceNode> mapChildElementsFromChoices() {
+                return BaseDispatcherParser.this.mapChildElementsFromChoices(schema);
+            }
+        });
+    }
+
+    private DataSchemaNode getChildSchema(final ParsePlan plan, final S schema, final QName childQName) {
+        final DataSchemaNode cached = plan.getChildSchema(childQName);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Unknown children are reported by the lookup and are never cached
+        return plan.putChildSchema(childQName, getSchemaForChild(schema, childQName));
+    }
+
+    private AugmentationSchemaProxy getAugmentationProxy(final ParsePlan plan, final S schema,
+            final AugmentationSchema augmentSchema) {
+        final AugmentationSchemaProxy cached = plan.getAugmentationProxy(augmentSchema);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<DataSchemaNode> realChildSchemas = getRealSchemasForAugment(schema, augmentSchema);
+        return plan.putAugmentationProxy(augmentSchema, new AugmentationSchemaProxy(augmentSchema, realChildSchemas));
     }
 
     protected void checkOnlyOneNode(S schema, Iterable<E> childNodes) {
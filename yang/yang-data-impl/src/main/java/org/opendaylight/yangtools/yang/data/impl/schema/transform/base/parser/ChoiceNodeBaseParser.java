@@ -17,13 +17,8 @@ import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.SchemaUtils;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
-import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
-import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-
 /**
  * Abstract(base) parser for ChoiceNodes, parses elements of type E.
  *
@@ -41,15 +36,7 @@ public abstract class ChoiceNodeBaseParser<E> extends
     @Override
     protected final Set<DataSchemaNode> getRealSchemasForAugment(org.opendaylight.yangtools.yang.model.api.ChoiceNode schema,
             AugmentationSchema augmentSchema) {
-        Set<DataSchemaNode> fromAllCases = Sets.newHashSet();
-
-        fromAllCases.addAll(SchemaUtils.getRealSchemasForAugment(schema, augmentSchema));
-
-        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
-            fromAllCases.addAll(SchemaUtils.getRealSchemasForAugment((AugmentationTarget) choiceCaseNode, augmentSchema));
-        }
-
-        return fromAllCases;
+        return SchemaUtils.getRealSchemasForChoiceAugment(schema, augmentSchema);
     }
 
     @Override
@@ -61,24 +48,13 @@ public abstract class ChoiceNodeBaseParser<E> extends
     @Override
     protected final Map<QName, org.opendaylight.yangtools.yang.model.api.ChoiceNode> mapChildElementsFromChoices(
             org.opendaylight.yangtools.yang.model.api.ChoiceNode schema) {
-        Map<QName, org.opendaylight.yangtools.yang.model.api.ChoiceNode> mappedChoices = Maps.newLinkedHashMap();
-
-        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
-            mappedChoices.putAll(SchemaUtils.mapChildElementsFromChoices(choiceCaseNode));
-        }
-
-        return mappedChoices;
+        return SchemaUtils.mapChildElementsFromCaseChoices(schema);
     }
 
     @Override
     protected final Map<QName, AugmentationSchema> mapChildElementsFromAugments(
             org.opendaylight.yangtools.yang.model.api.ChoiceNode schema) {
-        Map<QName, AugmentationSchema> mappedAugments = Maps.newLinkedHashMap();
-
-        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
-            mappedAugments.putAll(SchemaUtils.mapChildElementsFromAugments(choiceCaseNode));
-        }
-        return mappedAugments;
+        return SchemaUtils.mapChildElementsFromCaseAugments(schema);
     }
 
 }
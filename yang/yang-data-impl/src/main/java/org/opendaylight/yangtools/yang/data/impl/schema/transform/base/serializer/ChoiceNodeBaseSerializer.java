@@ -15,12 +15,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.SchemaUtils;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
-import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
-import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 
-import com.google.common.collect.Sets;
-
 /**
  * Abstract(base) serializer for ChoiceNodes, serializes elements of type E.
  *
@@ -44,14 +40,6 @@ public abstract class ChoiceNodeBaseSerializer<E>
 
     @Override
     protected final Set<DataSchemaNode> getRealSchemasForAugment(org.opendaylight.yangtools.yang.model.api.ChoiceNode schema, AugmentationSchema augmentationSchema) {
-        Set<DataSchemaNode> aggregatedSchemas = Sets.newHashSet();
-
-        aggregatedSchemas.addAll(SchemaUtils.getRealSchemasForAugment(schema, augmentationSchema));
-
-        for (ChoiceCaseNode choiceCaseNode : schema.getCases()) {
-            aggregatedSchemas.addAll(SchemaUtils.getRealSchemasForAugment((AugmentationTarget) choiceCaseNode, augmentationSchema));
-        }
-
-        return aggregatedSchemas;
+        return SchemaUtils.getRealSchemasForChoiceAugment(schema, augmentationSchema);
     }
 }
\ No newline at end of file
@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.transform.stax.parser;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlCodecProvider;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.AugmentationSchemaProxy;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.ParsePlan;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.SchemaUtils;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Parser building NormalizedNodes directly from {@link XMLStreamReader} events.
+ *
+ * Unlike {@link org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory},
+ * no intermediate DOM tree is created: every leaf, container and list entry is built as soon
+ * as its end tag is read, so memory used on top of the resulting tree is bounded by document
+ * depth. Results are equal to those of the DOM parser: augmented children are grouped into
+ * augmentation nodes, case children into choice nodes, list and leaf-list entries into map
+ * and leaf-set nodes, regardless of where they appear among their siblings.
+ *
+ * Instances are immutable and can be shared by multiple threads.
+ */
+public final class XmlStreamToNormalizedNodeParser {
+
+    private final XmlCodecProvider codecProvider;
+
+    private XmlStreamToNormalizedNodeParser(final XmlCodecProvider codecProvider) {
+        this.codecProvider = Preconditions.checkNotNull(codecProvider);
+    }
+
+    public static XmlStreamToNormalizedNodeParser getInstance(final XmlCodecProvider codecProvider) {
+        return new XmlStreamToNormalizedNodeParser(codecProvider);
+    }
+
+    /**
+     * Parse a container. The reader has to be positioned at the start of the document or at the start
+     * element of the container. When this method returns, the reader is positioned at the end
+     * element of the container.
+     *
+     * @param reader XML stream reader
+     * @param schema schema of the container
+     * @return Parsed container node
+     * @throws XMLStreamException if the XML input is not well-formed
+     */
+    public ContainerNode parseContainerNode(final XMLStreamReader reader, final ContainerSchemaNode schema)
+            throws XMLStreamException {
+        final Session session = new Session(reader);
+        session.enterElement(schema);
+        return session.parseContainer(schema);
+    }
+
+    /**
+     * Parse a single list entry. The reader has to be positioned at the start of the document or at
+     * the start element of the entry. When this method returns, the reader is positioned at the end
+     * element of the entry.
+     *
+     * @param reader XML stream reader
+     * @param schema schema of the list
+     * @return Parsed list entry node
+     * @throws XMLStreamException if the XML input is not well-formed
+     */
+    public MapEntryNode parseMapEntryNode(final XMLStreamReader reader, final ListSchemaNode schema)
+            throws XMLStreamException {
+        final Session session = new Session(reader);
+        session.enterElement(schema);
+        return session.parseMapEntry(schema);
+    }
+
+    /**
+     * State of a single parse invocation.
+     */
+    private final class Session {
+        private final Map<String, URI> namespaces = new HashMap<>();
+        private final XMLStreamReader reader;
+
+        Session(final XMLStreamReader reader) {
+            this.reader = Preconditions.checkNotNull(reader);
+        }
+
+        void enterElement(final DataSchemaNode schema) throws XMLStreamException {
+            if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+                Preconditions.checkState(reader.nextTag() == XMLStreamConstants.START_ELEMENT,
+                        "Expected start of element %s", schema.getQName());
+            }
+
+            final QName qname = elementQName();
+            Preconditions.checkArgument(schema.getQName().getLocalName().equals(qname.getLocalName())
+                    && Objects.equal(schema.getQName().getNamespace(), qname.getNamespace()),
+                    "Element %s does not match schema %s", qname, schema.getQName());
+        }
+
+        ContainerNode parseContainer(final ContainerSchemaNode schema) throws XMLStreamException {
+            final DataContainerNodeAttrBuilder<InstanceIdentifier.NodeIdentifier, ContainerNode> builder =
+                    Builders.containerBuilder(schema);
+            builder.withAttributes(attributes());
+            return parseChildren(new DataNodeContainerFrame<>(builder, schema));
+        }
+
+        MapEntryNode parseMapEntry(final ListSchemaNode schema) throws XMLStreamException {
+            final DataContainerNodeAttrBuilder<InstanceIdentifier.NodeIdentifierWithPredicates, MapEntryNode> builder =
+                    Builders.mapEntryBuilder(schema);
+            builder.withAttributes(attributes());
+            return parseChildren(new DataNodeContainerFrame<>(builder, schema));
+        }
+
+        private <N extends DataContainerNode<?>> N parseChildren(final Frame<N> frame) throws XMLStreamException {
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                frame.parseChild(this, elementQName());
+            }
+            return frame.build();
+        }
+
+        /**
+         * Parse the current element as a child of a frame, once the schema has been found.
+         */
+        void parseChild(final Frame<?> frame, final DataSchemaNode schema) throws XMLStreamException {
+            if (schema instanceof ContainerSchemaNode) {
+                frame.checkOnlyOneNode(schema);
+                frame.builder.withChild(parseContainer((ContainerSchemaNode) schema));
+            } else if (schema instanceof LeafSchemaNode) {
+                frame.checkOnlyOneNode(schema);
+                frame.builder.withChild(parseLeaf((LeafSchemaNode) schema));
+            } else if (schema instanceof LeafListSchemaNode) {
+                frame.getLeafSetBuilder((LeafListSchemaNode) schema).withChild(parseLeafSetEntry((LeafListSchemaNode) schema));
+            } else if (schema instanceof ListSchemaNode) {
+                frame.getMapBuilder((ListSchemaNode) schema).withChild(parseMapEntry((ListSchemaNode) schema));
+            } else {
+                throw new IllegalArgumentException("Unable to parse node, unknown schema type: " + schema.getClass());
+            }
+        }
+
+        private LeafNode<Object> parseLeaf(final LeafSchemaNode schema) throws XMLStreamException {
+            final NormalizedNodeAttrBuilder<InstanceIdentifier.NodeIdentifier, Object, LeafNode<Object>> builder =
+                    Builders.leafBuilder(schema);
+            builder.withAttributes(attributes());
+            return builder.withValue(parseValue(schema.getType())).build();
+        }
+
+        private LeafSetEntryNode<Object> parseLeafSetEntry(final LeafListSchemaNode schema) throws XMLStreamException {
+            final NormalizedNodeAttrBuilder<InstanceIdentifier.NodeWithValue, Object, LeafSetEntryNode<Object>> builder =
+                    Builders.leafSetEntryBuilder(schema);
+            builder.withAttributes(attributes());
+            return builder.withValue(parseValue(schema.getType())).build();
+        }
+
+        private Object parseValue(final TypeDefinition<?> type) throws XMLStreamException {
+            // Attributes have to be read before this, as it moves the reader to the end element
+            final String text = reader.getElementText().trim();
+            final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = codecProvider.codecFor(type);
+            return codec != null ? codec.deserialize(text) : text;
+        }
+
+        private Map<QName, String> attributes() {
+            final int count = reader.getAttributeCount();
+            if (count == 0) {
+                return Collections.emptyMap();
+            }
+
+            final Map<QName, String> attributes = new HashMap<>();
+            for (int i = 0; i < count; ++i) {
+                final String namespace = reader.getAttributeNamespace(i);
+                attributes.put(new QName(namespace(namespace != null ? namespace : ""), reader.getAttributeLocalName(i)),
+                        reader.getAttributeValue(i));
+            }
+            return attributes;
+        }
+
+        private QName elementQName() {
+            final String namespace = reader.getNamespaceURI();
+            return QName.create(namespace != null && !namespace.isEmpty() ? namespace(namespace) : null, null,
+                    reader.getLocalName());
+        }
+
+        private URI namespace(final String namespace) {
+            URI ret = namespaces.get(namespace);
+            if (ret == null) {
+                ret = URI.create(namespace);
+                namespaces.put(namespace, ret);
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * Children of a node being built. Children of augmentations and choices are not wrapped in
+     * separate XML elements, so they are collected in nested frames, which are built together
+     * with their parent. So are list and leaf-list entries, which do not have to be adjacent.
+     */
+    private abstract static class Frame<N extends DataContainerNode<?>> implements ParsePlan.Source {
+        private final Map<AugmentationSchema, AugmentationFrame> augmentationFrames = new LinkedHashMap<>();
+        private final Map<ChoiceNode, ChoiceFrame> choiceFrames = new LinkedHashMap<>();
+        private final Map<QName, CollectionNodeBuilder<MapEntryNode, MapNode>> mapBuilders = new LinkedHashMap<>();
+        private final Map<QName, ListNodeBuilder<Object, LeafSetEntryNode<Object>>> leafSetBuilders = new LinkedHashMap<>();
+        private final Set<QName> singleChildren = new HashSet<>();
+        private final Object schema;
+        private ParsePlan plan;
+        final DataContainerNodeBuilder<?, N> builder;
+
+        Frame(final DataContainerNodeBuilder<?, N> builder, final Object schema) {
+            this.builder = Preconditions.checkNotNull(builder);
+            this.schema = Preconditions.checkNotNull(schema);
+        }
+
+        private ParsePlan getParsePlan() {
+            if (plan == null) {
+                // Looked up lazily, as subclasses are not initialized during construction
+                plan = ParsePlan.forSchema(schema, this);
+            }
+            return plan;
+        }
+
+        abstract DataSchemaNode findSchemaForChild(QName childQName);
+
+        abstract Set<DataSchemaNode> getRealSchemasForAugment(AugmentationSchema augmentSchema);
+
+        /**
+         * Containers and leaves can appear only once, unlike list and leaf-list entries.
+         */
+        final void checkOnlyOneNode(final DataSchemaNode childSchema) {
+            Preconditions.checkArgument(singleChildren.add(childSchema.getQName()),
+                    "Node detected multiple times, should be 1, identified by: %s", childSchema.getQName());
+        }
+
+        final void parseChild(final Session session, final QName childQName) throws XMLStreamException {
+            final ParsePlan plan = getParsePlan();
+            DataSchemaNode childSchema = plan.getChildSchema(childQName);
+            if (childSchema == null) {
+                childSchema = plan.putChildSchema(childQName, findSchemaForChild(childQName));
+            }
+
+            final AugmentationSchema augment = plan.getAugmentation(childSchema.getQName());
+            if (augment != null) {
+                getAugmentationFrame(augment).parseChild(session, childQName);
+                return;
+            }
+
+            final ChoiceNode choice = plan.getChoice(childSchema.getQName());
+            if (choice != null) {
+                getChoiceFrame(choice).parseChild(session, childQName);
+                return;
+            }
+
+            session.parseChild(this, childSchema);
+        }
+
+        private AugmentationFrame getAugmentationFrame(final AugmentationSchema augment) {
+            AugmentationFrame frame = augmentationFrames.get(augment);
+            if (frame == null) {
+                final ParsePlan plan = getParsePlan();
+                AugmentationSchemaProxy proxy = plan.getAugmentationProxy(augment);
+                if (proxy == null) {
+                    proxy = plan.putAugmentationProxy(augment,
+                            new AugmentationSchemaProxy(augment, getRealSchemasForAugment(augment)));
+                }
+
+                frame = new AugmentationFrame(proxy);
+                augmentationFrames.put(augment, frame);
+            }
+            return frame;
+        }
+
+        private ChoiceFrame getChoiceFrame(final ChoiceNode choice) {
+            ChoiceFrame frame = choiceFrames.get(choice);
+            if (frame == null) {
+                frame = new ChoiceFrame(choice);
+                choiceFrames.put(choice, frame);
+            }
+            return frame;
+        }
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> getMapBuilder(final ListSchemaNode schema) {
+            CollectionNodeBuilder<MapEntryNode, MapNode> ret = mapBuilders.get(schema.getQName());
+            if (ret == null) {
+                ret = Builders.mapBuilder(schema);
+                mapBuilders.put(schema.getQName(), ret);
+            }
+            return ret;
+        }
+
+        final ListNodeBuilder<Object, LeafSetEntryNode<Object>> getLeafSetBuilder(final LeafListSchemaNode schema) {
+            ListNodeBuilder<Object, LeafSetEntryNode<Object>> ret = leafSetBuilders.get(schema.getQName());
+            if (ret == null) {
+                ret = Builders.leafSetBuilder(schema);
+                leafSetBuilders.put(schema.getQName(), ret);
+            }
+            return ret;
+        }
+
+        final N build() {
+            for (CollectionNodeBuilder<MapEntryNode, MapNode> mapBuilder : mapBuilders.values()) {
+                builder.withChild(mapBuilder.build());
+            }
+            for (ListNodeBuilder<Object, LeafSetEntryNode<Object>> leafSetBuilder : leafSetBuilders.values()) {
+                builder.withChild(leafSetBuilder.build());
+            }
+            for (ChoiceFrame choiceFrame : choiceFrames.values()) {
+                builder.withChild(choiceFrame.build());
+            }
+            for (AugmentationFrame augmentationFrame : augmentationFrames.values()) {
+                builder.withChild(augmentationFrame.build());
+            }
+            return builder.build();
+        }
+    }
+
+    private static final class DataNodeContainerFrame<N extends DataContainerNode<?>, S extends DataNodeContainer & AugmentationTarget>
+            extends Frame<N> {
+        private final S schema;
+
+        DataNodeContainerFrame(final DataContainerNodeBuilder<?, N> builder, final S schema) {
+            super(builder, schema);
+            this.schema = schema;
+        }
+
+        @Override
+        DataSchemaNode findSchemaForChild(final QName childQName) {
+            return SchemaUtils.findSchemaForChild(schema, childQName);
+        }
+
+        @Override
+        Set<DataSchemaNode> getRealSchemasForAugment(final AugmentationSchema augmentSchema) {
+            return SchemaUtils.getRealSchemasForAugment((AugmentationTarget) schema, augmentSchema);
+        }
+
+        @Override
+        public Map<QName, AugmentationSchema> mapChildElementsFromAugments() {
+            return SchemaUtils.mapChildElementsFromAugments(schema);
+        }
+
+        @Override
+        public Map<QName, ChoiceNode> mapChildElementsFromChoices() {
+            return SchemaUtils.mapChildElementsFromChoices(schema);
+        }
+    }
+
+    private static final class AugmentationFrame extends Frame<AugmentationNode> {
+        private final AugmentationSchemaProxy schema;
+
+        AugmentationFrame(final AugmentationSchemaProxy schema) {
+            super(Builders.augmentationBuilder(schema), schema);
+            this.schema = schema;
+        }
+
+        @Override
+        DataSchemaNode findSchemaForChild(final QName childQName) {
+            return SchemaUtils.findSchemaForChild(schema, childQName);
+        }
+
+        @Override
+        Set<DataSchemaNode> getRealSchemasForAugment(final AugmentationSchema augmentSchema) {
+            return SchemaUtils.getRealSchemasForAugment(schema, augmentSchema);
+        }
+
+        @Override
+        public Map<QName, AugmentationSchema> mapChildElementsFromAugments() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map<QName, ChoiceNode> mapChildElementsFromChoices() {
+            return SchemaUtils.mapChildElementsFromChoices(schema);
+        }
+    }
+
+    private static final class ChoiceFrame extends Frame<org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode> {
+        private final ChoiceNode schema;
+
+        ChoiceFrame(final ChoiceNode schema) {
+            super(Builders.choiceBuilder(schema), schema);
+            this.schema = schema;
+        }
+
+        @Override
+        DataSchemaNode findSchemaForChild(final QName childQName) {
+            return SchemaUtils.findSchemaForChild(schema, childQName);
+        }
+
+        @Override
+        Set<DataSchemaNode> getRealSchemasForAugment(final AugmentationSchema augmentSchema) {
+            return SchemaUtils.getRealSchemasForChoiceAugment(schema, augmentSchema);
+        }
+
+        @Override
+        public Map<QName, AugmentationSchema> mapChildElementsFromAugments() {
+            return SchemaUtils.mapChildElementsFromCaseAugments(schema);
+        }
+
+        @Override
+        public Map<QName, ChoiceNode> mapChildElementsFromChoices() {
+            return SchemaUtils.mapChildElementsFromCaseChoices(schema);
+        }
+    }
+}
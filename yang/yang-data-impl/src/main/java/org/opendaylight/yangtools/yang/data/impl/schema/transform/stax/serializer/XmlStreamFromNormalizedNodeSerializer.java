@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.transform.stax.serializer;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlCodecProvider;
+import org.opendaylight.yangtools.yang.data.impl.codec.xml.XmlDocumentUtils;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.AugmentationSchemaProxy;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.base.SchemaUtils;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Serializer writing NormalizedNodes directly to an {@link XMLStreamWriter}.
+ *
+ * Unlike {@link org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.serializer.DomFromNormalizedNodeSerializerFactory},
+ * no intermediate DOM document is created, so output can be streamed to its destination while the
+ * tree is being walked. Elements are written unprefixed, with default namespace declared where
+ * it changes. Values are encoded the same way as {@link XmlDocumentUtils#writeValueByType}
+ * does, including namespace declarations for identityref and instance-identifier values.
+ *
+ * Instances are immutable and can be shared by multiple threads.
+ */
+public final class XmlStreamFromNormalizedNodeSerializer {
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final String ENCODING = "UTF-8";
+
+    private final XmlCodecProvider codecProvider;
+
+    private XmlStreamFromNormalizedNodeSerializer(final XmlCodecProvider codecProvider) {
+        this.codecProvider = Preconditions.checkNotNull(codecProvider);
+    }
+
+    public static XmlStreamFromNormalizedNodeSerializer getInstance(final XmlCodecProvider codecProvider) {
+        return new XmlStreamFromNormalizedNodeSerializer(codecProvider);
+    }
+
+    /**
+     * Write a container as a standalone UTF-8 encoded XML document. The stream is flushed, but not closed.
+     *
+     * @param out output stream
+     * @param schema schema of the container
+     * @param node container to write
+     * @throws XMLStreamException if writing fails
+     */
+    public void serialize(final OutputStream out, final ContainerSchemaNode schema, final ContainerNode node)
+            throws XMLStreamException {
+        final XMLStreamWriter writer;
+        synchronized (OUTPUT_FACTORY) {
+            writer = OUTPUT_FACTORY.createXMLStreamWriter(out, ENCODING);
+        }
+
+        try {
+            writer.writeStartDocument(ENCODING, "1.0");
+            writeContainerNode(writer, schema, node);
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Write a container element. Default namespace is declared on the element, unless it is already
+     * in scope of the writer.
+     *
+     * @param writer XML stream writer
+     * @param schema schema of the container
+     * @param node container to write
+     * @throws XMLStreamException if writing fails
+     */
+    public void writeContainerNode(final XMLStreamWriter writer, final ContainerSchemaNode schema,
+            final ContainerNode node) throws XMLStreamException {
+        new Session(writer).writeContainer(schema, node, currentDefaultNamespace(writer));
+    }
+
+    /**
+     * Write a single list entry element. Default namespace is declared on the element, unless it is
+     * already in scope of the writer.
+     *
+     * @param writer XML stream writer
+     * @param schema schema of the list
+     * @param node list entry to write
+     * @throws XMLStreamException if writing fails
+     */
+    public void writeMapEntryNode(final XMLStreamWriter writer, final ListSchemaNode schema, final MapEntryNode node)
+            throws XMLStreamException {
+        new Session(writer).writeMapEntry(schema, node, currentDefaultNamespace(writer));
+    }
+
+    private static String currentDefaultNamespace(final XMLStreamWriter writer) {
+        final String ret = writer.getNamespaceContext().getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+        return ret != null ? ret : XMLConstants.NULL_NS_URI;
+    }
+
+    /**
+     * State of a single serialization. Remembers schema lookups, as the same children are typically
+     * found in many list entries.
+     */
+    private final class Session {
+        private final Map<Object, Map<QName, DataSchemaNode>> childSchemas = new IdentityHashMap<>();
+        private final Map<Object, Map<InstanceIdentifier.AugmentationIdentifier, AugmentationSchemaProxy>> augmentations =
+                new IdentityHashMap<>();
+        private final XMLStreamWriter writer;
+
+        Session(final XMLStreamWriter writer) {
+            this.writer = Preconditions.checkNotNull(writer);
+        }
+
+        void writeContainer(final ContainerSchemaNode schema, final ContainerNode node, final String parentNamespace)
+                throws XMLStreamException {
+            final String namespace = writeStartElement(node.getNodeType(), parentNamespace);
+            writeChildren(schema, node, namespace);
+            writer.writeEndElement();
+        }
+
+        void writeMapEntry(final ListSchemaNode schema, final MapEntryNode node, final String parentNamespace)
+                throws XMLStreamException {
+            final String namespace = writeStartElement(node.getNodeType(), parentNamespace);
+            writeChildren(schema, node, namespace);
+            writer.writeEndElement();
+        }
+
+        /**
+         * Write children of a node. Children of choices and augmentations are written directly into
+         * the enclosing element.
+         */
+        private void writeChildren(final Object schema, final DataContainerNode<?> node, final String namespace)
+                throws XMLStreamException {
+            for (DataContainerChild<? extends InstanceIdentifier.PathArgument, ?> child : node.getValue()) {
+                if (child instanceof AugmentationNode) {
+                    writeChildren(getAugmentationSchema(schema, (AugmentationNode) child), (AugmentationNode) child,
+                            namespace);
+                    continue;
+                }
+
+                final DataSchemaNode childSchema = getChildSchema(schema, child.getNodeType());
+                if (child instanceof org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode) {
+                    writeChildren(checkSchema(childSchema, ChoiceNode.class, child),
+                            (org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode) child, namespace);
+                } else if (child instanceof ContainerNode) {
+                    writeContainer(checkSchema(childSchema, ContainerSchemaNode.class, child), (ContainerNode) child,
+                            namespace);
+                } else if (child instanceof LeafNode<?>) {
+                    writeLeaf(child.getNodeType(), checkSchema(childSchema, LeafSchemaNode.class, child).getType(),
+                            child.getValue(), namespace);
+                } else if (child instanceof MapNode) {
+                    final ListSchemaNode listSchema = checkSchema(childSchema, ListSchemaNode.class, child);
+                    for (MapEntryNode entry : ((MapNode) child).getValue()) {
+                        writeMapEntry(listSchema, entry, namespace);
+                    }
+                } else if (child instanceof LeafSetNode<?>) {
+                    final LeafListSchemaNode leafListSchema = checkSchema(childSchema, LeafListSchemaNode.class, child);
+                    for (LeafSetEntryNode<?> entry : ((LeafSetNode<?>) child).getValue()) {
+                        writeLeaf(entry.getNodeType(), leafListSchema.getType(), entry.getValue(), namespace);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unable to serialize " + child);
+                }
+            }
+        }
+
+        private void writeLeaf(final QName qname, final TypeDefinition<?> type, final Object value,
+                final String parentNamespace) throws XMLStreamException {
+            writeStartElement(qname, parentNamespace);
+
+            // Map< key = namespace, value = prefix>
+            final Map<String, String> prefixes = new LinkedHashMap<>();
+            final String text = XmlDocumentUtils.encodeValueByType(type, codecProvider, value, prefixes);
+            for (Entry<String, String> prefix : prefixes.entrySet()) {
+                writer.writeNamespace(prefix.getValue(), prefix.getKey());
+            }
+            if (text != null) {
+                writer.writeCharacters(text);
+            }
+
+            writer.writeEndElement();
+        }
+
+        private String writeStartElement(final QName qname, final String parentNamespace) throws XMLStreamException {
+            final URI uri = qname.getNamespace();
+            final String namespace = uri != null ? uri.toString() : XMLConstants.NULL_NS_URI;
+
+            writer.writeStartElement(qname.getLocalName());
+            if (!namespace.equals(parentNamespace)) {
+                writer.writeDefaultNamespace(namespace);
+                writer.setDefaultNamespace(namespace);
+            }
+            return namespace;
+        }
+
+        private DataSchemaNode getChildSchema(final Object schema, final QName qname) {
+            Map<QName, DataSchemaNode> children = childSchemas.get(schema);
+            if (children == null) {
+                children = new HashMap<>();
+                childSchemas.put(schema, children);
+            }
+
+            DataSchemaNode ret = children.get(qname);
+            if (ret == null) {
+                if (schema instanceof ChoiceNode) {
+                    ret = SchemaUtils.findSchemaForChild((ChoiceNode) schema, qname);
+                } else {
+                    ret = SchemaUtils.findSchemaForChild((DataNodeContainer) schema, qname);
+                }
+                children.put(qname, ret);
+            }
+            return ret;
+        }
+
+        private AugmentationSchemaProxy getAugmentationSchema(final Object schema, final AugmentationNode node) {
+            Map<InstanceIdentifier.AugmentationIdentifier, AugmentationSchemaProxy> augments = augmentations.get(schema);
+            if (augments == null) {
+                augments = new HashMap<>();
+                augmentations.put(schema, augments);
+            }
+
+            AugmentationSchemaProxy ret = augments.get(node.getIdentifier());
+            if (ret == null) {
+                final AugmentationSchema augment;
+                if (schema instanceof ChoiceNode) {
+                    augment = SchemaUtils.findSchemaForAugment((ChoiceNode) schema,
+                            node.getIdentifier().getPossibleChildNames());
+                    ret = new AugmentationSchemaProxy(augment,
+                            SchemaUtils.getRealSchemasForChoiceAugment((ChoiceNode) schema, augment));
+                } else {
+                    Preconditions.checkArgument(schema instanceof AugmentationTarget,
+                            "Augmentation %s is not allowed in %s", node, schema);
+                    augment = SchemaUtils.findSchemaForAugment((AugmentationTarget) schema,
+                            node.getIdentifier().getPossibleChildNames());
+                    ret = new AugmentationSchemaProxy(augment,
+                            SchemaUtils.getRealSchemasForAugment((AugmentationTarget) schema, augment));
+                }
+                augments.put(node.getIdentifier(), ret);
+            }
+            return ret;
+        }
+    }
+
+    private static <T> T checkSchema(final DataSchemaNode schema, final Class<T> expected,
+            final DataContainerChild<?, ?> node) {
+        Preconditions.checkArgument(expected.isInstance(schema), "Incompatible schema: %s with node: %s, expected: %s",
+                schema, node, expected);
+        return expected.cast(schema);
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2013 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.opendaylight.yangtools.concepts.Immutable;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * Immutable, persistent map which preserves insertion order of its keys.
+ *
+ * Modifications ({@link #plus(Object, Object)} and {@link #minus(Object)})
+ * do not touch this instance, but return a new map, which shares all
+ * unmodified structure with the original. Both operations are O(log n) in
+ * time and allocation, which makes this map suitable for copy-on-write
+ * backing of immutable nodes, whose builders are reused to create modified
+ * copies.
+ *
+ * Keys are stored in a hash array mapped trie. Iteration order is kept in
+ * a second, sparse trie indexed by the sequence number assigned to a key
+ * when it is first inserted. Replacing the value of an existing key retains
+ * its position, same as {@link java.util.LinkedHashMap}. Neither keys nor
+ * values may be null.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+public final class PersistentLinkedHashMap<K, V> extends AbstractMap<K, V> implements Immutable {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final int MAX_SHIFT = 30;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentLinkedHashMap EMPTY = new PersistentLinkedHashMap<>(null, null, 0, 0, 0);
+
+    private final TrieNode root;
+    private final Object[] order;
+    private final int orderShift;
+    private final int size;
+    private final int nextSeq;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    private PersistentLinkedHashMap(final TrieNode root, final Object[] order, final int orderShift,
+            final int size, final int nextSeq) {
+        this.root = root;
+        this.order = order;
+        this.orderShift = orderShift;
+        this.size = size;
+        this.nextSeq = nextSeq;
+    }
+
+    /**
+     * Returns an empty map.
+     *
+     * @return empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentLinkedHashMap<K, V> of() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a persistent map with the same mappings and iteration order as
+     * supplied map. If the map is already a persistent map, it is returned
+     * as is.
+     *
+     * @param map
+     *            source map
+     * @return persistent map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentLinkedHashMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentLinkedHashMap) {
+            return (PersistentLinkedHashMap<K, V>) map;
+        }
+
+        PersistentLinkedHashMap<K, V> result = of();
+        for (Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+            result = result.plus(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns a map containing all mappings of this map and additionally
+     * the specified mapping. If the key is already present, its value is
+     * replaced and the key retains its position in iteration order.
+     *
+     * @param key
+     *            key, may not be null
+     * @param value
+     *            value, may not be null
+     * @return updated map
+     */
+    public PersistentLinkedHashMap<K, V> plus(final K key, final V value) {
+        Preconditions.checkNotNull(key, "Key may not be null");
+        Preconditions.checkNotNull(value, "Value may not be null");
+
+        final int hash = hash(key);
+        final OrderedEntry<?, ?> existing = root == null ? null : root.find(key, hash, 0);
+        if (existing != null) {
+            if (existing.getValue() == value) {
+                return this;
+            }
+
+            final OrderedEntry<K, V> entry = new OrderedEntry<>(key, value, hash, existing.seq);
+            return new PersistentLinkedHashMap<>(root.put(entry, 0), setOrder(order, orderShift, entry.seq, entry),
+                    orderShift, size, nextSeq);
+        }
+
+        if (nextSeq == Integer.MAX_VALUE) {
+            return compact().plus(key, value);
+        }
+
+        final OrderedEntry<K, V> entry = new OrderedEntry<>(key, value, hash, nextSeq);
+        final TrieNode newRoot = root == null ? BitmapNode.EMPTY.put(entry, 0) : root.put(entry, 0);
+
+        // Grow the order trie if the sequence number does not fit
+        Object[] newOrder = order;
+        int newShift = orderShift;
+        while (newShift < MAX_SHIFT && (entry.seq >>> (newShift + BITS)) != 0) {
+            if (newOrder != null) {
+                final Object[] parent = new Object[WIDTH];
+                parent[0] = newOrder;
+                newOrder = parent;
+            }
+            newShift += BITS;
+        }
+
+        return new PersistentLinkedHashMap<>(newRoot, setOrder(newOrder, newShift, entry.seq, entry), newShift,
+                size + 1, nextSeq + 1);
+    }
+
+    /**
+     * Returns a map containing all mappings of this map except the mapping
+     * for specified key.
+     *
+     * @param key
+     *            key to remove
+     * @return updated map, or this map if the key is not present
+     */
+    public PersistentLinkedHashMap<K, V> minus(final Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+
+        final int hash = hash(key);
+        final OrderedEntry<?, ?> existing = root.find(key, hash, 0);
+        if (existing == null) {
+            return this;
+        }
+        if (size == 1) {
+            return of();
+        }
+
+        final PersistentLinkedHashMap<K, V> ret = new PersistentLinkedHashMap<>(root.remove(key, hash, 0),
+                setOrder(order, orderShift, existing.seq, null), orderShift, size - 1, nextSeq);
+
+        // Removed entries leave holes in the order trie, renumber once they dominate
+        final int holes = ret.nextSeq - ret.size;
+        return holes > 2 * ret.size + WIDTH ? ret.compact() : ret;
+    }
+
+    private PersistentLinkedHashMap<K, V> compact() {
+        PersistentLinkedHashMap<K, V> result = of();
+        for (Map.Entry<K, V> e : entrySet()) {
+            result = result.plus(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        final OrderedEntry<K, V> e = (OrderedEntry<K, V>) root.find(key, hash(key), 0);
+        return e == null ? null : e.getValue();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return root != null && key != null && root.find(key, hash(key), 0) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new OrderIterator<>(order, orderShift);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(final int hash, final int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    /*
+     * Sets the value at specified index in the order trie, copying the path
+     * to it. Subtrees which become empty are pruned, so iteration does not
+     * have to visit them.
+     */
+    private static Object[] setOrder(final Object[] node, final int shift, final int seq, final Object value) {
+        final Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        final int idx = index(seq, shift);
+        if (shift == 0) {
+            copy[idx] = value;
+        } else {
+            copy[idx] = setOrder((Object[]) copy[idx], shift - BITS, seq, value);
+        }
+
+        if (value == null) {
+            for (Object o : copy) {
+                if (o != null) {
+                    return copy;
+                }
+            }
+            return null;
+        }
+        return copy;
+    }
+
+    private static final class OrderedEntry<K, V> extends AbstractMap.SimpleImmutableEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int hash;
+        private final int seq;
+
+        OrderedEntry(final K key, final V value, final int hash, final int seq) {
+            super(key, value);
+            this.hash = hash;
+            this.seq = seq;
+        }
+    }
+
+    private static final class OrderIterator<K, V> extends AbstractIterator<Map.Entry<K, V>> {
+        private final Object[][] nodes;
+        private final int[] offsets;
+        private int depth;
+
+        OrderIterator(final Object[] root, final int shift) {
+            final int levels = shift / BITS + 1;
+            nodes = new Object[levels][];
+            offsets = new int[levels];
+            nodes[0] = root;
+            depth = root == null ? -1 : 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Map.Entry<K, V> computeNext() {
+            while (depth >= 0) {
+                final Object[] node = nodes[depth];
+                if (offsets[depth] == WIDTH) {
+                    depth--;
+                    continue;
+                }
+
+                final Object o = node[offsets[depth]++];
+                if (o == null) {
+                    continue;
+                }
+                if (depth == nodes.length - 1) {
+                    return (Map.Entry<K, V>) o;
+                }
+
+                depth++;
+                nodes[depth] = (Object[]) o;
+                offsets[depth] = 0;
+            }
+            return endOfData();
+        }
+    }
+
+    private abstract static class TrieNode {
+        abstract OrderedEntry<?, ?> find(Object key, int hash, int shift);
+
+        abstract TrieNode put(OrderedEntry<?, ?> entry, int shift);
+
+        /*
+         * Returns the node without specified key, null if the node would
+         * become empty. The key is known to be present.
+         */
+        abstract TrieNode remove(Object key, int hash, int shift);
+    }
+
+    private static final class BitmapNode extends TrieNode {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        // Each slot holds either an OrderedEntry or a TrieNode
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(final int bitmap, final Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int slotIndex(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        OrderedEntry<?, ?> find(final Object key, final int hash, final int shift) {
+            final int bit = 1 << index(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final Object slot = slots[slotIndex(bit)];
+            if (slot instanceof TrieNode) {
+                return ((TrieNode) slot).find(key, hash, shift + BITS);
+            }
+
+            final OrderedEntry<?, ?> e = (OrderedEntry<?, ?>) slot;
+            return e.hash == hash && key.equals(e.getKey()) ? e : null;
+        }
+
+        @Override
+        TrieNode put(final OrderedEntry<?, ?> entry, final int shift) {
+            final int bit = 1 << index(entry.hash, shift);
+            final int idx = slotIndex(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, idx);
+                newSlots[idx] = entry;
+                System.arraycopy(slots, idx, newSlots, idx + 1, slots.length - idx);
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+
+            final Object slot = slots[idx];
+            final Object newSlot;
+            if (slot instanceof TrieNode) {
+                newSlot = ((TrieNode) slot).put(entry, shift + BITS);
+            } else {
+                final OrderedEntry<?, ?> e = (OrderedEntry<?, ?>) slot;
+                if (e.hash == entry.hash && e.getKey().equals(entry.getKey())) {
+                    newSlot = entry;
+                } else {
+                    newSlot = merge(e, entry, shift + BITS);
+                }
+            }
+
+            final Object[] newSlots = slots.clone();
+            newSlots[idx] = newSlot;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        private static TrieNode merge(final OrderedEntry<?, ?> first, final OrderedEntry<?, ?> second,
+                final int shift) {
+            if (first.hash == second.hash) {
+                return new CollisionNode(first.hash, new OrderedEntry<?, ?>[] { first, second });
+            }
+            return EMPTY.put(first, shift).put(second, shift);
+        }
+
+        @Override
+        TrieNode remove(final Object key, final int hash, final int shift) {
+            final int bit = 1 << index(hash, shift);
+            final int idx = slotIndex(bit);
+            final Object slot = slots[idx];
+            if (slot instanceof TrieNode) {
+                final TrieNode newNode = ((TrieNode) slot).remove(key, hash, shift + BITS);
+                if (newNode != null) {
+                    final Object[] newSlots = slots.clone();
+                    newSlots[idx] = newNode;
+                    return new BitmapNode(bitmap, newSlots);
+                }
+            }
+
+            if (slots.length == 1) {
+                return null;
+            }
+            final Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, idx);
+            System.arraycopy(slots, idx + 1, newSlots, idx, newSlots.length - idx);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+    }
+
+    private static final class CollisionNode extends TrieNode {
+        private final int hash;
+        private final OrderedEntry<?, ?>[] entries;
+
+        CollisionNode(final int hash, final OrderedEntry<?, ?>[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < entries.length; ++i) {
+                if (key.equals(entries[i].getKey())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        OrderedEntry<?, ?> find(final Object key, final int hash, final int shift) {
+            if (this.hash != hash) {
+                return null;
+            }
+            final int idx = indexOf(key);
+            return idx == -1 ? null : entries[idx];
+        }
+
+        @Override
+        TrieNode put(final OrderedEntry<?, ?> entry, final int shift) {
+            if (entry.hash != hash) {
+                // Push this node one level down and let the bitmap node sort it out
+                final BitmapNode parent = new BitmapNode(1 << index(hash, shift), new Object[] { this });
+                return parent.put(entry, shift);
+            }
+
+            final int idx = indexOf(entry.getKey());
+            final OrderedEntry<?, ?>[] newEntries;
+            if (idx == -1) {
+                newEntries = new OrderedEntry<?, ?>[entries.length + 1];
+                System.arraycopy(entries, 0, newEntries, 0, entries.length);
+                newEntries[entries.length] = entry;
+            } else {
+                newEntries = entries.clone();
+                newEntries[idx] = entry;
+            }
+            return new CollisionNode(hash, newEntries);
+        }
+
+        @Override
+        TrieNode remove(final Object key, final int hash, final int shift) {
+            if (entries.length == 1) {
+                return null;
+            }
+
+            final int idx = indexOf(key);
+            final OrderedEntry<?, ?>[] newEntries = new OrderedEntry<?, ?>[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, idx);
+            System.arraycopy(entries, idx + 1, newEntries, idx, newEntries.length - idx);
+            return new CollisionNode(hash, newEntries);
+        }
+    }
+}
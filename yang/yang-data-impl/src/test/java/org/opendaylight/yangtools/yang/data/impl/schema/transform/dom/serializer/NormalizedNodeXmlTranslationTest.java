@@ -52,6 +52,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNo
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.ListNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.ToNormalizedNodeParser;
 import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.DomUtils;
 import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
@@ -258,6 +259,18 @@ public class NormalizedNodeXmlTranslationTest {
         boolean diff = new Diff(XMLUnit.buildControlDocument(toString(doc.getDocumentElement())), XMLUnit.buildTestDocument(toString(el))).similar();
     }
 
+    @Test
+    public void testRepeatedParsing() throws Exception {
+        Document doc = loadDocument(xmlPath);
+        ToNormalizedNodeParser<Element, ContainerNode, ContainerSchemaNode> parser =
+                DomToNormalizedNodeParserFactory.getInstance(DomUtils.defaultValueCodecProvider()).getContainerNodeParser();
+
+        // Second pass runs with parse plans cached by the first one
+        ContainerNode first = parser.parse(Collections.singletonList(doc.getDocumentElement()), containerNode);
+        ContainerNode second = parser.parse(Collections.singletonList(doc.getDocumentElement()), containerNode);
+        junit.framework.Assert.assertEquals(first, second);
+    }
+
     private Document loadDocument(String xmlPath) throws Exception {
         InputStream resourceAsStream = NormalizedDataBuilderTest.class.getResourceAsStream(xmlPath);
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.transform.stax.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedDataBuilderTest;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.DomUtils;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+import org.w3c.dom.Document;
+
+public class XmlStreamToNormalizedNodeParserInputTest {
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String CONTAINER_START = "<container xmlns=\"urn:opendaylight:params:xml:ns:yang:controller:test\">";
+
+    private static ContainerSchemaNode containerNode;
+
+    @BeforeClass
+    public static void setUp() {
+        final YangParserImpl parser = new YangParserImpl();
+        final Set<Module> modules = parser.parseYangModelsFromStreams(
+                Collections.singletonList(NormalizedDataBuilderTest.class.getResourceAsStream("test.yang")));
+        final SchemaContext schema = parser.resolveSchemaContext(modules);
+        containerNode = (ContainerSchemaNode) NormalizedDataBuilderTest.getSchemaNode(schema, "test", "container");
+    }
+
+    @Test
+    public void testInterleavedEntries() throws Exception {
+        final StringBuilder sb = new StringBuilder(CONTAINER_START);
+        for (int i = 0; i < 10; ++i) {
+            sb.append("<list><uint32InList>").append(i).append("</uint32InList><containerInList><uint32>")
+                    .append(i).append("</uint32><uint16>16</uint16></containerInList>")
+                    .append("<stringAugmentedToList>augment").append(i).append("</stringAugmentedToList></list>");
+            sb.append("<leafList>").append(i).append("</leafList>");
+        }
+        sb.append("<augmentUint32>999</augmentUint32></container>");
+        final String xml = sb.toString();
+
+        assertEquals(parseDom(xml), parseStream(xml));
+    }
+
+    @Test
+    public void testDuplicateLeaf() throws Exception {
+        assertRejected(CONTAINER_START + "<boolean>true</boolean><boolean>false</boolean></container>");
+    }
+
+    @Test
+    public void testDuplicateContainer() throws Exception {
+        assertRejected(CONTAINER_START + "<innerContainer><uint16>1</uint16></innerContainer>"
+                + "<innerContainer><uint16>2</uint16></innerContainer></container>");
+    }
+
+    @Test
+    public void testDuplicateAugmentedLeaf() throws Exception {
+        assertRejected(CONTAINER_START + "<augmentUint32>1</augmentUint32><augmentUint32>2</augmentUint32></container>");
+    }
+
+    private static void assertRejected(final String xml) throws Exception {
+        try {
+            parseStream(xml);
+            fail("Duplicate node should have been rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Node detected multiple times"));
+        }
+    }
+
+    private static ContainerNode parseDom(final String xml) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document doc = factory.newDocumentBuilder().parse(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        return DomToNormalizedNodeParserFactory.getInstance(DomUtils.defaultValueCodecProvider())
+                .getContainerNodeParser().parse(Collections.singletonList(doc.getDocumentElement()), containerNode);
+    }
+
+    private static ContainerNode parseStream(final String xml) throws Exception {
+        final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+        try {
+            return XmlStreamToNormalizedNodeParser.getInstance(DomUtils.defaultValueCodecProvider())
+                    .parseContainerNode(reader, containerNode);
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.transform.stax.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedDataBuilderTest;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.DomUtils;
+import org.opendaylight.yangtools.yang.data.impl.schema.transform.dom.parser.DomToNormalizedNodeParserFactory;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+import org.w3c.dom.Document;
+
+@RunWith(Parameterized.class)
+public class XmlStreamToNormalizedNodeParserTest {
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    @Parameterized.Parameters()
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"augment_choice_hell.yang", "augment_choice_hell_ok.xml"},
+                {"augment_choice_hell.yang", "augment_choice_hell_ok2.xml"},
+                {"test.yang", "simple.xml"},
+                {"test.yang", "simple2.xml"},
+                {"test.yang", "simple_xml_with_attributes.xml"}
+        });
+    }
+
+    private final ContainerSchemaNode containerNode;
+    private final String xmlPath;
+
+    public XmlStreamToNormalizedNodeParserTest(final String yangPath, final String xmlPath) {
+        this.containerNode = getContainerSchema(yangPath);
+        this.xmlPath = xmlPath;
+    }
+
+    @Test
+    public void testSameAsDom() throws Exception {
+        final ContainerNode fromDom = parseDom(NormalizedDataBuilderTest.class.getResourceAsStream(xmlPath));
+        final ContainerNode fromStream = parseStream(NormalizedDataBuilderTest.class.getResourceAsStream(xmlPath));
+        assertEquals(fromDom, fromStream);
+    }
+
+    private ContainerNode parseDom(final InputStream xml) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setCoalescing(true);
+        factory.setIgnoringElementContentWhitespace(true);
+        factory.setIgnoringComments(true);
+        final Document doc = factory.newDocumentBuilder().parse(xml);
+
+        return DomToNormalizedNodeParserFactory.getInstance(DomUtils.defaultValueCodecProvider())
+                .getContainerNodeParser().parse(Collections.singletonList(doc.getDocumentElement()), containerNode);
+    }
+
+    private ContainerNode parseStream(final InputStream xml) throws Exception {
+        final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(xml);
+        try {
+            return XmlStreamToNormalizedNodeParser.getInstance(DomUtils.defaultValueCodecProvider())
+                    .parseContainerNode(reader, containerNode);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static ContainerSchemaNode getContainerSchema(final String yangPath) {
+        final YangParserImpl parser = new YangParserImpl();
+        final Set<Module> modules = parser.parseYangModelsFromStreams(
+                Collections.singletonList(NormalizedDataBuilderTest.class.getResourceAsStream(yangPath)));
+        final SchemaContext schema = parser.resolveSchemaContext(modules);
+        return (ContainerSchemaNode) NormalizedDataBuilderTest.getSchemaNode(schema, "test", "container");
+    }
+}
@@ -9,12 +9,31 @@ package org.opendaylight.yangtools.yang.data.impl.test.codecs;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Set;
 
 import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
+import org.opendaylight.yangtools.yang.model.util.BaseConstraints;
+import org.opendaylight.yangtools.yang.model.util.BaseTypes;
+import org.opendaylight.yangtools.yang.model.util.BooleanType;
+import org.opendaylight.yangtools.yang.model.util.ExtendedType;
+import org.opendaylight.yangtools.yang.model.util.Int32;
+import org.opendaylight.yangtools.yang.model.util.StringType;
+import org.opendaylight.yangtools.yang.model.util.Uint8;
+import org.opendaylight.yangtools.yang.model.util.UnionType;
 
 import com.google.common.collect.ImmutableSet;
 
@@ -54,4 +73,106 @@ public class TypeDefinitionAwareCodecTest {
         assertEquals("", TypeDefinitionAwareCodec.BITS_DEFAULT_CODEC.serialize(null));
     }
 
+    @Test
+    public void validatingStringCodec() {
+        final ExtendedType type = extendedType("short-name", StringType.getInstance())
+                .lengths(Collections.<LengthConstraint> singletonList(BaseConstraints.lengthConstraint(1, 5, null, null)))
+                .patterns(Collections.<PatternConstraint> singletonList(BaseConstraints.patternConstraint("[a-z]+", null,
+                        null))).build();
+
+        final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = TypeDefinitionAwareCodec
+                .validatingFrom(type);
+        assertSame(codec, TypeDefinitionAwareCodec.validatingFrom(type));
+        assertEquals("abc", codec.deserialize("abc"));
+        assertEquals("abc", codec.serialize("abc"));
+        assertInvalid(codec, "abcdef");
+        assertInvalid(codec, "ab1");
+        assertInvalid(codec, "");
+    }
+
+    @Test
+    public void validatingIntegerCodec() {
+        final ExtendedType type = extendedType("level", Int32.getInstance()).ranges(
+                Arrays.<RangeConstraint> asList(BaseConstraints.rangeConstraint(1, 10, null, null),
+                        BaseConstraints.rangeConstraint(20, 30, null, null))).build();
+
+        final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = TypeDefinitionAwareCodec
+                .validatingFrom(type);
+        assertEquals(5, codec.deserialize("5"));
+        assertEquals(20, codec.deserialize("0x14"));
+        assertInvalid(codec, "15");
+        try {
+            codec.serialize(15);
+            fail("Serialization of out of range value should fail");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Invalid range: 15"));
+        }
+
+        assertEquals(300, TypeDefinitionAwareCodec.UINT8_DEFAULT_CODEC.deserialize("300").intValue());
+        assertInvalid(TypeDefinitionAwareCodec.validatingFrom(Uint8.getInstance()), "300");
+        assertInvalid(TypeDefinitionAwareCodec.validatingFrom(BooleanType.getInstance()), "yes");
+    }
+
+    @Test
+    public void validatingUnionCodec() {
+        final ExtendedType small = extendedType("small", Int32.getInstance()).ranges(
+                Collections.<RangeConstraint> singletonList(BaseConstraints.rangeConstraint(1, 10, null, null)))
+                .build();
+        final ExtendedType digits = extendedType("digits", StringType.getInstance()).patterns(
+                Collections.<PatternConstraint> singletonList(BaseConstraints.patternConstraint("[0-9]+", null, null)))
+                .build();
+        final UnionType union = new UnionType(Arrays.<TypeDefinition<?>> asList(small, BooleanType.getInstance(),
+                digits));
+
+        final TypeDefinitionAwareCodec<Object, ? extends TypeDefinition<?>> codec = TypeDefinitionAwareCodec
+                .validatingFrom(union);
+        assertEquals(5, codec.deserialize("5"));
+        assertEquals(Boolean.TRUE, codec.deserialize("true"));
+        assertEquals("50", codec.deserialize("50"));
+        assertInvalid(codec, "x");
+
+        assertEquals("5", codec.serialize(5));
+        assertEquals("false", codec.serialize(Boolean.FALSE));
+        assertEquals("50", codec.serialize("50"));
+        try {
+            codec.serialize(50);
+            fail("Serialization of value not valid for any member should fail");
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void validatingCodecReleasesType() {
+        ExtendedType type = extendedType("released", StringType.getInstance()).patterns(
+                Collections.<PatternConstraint> singletonList(BaseConstraints.patternConstraint("[a-z]+", null, null)))
+                .build();
+        final WeakReference<ExtendedType> typeRef = new WeakReference<>(type);
+        final WeakReference<TypeDefinitionAwareCodec<?, ?>> codecRef = new WeakReference<TypeDefinitionAwareCodec<?, ?>>(
+                TypeDefinitionAwareCodec.validatingFrom(type));
+        assertSame(type, codecRef.get().getTypeDefinition().get());
+        type = null;
+
+        // Further lookups let the cache purge entries of collected types
+        for (int i = 0; i < 100 && (typeRef.get() != null || codecRef.get() != null); ++i) {
+            System.gc();
+            TypeDefinitionAwareCodec.validatingFrom(extendedType("other" + i, StringType.getInstance()).build());
+        }
+        assertNull(typeRef.get());
+        assertNull(codecRef.get());
+    }
+
+    private static ExtendedType.Builder extendedType(final String name, final TypeDefinition<?> baseType) {
+        final QName qname = new QName(BaseTypes.BASE_TYPES_NAMESPACE, name);
+        return new ExtendedType.Builder(qname, baseType, null, null, BaseTypes.schemaPath(qname));
+    }
+
+    private static void assertInvalid(final TypeDefinitionAwareCodec<Object, ?> codec, final String value) {
+        try {
+            codec.deserialize(value);
+            fail("Value " + value + " should have been rejected");
+        } catch (IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2013 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PersistentLinkedHashMapTest {
+
+    /**
+     * Key with a deliberately poor hash code, so hash collisions are exercised.
+     */
+    private static final class CollidingKey {
+        private final int value;
+
+        CollidingKey(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 7;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof CollidingKey && ((CollidingKey) obj).value == value;
+        }
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        PersistentLinkedHashMap<String, Integer> map = PersistentLinkedHashMap.of();
+        map = map.plus("c", 1).plus("a", 2).plus("b", 3);
+        map = map.plus("a", 4);
+
+        final List<String> keys = new ArrayList<>(map.keySet());
+        assertEquals("c", keys.get(0));
+        assertEquals("a", keys.get(1));
+        assertEquals("b", keys.get(2));
+        assertEquals(Integer.valueOf(4), map.get("a"));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testStructuralSharing() {
+        final PersistentLinkedHashMap<String, Integer> original = PersistentLinkedHashMap.<String, Integer>of()
+                .plus("a", 1).plus("b", 2);
+        final PersistentLinkedHashMap<String, Integer> modified = original.plus("c", 3).minus("a");
+
+        assertEquals(2, original.size());
+        assertTrue(original.containsKey("a"));
+        assertFalse(original.containsKey("c"));
+        assertEquals(2, modified.size());
+        assertNull(modified.get("a"));
+        assertEquals(Integer.valueOf(3), modified.get("c"));
+
+        assertSame(original, original.minus("x"));
+        assertSame(original, PersistentLinkedHashMap.copyOf(original));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(1);
+        for (int round = 0; round < 10; ++round) {
+            PersistentLinkedHashMap<Object, Integer> map = PersistentLinkedHashMap.of();
+            final Map<Object, Integer> expected = new LinkedHashMap<>();
+            final int range = round % 2 == 0 ? 50 : 5000;
+
+            for (int i = 0; i < 10000; ++i) {
+                final Object key;
+                if (round % 3 == 0) {
+                    key = new CollidingKey(random.nextInt(range));
+                } else {
+                    key = random.nextInt(range);
+                }
+
+                if (random.nextInt(3) == 0) {
+                    map = map.minus(key);
+                    expected.remove(key);
+                } else {
+                    final int value = random.nextInt();
+                    map = map.plus(key, value);
+                    expected.put(key, value);
+                }
+            }
+
+            assertEquals(expected, map);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        }
+    }
+}
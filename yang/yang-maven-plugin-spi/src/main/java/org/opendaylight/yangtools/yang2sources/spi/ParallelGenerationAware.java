@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang2sources.spi;
+
+/**
+ * Interface implemented by CodeGenerator implementations which are able to
+ * generate files concurrently. These will have the number of threads injected
+ * before any attempt is made to generate files. The generated output must not
+ * depend on the number of threads.
+ */
+public interface ParallelGenerationAware {
+    /**
+     * Set the number of threads to be used for generating files.
+     *
+     * @param threads number of threads, 1 means files are generated sequentially
+     */
+    void setGeneratorThreads(int threads);
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang2sources.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.apache.maven.project.MavenProject;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+import org.opendaylight.yangtools.yang2sources.plugin.ConfigArg.CodeGeneratorArg;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * State of the last successful run of code generators, persisted between
+ * builds. It holds a fingerprint of all inputs of the generators, compile
+ * source roots added by the generators and files they generated. If the
+ * fingerprint of the current inputs matches and all the files still exist,
+ * parsing and generation can be skipped.
+ */
+final class BuildState {
+    private static final String FINGERPRINT = "fingerprint ";
+    private static final String SOURCE_ROOT = "root ";
+    private static final String FILE = "file ";
+
+    /**
+     * Version of fingerprint computation, bump it when the set of hashed inputs changes.
+     */
+    private static final int VERSION = 2;
+
+    private final String fingerprint;
+    private final List<String> sourceRoots;
+    private final List<File> generatedFiles;
+
+    BuildState(final String fingerprint, final List<String> sourceRoots, final List<File> generatedFiles) {
+        this.fingerprint = Util.checkNotNull(fingerprint, "fingerprint");
+        this.sourceRoots = Util.checkNotNull(sourceRoots, "sourceRoots");
+        this.generatedFiles = Util.checkNotNull(generatedFiles, "generatedFiles");
+    }
+
+    /**
+     * Location of the state file of an execution processing given directory,
+     * placed in the project's build directory.
+     */
+    static File stateFile(final MavenProject project, final File yangFilesRootDir) {
+        final String id = Hashing.sha1().hashBytes(yangFilesRootDir.getAbsolutePath().getBytes(StandardCharsets.UTF_8))
+                .toString().substring(0, 8);
+        return new File(project.getBuild().getDirectory(), "yang-build-state-" + id);
+    }
+
+    /**
+     * Compute fingerprint of generator inputs. Project YANG files are hashed
+     * by content, dependencies by YANG files they contain in case of
+     * directories and by size and modification time in case of jars. The
+     * plugin, the parser and the code generators are part of the fingerprint
+     * too, so that upgrading any of them regenerates sources.
+     */
+    static String fingerprint(final Collection<File> yangFiles, final Collection<File> dependencies,
+            final List<CodeGeneratorArg> codeGenerators, final MavenProject project) throws IOException {
+        final Hasher hasher = Hashing.sha1().newHasher();
+        hasher.putInt(VERSION);
+        putImplementation(hasher, BuildState.class);
+        putImplementation(hasher, YangParserImpl.class);
+
+        final List<File> sortedYangFiles = new ArrayList<>(yangFiles);
+        Collections.sort(sortedYangFiles);
+        for (File file : sortedYangFiles) {
+            putString(hasher, file.getAbsolutePath());
+            hasher.putBytes(Files.readAllBytes(file.toPath()));
+        }
+
+        for (File dependency : dependencies) {
+            putString(hasher, dependency.getAbsolutePath());
+            if (dependency.isDirectory()) {
+                final File yangDir = new File(dependency, YangToSourcesProcessor.META_INF_YANG_STRING);
+                final File[] files = yangDir.listFiles();
+                if (files != null) {
+                    Arrays.sort(files);
+                    for (File file : files) {
+                        if (file.isFile() && file.getName().endsWith("." + Util.YANG_SUFFIX)) {
+                            putString(hasher, file.getName());
+                            hasher.putBytes(Files.readAllBytes(file.toPath()));
+                        }
+                    }
+                }
+            } else {
+                hasher.putLong(dependency.length());
+                hasher.putLong(dependency.lastModified());
+            }
+        }
+
+        for (CodeGeneratorArg codeGenerator : codeGenerators) {
+            putString(hasher, String.valueOf(codeGenerator.getCodeGeneratorClass()));
+            putString(hasher, String.valueOf(codeGenerator.getOutputBaseDir(project)));
+            putString(hasher, String.valueOf(codeGenerator.getResourceBaseDir(project)));
+            putString(hasher, String.valueOf(new TreeMap<>(codeGenerator.getAdditionalConfiguration())));
+
+            // Generators need to run again when their implementation changes
+            final Class<?> generatorClass = loadClass(codeGenerator.getCodeGeneratorClass());
+            if (generatorClass != null) {
+                putImplementation(hasher, generatorClass);
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Read state from a file.
+     *
+     * @return state, or absent if the file does not exist or is not a valid state file
+     */
+    static Optional<BuildState> read(final File file) {
+        if (!file.isFile()) {
+            return Optional.absent();
+        }
+
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return Optional.absent();
+        }
+        if (lines.isEmpty() || !lines.get(0).startsWith(FINGERPRINT)) {
+            return Optional.absent();
+        }
+
+        final List<String> sourceRoots = new ArrayList<>();
+        final List<File> generatedFiles = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.startsWith(SOURCE_ROOT)) {
+                sourceRoots.add(line.substring(SOURCE_ROOT.length()));
+            } else if (line.startsWith(FILE)) {
+                generatedFiles.add(new File(line.substring(FILE.length())));
+            } else {
+                return Optional.absent();
+            }
+        }
+        return Optional.of(new BuildState(lines.get(0).substring(FINGERPRINT.length()), sourceRoots, generatedFiles));
+    }
+
+    /**
+     * Write state to a file.
+     */
+    void write(final File file) throws IOException {
+        final List<String> lines = new ArrayList<>(1 + sourceRoots.size() + generatedFiles.size());
+        lines.add(FINGERPRINT + fingerprint);
+        for (String root : sourceRoots) {
+            lines.add(SOURCE_ROOT + root);
+        }
+        for (File generated : generatedFiles) {
+            lines.add(FILE + generated.getAbsolutePath());
+        }
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check if generated files are up to date with inputs of given fingerprint.
+     */
+    boolean isUpToDate(final String currentFingerprint) {
+        if (!fingerprint.equals(currentFingerprint)) {
+            return false;
+        }
+        for (File generated : generatedFiles) {
+            if (!generated.exists()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<String> getSourceRoots() {
+        return sourceRoots;
+    }
+
+    List<File> getGeneratedFiles() {
+        return generatedFiles;
+    }
+
+    private static void putString(final Hasher hasher, final String str) {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        hasher.putInt(bytes.length);
+        hasher.putBytes(bytes);
+    }
+
+    /*
+     * Snapshot versions do not change with the code, so the jar or directory a
+     * class was loaded from is hashed by size and modification time as well.
+     */
+    private static void putImplementation(final Hasher hasher, final Class<?> cls) {
+        final Package pkg = cls.getPackage();
+        putString(hasher, String.valueOf(pkg == null ? null : pkg.getImplementationVersion()));
+
+        final File location = codeSourceLocation(cls);
+        if (location != null) {
+            putString(hasher, location.getAbsolutePath());
+            hasher.putLong(location.length());
+            hasher.putLong(location.lastModified());
+        }
+    }
+
+    private static Class<?> loadClass(final String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException | RuntimeException e) {
+            // Failure to load the generator is reported when it is instantiated
+            return null;
+        }
+    }
+
+    private static File codeSourceLocation(final Class<?> cls) {
+        try {
+            final CodeSource source = cls.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null && "file".equals(source.getLocation().getProtocol())) {
+                return new File(source.getLocation().toURI());
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            // Location is an optional part of the fingerprint
+        }
+        return null;
+    }
+}
@@ -73,6 +73,13 @@ public final class YangToSourcesMojo extends AbstractMojo {
     @Parameter(property = "inspectDependencies", required = true, readonly = true)
     private boolean inspectDependencies;
 
+    /**
+     * Number of threads used by code generators, which support concurrent
+     * generation of files. Generated sources do not depend on this value.
+     */
+    @Parameter(property = "yang.generatorThreads", defaultValue = "1")
+    private int generatorThreads;
+
     @Component
     private BuildContext buildContext;
 
@@ -102,7 +109,7 @@ public final class YangToSourcesMojo extends AbstractMojo {
             File[] excludedFiles = processExcludeFiles(excludeFiles, yangFilesRootFile);
 
             yangToSourcesProcessor = new YangToSourcesProcessor(buildContext, getLog(), yangFilesRootFile, excludedFiles,
-                    codeGeneratorArgs, project, inspectDependencies);
+                    codeGeneratorArgs, project, inspectDependencies, generatorThreads);
         }
         yangToSourcesProcessor.execute();
     }
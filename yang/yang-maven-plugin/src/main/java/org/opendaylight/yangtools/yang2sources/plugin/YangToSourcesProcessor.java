@@ -8,6 +8,8 @@
 package org.opendaylight.yangtools.yang2sources.plugin;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -23,6 +25,7 @@ import org.opendaylight.yangtools.yang2sources.plugin.Util.ContextHolder;
 import org.opendaylight.yangtools.yang2sources.plugin.Util.YangsInZipsResult;
 import org.opendaylight.yangtools.yang2sources.spi.BuildContextAware;
 import org.opendaylight.yangtools.yang2sources.spi.CodeGenerator;
+import org.opendaylight.yangtools.yang2sources.spi.ParallelGenerationAware;
 import org.sonatype.plexus.build.incremental.BuildContext;
 import org.sonatype.plexus.build.incremental.DefaultBuildContext;
 
@@ -53,16 +56,22 @@ class YangToSourcesProcessor {
     private final MavenProject project;
     private final boolean inspectDependencies;
     private final BuildContext buildContext;
+    private final int generatorThreads;
+    private final File buildStateFile;
     private YangProvider yangProvider;
+    private String fingerprint;
+    private Optional<BuildState> upToDateState = Optional.absent();
 
     @VisibleForTesting
     YangToSourcesProcessor(Log log, File yangFilesRootDir, File[] excludedFiles, List<CodeGeneratorArg> codeGenerators,
             MavenProject project, boolean inspectDependencies, YangProvider yangProvider) {
-        this(new DefaultBuildContext(), log, yangFilesRootDir, excludedFiles, codeGenerators, project, inspectDependencies, yangProvider);
+        this(new DefaultBuildContext(), log, yangFilesRootDir, excludedFiles, codeGenerators, project, inspectDependencies, 1,
+                null, yangProvider);
     }
 
     private YangToSourcesProcessor(BuildContext buildContext,  Log log, File yangFilesRootDir, File[] excludedFiles,
-            List<CodeGeneratorArg> codeGenerators, MavenProject project, boolean inspectDependencies, YangProvider yangProvider) {
+            List<CodeGeneratorArg> codeGenerators, MavenProject project, boolean inspectDependencies, int generatorThreads,
+            File buildStateFile, YangProvider yangProvider) {
         this.buildContext = Util.checkNotNull(buildContext, "buildContext");
         this.log = Util.checkNotNull(log, "log");
         this.yangFilesRootDir = Util.checkNotNull(yangFilesRootDir, "yangFilesRootDir");
@@ -74,20 +83,65 @@ class YangToSourcesProcessor {
         this.codeGenerators = Collections.unmodifiableList(Util.checkNotNull(codeGenerators, "codeGenerators"));
         this.project = Util.checkNotNull(project, "project");
         this.inspectDependencies = inspectDependencies;
+        Preconditions.checkArgument(generatorThreads > 0, "generatorThreads must be positive, was %s", generatorThreads);
+        this.generatorThreads = generatorThreads;
+        this.buildStateFile = buildStateFile;
         this.yangProvider = yangProvider;
     }
 
     YangToSourcesProcessor(BuildContext buildContext, Log log, File yangFilesRootDir, File[] excludedFiles, List<CodeGeneratorArg> codeGenerators,
-            MavenProject project, boolean inspectDependencies) {
-        this(log, yangFilesRootDir, excludedFiles, codeGenerators, project, inspectDependencies, new YangProvider());
+            MavenProject project, boolean inspectDependencies, int generatorThreads) {
+        this(buildContext, log, yangFilesRootDir, excludedFiles, codeGenerators, project, inspectDependencies,
+                generatorThreads, BuildState.stateFile(project, yangFilesRootDir), new YangProvider());
     }
 
     public void execute() throws MojoExecutionException, MojoFailureException {
         ContextHolder context = processYang();
         if (context != null) {
-            generateSources(context);
+            final List<String> sourceRoots = new ArrayList<>(project.getCompileSourceRoots());
+            final List<File> generated = generateSources(context);
             yangProvider.addYangsToMetaInf(log, project, yangFilesRootDir, excludedFiles);
+            storeBuildState(sourceRoots, generated);
+        } else if (upToDateState.isPresent()) {
+            restoreBuildState(upToDateState.get());
+            yangProvider.addYangsToMetaInf(log, project, yangFilesRootDir, excludedFiles);
+        }
+    }
+
+    /**
+     * Record inputs and outputs of code generators, so that the next build can
+     * skip generation if the inputs do not change.
+     */
+    private void storeBuildState(final List<String> previousSourceRoots, final List<File> generated) {
+        if (buildStateFile == null || fingerprint == null) {
+            return;
+        }
+
+        final List<String> sourceRoots = new ArrayList<>(project.getCompileSourceRoots());
+        sourceRoots.removeAll(previousSourceRoots);
+        try {
+            new BuildState(fingerprint, sourceRoots, generated).write(buildStateFile);
+        } catch (IOException e) {
+            log.warn(Util.message("Failed to write build state to %s", LOG_PREFIX, buildStateFile), e);
+            if (!buildStateFile.delete()) {
+                log.debug(Util.message("Failed to remove build state %s", LOG_PREFIX, buildStateFile));
+            }
+        }
+    }
+
+    /**
+     * Register sources generated by a previous build, same as the generators
+     * would have done.
+     */
+    private void restoreBuildState(final BuildState state) {
+        for (String root : state.getSourceRoots()) {
+            project.addCompileSourceRoot(root);
         }
+        for (CodeGeneratorArg codeGenerator : codeGenerators) {
+            YangProvider.setResource(codeGenerator.getResourceBaseDir(project), null, project);
+        }
+        log.debug(Util.message("Reusing %s files generated by previous build", LOG_PREFIX,
+                state.getGeneratedFiles().size()));
     }
 
     private ContextHolder processYang() throws MojoExecutionException {
@@ -128,6 +182,27 @@ class YangToSourcesProcessor {
                 return null;
             }
 
+            /*
+             * Check if inputs changed since the last successful generation.
+             * This works across builds, so even a full build can skip parsing
+             * and generation.
+             */
+            if (buildStateFile != null) {
+                final Collection<File> dependencies = inspectDependencies ? Util.getClassPath(project)
+                        : Collections.<File> emptyList();
+                fingerprint = BuildState.fingerprint(yangFilesInProject, dependencies, codeGenerators, project);
+                final Optional<BuildState> previous = BuildState.read(buildStateFile);
+                if (previous.isPresent() && previous.get().isUpToDate(fingerprint)) {
+                    log.info(Util.message("None of %s input files changed since last generation", LOG_PREFIX,
+                            allFiles.size()));
+                    upToDateState = previous;
+                    return null;
+                }
+                if (!buildStateFile.delete() && buildStateFile.exists()) {
+                    log.debug(Util.message("Failed to remove build state %s", LOG_PREFIX, buildStateFile));
+                }
+            }
+
             final List<InputStream> yangsInProject = new ArrayList<>();
             for (final File f : yangFilesInProject) {
                 yangsInProject.add(new NamedFileInputStream(f, META_INF_YANG_STRING + File.separator + f.getName()));
@@ -211,16 +286,17 @@ class YangToSourcesProcessor {
     /**
      * Call generate on every generator from plugin configuration
      */
-    private void generateSources(ContextHolder context) throws MojoFailureException {
+    private List<File> generateSources(ContextHolder context) throws MojoFailureException {
         if (codeGenerators.size() == 0) {
             log.warn(Util.message("No code generators provided", LOG_PREFIX));
-            return;
+            return Collections.emptyList();
         }
 
+        List<File> generated = new ArrayList<>();
         Map<String, String> thrown = Maps.newHashMap();
         for (CodeGeneratorArg codeGenerator : codeGenerators) {
             try {
-                generateSourcesWithOneGenerator(context, codeGenerator);
+                generated.addAll(generateSourcesWithOneGenerator(context, codeGenerator));
             } catch (Exception e) {
                 // try other generators, exception will be thrown after
                 log.error(
@@ -237,12 +313,13 @@ class YangToSourcesProcessor {
             log.error(message);
             throw new MojoFailureException(message);
         }
+        return generated;
     }
 
     /**
      * Instantiate generator from class and call required method
      */
-    private void generateSourcesWithOneGenerator(ContextHolder context, CodeGeneratorArg codeGeneratorCfg)
+    private Collection<File> generateSourcesWithOneGenerator(ContextHolder context, CodeGeneratorArg codeGeneratorCfg)
             throws ClassNotFoundException, InstantiationException, IllegalAccessException, IOException {
 
         codeGeneratorCfg.check();
@@ -265,6 +342,9 @@ class YangToSourcesProcessor {
         if (g instanceof BuildContextAware) {
             ((BuildContextAware)g).setBuildContext(buildContext);
         }
+        if (g instanceof ParallelGenerationAware) {
+            ((ParallelGenerationAware)g).setGeneratorThreads(generatorThreads);
+        }
         g.setLog(log);
         g.setMavenProject(project);
         g.setAdditionalConfig(codeGeneratorCfg.getAdditionalConfiguration());
@@ -279,6 +359,7 @@ class YangToSourcesProcessor {
 
         log.info(Util.message("Sources generated by %s: %s", LOG_PREFIX, codeGeneratorCfg.getCodeGeneratorClass(),
                 generated));
+        return generated == null ? Collections.<File> emptyList() : generated;
     }
 
 }
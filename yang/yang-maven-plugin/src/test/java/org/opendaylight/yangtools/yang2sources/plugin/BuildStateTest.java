@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang2sources.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang2sources.plugin.ConfigArg.CodeGeneratorArg;
+
+import com.google.common.base.Optional;
+
+public class BuildStateTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MavenProject project;
+    private File yangFile;
+    private List<CodeGeneratorArg> generators;
+
+    @Before
+    public void setUp() throws Exception {
+        project = mock(MavenProject.class);
+        doReturn(folder.getRoot()).when(project).getBasedir();
+        final Build build = new Build();
+        build.setDirectory(folder.newFolder("build").getAbsolutePath());
+        doReturn(build).when(project).getBuild();
+        yangFile = folder.newFile("mock.yang");
+        Files.write(yangFile.toPath(), "module mock {}".getBytes(StandardCharsets.UTF_8));
+        generators = Collections.singletonList(new CodeGeneratorArg(GenerateSourcesTest.GeneratorMock.class.getName(),
+                "outputDir"));
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        final List<File> yangFiles = Collections.singletonList(yangFile);
+        final List<File> noDependencies = Collections.emptyList();
+        final String fingerprint = BuildState.fingerprint(yangFiles, noDependencies, generators, project);
+        assertEquals(fingerprint, BuildState.fingerprint(yangFiles, noDependencies, generators, project));
+
+        final List<CodeGeneratorArg> otherGenerators = Collections.singletonList(new CodeGeneratorArg(
+                GenerateSourcesTest.GeneratorMock.class.getName(), "otherDir"));
+        assertFalse(fingerprint.equals(BuildState.fingerprint(yangFiles, noDependencies, otherGenerators, project)));
+
+        Files.write(yangFile.toPath(), "module mock { }".getBytes(StandardCharsets.UTF_8));
+        assertFalse(fingerprint.equals(BuildState.fingerprint(yangFiles, noDependencies, generators, project)));
+    }
+
+    @Test
+    public void testReadWrite() throws Exception {
+        final File generated = folder.newFile("Mock.java");
+        final File stateFile = BuildState.stateFile(project, folder.getRoot());
+        assertEquals(new File(folder.getRoot(), "build"), stateFile.getParentFile());
+        new BuildState("abcd", Collections.singletonList("target/generated-sources"), Arrays.asList(generated))
+                .write(stateFile);
+
+        final Optional<BuildState> state = BuildState.read(stateFile);
+        assertTrue(state.isPresent());
+        assertEquals(Collections.singletonList("target/generated-sources"), state.get().getSourceRoots());
+        assertEquals(Arrays.asList(generated.getAbsoluteFile()), state.get().getGeneratedFiles());
+        assertTrue(state.get().isUpToDate("abcd"));
+        assertFalse(state.get().isUpToDate("dcba"));
+
+        assertTrue(generated.delete());
+        assertFalse(state.get().isUpToDate("abcd"));
+    }
+
+    @Test
+    public void testReadInvalid() throws Exception {
+        final File stateFile = folder.newFile("state");
+        assertFalse(BuildState.read(new File(folder.getRoot(), "missing")).isPresent());
+        Files.write(stateFile.toPath(), "garbage".getBytes(StandardCharsets.UTF_8));
+        assertFalse(BuildState.read(stateFile).isPresent());
+    }
+}
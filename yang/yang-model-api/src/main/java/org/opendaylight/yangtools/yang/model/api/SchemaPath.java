@@ -7,25 +7,59 @@
  */
 package org.opendaylight.yangtools.yang.model.api;
 
-import java.util.ArrayList;
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.opendaylight.yangtools.yang.common.QName;
 
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 /**
- * 
+ *
  * Represents unique path to the every node inside the module.
- * 
+ *
+ * Paths are stored as a chain of parent paths, each adding a single QName, so
+ * paths of sibling nodes share their common prefix and {@link #createChild(QName)}
+ * is a constant-time operation. Paths created through the static factory methods
+ * and {@link #createChild(QName)} are interned. The hash code is computed when the
+ * path is created, and the list returned by {@link #getPath()} is materialized on
+ * first request.
+ *
  */
-public class SchemaPath {
-    private final int hashBooleanTrue = 1231;
-    private final int hashBooleanFalse = 1237;
+public class SchemaPath implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int HASH_BOOLEAN_TRUE = 1231;
+    private static final int HASH_BOOLEAN_FALSE = 1237;
+
+    private static final Interner<SchemaPath> INTERNER = Interners.newWeakInterner();
+
+    /**
+     * Shared instance of the "root" schema path.
+     */
+    public static final SchemaPath ROOT = new SchemaPath(null, null, true);
+
+    /**
+     * Shared instance of the "same" relative schema path.
+     */
+    public static final SchemaPath SAME = new SchemaPath(null, null, false);
 
     /**
-     * List of QName instances which represents complete path to the node.
+     * Path of the parent node, null for empty paths.
      */
-    private final List<QName> path;
+    private final SchemaPath parent;
+
+    /**
+     * QName of the last node in the path, null for empty paths.
+     */
+    private final QName qname;
 
     /**
      * Boolean value which represents type of schema path (relative or
@@ -33,34 +67,215 @@ public class SchemaPath {
      */
     private final boolean absolute;
 
+    /**
+     * Hash code of the list of QNames forming this path.
+     */
+    private final int pathHash;
+
+    /**
+     * List of QName instances which represents complete path to the node,
+     * created on first request.
+     */
+    private transient volatile List<QName> path;
+
+    private SchemaPath(final SchemaPath parent, final QName qname, final boolean absolute) {
+        this.parent = parent;
+        this.qname = qname;
+        this.absolute = absolute;
+        this.pathHash = parent == null ? 1 : 31 * parent.pathHash + (qname == null ? 0 : qname.hashCode());
+    }
+
     /**
      * Constructs new instance of this class with the concrete path.
-     * 
+     *
      * @param path
      *            list of QName instances which specifies exact path to the
      *            module node
      * @param absolute
      *            boolean value which specifies if the path is absolute or
      *            relative
+     *
+     * @deprecated Use {@link #create(Iterable, boolean)} or {@link #createChild(QName)}
+     *             instead, which share common path prefixes.
      */
-    public SchemaPath(final List<QName> path, boolean absolute) {
-        this.path = Collections.unmodifiableList(new ArrayList<QName>(path));
-        this.absolute = absolute;
+    @Deprecated
+    public SchemaPath(final List<QName> path, final boolean absolute) {
+        this(path.isEmpty() ? null : create(path.subList(0, path.size() - 1), absolute),
+                path.isEmpty() ? null : path.get(path.size() - 1), absolute);
+        this.path = Collections.unmodifiableList(Arrays.asList(path.toArray(new QName[path.size()])));
+    }
+
+    /**
+     * Returns the root or the "same" schema path.
+     *
+     * @param absolute
+     *            true for the root path, false for the empty relative path
+     * @return empty schema path
+     */
+    public static SchemaPath empty(final boolean absolute) {
+        return absolute ? ROOT : SAME;
+    }
+
+    /**
+     * Create a schema path from a sequence of QNames.
+     *
+     * @param path
+     *            QNames forming the path, starting at the root
+     * @param absolute
+     *            boolean value which specifies if the path is absolute or
+     *            relative
+     * @return schema path
+     */
+    public static SchemaPath create(final Iterable<QName> path, final boolean absolute) {
+        return empty(absolute).createChild(path);
+    }
+
+    /**
+     * Create a schema path from QNames.
+     *
+     * @param absolute
+     *            boolean value which specifies if the path is absolute or
+     *            relative
+     * @param path
+     *            QNames forming the path, starting at the root
+     * @return schema path
+     */
+    public static SchemaPath create(final boolean absolute, final QName... path) {
+        return create(Arrays.asList(path), absolute);
+    }
+
+    /**
+     * Create a child path by appending a single QName to this path.
+     *
+     * @param element
+     *            QName of the child node
+     * @return child schema path
+     */
+    public SchemaPath createChild(final QName element) {
+        return INTERNER.intern(new SchemaPath(this, element, absolute));
+    }
+
+    /**
+     * Create a descendant path by appending QNames to this path.
+     *
+     * @param relative
+     *            QNames to append
+     * @return descendant schema path
+     */
+    public SchemaPath createChild(final Iterable<QName> relative) {
+        SchemaPath ret = this;
+        for (QName element : relative) {
+            ret = ret.createChild(element);
+        }
+        return ret;
+    }
+
+    /**
+     * Create a descendant path by appending a relative path to this path.
+     *
+     * @param relative
+     *            relative path to append
+     * @return descendant schema path
+     */
+    public SchemaPath createChild(final SchemaPath relative) {
+        Preconditions.checkArgument(!relative.isAbsolute(), "Child path %s must be relative", relative);
+        return createChild(relative.getPathFromRoot());
+    }
+
+    /**
+     * Returns the path of the parent node.
+     *
+     * @return parent path, or null if this path is empty
+     */
+    public SchemaPath getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the last component of this path.
+     *
+     * @return QName of the node identified by this path, or null if this path
+     *         is empty
+     */
+    public QName getLastComponent() {
+        return qname;
     }
 
     /**
      * Returns the complete path to schema node.
-     * 
+     *
      * @return list of <code>QName</code> instances which represents complete
      *         path to schema node
      */
     public List<QName> getPath() {
-        return path;
+        List<QName> ret = path;
+        if (ret == null) {
+            int depth = 0;
+            for (SchemaPath p = this; p.parent != null; p = p.parent) {
+                depth++;
+            }
+            final QName[] elements = new QName[depth];
+            SchemaPath p = this;
+            for (int i = depth - 1; i >= 0; i--) {
+                elements[i] = p.qname;
+                p = p.parent;
+            }
+            ret = Collections.unmodifiableList(Arrays.asList(elements));
+            path = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the QNames of this path, starting at the root.
+     *
+     * @return QNames forming this path
+     */
+    public Iterable<QName> getPathFromRoot() {
+        return getPath();
+    }
+
+    /**
+     * Returns the QNames of this path, starting at the node identified by this
+     * path and walking towards the root. This does not require the path to be
+     * materialized.
+     *
+     * @return QNames forming this path in reverse order
+     */
+    public Iterable<QName> getPathTowardsRoot() {
+        return new Iterable<QName>() {
+            @Override
+            public Iterator<QName> iterator() {
+                return new Iterator<QName>() {
+                    private SchemaPath current = SchemaPath.this;
+
+                    @Override
+                    public boolean hasNext() {
+                        return current.parent != null;
+                    }
+
+                    @Override
+                    public QName next() {
+                        if (current.parent == null) {
+                            throw new NoSuchElementException();
+                        }
+                        final QName ret = current.qname;
+                        current = current.parent;
+                        return ret;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
     }
 
     /**
      * Describes whether schema path is|isn't absolute.
-     * 
+     *
      * @return boolean value which is <code>true</code> if schema path is
      *         absolute.
      */
@@ -72,8 +287,8 @@ public class SchemaPath {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + (absolute ? hashBooleanTrue : hashBooleanFalse);
-        result = prime * result + ((path == null) ? 0 : path.hashCode());
+        result = prime * result + (absolute ? HASH_BOOLEAN_TRUE : HASH_BOOLEAN_FALSE);
+        result = prime * result + pathHash;
         return result;
     }
 
@@ -92,21 +307,49 @@ public class SchemaPath {
         if (absolute != other.absolute) {
             return false;
         }
-        if (path == null) {
-            if (other.path != null) {
+
+        // Interned parents make this walk end on the first common ancestor
+        SchemaPath a = this;
+        SchemaPath b = other;
+        while (a != b) {
+            if (a == null || b == null || a.pathHash != b.pathHash || !Objects.equal(a.qname, b.qname)) {
                 return false;
             }
-        } else if (!path.equals(other.path)) {
-            return false;
+            a = a.parent;
+            b = b.parent;
         }
         return true;
     }
 
+    private Object writeReplace() {
+        return new Proxy(getPath().toArray(new QName[0]), absolute);
+    }
+
+    /**
+     * Serialized form of a schema path. It holds the QNames of the path, so that
+     * the parent chain is re-created and interned when the path is read back.
+     */
+    private static final class Proxy implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final QName[] path;
+        private final boolean absolute;
+
+        Proxy(final QName[] path, final boolean absolute) {
+            this.path = path;
+            this.absolute = absolute;
+        }
+
+        private Object readResolve() {
+            return create(Arrays.asList(path), absolute);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
         builder.append("SchemaPath [path=");
-        builder.append(path);
+        builder.append(getPath());
         builder.append(", absolute=");
         builder.append(absolute);
         builder.append("]");
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class SchemaPathTest {
+    private static final QName FOO = QName.create("urn:test", "2014-01-01", "foo");
+    private static final QName BAR = QName.create("urn:test", "2014-01-01", "bar");
+    private static final QName BAZ = QName.create("urn:test", "2014-01-01", "baz");
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testCompatibleWithListConstructor() {
+        final SchemaPath legacy = new SchemaPath(Arrays.asList(FOO, BAR, BAZ), true);
+        final SchemaPath path = SchemaPath.create(true, FOO, BAR, BAZ);
+
+        assertEquals(legacy, path);
+        assertEquals(path, legacy);
+        assertEquals(legacy.hashCode(), path.hashCode());
+        assertEquals(legacy.getPath(), path.getPath());
+
+        final SchemaPath legacyRelative = new SchemaPath(Arrays.asList(FOO, BAR, BAZ), false);
+        assertFalse(legacyRelative.equals(path));
+        assertEquals(legacyRelative, SchemaPath.create(false, FOO, BAR, BAZ));
+
+        final SchemaPath legacyEmpty = new SchemaPath(Collections.<QName>emptyList(), true);
+        assertEquals(SchemaPath.ROOT, legacyEmpty);
+        assertEquals(SchemaPath.ROOT.hashCode(), legacyEmpty.hashCode());
+    }
+
+    @Test
+    public void testHashCodeMatchesListHash() {
+        final List<QName> qnames = Arrays.asList(FOO, BAR);
+        final int expected = 31 * (31 + 1231) + qnames.hashCode();
+
+        assertEquals(expected, SchemaPath.create(qnames, true).hashCode());
+        assertEquals(31 * (31 + 1231) + Collections.emptyList().hashCode(), SchemaPath.ROOT.hashCode());
+    }
+
+    @Test
+    public void testCreateChild() {
+        final SchemaPath parent = SchemaPath.create(true, FOO);
+        final SchemaPath child = parent.createChild(BAR);
+
+        assertSame(parent, child.getParent());
+        assertEquals(BAR, child.getLastComponent());
+        assertEquals(Arrays.asList(FOO, BAR), child.getPath());
+        assertTrue(child.isAbsolute());
+        assertEquals(SchemaPath.create(true, FOO, BAR, BAZ), parent.createChild(Arrays.asList(BAR, BAZ)));
+        assertEquals(SchemaPath.create(true, FOO, BAR, BAZ), parent.createChild(SchemaPath.create(false, BAR, BAZ)));
+
+        // Children of empty paths keep their type
+        assertTrue(SchemaPath.ROOT.createChild(FOO).isAbsolute());
+        assertFalse(SchemaPath.SAME.createChild(FOO).isAbsolute());
+        assertNull(SchemaPath.ROOT.getParent());
+        assertNull(SchemaPath.ROOT.getLastComponent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateChildRejectsAbsolute() {
+        SchemaPath.create(true, FOO).createChild(SchemaPath.create(true, BAR));
+    }
+
+    @Test
+    public void testPathOrdering() {
+        final SchemaPath path = SchemaPath.create(true, FOO, BAR, BAZ);
+
+        assertEquals(Arrays.asList(FOO, BAR, BAZ), path.getPath());
+        assertEquals(Arrays.asList(FOO, BAR, BAZ), toList(path.getPathFromRoot()));
+        assertEquals(Arrays.asList(BAZ, BAR, FOO), toList(path.getPathTowardsRoot()));
+        assertTrue(toList(SchemaPath.ROOT.getPathTowardsRoot()).isEmpty());
+        assertTrue(SchemaPath.ROOT.getPath().isEmpty());
+    }
+
+    @Test
+    public void testInterning() {
+        final SchemaPath first = SchemaPath.create(true, FOO, BAR);
+        final SchemaPath second = SchemaPath.create(true, FOO).createChild(BAR);
+
+        assertSame(first, second);
+        assertSame(first.getParent(), SchemaPath.create(true, FOO));
+        assertSame(SchemaPath.ROOT, SchemaPath.create(Collections.<QName>emptyList(), true));
+        assertSame(SchemaPath.SAME, SchemaPath.create(Collections.<QName>emptyList(), false));
+        assertFalse(first.equals(SchemaPath.create(false, FOO, BAR)));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final SchemaPath path = SchemaPath.create(true, FOO, BAR);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(path);
+        oos.close();
+
+        final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertSame(path, ois.readObject());
+    }
+
+    private static List<QName> toList(final Iterable<QName> qnames) {
+        final List<QName> ret = new ArrayList<>();
+        for (QName qname : qnames) {
+            ret.add(qname);
+        }
+        return ret;
+    }
+}
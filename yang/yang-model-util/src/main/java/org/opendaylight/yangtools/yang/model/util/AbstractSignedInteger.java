@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,7 +35,9 @@ import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
  * </ul>
  *
  */
-abstract class AbstractSignedInteger implements IntegerTypeDefinition {
+abstract class AbstractSignedInteger implements IntegerTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final QName name;
     private final SchemaPath path;
     private final String description;
@@ -52,7 +55,7 @@ abstract class AbstractSignedInteger implements IntegerTypeDefinition {
     public AbstractSignedInteger(final QName name, final String description, final Number minRange,
             final Number maxRange, final String units) {
         this.name = name;
-        this.path = new SchemaPath(Collections.singletonList(name), true);
+        this.path = SchemaPath.create(Collections.singletonList(name), true);
         this.description = description;
         this.units = units;
         this.rangeStatements = new ArrayList<RangeConstraint>();
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,7 +35,9 @@ import org.opendaylight.yangtools.yang.model.api.type.UnsignedIntegerTypeDefinit
  * </ul>
  *
  */
-abstract class AbstractUnsignedInteger implements UnsignedIntegerTypeDefinition {
+abstract class AbstractUnsignedInteger implements UnsignedIntegerTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final long MIN_VALUE = 0;
     private final QName name;
     private final SchemaPath path;
@@ -52,7 +55,7 @@ abstract class AbstractUnsignedInteger implements UnsignedIntegerTypeDefinition
      */
     public AbstractUnsignedInteger(final QName name, final String description, final Number maxRange, final String units) {
         this.name = name;
-        this.path = new SchemaPath(Collections.singletonList(name), true);
+        this.path = SchemaPath.create(Collections.singletonList(name), true);
         this.description = description;
         this.units = units;
         this.rangeStatements = new ArrayList<RangeConstraint>();
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
+
 import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
@@ -31,7 +33,8 @@ public final class BaseConstraints {
         return new PatternConstraintImpl(pattern, description, reference);
     }
 
-    private static final class LengthConstraintImpl implements LengthConstraint {
+    private static final class LengthConstraintImpl implements LengthConstraint, Serializable {
+        private static final long serialVersionUID = 1L;
 
         private final Number min;
         private final Number max;
@@ -165,7 +168,9 @@ public final class BaseConstraints {
         }
     }
 
-    private static final class RangeConstraintImpl implements RangeConstraint {
+    private static final class RangeConstraintImpl implements RangeConstraint, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final Number min;
         private final Number max;
 
@@ -306,7 +311,8 @@ public final class BaseConstraints {
         }
     }
 
-    private static final class PatternConstraintImpl implements PatternConstraint {
+    private static final class PatternConstraintImpl implements PatternConstraint, Serializable {
+        private static final long serialVersionUID = 1L;
 
         private final String regex;
         private final String description;
@@ -60,7 +60,7 @@ public final class BaseTypes {
      */
     public static SchemaPath schemaPath(final QName typeName) {
         List<QName> pathList = Collections.singletonList(typeName);
-        return new SchemaPath(pathList, true);
+        return SchemaPath.create(pathList, true);
     }
 
     /**
@@ -86,6 +86,6 @@ public final class BaseTypes {
                 pathList.add(qname);
             }
         }
-        return new SchemaPath(pathList, true);
+        return SchemaPath.create(pathList, true);
     }
 }
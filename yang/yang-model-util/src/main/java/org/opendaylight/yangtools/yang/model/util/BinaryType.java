@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -23,10 +24,12 @@ import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
  *
  * @see BinaryTypeDefinition
  */
-public final class BinaryType implements BinaryTypeDefinition {
+public final class BinaryType implements BinaryTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final BinaryType INSTANCE = new BinaryType();
     private final QName name = BaseTypes.constructQName("binary");
-    private final SchemaPath path = new SchemaPath(Collections.singletonList(name), true);
+    private final SchemaPath path = SchemaPath.create(Collections.singletonList(name), true);
     private static final String DESCRIPTION = "The binary built-in type represents any binary data, i.e., a sequence of octets.";
     private static final String REFERENCE = "https://tools.ietf.org/html/rfc6020#section-9.8";
     private final List<Byte> bytes;
@@ -44,6 +47,10 @@ public final class BinaryType implements BinaryTypeDefinition {
         return INSTANCE;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -21,7 +22,9 @@ import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
  *
  * @see BitsTypeDefinition
  */
-public final class BitsType implements BitsTypeDefinition {
+public final class BitsType implements BitsTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final QName name = BaseTypes.constructQName("bits");
     private final SchemaPath path;
     private final String description = "The bits built-in type represents a bit set.  "
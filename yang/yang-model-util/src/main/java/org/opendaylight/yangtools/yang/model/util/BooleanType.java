@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -21,10 +22,12 @@ import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
  *
  * @see BooleanTypeDefinition
  */
-public final class BooleanType implements BooleanTypeDefinition {
+public final class BooleanType implements BooleanTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final BooleanType INSTANCE = new BooleanType();
     private static final QName NAME = BaseTypes.constructQName("boolean");
-    private static final SchemaPath PATH = new SchemaPath(Collections.singletonList(NAME), true);
+    private static final SchemaPath PATH = SchemaPath.create(Collections.singletonList(NAME), true);
     private static final String DESCRIPTION = "The boolean built-in type represents a boolean value.";
     private static final String REFERENCE = "https://tools.ietf.org/html/rfc6020#section-9.5";
     private static final String UNITS = "";
@@ -39,6 +42,10 @@ public final class BooleanType implements BooleanTypeDefinition {
         return INSTANCE;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -25,7 +26,9 @@ import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
  *
  * @see DecimalTypeDefinition
  */
-public final class Decimal64 implements DecimalTypeDefinition {
+public final class Decimal64 implements DecimalTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final QName name = BaseTypes.constructQName("decimal64");
     private final SchemaPath path;
     private static final String UNITS = "";
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -16,10 +17,12 @@ import org.opendaylight.yangtools.yang.model.api.Status;
 import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
 
-public final class EmptyType implements EmptyTypeDefinition {
+public final class EmptyType implements EmptyTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static EmptyType instance;
     private static final QName NAME = BaseTypes.constructQName("empty");
-    private static final SchemaPath PATH = new SchemaPath(Collections.singletonList(NAME), true);
+    private static final SchemaPath PATH = SchemaPath.create(Collections.singletonList(NAME), true);
     private static final String DESCRIPTION = "The empty built-in type represents a leaf that does not have any value, it conveys information by its presence or absence.";
     private static final String REFERENCE = "https://tools.ietf.org/html/rfc6020#page-131";
 
@@ -33,6 +36,10 @@ public final class EmptyType implements EmptyTypeDefinition {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public EmptyTypeDefinition getBaseType() {
         return null;
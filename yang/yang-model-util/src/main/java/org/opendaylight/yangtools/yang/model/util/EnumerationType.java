@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -22,7 +23,9 @@ import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
  *
  * @see EnumTypeDefinition
  */
-public final class EnumerationType implements EnumTypeDefinition {
+public final class EnumerationType implements EnumTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final QName name = BaseTypes.constructQName("enumeration");
     private final SchemaPath path;
     private static final String DESCRIPTION = "The enumeration built-in type represents values from a set of assigned names.";
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Date;
@@ -21,7 +22,8 @@ import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
 
-public class ExtendedType implements TypeDefinition<TypeDefinition<?>> {
+public class ExtendedType implements TypeDefinition<TypeDefinition<?>>, Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final QName typeName;
     private final TypeDefinition<?> baseType;
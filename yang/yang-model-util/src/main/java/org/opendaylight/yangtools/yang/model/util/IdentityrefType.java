@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,7 +24,9 @@ import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
  *
  * @see IdentityrefTypeDefinition
  */
-public final class IdentityrefType implements IdentityrefTypeDefinition {
+public final class IdentityrefType implements IdentityrefTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final QName name = BaseTypes.constructQName("identityref");
     private final SchemaPath path;
     private static final String DESCRIPTION = "The identityref type is used to reference an existing identity.";
@@ -17,6 +17,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  * @see AbstractSignedInteger
  */
 public final class Int16 extends AbstractSignedInteger {
+    private static final long serialVersionUID = 1L;
+
     private static Int16 instance;
     private static final QName NAME = BaseTypes.constructQName("int16");
     private static final String DESCRIPTION = "int16  represents integer values between -32768 and 32767, inclusively.";
@@ -32,6 +34,10 @@ public final class Int16 extends AbstractSignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
@@ -19,6 +19,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  *
  */
 public final class Int32 extends AbstractSignedInteger {
+    private static final long serialVersionUID = 1L;
+
     private static Int32 instance;
     private static final QName NAME = BaseTypes.constructQName("int32");
     private static final String DESCRIPTION = "int32  represents integer values between -2147483648 and 2147483647, inclusively.";
@@ -34,6 +36,10 @@ public final class Int32 extends AbstractSignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
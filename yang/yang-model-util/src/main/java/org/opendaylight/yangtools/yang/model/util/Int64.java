@@ -17,6 +17,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  *
  */
 public final class Int64 extends AbstractSignedInteger {
+    private static final long serialVersionUID = 1L;
+
     private static Int64 instance;
     private static final QName NAME = BaseTypes.constructQName("int64");
     private static final String DESCRIPTION = "int64  represents integer values between -9223372036854775808 and 9223372036854775807, inclusively.";
@@ -32,6 +34,10 @@ public final class Int64 extends AbstractSignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
@@ -17,6 +17,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  * @see AbstractSignedInteger
  */
 public final class Int8 extends AbstractSignedInteger {
+    private static final long serialVersionUID = 1L;
+
     private static Int8 instance;
     private static final QName NAME = BaseTypes.constructQName("int8");
     private static final String DESCRIPTION = "represents integer values between -128 and 127, inclusively.";
@@ -32,6 +34,10 @@ public final class Int8 extends AbstractSignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
+
 import org.opendaylight.yangtools.yang.model.api.RevisionAwareXPath;
 
 /**
@@ -15,7 +17,8 @@ import org.opendaylight.yangtools.yang.model.api.RevisionAwareXPath;
  * 
  * @see RevisionAwareXPath
  */
-public class RevisionAwareXPathImpl implements RevisionAwareXPath {
+public class RevisionAwareXPathImpl implements RevisionAwareXPath, Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final String xpath;
     private final boolean absolute;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -24,10 +25,12 @@ import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
  *
  * @see StringTypeDefinition
  */
-public final class StringType implements StringTypeDefinition {
+public final class StringType implements StringTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final StringType INSTANCE = new StringType();
     private final QName name = BaseTypes.constructQName("string");
-    private final SchemaPath path = new SchemaPath(Collections.singletonList(name), true);
+    private final SchemaPath path = SchemaPath.create(Collections.singletonList(name), true);
     private static final String DEFAULT_VALUE = "";
     private static final String DESCRIPTION = "";
     private static final String REFERENCE = "";
@@ -49,6 +52,10 @@ public final class StringType implements StringTypeDefinition {
         return INSTANCE;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -16,6 +16,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  *
  */
 public final class Uint16 extends AbstractUnsignedInteger {
+    private static final long serialVersionUID = 1L;
+
     public static final int MAX_VALUE = 65535;
     private static Uint16 instance;
     private static final QName NAME = BaseTypes.constructQName("uint16");
@@ -32,6 +34,10 @@ public final class Uint16 extends AbstractUnsignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
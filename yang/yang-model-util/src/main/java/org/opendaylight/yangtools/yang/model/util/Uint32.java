@@ -15,6 +15,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  *
  */
 public final class Uint32 extends AbstractUnsignedInteger {
+    private static final long serialVersionUID = 1L;
+
     public static final long MAX_VALUE = 4294967295L;
     private static Uint32 instance;
     private static final QName NAME = BaseTypes.constructQName("uint32");
@@ -31,6 +33,10 @@ public final class Uint32 extends AbstractUnsignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
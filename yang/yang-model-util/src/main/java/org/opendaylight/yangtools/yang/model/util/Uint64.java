@@ -19,6 +19,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  *
  */
 public final class Uint64 extends AbstractUnsignedInteger {
+    private static final long serialVersionUID = 1L;
+
     public static final BigInteger MAX_VALUE = new BigInteger("18446744073709551615");
     private static Uint64 instance;
     private static final QName NAME = BaseTypes.constructQName("uint64");
@@ -35,6 +37,10 @@ public final class Uint64 extends AbstractUnsignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
@@ -16,6 +16,8 @@ import org.opendaylight.yangtools.yang.common.QName;
  * @see AbstractUnsignedInteger
  */
 public final class Uint8 extends AbstractUnsignedInteger {
+    private static final long serialVersionUID = 1L;
+
     public static final int MAX_VALUE = 255;
     private static Uint8 instance;
     private static final QName NAME = BaseTypes.constructQName("uint8");
@@ -32,6 +34,10 @@ public final class Uint8 extends AbstractUnsignedInteger {
         return instance;
     }
 
+    private Object readResolve() {
+        return getInstance();
+    }
+
     @Override
     public Object getDefaultValue() {
         return null;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,7 +18,9 @@ import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 
-public final class UnionType implements UnionTypeDefinition {
+public final class UnionType implements UnionTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final QName name = BaseTypes.constructQName("union");
     private final SchemaPath path = BaseTypes.schemaPath(name);
     private static final String DESCRIPTION = "The union built-in type represents a value that corresponds to one of its member types.";
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.model.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -19,7 +20,8 @@ import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
 
-public final class UnknownType implements UnknownTypeDefinition {
+public final class UnknownType implements UnknownTypeDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
 
     private final QName name;
     private final SchemaPath path;
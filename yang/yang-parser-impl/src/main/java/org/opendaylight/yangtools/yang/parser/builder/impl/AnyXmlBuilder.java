@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -190,7 +191,9 @@ public final class AnyXmlBuilder extends AbstractSchemaNodeBuilder implements Da
         return "anyxml " + qname.getLocalName();
     }
 
-    private static final class AnyXmlSchemaNodeImpl implements AnyXmlSchemaNode {
+    private static final class AnyXmlSchemaNodeImpl implements AnyXmlSchemaNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private SchemaPath path;
         private String description;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,6 +37,7 @@ import org.opendaylight.yangtools.yang.parser.builder.api.GroupingBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.TypeDefinitionBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.UsesNodeBuilder;
 import org.opendaylight.yangtools.yang.parser.util.Comparators;
+import org.opendaylight.yangtools.yang.parser.util.DataSchemaNodeIndex;
 import org.opendaylight.yangtools.yang.parser.util.ParserUtils;
 import org.opendaylight.yangtools.yang.parser.util.YangParseException;
 
@@ -97,7 +99,7 @@ public final class AugmentationSchemaBuilderImpl extends AbstractDataNodeContain
                 for (QName name : parsedPath) {
                     newPath.add(new QName(mb.getNamespace(), mb.getRevision(), name.getPrefix(), name.getLocalName()));
                 }
-                instance.setTargetPath(new SchemaPath(newPath, false));
+                instance.setTargetPath(SchemaPath.create(newPath, false));
             } else {
                 instance.setTargetPath(targetNodeSchemaPath);
             }
@@ -268,10 +270,13 @@ public final class AugmentationSchemaBuilderImpl extends AbstractDataNodeContain
         return "augment " + augmentTargetStr;
     }
 
-    private static final class AugmentationSchemaImpl implements AugmentationSchema, NamespaceRevisionAware {
+    private static final class AugmentationSchemaImpl implements AugmentationSchema, NamespaceRevisionAware, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private SchemaPath targetPath;
         private RevisionAwareXPath whenCondition;
         private final Set<DataSchemaNode> childNodes = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
+        private DataSchemaNodeIndex childIndex = DataSchemaNodeIndex.empty();
         private final Set<UsesNode> uses = new HashSet<>();
         private String description;
         private String reference;
@@ -311,6 +316,7 @@ public final class AugmentationSchemaBuilderImpl extends AbstractDataNodeContain
         private void addChildNodes(Set<DataSchemaNode> childNodes) {
             if (childNodes != null) {
                 this.childNodes.addAll(childNodes);
+                this.childIndex = DataSchemaNodeIndex.create(this.childNodes);
             }
         }
 
@@ -371,12 +377,12 @@ public final class AugmentationSchemaBuilderImpl extends AbstractDataNodeContain
 
         @Override
         public DataSchemaNode getDataChildByName(QName name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
         public DataSchemaNode getDataChildByName(String name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -309,7 +310,9 @@ public final class ChoiceBuilder extends AbstractSchemaNodeBuilder implements Da
         return "choice " + qname.getLocalName();
     }
 
-    private static final class ChoiceNodeImpl implements ChoiceNode {
+    private static final class ChoiceNodeImpl implements ChoiceNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private SchemaPath path;
         private String description;
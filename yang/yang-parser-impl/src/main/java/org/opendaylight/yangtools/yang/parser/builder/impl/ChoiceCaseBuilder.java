@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -25,6 +26,7 @@ import org.opendaylight.yangtools.yang.parser.builder.api.DataSchemaNodeBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.TypeDefinitionBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.UsesNodeBuilder;
 import org.opendaylight.yangtools.yang.parser.util.Comparators;
+import org.opendaylight.yangtools.yang.parser.util.DataSchemaNodeIndex;
 import org.opendaylight.yangtools.yang.parser.util.ParserUtils;
 import org.opendaylight.yangtools.yang.parser.util.YangParseException;
 
@@ -238,7 +240,9 @@ public final class ChoiceCaseBuilder extends AbstractDataNodeContainerBuilder im
         return "case " + getQName().getLocalName();
     }
 
-    private static final class ChoiceCaseNodeImpl implements ChoiceCaseNode {
+    private static final class ChoiceCaseNodeImpl implements ChoiceCaseNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private SchemaPath path;
         private String description;
@@ -248,6 +252,7 @@ public final class ChoiceCaseBuilder extends AbstractDataNodeContainerBuilder im
         private boolean addedByUses;
         private ConstraintDefinition constraints;
         private final Set<DataSchemaNode> childNodes = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
+        private DataSchemaNodeIndex childIndex = DataSchemaNodeIndex.empty();
         private final Set<AugmentationSchema> augmentations = new HashSet<>();
         private final Set<UsesNode> uses = new HashSet<>();
         private final List<UnknownSchemaNode> unknownNodes = new ArrayList<>();
@@ -334,6 +339,7 @@ public final class ChoiceCaseBuilder extends AbstractDataNodeContainerBuilder im
         private void addChildNodes(Set<DataSchemaNode> childNodes) {
             if (childNodes != null) {
                 this.childNodes.addAll(childNodes);
+                this.childIndex = DataSchemaNodeIndex.create(this.childNodes);
             }
         }
 
@@ -344,12 +350,12 @@ public final class ChoiceCaseBuilder extends AbstractDataNodeContainerBuilder im
 
         @Override
         public DataSchemaNode getDataChildByName(QName name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
         public DataSchemaNode getDataChildByName(String name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
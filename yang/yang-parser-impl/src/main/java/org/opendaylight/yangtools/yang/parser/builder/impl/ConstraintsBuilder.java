@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.*;
 
 import org.opendaylight.yangtools.yang.model.api.*;
@@ -119,7 +120,9 @@ public final class ConstraintsBuilder {
         this.mandatory = mandatory;
     }
 
-    private final class ConstraintDefinitionImpl implements ConstraintDefinition {
+    private static final class ConstraintDefinitionImpl implements ConstraintDefinition, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private RevisionAwareXPath whenCondition;
         private Set<MustDefinition> mustConstraints;
         private boolean mandatory;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -26,6 +27,7 @@ import org.opendaylight.yangtools.yang.parser.builder.api.GroupingBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.TypeDefinitionBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.UsesNodeBuilder;
 import org.opendaylight.yangtools.yang.parser.util.Comparators;
+import org.opendaylight.yangtools.yang.parser.util.DataSchemaNodeIndex;
 import org.opendaylight.yangtools.yang.parser.util.ParserUtils;
 import org.opendaylight.yangtools.yang.parser.util.YangParseException;
 
@@ -282,7 +284,9 @@ public final class ContainerSchemaNodeBuilder extends AbstractDataNodeContainerB
         return "container " + qname.getLocalName();
     }
 
-    private static final class ContainerSchemaNodeImpl implements ContainerSchemaNode {
+    private static final class ContainerSchemaNodeImpl implements ContainerSchemaNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private SchemaPath path;
         private String description;
@@ -294,6 +298,7 @@ public final class ContainerSchemaNodeBuilder extends AbstractDataNodeContainerB
         private ConstraintDefinition constraints;
         private final Set<AugmentationSchema> augmentations = new HashSet<>();
         private final Set<DataSchemaNode> childNodes = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
+        private DataSchemaNodeIndex childIndex = DataSchemaNodeIndex.empty();
         private final Set<GroupingDefinition> groupings = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
         private final Set<TypeDefinition<?>> typeDefinitions = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
         private final Set<UsesNode> uses = new HashSet<>();
@@ -373,6 +378,7 @@ public final class ContainerSchemaNodeBuilder extends AbstractDataNodeContainerB
         private void addChildNodes(Set<DataSchemaNode> childNodes) {
             if (childNodes != null) {
                 this.childNodes.addAll(childNodes);
+                this.childIndex = DataSchemaNodeIndex.create(this.childNodes);
             }
         }
 
@@ -389,12 +395,12 @@ public final class ContainerSchemaNodeBuilder extends AbstractDataNodeContainerB
 
         @Override
         public DataSchemaNode getDataChildByName(QName name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
         public DataSchemaNode getDataChildByName(String name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
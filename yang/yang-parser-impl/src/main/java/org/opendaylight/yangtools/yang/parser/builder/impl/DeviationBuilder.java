@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.*;
 
 import org.opendaylight.yangtools.yang.model.api.*;
@@ -84,7 +85,9 @@ public final class DeviationBuilder extends AbstractBuilder {
         return "deviation " + targetPathStr;
     }
 
-    private static final class DeviationImpl implements Deviation {
+    private static final class DeviationImpl implements Deviation, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private SchemaPath targetPath;
         private Deviate deviate;
         private String reference;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -95,7 +96,9 @@ public final class ExtensionBuilder extends AbstractSchemaNodeBuilder {
         return "extension " + qname.getLocalName();
     }
 
-    private static final class ExtensionDefinitionImpl implements ExtensionDefinition {
+    private static final class ExtensionDefinitionImpl implements ExtensionDefinition, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private String argument;
         private final SchemaPath schemaPath;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -86,7 +87,9 @@ public final class FeatureBuilder extends AbstractSchemaNodeBuilder {
         return "feature " + qname.getLocalName();
     }
 
-    private static final class FeatureDefinitionImpl implements FeatureDefinition {
+    private static final class FeatureDefinitionImpl implements FeatureDefinition, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private final SchemaPath path;
         private String description;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -32,6 +33,7 @@ import org.opendaylight.yangtools.yang.parser.builder.api.TypeDefinitionBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.UsesNodeBuilder;
 import org.opendaylight.yangtools.yang.parser.util.Comparators;
 import org.opendaylight.yangtools.yang.parser.util.CopyUtils;
+import org.opendaylight.yangtools.yang.parser.util.DataSchemaNodeIndex;
 import org.opendaylight.yangtools.yang.parser.util.ParserUtils;
 import org.opendaylight.yangtools.yang.parser.util.YangParseException;
 
@@ -263,7 +265,9 @@ public final class GroupingBuilderImpl extends AbstractDataNodeContainerBuilder
     }
 
 
-    private static final class GroupingDefinitionImpl implements GroupingDefinition {
+    private static final class GroupingDefinitionImpl implements GroupingDefinition, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private final SchemaPath path;
         private String description;
@@ -271,6 +275,7 @@ public final class GroupingBuilderImpl extends AbstractDataNodeContainerBuilder
         private Status status;
         private boolean addedByUses;
         private final Set<DataSchemaNode> childNodes = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
+        private DataSchemaNodeIndex childIndex = DataSchemaNodeIndex.empty();
         private final Set<GroupingDefinition> groupings = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
         private final Set<TypeDefinition<?>> typeDefinitions = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
         private final Set<UsesNode> uses = new HashSet<>();
@@ -319,6 +324,7 @@ public final class GroupingBuilderImpl extends AbstractDataNodeContainerBuilder
         private void addChildNodes(Set<DataSchemaNode> childNodes) {
             if (childNodes != null) {
                 this.childNodes.addAll(childNodes);
+                this.childIndex = DataSchemaNodeIndex.create(this.childNodes);
             }
         }
 
@@ -368,12 +374,12 @@ public final class GroupingBuilderImpl extends AbstractDataNodeContainerBuilder
 
         @Override
         public DataSchemaNode getDataChildByName(QName name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
         public DataSchemaNode getDataChildByName(String name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
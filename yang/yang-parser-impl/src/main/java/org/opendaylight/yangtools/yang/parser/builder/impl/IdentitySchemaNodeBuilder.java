@@ -7,6 +7,11 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectInputValidation;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.*;
 
 import org.opendaylight.yangtools.yang.common.QName;
@@ -42,7 +47,7 @@ public final class IdentitySchemaNodeBuilder extends AbstractSchemaNodeBuilder {
                 }
             } else {
                 if(baseIdentity instanceof IdentitySchemaNodeImpl) {
-                    ((IdentitySchemaNodeImpl)baseIdentity).toBuilder().addDerivedIdentity(instance);
+                    ((IdentitySchemaNodeImpl)baseIdentity).addDerivedIdentity(instance);
                 }
             }
             instance.setBaseIdentity(baseIdentity);
@@ -124,22 +129,46 @@ public final class IdentitySchemaNodeBuilder extends AbstractSchemaNodeBuilder {
         return "identity " + qname.getLocalName();
     }
 
-    private final class IdentitySchemaNodeImpl implements IdentitySchemaNode {
+    private static final class IdentitySchemaNodeImpl implements IdentitySchemaNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private final SchemaPath path;
         private IdentitySchemaNode baseIdentity;
-        private final Set<IdentitySchemaNode> derivedIdentities;
+        private transient Set<IdentitySchemaNode> derivedIdentities;
         private String description;
         private String reference;
         private Status status = Status.CURRENT;
         private final List<UnknownSchemaNode> unknownNodes = new ArrayList<>();
 
-        private IdentitySchemaNodeImpl(final QName qname, final SchemaPath path, final Set<IdentitySchemaNode> derivedIdentities) {
+        private IdentitySchemaNodeImpl(final QName qname, final SchemaPath path,
+                final Set<IdentitySchemaNode> derivedIdentities) {
             this.qname = qname;
             this.path = path;
             this.derivedIdentities = derivedIdentities;
         }
 
+        private void writeObject(final ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            out.writeObject(derivedIdentities.toArray(new IdentitySchemaNode[derivedIdentities.size()]));
+        }
+
+        /*
+         * Derived identities point back to this identity through their base identity,
+         * so they may not be fully read yet. Hash them only once the whole graph is read.
+         */
+        private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            final IdentitySchemaNode[] derived = (IdentitySchemaNode[]) in.readObject();
+            derivedIdentities = new HashSet<>(derived.length);
+            in.registerValidation(new ObjectInputValidation() {
+                @Override
+                public void validateObject() {
+                    Collections.addAll(derivedIdentities, derived);
+                }
+            }, 0);
+        }
+
         @Override
         public QName getQName() {
             return qname;
@@ -190,8 +219,13 @@ public final class IdentitySchemaNodeBuilder extends AbstractSchemaNodeBuilder {
             }
         }
 
-        public IdentitySchemaNodeBuilder toBuilder() {
-            return IdentitySchemaNodeBuilder.this;
+        /*
+         * Identities of a module parsed against an existing context derive from identities
+         * which were built earlier, possibly in another JVM and read back from a cache, so
+         * this must not depend on the builder of this identity.
+         */
+        private void addDerivedIdentity(final IdentitySchemaNode derivedIdentity) {
+            derivedIdentities.add(derivedIdentity);
         }
 
         @Override
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -205,7 +206,9 @@ public final class LeafListSchemaNodeBuilder extends AbstractTypeAwareBuilder im
         return "leaf-list " + qname.getLocalName();
     }
 
-    private static final class LeafListSchemaNodeImpl implements LeafListSchemaNode {
+    private static final class LeafListSchemaNodeImpl implements LeafListSchemaNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private SchemaPath path;
         private String description;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -221,7 +222,9 @@ public final class LeafSchemaNodeBuilder extends AbstractTypeAwareBuilder implem
         return "leaf " + qname.getLocalName();
     }
 
-    private static final class LeafSchemaNodeImpl implements LeafSchemaNode {
+    private static final class LeafSchemaNodeImpl implements LeafSchemaNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private SchemaPath path;
         private String description;
@@ -34,10 +34,12 @@ import org.opendaylight.yangtools.yang.parser.builder.api.TypeAwareBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.TypeDefinitionBuilder;
 import org.opendaylight.yangtools.yang.parser.builder.api.UsesNodeBuilder;
 import org.opendaylight.yangtools.yang.parser.util.Comparators;
+import org.opendaylight.yangtools.yang.parser.util.DataSchemaNodeIndex;
 import org.opendaylight.yangtools.yang.parser.util.ModuleImportImpl;
 import org.opendaylight.yangtools.yang.parser.util.RefineHolder;
 import org.opendaylight.yangtools.yang.parser.util.YangParseException;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -121,7 +123,7 @@ public class ModuleBuilder extends AbstractDataNodeContainerBuilder {
         super(name, 0, null);
         this.name = name;
         this.sourcePath = sourcePath;
-        schemaPath = new SchemaPath(Collections.<QName> emptyList(), true);
+        schemaPath = SchemaPath.ROOT;
         this.submodule = submodule;
         instance = new ModuleImpl(name, sourcePath);
         actualPath.push(this);
@@ -131,7 +133,7 @@ public class ModuleBuilder extends AbstractDataNodeContainerBuilder {
         super(base.getName(), 0, null);
         this.name = base.getName();
         this.sourcePath = base.getModuleSourcePath();
-        schemaPath = new SchemaPath(Collections.<QName> emptyList(), true);
+        schemaPath = SchemaPath.ROOT;
         submodule = false;
         instance = new ModuleImpl(base.getName(), base.getModuleSourcePath());
         actualPath.push(this);
@@ -913,7 +915,9 @@ public class ModuleBuilder extends AbstractDataNodeContainerBuilder {
         this.source = source;
     }
 
-    public static final class ModuleImpl implements Module {
+    public static final class ModuleImpl implements Module, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private URI namespace;
         private final String name;
         private final String sourcePath;
@@ -932,6 +936,7 @@ public class ModuleBuilder extends AbstractDataNodeContainerBuilder {
         private final Set<RpcDefinition> rpcs = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
         private final Set<Deviation> deviations = new HashSet<>();
         private final Set<DataSchemaNode> childNodes = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
+        private DataSchemaNodeIndex childIndex = DataSchemaNodeIndex.empty();
         private final Set<GroupingDefinition> groupings = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
         private final Set<UsesNode> uses = new HashSet<>();
         private final List<ExtensionDefinition> extensionNodes = new ArrayList<>();
@@ -1111,6 +1116,7 @@ public class ModuleBuilder extends AbstractDataNodeContainerBuilder {
         private void addChildNodes(Set<DataSchemaNode> childNodes) {
             if (childNodes != null) {
                 this.childNodes.addAll(childNodes);
+                this.childIndex = DataSchemaNodeIndex.create(this.childNodes);
             }
         }
 
@@ -1172,12 +1178,12 @@ public class ModuleBuilder extends AbstractDataNodeContainerBuilder {
 
         @Override
         public DataSchemaNode getDataChildByName(QName name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         @Override
         public DataSchemaNode getDataChildByName(String name) {
-            return getChildNode(childNodes, name);
+            return childIndex.get(name);
         }
 
         void setSource(String source){
@@ -11,6 +11,7 @@ package org.opendaylight.yangtools.yang.parser.builder.impl;
 import com.google.common.base.Optional;
 import org.opendaylight.yangtools.yang.model.api.ModuleIdentifier;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.Date;
 
@@ -21,7 +22,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Name is only non-null attribute.
  * Equality check on namespace and revision is only triggered if they are non-null
  */
-public class ModuleIdentifierImpl implements ModuleIdentifier {
+public class ModuleIdentifierImpl implements ModuleIdentifier, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
     private final Optional<URI> namespace;
     private final Optional<Date> revision;
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -184,7 +185,9 @@ public final class RpcDefinitionBuilder extends AbstractSchemaNodeBuilder {
         return "rpc " + qname.getLocalName();
     }
 
-    private static final class RpcDefinitionImpl implements RpcDefinition {
+    private static final class RpcDefinitionImpl implements RpcDefinition, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private final SchemaPath path;
         private String description;
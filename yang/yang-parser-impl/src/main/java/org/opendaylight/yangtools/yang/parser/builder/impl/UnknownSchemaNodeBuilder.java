@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.builder.impl;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -219,7 +220,9 @@ public final class UnknownSchemaNodeBuilder extends AbstractSchemaNodeBuilder {
         return sb.toString();
     }
 
-    private static final class UnknownSchemaNodeImpl implements UnknownSchemaNode {
+    private static final class UnknownSchemaNodeImpl implements UnknownSchemaNode, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final QName qname;
         private final SchemaPath path;
         private ExtensionDefinition extension;
@@ -8,6 +8,12 @@
 package org.opendaylight.yangtools.yang.parser.impl;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ListMultimap;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.ConstraintDefinition;
@@ -26,77 +32,160 @@ import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.UsesNode;
 import org.opendaylight.yangtools.yang.parser.util.ModuleDependencySort;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 
-final class SchemaContextImpl implements SchemaContext {
+/**
+ * Schema context backed by a set of modules. Module and top-level node lookups
+ * are served from indexes, which are built when the context is created, as
+ * modules are immutable.
+ */
+final class SchemaContextImpl implements SchemaContext, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Orders modules by revision, newest first. Modules without revision come last.
+     */
+    private static final Comparator<Module> REVISION_DESCENDING = new Comparator<Module>() {
+        @Override
+        public int compare(final Module o1, final Module o2) {
+            final Date r1 = o1.getRevision();
+            final Date r2 = o2.getRevision();
+            if (r1 == null) {
+                return r2 == null ? 0 : 1;
+            }
+            if (r2 == null) {
+                return -1;
+            }
+            return r2.compareTo(r1);
+        }
+    };
+
     private final Set<Module> modules;
     private final Map<ModuleIdentifier, String> identifiersToSources;
-
-    SchemaContextImpl(final Set<Module> modules, Map<ModuleIdentifier, String> identifiersToSources) {
-        this.modules = modules;
+    private final ListMultimap<String, Module> nameToModules;
+    private final ImmutableSetMultimap<URI, Module> namespaceToModules;
+    private final Set<DataSchemaNode> childNodes;
+    private final Map<QName, DataSchemaNode> childNodesByQName;
+    private final Map<String, DataSchemaNode> childNodesByName;
+    private final Set<NotificationDefinition> notifications;
+    private final Set<RpcDefinition> rpcs;
+    private final Set<ExtensionDefinition> extensions;
+    private final Set<GroupingDefinition> groupings;
+    private final Set<TypeDefinition<?>> typeDefinitions;
+    private final List<UnknownSchemaNode> unknownSchemaNodes;
+
+    /*
+     * Sorting fails on unresolved imports, so it is done on first request only,
+     * not to break contexts which are never asked for sorted modules.
+     */
+    private volatile Set<Module> sortedModules;
+
+    SchemaContextImpl(final Set<Module> modules, final Map<ModuleIdentifier, String> identifiersToSources) {
+        this.modules = ImmutableSet.copyOf(modules);
         this.identifiersToSources = identifiersToSources;
+
+        final List<Module> byRevision = new ArrayList<>(this.modules);
+        Collections.sort(byRevision, REVISION_DESCENDING);
+        final ImmutableListMultimap.Builder<String, Module> nameBuilder = ImmutableListMultimap.builder();
+        // Per-namespace sets are built here once and handed out as they are
+        final ImmutableSetMultimap.Builder<URI, Module> nsBuilder = ImmutableSetMultimap.builder();
+        for (Module module : byRevision) {
+            nameBuilder.put(module.getName(), module);
+            nsBuilder.put(module.getNamespace(), module);
+        }
+        nameToModules = nameBuilder.build();
+        namespaceToModules = nsBuilder.build();
+
+        final Set<DataSchemaNode> childNodes = new LinkedHashSet<>();
+        final Map<QName, DataSchemaNode> childNodesByQName = new HashMap<>();
+        final Map<String, DataSchemaNode> childNodesByName = new HashMap<>();
+        final Set<NotificationDefinition> notifications = new LinkedHashSet<>();
+        final Set<RpcDefinition> rpcs = new LinkedHashSet<>();
+        final Set<ExtensionDefinition> extensions = new LinkedHashSet<>();
+        final Set<GroupingDefinition> groupings = new LinkedHashSet<>();
+        final Set<TypeDefinition<?>> typeDefinitions = new LinkedHashSet<>();
+        final List<UnknownSchemaNode> unknownSchemaNodes = new ArrayList<>();
+        for (Module module : this.modules) {
+            for (DataSchemaNode child : module.getChildNodes()) {
+                childNodes.add(child);
+                // First module wins, as it did when modules were searched one by one
+                if (!childNodesByQName.containsKey(child.getQName())) {
+                    childNodesByQName.put(child.getQName(), child);
+                }
+                if (!childNodesByName.containsKey(child.getQName().getLocalName())) {
+                    childNodesByName.put(child.getQName().getLocalName(), child);
+                }
+            }
+            notifications.addAll(module.getNotifications());
+            rpcs.addAll(module.getRpcs());
+            extensions.addAll(module.getExtensionSchemaNodes());
+            groupings.addAll(module.getGroupings());
+            typeDefinitions.addAll(module.getTypeDefinitions());
+            unknownSchemaNodes.addAll(module.getUnknownSchemaNodes());
+        }
+
+        this.childNodes = Collections.unmodifiableSet(childNodes);
+        this.childNodesByQName = ImmutableMap.copyOf(childNodesByQName);
+        this.childNodesByName = ImmutableMap.copyOf(childNodesByName);
+        this.notifications = Collections.unmodifiableSet(notifications);
+        this.rpcs = Collections.unmodifiableSet(rpcs);
+        this.extensions = Collections.unmodifiableSet(extensions);
+        this.groupings = Collections.unmodifiableSet(groupings);
+        this.typeDefinitions = Collections.unmodifiableSet(typeDefinitions);
+        this.unknownSchemaNodes = Collections.unmodifiableList(unknownSchemaNodes);
     }
 
     @Override
     public Set<DataSchemaNode> getDataDefinitions() {
-        final Set<DataSchemaNode> dataDefs = new HashSet<DataSchemaNode>();
-        for (Module m : modules) {
-            dataDefs.addAll(m.getChildNodes());
-        }
-        return dataDefs;
+        return childNodes;
     }
 
     @Override
     public Set<Module> getModules() {
-        List<Module> sorted = ModuleDependencySort.sort(modules.toArray(new Module[modules.size()]));
-        return new LinkedHashSet<Module>(sorted);
+        Set<Module> ret = sortedModules;
+        if (ret == null) {
+            List<Module> sorted = ModuleDependencySort.sort(modules.toArray(new Module[modules.size()]));
+            ret = Collections.unmodifiableSet(new LinkedHashSet<Module>(sorted));
+            sortedModules = ret;
+        }
+        return ret;
     }
 
     @Override
     public Set<NotificationDefinition> getNotifications() {
-        final Set<NotificationDefinition> notifications = new HashSet<NotificationDefinition>();
-        for (Module m : modules) {
-            notifications.addAll(m.getNotifications());
-        }
         return notifications;
     }
 
     @Override
     public Set<RpcDefinition> getOperations() {
-        final Set<RpcDefinition> rpcs = new HashSet<RpcDefinition>();
-        for (Module m : modules) {
-            rpcs.addAll(m.getRpcs());
-        }
         return rpcs;
     }
 
     @Override
     public Set<ExtensionDefinition> getExtensions() {
-        final Set<ExtensionDefinition> extensions = new HashSet<ExtensionDefinition>();
-        for (Module m : modules) {
-            extensions.addAll(m.getExtensionSchemaNodes());
-        }
         return extensions;
     }
 
     @Override
     public Module findModuleByName(final String name, final Date revision) {
         if (name != null) {
-            for (final Module module : modules) {
-                if (revision == null) {
-                    if (module.getName().equals(name)) {
-                        return module;
-                    }
-                } else if (module.getName().equals(name) && module.getRevision().equals(revision)) {
+            final List<Module> candidates = nameToModules.get(name);
+            // Without revision the newest one is returned, like findModuleByNamespaceAndRevision() does
+            if (revision == null) {
+                return candidates.isEmpty() ? null : candidates.get(0);
+            }
+            for (final Module module : candidates) {
+                if (revision.equals(module.getRevision())) {
                     return module;
                 }
             }
@@ -106,36 +195,22 @@ final class SchemaContextImpl implements SchemaContext {
 
     @Override
     public Set<Module> findModuleByNamespace(final URI namespace) {
-        final Set<Module> ret = new HashSet<Module>();
-        if (namespace != null) {
-            for (final Module module : modules) {
-                if (module.getNamespace().equals(namespace)) {
-                    ret.add(module);
-                }
-            }
+        if (namespace == null) {
+            return Collections.emptySet();
         }
-        return ret;
+        return namespaceToModules.get(namespace);
     }
 
     @Override
-    public Module findModuleByNamespaceAndRevision(URI namespace, Date revision) {
+    public Module findModuleByNamespaceAndRevision(final URI namespace, final Date revision) {
         if (namespace != null) {
-            Set<Module> modules = findModuleByNamespace(namespace);
-
+            final Set<Module> candidates = namespaceToModules.get(namespace);
             if (revision == null) {
-                TreeMap<Date, Module> map = new TreeMap<Date, Module>();
-                for (Module module : modules) {
-                    map.put(module.getRevision(), module);
-                }
-                if (map.isEmpty()) {
-                    return null;
-                }
-                return map.lastEntry().getValue();
-            } else {
-                for (Module module : modules) {
-                    if (module.getRevision().equals(revision)) {
-                        return(module);
-                    }
+                return Iterables.getFirst(candidates, null);
+            }
+            for (Module module : candidates) {
+                if (revision.equals(module.getRevision())) {
+                    return module;
                 }
             }
         }
@@ -189,62 +264,32 @@ final class SchemaContextImpl implements SchemaContext {
 
     @Override
     public List<UnknownSchemaNode> getUnknownSchemaNodes() {
-        final List<UnknownSchemaNode> result = new ArrayList<>();
-        for (Module module : modules) {
-            result.addAll(module.getUnknownSchemaNodes());
-        }
-        return Collections.unmodifiableList(result);
+        return unknownSchemaNodes;
     }
 
     @Override
     public Set<TypeDefinition<?>> getTypeDefinitions() {
-        final Set<TypeDefinition<?>> result = new LinkedHashSet<>();
-        for (Module module : modules) {
-            result.addAll(module.getTypeDefinitions());
-        }
-        return Collections.unmodifiableSet(result);
+        return typeDefinitions;
     }
 
     @Override
     public Set<DataSchemaNode> getChildNodes() {
-        final Set<DataSchemaNode> result = new LinkedHashSet<>();
-        for (Module module : modules) {
-            result.addAll(module.getChildNodes());
-        }
-        return Collections.unmodifiableSet(result);
+        return childNodes;
     }
 
     @Override
     public Set<GroupingDefinition> getGroupings() {
-        final Set<GroupingDefinition> result = new LinkedHashSet<>();
-        for (Module module : modules) {
-            result.addAll(module.getGroupings());
-        }
-        return Collections.unmodifiableSet(result);
+        return groupings;
     }
 
     @Override
     public DataSchemaNode getDataChildByName(QName name) {
-        DataSchemaNode result = null;
-        for (Module module : modules) {
-            result = module.getDataChildByName(name);
-            if (result != null) {
-                break;
-            }
-        }
-        return result;
+        return childNodesByQName.get(name);
     }
 
     @Override
     public DataSchemaNode getDataChildByName(String name) {
-        DataSchemaNode result = null;
-        for (Module module : modules) {
-            result = module.getDataChildByName(name);
-            if (result != null) {
-                break;
-            }
-        }
-        return result;
+        return childNodesByName.get(name);
     }
 
     @Override
@@ -273,4 +318,28 @@ final class SchemaContextImpl implements SchemaContext {
         String maybeSource = identifiersToSources.get(moduleIdentifier);
         return Optional.fromNullable(maybeSource);
     }
+
+    /*
+     * Only modules and sources are serialized, the indexes are rebuilt when
+     * the context is read back.
+     */
+    private Object writeReplace() {
+        return new Proxy(modules, new HashMap<>(identifiersToSources));
+    }
+
+    private static final class Proxy implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Set<Module> modules;
+        private final Map<ModuleIdentifier, String> identifiersToSources;
+
+        Proxy(final Set<Module> modules, final Map<ModuleIdentifier, String> identifiersToSources) {
+            this.modules = modules;
+            this.identifiersToSources = identifiersToSources;
+        }
+
+        private Object readResolve() {
+            return new SchemaContextImpl(modules, identifiersToSources);
+        }
+    }
 }
@@ -79,6 +79,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.opendaylight.yangtools.yang.parser.util.ParserUtils.fillAugmentTarget;
@@ -106,6 +110,31 @@ public final class YangParserImpl implements YangModelParser {
 
     private static final String FAIL_DEVIATION_TARGET = "Failed to find deviation target.";
 
+    private final ExecutorService parseExecutor;
+
+    /**
+     * Creates a parser which lexes, parses and walks all sources sequentially
+     * on the calling thread.
+     */
+    public YangParserImpl() {
+        this.parseExecutor = null;
+    }
+
+    /**
+     * Creates a parser which lexes, parses, validates and walks each source
+     * as an independent task on supplied executor. Resolution of the parsed
+     * module builders is still performed on the calling thread, in the same
+     * order as in sequential mode. Supplied executor is not shut down by this
+     * parser.
+     *
+     * @param parseExecutor
+     *            executor used to parse sources, may be a
+     *            {@link java.util.concurrent.ForkJoinPool}
+     */
+    public YangParserImpl(final ExecutorService parseExecutor) {
+        this.parseExecutor = checkNotNull(parseExecutor, "Parse executor cannot be null");
+    }
+
     @Override
     public Set<Module> parseYangModels(final File yangFile, final File directory) {
         Preconditions.checkState(yangFile.exists(), yangFile + " does not exists");
@@ -356,6 +385,10 @@ public final class YangParserImpl implements YangModelParser {
     // FIXME: streamToBuilderMap is output of this method, not input
     private Map<InputStream, ModuleBuilder> parseBuilders(List<InputStream> inputStreams,
             Map<ModuleBuilder, InputStream> streamToBuilderMap) {
+        if (parseExecutor != null) {
+            return parseBuildersConcurrently(inputStreams, streamToBuilderMap);
+        }
+
         final ParseTreeWalker walker = new ParseTreeWalker();
         final Map<InputStream, ParseTree> trees = parseStreams(inputStreams);
         final Map<InputStream, ModuleBuilder> builders = new LinkedHashMap<>();
@@ -363,16 +396,8 @@ public final class YangParserImpl implements YangModelParser {
         // validate yang
         new YangModelBasicValidator(walker).validate(new ArrayList<>(trees.values()));
 
-        YangParserListenerImpl yangModelParser;
         for (Map.Entry<InputStream, ParseTree> entry : trees.entrySet()) {
-            InputStream is = entry.getKey();
-            String path = null;
-            if (is instanceof NamedInputStream) {
-                path = is.toString();
-            }
-            yangModelParser = new YangParserListenerImpl(path);
-            walker.walk(yangModelParser, entry.getValue());
-            ModuleBuilder moduleBuilder = yangModelParser.getModuleBuilder();
+            ModuleBuilder moduleBuilder = buildModuleBuilder(walker, entry.getKey(), entry.getValue());
 
             // We expect the order of trees and streams has to be the same
             // FIXME: input parameters should be treated as immutable
@@ -384,6 +409,71 @@ public final class YangParserImpl implements YangModelParser {
         return builders;
     }
 
+    /**
+     * Parses, validates and walks every stream as a separate task on
+     * {@link #parseExecutor}. Results are collected in the order of input
+     * streams, so subsequent resolution does not depend on task scheduling.
+     */
+    private Map<InputStream, ModuleBuilder> parseBuildersConcurrently(List<InputStream> inputStreams,
+            Map<ModuleBuilder, InputStream> streamToBuilderMap) {
+        final Map<InputStream, Future<ModuleBuilder>> futures = new LinkedHashMap<>();
+        for (final InputStream is : inputStreams) {
+            futures.put(is, parseExecutor.submit(new Callable<ModuleBuilder>() {
+                @Override
+                public ModuleBuilder call() {
+                    final ParseTreeWalker walker = new ParseTreeWalker();
+                    final ParseTree tree = parseStream(is);
+                    new YangModelBasicValidator(walker).validate(Collections.singletonList(tree));
+                    return buildModuleBuilder(walker, is, tree);
+                }
+            }));
+        }
+
+        final Map<InputStream, ModuleBuilder> builders = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<InputStream, Future<ModuleBuilder>> entry : futures.entrySet()) {
+                final ModuleBuilder moduleBuilder = getParseResult(entry.getKey(), entry.getValue());
+                // FIXME: input parameters should be treated as immutable
+                streamToBuilderMap.put(moduleBuilder, entry.getKey());
+                builders.put(entry.getKey(), moduleBuilder);
+            }
+        } finally {
+            for (Future<ModuleBuilder> future : futures.values()) {
+                future.cancel(true);
+            }
+        }
+        return builders;
+    }
+
+    private static ModuleBuilder getParseResult(final InputStream is, final Future<ModuleBuilder> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new YangParseException("Interrupted while parsing " + is, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new YangParseException("Failed to parse " + is, (Exception) cause);
+        }
+    }
+
+    private static ModuleBuilder buildModuleBuilder(final ParseTreeWalker walker, final InputStream is,
+            final ParseTree tree) {
+        String path = null;
+        if (is instanceof NamedInputStream) {
+            path = is.toString();
+        }
+        final YangParserListenerImpl yangModelParser = new YangParserListenerImpl(path);
+        walker.walk(yangModelParser, tree);
+        return yangModelParser.getModuleBuilder();
+    }
+
     private Map<InputStream, ModuleBuilder> resolveSubmodules(Map<InputStream, ModuleBuilder> builders) {
         Map<InputStream, ModuleBuilder> modules = new HashMap<>();
         Set<ModuleBuilder> submodules = new HashSet<>();
@@ -553,7 +643,7 @@ public final class YangParserImpl implements YangModelParser {
         return trees;
     }
 
-    private ParseTree parseStream(final InputStream yangStream) {
+    private static ParseTree parseStream(final InputStream yangStream) {
         ParseTree result = null;
         try {
             final ANTLRInputStream input = new ANTLRInputStream(yangStream);
@@ -854,7 +944,7 @@ public final class YangParserImpl implements YangModelParser {
                 newPath.add(new QName(ns, rev, localPrefix, qn.getLocalName()));
             }
         }
-        augment.setTargetNodeSchemaPath(new SchemaPath(newPath, true));
+        augment.setTargetNodeSchemaPath(SchemaPath.create(newPath, true));
 
         for (DataSchemaNodeBuilder childNode : augment.getChildNodeBuilders()) {
             correctPathForAugmentNodes(childNode, augment.getTargetNodeSchemaPath());
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilenameFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangModelParser;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Filesystem cache of resolved schema contexts.
+ *
+ * A context resolved from a set of YANG files is stored in binary form in the
+ * cache directory, under a key computed from contents of the files. When files
+ * with the same contents are resolved again, for example after a restart, the
+ * context is loaded from the cache instead of being parsed. As the location of
+ * the files is not part of the key, source paths reported by modules of a loaded
+ * context are those of the files the context was first resolved from.
+ *
+ * The cache keeps a bounded number of contexts. When a context is stored and the
+ * bound is exceeded, the least recently used contexts are removed.
+ *
+ * Cache files carry a format version and a digest of their content, which are
+ * checked before the content is read. A cache file, which fails the check or
+ * cannot be read, is removed and the context is parsed from the sources.
+ */
+public final class FilesystemSchemaContextCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FilesystemSchemaContextCache.class);
+
+    private static final int MAGIC = 0x59534343;
+    /**
+     * Version of the cache format. It needs to be bumped whenever serialized form
+     * of schema nodes changes incompatibly.
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+    private static final int DIGEST_LENGTH = 20;
+    private static final int HEADER_LENGTH = 4 + 4 + 8 + DIGEST_LENGTH;
+    private static final String SUFFIX = ".ctx";
+    private static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final File directory;
+    private final YangModelParser parser;
+    private final int maxEntries;
+
+    public FilesystemSchemaContextCache(final File directory) {
+        this(directory, new YangParserImpl());
+    }
+
+    public FilesystemSchemaContextCache(final File directory, final YangModelParser parser) {
+        this(directory, parser, DEFAULT_MAX_ENTRIES);
+    }
+
+    public FilesystemSchemaContextCache(final File directory, final YangModelParser parser, final int maxEntries) {
+        Preconditions.checkArgument(maxEntries > 0, "Cache has to keep at least one context");
+        this.directory = Preconditions.checkNotNull(directory);
+        this.parser = Preconditions.checkNotNull(parser);
+        this.maxEntries = maxEntries;
+        directory.mkdirs();
+    }
+
+    /**
+     * Get schema context of given YANG files. The context is loaded from the
+     * cache, if it contains a context of the same files. Otherwise the files are
+     * parsed and the resulting context is stored in the cache.
+     *
+     * @param yangFiles
+     *            YANG files
+     * @return schema context of the files
+     */
+    public SchemaContext getSchemaContext(final List<File> yangFiles) {
+        final String key;
+        try {
+            key = computeKey(yangFiles);
+        } catch (IOException e) {
+            LOG.warn("Failed to compute cache key of {}, parsing without cache", yangFiles, e);
+            return parse(yangFiles);
+        }
+
+        final Optional<SchemaContext> cached = load(key);
+        if (cached.isPresent()) {
+            LOG.debug("Loaded schema context of {} from cache", yangFiles);
+            return cached.get();
+        }
+
+        final SchemaContext context = parse(yangFiles);
+        store(key, context);
+        return context;
+    }
+
+    /**
+     * Compute cache key of YANG files. The key depends only on contents of the
+     * files, not on their location or order.
+     *
+     * @param yangFiles
+     *            YANG files
+     * @return cache key
+     * @throws IOException
+     *             if any of the files cannot be read
+     */
+    public static String computeKey(final List<File> yangFiles) throws IOException {
+        final List<String> fileHashes = new ArrayList<>(yangFiles.size());
+        for (File file : yangFiles) {
+            fileHashes.add(Hashing.sha1().hashBytes(Files.readAllBytes(file.toPath())).toString());
+        }
+        Collections.sort(fileHashes);
+
+        final Hasher hasher = Hashing.sha1().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        for (String fileHash : fileHashes) {
+            hasher.putBytes(fileHash.getBytes(StandardCharsets.UTF_8));
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Load schema context stored under given key.
+     *
+     * @param key
+     *            cache key
+     * @return stored schema context, or absent if there is no valid context
+     *         stored under the key
+     */
+    public Optional<SchemaContext> load(final String key) {
+        final File file = toFile(key);
+        if (!file.isFile()) {
+            return Optional.absent();
+        }
+
+        try (FileInputStream in = new FileInputStream(file)) {
+            final FileChannel channel = in.getChannel();
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final Optional<SchemaContext> ret = readContext(buffer);
+            if (ret.isPresent()) {
+                // Modification time orders entries for eviction
+                if (!file.setLastModified(System.currentTimeMillis())) {
+                    LOG.debug("Failed to update access time of cached schema context {}", file);
+                }
+                return ret;
+            }
+            LOG.info("Cached schema context {} is not valid", file);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            LOG.warn("Failed to load cached schema context {}", file, e);
+        }
+
+        if (!file.delete()) {
+            LOG.debug("Failed to remove cached schema context {}", file);
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Store schema context under given key.
+     *
+     * @param key
+     *            cache key
+     * @param context
+     *            schema context to store
+     * @return true if the context was stored
+     */
+    public boolean store(final String key, final SchemaContext context) {
+        File tmp = null;
+        try {
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(payload))) {
+                out.writeObject(context);
+            }
+            final byte[] bytes = payload.toByteArray();
+            final MessageDigest digest = newDigest();
+            digest.update(bytes);
+
+            tmp = File.createTempFile(key, ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(bytes.length);
+                out.write(digest.digest());
+                out.write(bytes);
+            }
+
+            try {
+                Files.move(tmp.toPath(), toFile(key).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), toFile(key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOG.debug("Stored schema context {} ({} bytes)", key, bytes.length);
+            evictEntries();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to store schema context {}", key, e);
+            return false;
+        } finally {
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                LOG.debug("Failed to remove temporary file {}", tmp);
+            }
+        }
+    }
+
+    /*
+     * Remove least recently used contexts above the limit. Files of older cache formats are
+     * never used, so they are removed as they age.
+     */
+    private void evictEntries() {
+        final File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith(SUFFIX);
+            }
+        });
+        if (files == null || files.length <= maxEntries) {
+            return;
+        }
+
+        final long[] lastModified = new long[files.length];
+        final Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; ++i) {
+            lastModified[i] = files[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                return Long.compare(lastModified[o2], lastModified[o1]);
+            }
+        });
+        for (int i = maxEntries; i < order.length; ++i) {
+            final File file = files[order[i]];
+            if (file.delete()) {
+                LOG.debug("Evicted cached schema context {}", file);
+            } else {
+                LOG.debug("Failed to evict cached schema context {}", file);
+            }
+        }
+    }
+
+    private SchemaContext parse(final List<File> yangFiles) {
+        return parser.resolveSchemaContext(parser.parseYangModels(yangFiles));
+    }
+
+    private File toFile(final String key) {
+        return new File(directory, key + SUFFIX);
+    }
+
+    private static Optional<SchemaContext> readContext(final ByteBuffer buffer) throws IOException,
+            ClassNotFoundException {
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return Optional.absent();
+        }
+        final long length = buffer.getLong();
+        final byte[] expected = new byte[DIGEST_LENGTH];
+        buffer.get(expected);
+        if (length != buffer.remaining()) {
+            return Optional.absent();
+        }
+
+        final ByteBuffer payload = buffer.slice();
+        final MessageDigest digest = newDigest();
+        digest.update(payload.duplicate());
+        if (!MessageDigest.isEqual(expected, digest.digest())) {
+            return Optional.absent();
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteBufferInputStream(payload)))) {
+            final Object obj = in.readObject();
+            if (obj instanceof SchemaContext) {
+                return Optional.of((SchemaContext) obj);
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Digest algorithm " + DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -9,20 +9,33 @@ package org.opendaylight.yangtools.yang.parser.impl.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.opendaylight.yangtools.concepts.AbstractObjectRegistration;
 import org.opendaylight.yangtools.concepts.Identifiable;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.concepts.util.ListenerRegistry;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 import org.opendaylight.yangtools.yang.model.util.repo.AdvancedSchemaSourceProvider;
 import org.opendaylight.yangtools.yang.model.util.repo.SourceIdentifier;
 import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
@@ -32,26 +45,140 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
-public class URLSchemaContextResolver implements AdvancedSchemaSourceProvider<InputStream> {
+/**
+ * Schema context resolver which assembles schema context from registered YANG
+ * sources.
+ *
+ * Registering or unregistering a source schedules an update of the schema
+ * context on a dedicated thread. The update is delayed by a batch window, so
+ * that sources registered in quick succession are resolved together. Listeners
+ * are notified each time a new schema context is built.
+ *
+ * When sources are only added, and sources used to build the current context
+ * did not change, modules of the current context are reused and only the added
+ * sources are parsed. Added sources, which may modify existing modules by
+ * augmentations, deviations or identities derived from existing ones, and
+ * removals cause a full rebuild.
+ */
+public class URLSchemaContextResolver implements AdvancedSchemaSourceProvider<InputStream>, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(URLSchemaContextResolver.class);
+    private static final long DEFAULT_BATCH_WINDOW_MILLIS = 100;
+    private static final long UPDATE_THREAD_KEEP_ALIVE_SECONDS = 10;
+    /*
+     * Top-level statements, which may modify modules of the current context. Identities
+     * are added as derived identities of their base identity.
+     */
+    private static final Set<String> CROSS_MODULE_STATEMENTS = ImmutableSet.of("augment", "deviation", "identity");
+
     private final ConcurrentMap<SourceIdentifier, SourceContext> availableSources = new ConcurrentHashMap<>();
+    private final ListenerRegistry<SchemaContextListener> listeners = ListenerRegistry.create();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService updateExecutor;
+    private final boolean ownsExecutor;
+    private final long batchWindowMillis;
+    private volatile boolean closed;
+
+    private final Runnable updateTask = new Runnable() {
+        @Override
+        public void run() {
+            // Reset first, so that sources registered during update schedule another one
+            updateScheduled.set(false);
+            tryToUpdateSchemaContext();
+        }
+    };
 
     private YangSourceContext currentSourceContext;
-    private Optional<SchemaContext> currentSchemaContext = Optional.absent();
+    private Map<SourceIdentifier, HashCode> currentSourceHashes = Collections.emptyMap();
+    private volatile Optional<SchemaContext> currentSchemaContext = Optional.absent();
+
+    public URLSchemaContextResolver() {
+        this(DEFAULT_BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a resolver which batches updates of schema context.
+     *
+     * @param batchWindow
+     *            delay between registration of a source and update of schema
+     *            context, sources registered within this delay are resolved
+     *            together
+     * @param unit
+     *            time unit of batch window
+     */
+    public URLSchemaContextResolver(long batchWindow, TimeUnit unit) {
+        this(newUpdateExecutor(), true, batchWindow, unit);
+    }
+
+    /**
+     * Creates a resolver which batches updates of schema context and runs them
+     * on supplied executor. The executor is not shut down when the resolver is
+     * closed.
+     *
+     * @param updateExecutor
+     *            executor running updates of schema context
+     * @param batchWindow
+     *            delay between registration of a source and update of schema
+     *            context, sources registered within this delay are resolved
+     *            together
+     * @param unit
+     *            time unit of batch window
+     */
+    public URLSchemaContextResolver(ScheduledExecutorService updateExecutor, long batchWindow, TimeUnit unit) {
+        this(updateExecutor, false, batchWindow, unit);
+    }
+
+    private URLSchemaContextResolver(ScheduledExecutorService updateExecutor, boolean ownsExecutor,
+            long batchWindow, TimeUnit unit) {
+        checkArgument(updateExecutor != null, "Update executor must not be null");
+        checkArgument(batchWindow >= 0, "Batch window must not be negative");
+        this.updateExecutor = updateExecutor;
+        this.ownsExecutor = ownsExecutor;
+        this.batchWindowMillis = unit.toMillis(batchWindow);
+    }
+
+    /*
+     * The update thread is started on first update and stops when idle, so that resolvers
+     * which are never closed do not keep a thread.
+     */
+    private static ScheduledExecutorService newUpdateExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("yang-schema-context-update-%d").setDaemon(true).build());
+        executor.setKeepAliveTime(UPDATE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 
     public ObjectRegistration<URL> registerSource(URL source) {
         checkArgument(source != null, "Supplied source must not be null");
-        InputStream yangStream = getInputStream(source);
-        YangModelDependencyInfo modelInfo = YangModelDependencyInfo.fromInputStream(yangStream);
+        YangModelDependencyInfo modelInfo = getDependencyInfo(source);
         SourceIdentifier identifier = SourceIdentifier.create(modelInfo.getName(),
                 Optional.of(modelInfo.getFormattedRevision()));
         SourceContext sourceContext = new SourceContext(source, identifier, modelInfo);
-        availableSources.putIfAbsent(identifier, sourceContext);
+        if (availableSources.putIfAbsent(identifier, sourceContext) == null) {
+            scheduleUpdate();
+        }
         return sourceContext;
     }
 
+    /**
+     * Registers a listener, which is notified each time schema context is
+     * updated. Listeners are invoked on the thread which performed the update.
+     *
+     * @param listener
+     *            listener to be notified
+     * @return registration of the listener
+     */
+    public ListenerRegistration<SchemaContextListener> registerSchemaContextListener(SchemaContextListener listener) {
+        return listeners.register(listener);
+    }
+
     public Optional<SchemaContext> getSchemaContext() {
         return currentSchemaContext;
     }
@@ -71,6 +198,29 @@ public class URLSchemaContextResolver implements AdvancedSchemaSourceProvider<In
         return getSchemaSource(SourceIdentifier.create(name, version));
     }
 
+    /*
+     * Only the header is scanned here, the source is fully parsed when the
+     * schema context is built. Errors in the body of a source are therefore
+     * not detected on registration, they are logged by the schema context
+     * update, which then publishes no context. Sources whose header the
+     * scanner does not understand are fully parsed instead.
+     */
+    private YangModelDependencyInfo getDependencyInfo(URL source) {
+        try (InputStream yangStream = getInputStream(source)) {
+            return YangModelDependencyInfo.fromHeader(yangStream);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Failed to scan header of {}, falling back to full parse", source, e);
+        } catch (IOException e) {
+            LOG.debug("Failed to close {}", source, e);
+        }
+
+        try (InputStream yangStream = getInputStream(source)) {
+            return YangModelDependencyInfo.fromInputStream(yangStream);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Supplied stream: " + source + " is not available", e);
+        }
+    }
+
     private InputStream getInputStream(URL source) {
         InputStream stream;
         try {
@@ -111,7 +261,22 @@ public class URLSchemaContextResolver implements AdvancedSchemaSourceProvider<In
     private void removeSource(SourceContext sourceContext) {
         boolean removed = availableSources.remove(sourceContext.getIdentifier(), sourceContext);
         if(removed) {
-            tryToUpdateSchemaContext();
+            scheduleUpdate();
+        }
+    }
+
+    private void scheduleUpdate() {
+        if (closed) {
+            LOG.debug("Resolver is closed, schema context will not be updated");
+            return;
+        }
+        if (updateScheduled.compareAndSet(false, true)) {
+            try {
+                updateExecutor.schedule(updateTask, batchWindowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Resolver is closed, schema context will not be updated", e);
+                updateScheduled.set(false);
+            }
         }
     }
 
@@ -134,20 +299,132 @@ public class URLSchemaContextResolver implements AdvancedSchemaSourceProvider<In
         }
 
         try {
-            if(currentSourceContext == null || !context.getValidSources().equals(currentSourceContext.getValidSources())) {
-                List<InputStream> streams = YangSourceContext.getValidInputStreams(context, this);
+            Map<SourceIdentifier, byte[]> sources = readValidSources(context);
+            Builder<SourceIdentifier, HashCode> hashes = ImmutableMap.<SourceIdentifier, HashCode> builder();
+            for (Entry<SourceIdentifier, byte[]> entry : sources.entrySet()) {
+                hashes.put(entry.getKey(), Hashing.sha1().hashBytes(entry.getValue()));
+            }
+            Map<SourceIdentifier, HashCode> sourceHashes = hashes.build();
+
+            if (currentSourceContext == null || !sourceHashes.equals(currentSourceHashes)) {
                 YangParserImpl parser = new YangParserImpl();
-                Set<Module> modules = parser.parseYangModelsFromStreams(streams);
+                Set<Module> modules;
+                List<InputStream> addedStreams = getAddedStreams(sources, sourceHashes, actualSources);
+                if (addedStreams != null) {
+                    LOG.debug("Parsing {} added sources with existing schema context", addedStreams.size());
+                    modules = parser.parseYangModelsFromStreams(addedStreams, currentSchemaContext.get());
+                } else {
+                    List<InputStream> streams = new ArrayList<>(sources.size());
+                    for (byte[] source : sources.values()) {
+                        streams.add(new ByteArrayInputStream(source));
+                    }
+                    modules = parser.parseYangModelsFromStreams(streams);
+                }
                 SchemaContext schemaContext = parser.resolveSchemaContext(modules);
                 currentSchemaContext = Optional.of(schemaContext);
                 currentSourceContext = context;
+                currentSourceHashes = sourceHashes;
+                notifyListeners(schemaContext);
                 return currentSchemaContext;
             }
             currentSourceContext = context;
         } catch (Exception e) {
-            LOG.error("Could not create schema context for {} ",context.getValidSources());
+            LOG.error("Could not create schema context for {} ",context.getValidSources(), e);
         }
         return Optional.absent();
     }
 
+    /*
+     * Same selection of sources as YangSourceContext.getValidInputStreams(), sources are read fully
+     * so that their content can be hashed and parsed without reopening them.
+     */
+    private Map<SourceIdentifier, byte[]> readValidSources(YangSourceContext context) throws IOException {
+        final Set<SourceIdentifier> sourcesToLoad = new HashSet<>(context.getValidSources());
+        for (SourceIdentifier source : context.getValidSources()) {
+            if (source.getRevision() != null) {
+                sourcesToLoad.remove(SourceIdentifier.create(source.getName(), Optional.<String> absent()));
+            }
+        }
+
+        Builder<SourceIdentifier, byte[]> ret = ImmutableMap.<SourceIdentifier, byte[]> builder();
+        for (SourceIdentifier identifier : sourcesToLoad) {
+            try (InputStream stream = getSchemaSource(identifier).get()) {
+                ret.put(identifier, ByteStreams.toByteArray(stream));
+            }
+        }
+        return ret.build();
+    }
+
+    /**
+     * Returns streams of sources added since the current schema context was
+     * built, if the current schema context can be extended by them.
+     *
+     * @return streams of added sources, or null if schema context has to be rebuilt from all sources
+     */
+    private List<InputStream> getAddedStreams(Map<SourceIdentifier, byte[]> sources,
+            Map<SourceIdentifier, HashCode> sourceHashes, Map<SourceIdentifier, SourceContext> actualSources) {
+        if (!currentSchemaContext.isPresent() || currentSourceHashes.isEmpty()) {
+            return null;
+        }
+        for (Entry<SourceIdentifier, HashCode> entry : currentSourceHashes.entrySet()) {
+            if (!entry.getValue().equals(sourceHashes.get(entry.getKey()))) {
+                // Source was removed or changed
+                return null;
+            }
+        }
+
+        List<InputStream> ret = new ArrayList<>();
+        for (Entry<SourceIdentifier, byte[]> entry : sources.entrySet()) {
+            if (currentSourceHashes.containsKey(entry.getKey())) {
+                continue;
+            }
+            SourceContext sourceContext = actualSources.get(entry.getKey());
+            if (sourceContext == null
+                    || !(sourceContext.getDependencyInfo() instanceof YangModelDependencyInfo.ModuleDependencyInfo)) {
+                // Submodules change modules they belong to
+                return null;
+            }
+            if (modifiesOtherModules(entry.getValue())) {
+                return null;
+            }
+            ret.add(new ByteArrayInputStream(entry.getValue()));
+        }
+        return ret;
+    }
+
+    /*
+     * Parsing against the current context must not modify its modules, as they are shared with
+     * listeners of the current context.
+     */
+    private static boolean modifiesOtherModules(byte[] source) {
+        try {
+            Set<String> statements = YangModelDependencyInfo.scanBodyStatements(new ByteArrayInputStream(source));
+            return !Collections.disjoint(statements, CROSS_MODULE_STATEMENTS);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Failed to scan source, schema context will be rebuilt", e);
+            return true;
+        }
+    }
+
+    private void notifyListeners(SchemaContext schemaContext) {
+        for (ListenerRegistration<SchemaContextListener> registration : listeners) {
+            try {
+                registration.getInstance().onGlobalContextUpdated(schemaContext);
+            } catch (RuntimeException e) {
+                LOG.warn("Schema context listener {} failed", registration.getInstance(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops scheduling updates of schema context. Schema context can still be
+     * updated by {@link #tryToUpdateSchemaContext()}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownsExecutor) {
+            updateExecutor.shutdownNow();
+        }
+    }
 }
@@ -10,7 +10,11 @@ package org.opendaylight.yangtools.yang.parser.impl.util;
 import static org.opendaylight.yangtools.yang.parser.util.ParserListenerUtils.getArgumentString;
 import static org.opendaylight.yangtools.yang.parser.util.ParserListenerUtils.getFirstContext;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.Date;
 import java.util.List;
 
@@ -27,6 +31,7 @@ import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.ModuleImport;
 import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSet;
 
@@ -113,6 +118,49 @@ public abstract class YangModelDependencyInfo {
         throw new IllegalArgumentException("Supplied stream is not valid yang file.");
     }
 
+    /**
+     * Extracts dependency information by scanning only the header of the
+     * supplied YANG source. Scanning works on a token level and stops at the
+     * first body statement, so the body of the module is neither read nor
+     * parsed. Unlike {@link #fromInputStream(InputStream)} this method does not
+     * validate the source.
+     *
+     * @param yangStream stream containing YANG source, encoded in UTF-8
+     * @return dependency information of the module or submodule
+     * @throws IllegalArgumentException if the header of the source could not be scanned
+     */
+    public static YangModelDependencyInfo fromHeader(InputStream yangStream) {
+        final HeaderScanner scanner = new HeaderScanner(new BufferedReader(new InputStreamReader(yangStream,
+                Charsets.UTF_8)));
+        try {
+            return scanner.scan();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read yang source", e);
+        }
+    }
+
+    /**
+     * Scans keywords of top-level body statements of the supplied YANG source,
+     * such as container, augment or identity. Like
+     * {@link #fromHeader(InputStream)}, the source is scanned on a token level,
+     * so that keywords within strings and comments are not reported, and is not
+     * validated.
+     *
+     * @param yangStream stream containing YANG source, encoded in UTF-8
+     * @return keywords of top-level body statements
+     * @throws IllegalArgumentException if the source could not be scanned
+     */
+    static ImmutableSet<String> scanBodyStatements(InputStream yangStream) {
+        final HeaderScanner scanner = new HeaderScanner(new BufferedReader(new InputStreamReader(yangStream,
+                Charsets.UTF_8)));
+        try {
+            scanner.scanHeader();
+            return scanner.scanBody();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read yang source", e);
+        }
+    }
+
     private static YangModelDependencyInfo fromModuleContext(Module_stmtContext module) {
         String name = getArgumentString(module);
         // String prefix =
@@ -214,6 +262,359 @@ public abstract class YangModelDependencyInfo {
 
     }
 
+    /**
+     * Scanner of header, linkage, meta and revision statements of a YANG
+     * module or submodule. These have to precede all body statements, hence
+     * scanning stops at the first statement it does not recognize.
+     */
+    private static final class HeaderScanner {
+
+        private enum TokenType {
+            STRING, SEMICOLON, LEFT_BRACE, RIGHT_BRACE
+        }
+
+        private final Reader in;
+        private int lookahead = -2;
+        private int pushedBack = -2;
+        private TokenType tokenType;
+        private String tokenText;
+
+        private String name;
+        private String namespace;
+        private String belongsTo;
+        private String latestRevision;
+        private final ImmutableSet.Builder<ModuleImport> imports = ImmutableSet.builder();
+        private final ImmutableSet.Builder<ModuleImport> includes = ImmutableSet.builder();
+
+        HeaderScanner(Reader in) {
+            this.in = in;
+        }
+
+        YangModelDependencyInfo scan() throws IOException {
+            if (scanHeader()) {
+                checkFound(belongsTo, "belongs-to");
+                return new SubmoduleDependencyInfo(name, latestRevision, belongsTo, imports.build(), includes.build());
+            }
+            checkFound(namespace, "namespace");
+            return new ModuleDependencyInfo(name, latestRevision, namespace, imports.build(), includes.build());
+        }
+
+        /**
+         * Scans statements up to the first body statement.
+         *
+         * @return true if the source is a submodule
+         */
+        boolean scanHeader() throws IOException {
+            final String keyword = nextArgument();
+            final boolean submodule;
+            switch (keyword) {
+            case "module":
+                submodule = false;
+                break;
+            case "submodule":
+                submodule = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Supplied stream is not valid yang file.");
+            }
+            name = nextArgument();
+            expect(TokenType.LEFT_BRACE);
+
+            while (nextToken() && tokenType == TokenType.STRING && scanStatement(tokenText)) {
+                // Continue until the first body statement
+            }
+            return submodule;
+        }
+
+        /**
+         * Scans the remaining top-level statements, after {@link #scanHeader()}
+         * stopped at the first body statement.
+         *
+         * @return keywords of the statements
+         */
+        ImmutableSet<String> scanBody() throws IOException {
+            final ImmutableSet.Builder<String> ret = ImmutableSet.builder();
+            while (tokenType == TokenType.STRING) {
+                ret.add(tokenText);
+                skipStatement();
+                expectToken();
+            }
+            checkToken(TokenType.RIGHT_BRACE);
+            return ret.build();
+        }
+
+        /**
+         * Scans a top-level statement.
+         *
+         * @return false if the statement is not part of the header
+         */
+        private boolean scanStatement(String keyword) throws IOException {
+            switch (keyword) {
+            case "namespace":
+                namespace = nextArgument();
+                skipStatementEnd();
+                return true;
+            case "belongs-to":
+                belongsTo = nextArgument();
+                skipStatementEnd();
+                return true;
+            case "import":
+                imports.add(scanLinkage());
+                return true;
+            case "include":
+                includes.add(scanLinkage());
+                return true;
+            case "revision":
+                final String revision = nextArgument();
+                if (latestRevision == null || latestRevision.compareTo(revision) < 0) {
+                    latestRevision = revision;
+                }
+                skipStatementEnd();
+                return true;
+            case "yang-version":
+            case "prefix":
+            case "organization":
+            case "contact":
+            case "description":
+            case "reference":
+                nextArgument();
+                skipStatementEnd();
+                return true;
+            default:
+                if (keyword.indexOf(':') != -1) {
+                    // Extension statement, these may appear anywhere
+                    skipStatement();
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        private ModuleImport scanLinkage() throws IOException {
+            final String moduleName = nextArgument();
+            Date revision = null;
+            expectToken();
+            if (tokenType == TokenType.LEFT_BRACE) {
+                while (true) {
+                    expectToken();
+                    if (tokenType == TokenType.RIGHT_BRACE) {
+                        break;
+                    }
+                    checkToken(TokenType.STRING);
+                    if ("revision-date".equals(tokenText)) {
+                        revision = QName.parseRevision(nextArgument());
+                        skipStatementEnd();
+                    } else {
+                        skipStatement();
+                    }
+                }
+            } else {
+                checkToken(TokenType.SEMICOLON);
+            }
+            return new ModuleImportImpl(moduleName, revision);
+        }
+
+        /*
+         * Skips optional argument and the end of a statement.
+         */
+        private void skipStatement() throws IOException {
+            expectToken();
+            if (tokenType == TokenType.STRING) {
+                expectToken();
+            }
+            skipCurrentStatementEnd();
+        }
+
+        private void skipStatementEnd() throws IOException {
+            expectToken();
+            skipCurrentStatementEnd();
+        }
+
+        private void skipCurrentStatementEnd() throws IOException {
+            if (tokenType == TokenType.SEMICOLON) {
+                return;
+            }
+            checkToken(TokenType.LEFT_BRACE);
+            int depth = 1;
+            while (depth > 0) {
+                expectToken();
+                if (tokenType == TokenType.LEFT_BRACE) {
+                    depth++;
+                } else if (tokenType == TokenType.RIGHT_BRACE) {
+                    depth--;
+                }
+            }
+        }
+
+        private String nextArgument() throws IOException {
+            expect(TokenType.STRING);
+            return tokenText;
+        }
+
+        private void expect(TokenType type) throws IOException {
+            expectToken();
+            checkToken(type);
+        }
+
+        private void expectToken() throws IOException {
+            if (!nextToken()) {
+                throw new IllegalArgumentException("Unexpected end of yang source " + name);
+            }
+        }
+
+        private void checkToken(TokenType type) {
+            if (tokenType != type) {
+                throw new IllegalArgumentException("Unexpected token " + tokenText + " in yang source " + name
+                        + ", expected " + type);
+            }
+        }
+
+        private static void checkFound(String value, String statement) {
+            if (value == null) {
+                throw new IllegalArgumentException("Statement " + statement + " not found in header");
+            }
+        }
+
+        /**
+         * Reads next token.
+         *
+         * @return false at the end of input
+         */
+        private boolean nextToken() throws IOException {
+            skipSeparators();
+            final int c = readChar();
+            switch (c) {
+            case -1:
+                return false;
+            case ';':
+                setToken(TokenType.SEMICOLON, ";");
+                return true;
+            case '{':
+                setToken(TokenType.LEFT_BRACE, "{");
+                return true;
+            case '}':
+                setToken(TokenType.RIGHT_BRACE, "}");
+                return true;
+            case '"':
+            case '\'':
+                final StringBuilder sb = new StringBuilder();
+                readQuoted(c, sb);
+                // Quoted strings may be concatenated with '+'
+                skipSeparators();
+                while (peekChar() == '+') {
+                    readChar();
+                    skipSeparators();
+                    final int quote = readChar();
+                    if (quote != '"' && quote != '\'') {
+                        throw new IllegalArgumentException("Expected quoted string after '+' in yang source " + name);
+                    }
+                    readQuoted(quote, sb);
+                    skipSeparators();
+                }
+                setToken(TokenType.STRING, sb.toString());
+                return true;
+            default:
+                final StringBuilder unquoted = new StringBuilder();
+                unquoted.append((char) c);
+                while (isUnquotedChar(peekChar())) {
+                    unquoted.append((char) readChar());
+                }
+                setToken(TokenType.STRING, unquoted.toString());
+                return true;
+            }
+        }
+
+        private void setToken(TokenType type, String text) {
+            tokenType = type;
+            tokenText = text;
+        }
+
+        private void readQuoted(int quote, StringBuilder sb) throws IOException {
+            while (true) {
+                int c = readChar();
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated string in yang source " + name);
+                }
+                if (c == quote) {
+                    return;
+                }
+                if (c == '\\' && quote == '"') {
+                    c = readChar();
+                    switch (c) {
+                    case 'n':
+                        sb.append('\n');
+                        continue;
+                    case 't':
+                        sb.append('\t');
+                        continue;
+                    case '"':
+                    case '\\':
+                        break;
+                    default:
+                        sb.append('\\');
+                        break;
+                    }
+                    if (c == -1) {
+                        continue;
+                    }
+                }
+                sb.append((char) c);
+            }
+        }
+
+        /*
+         * Skips whitespace and comments.
+         */
+        private void skipSeparators() throws IOException {
+            while (true) {
+                final int c = peekChar();
+                if (Character.isWhitespace(c)) {
+                    readChar();
+                } else if (c == '/') {
+                    readChar();
+                    final int next = peekChar();
+                    if (next == '/') {
+                        while (peekChar() != '\n' && peekChar() != -1) {
+                            readChar();
+                        }
+                    } else if (next == '*') {
+                        readChar();
+                        int previous = 0;
+                        int current;
+                        while ((current = readChar()) != -1 && !(previous == '*' && current == '/')) {
+                            previous = current;
+                        }
+                    } else {
+                        // Not a comment, but start of an unquoted string
+                        lookahead = '/';
+                        pushedBack = next;
+                        return;
+                    }
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static boolean isUnquotedChar(int c) {
+            return c != -1 && !Character.isWhitespace(c) && c != ';' && c != '{' && c != '}';
+        }
+
+        private int peekChar() throws IOException {
+            if (lookahead == -2) {
+                lookahead = pushedBack == -2 ? in.read() : pushedBack;
+                pushedBack = -2;
+            }
+            return lookahead;
+        }
+
+        private int readChar() throws IOException {
+            final int c = peekChar();
+            lookahead = -2;
+            return c;
+        }
+    }
+
     private static final class ModuleImportImpl implements ModuleImport {
 
         private Date revision;
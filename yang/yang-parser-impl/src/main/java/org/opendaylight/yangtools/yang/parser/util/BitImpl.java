@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.util;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,7 +18,9 @@ import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition.Bit;
 
-final class BitImpl implements BitsTypeDefinition.Bit {
+final class BitImpl implements BitsTypeDefinition.Bit, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final Long position;
     private final QName qname;
     private final SchemaPath schemaPath;
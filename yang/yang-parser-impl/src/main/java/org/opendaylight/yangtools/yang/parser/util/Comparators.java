@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.util;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.Comparator;
 import java.util.Date;
@@ -35,14 +36,18 @@ public final class Comparators {
     private Comparators() {
     }
 
-    private static final class QNameComparator implements Comparator<QName> {
+    private static final class QNameComparator implements Comparator<QName>, Serializable {
+        private static final long serialVersionUID = 1L;
+
         @Override
         public int compare(QName o1, QName o2) {
             return o1.getLocalName().compareTo(o2.getLocalName());
         }
     }
 
-    private static final class SchemaNodeComparator implements Comparator<SchemaNode> {
+    private static final class SchemaNodeComparator implements Comparator<SchemaNode>, Serializable {
+        private static final long serialVersionUID = 1L;
+
         @Override
         public int compare(SchemaNode o1, SchemaNode o2) {
             QName q1 = o1.getQName();
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Immutable index of child nodes of a data node container, keyed by QName and
+ * by local name of the child.
+ *
+ * If more children share the same local name, the first one in iteration order
+ * of the indexed collection is returned, same as when searching the collection.
+ */
+public final class DataSchemaNodeIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final DataSchemaNodeIndex EMPTY = new DataSchemaNodeIndex(
+            ImmutableMap.<QName, DataSchemaNode> of(), ImmutableMap.<String, DataSchemaNode> of());
+
+    private final Map<QName, DataSchemaNode> byQName;
+    private final Map<String, DataSchemaNode> byLocalName;
+
+    private DataSchemaNodeIndex(final Map<QName, DataSchemaNode> byQName, final Map<String, DataSchemaNode> byLocalName) {
+        this.byQName = byQName;
+        this.byLocalName = byLocalName;
+    }
+
+    /**
+     * @return index with no children
+     */
+    public static DataSchemaNodeIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create index of given child nodes.
+     *
+     * @param childNodes child nodes of a container
+     * @return index of child nodes
+     */
+    public static DataSchemaNodeIndex create(final Iterable<DataSchemaNode> childNodes) {
+        final Map<QName, DataSchemaNode> byQName = new HashMap<>();
+        final Map<String, DataSchemaNode> byLocalName = new HashMap<>();
+        for (DataSchemaNode node : childNodes) {
+            final QName qname = node.getQName();
+            if (!byQName.containsKey(qname)) {
+                byQName.put(qname, node);
+            }
+            if (!byLocalName.containsKey(qname.getLocalName())) {
+                byLocalName.put(qname.getLocalName(), node);
+            }
+        }
+        if (byQName.isEmpty()) {
+            return EMPTY;
+        }
+        return new DataSchemaNodeIndex(ImmutableMap.copyOf(byQName), ImmutableMap.copyOf(byLocalName));
+    }
+
+    /**
+     * @param name QName of child node
+     * @return child node with given QName, or null if there is no such child
+     */
+    public DataSchemaNode get(final QName name) {
+        return name == null ? null : byQName.get(name);
+    }
+
+    /**
+     * @param name local name of child node
+     * @return child node with given local name, or null if there is no such child
+     */
+    public DataSchemaNode get(final String name) {
+        return name == null ? null : byLocalName.get(name);
+    }
+}
@@ -7,10 +7,14 @@
  */
 package org.opendaylight.yangtools.yang.parser.util;
 
+import java.io.Serializable;
+
 import org.opendaylight.yangtools.yang.model.api.MustDefinition;
 import org.opendaylight.yangtools.yang.model.api.RevisionAwareXPath;
 
-final class MustDefinitionImpl implements MustDefinition {
+final class MustDefinitionImpl implements MustDefinition, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String mustStr;
     private final String description;
     private final String reference;
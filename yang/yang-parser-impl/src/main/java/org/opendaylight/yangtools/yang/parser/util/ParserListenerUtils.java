@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.parser.util;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.ArrayList;
@@ -291,8 +292,7 @@ public final class ParserListenerUtils {
      * @return SchemaPath object
      */
     public static SchemaPath createActualSchemaPath(final Stack<QName> actualPath) {
-        final List<QName> path = new ArrayList<>(actualPath);
-        return new SchemaPath(path, true);
+        return SchemaPath.create(actualPath, true);
     }
 
     /**
@@ -407,7 +407,9 @@ public final class ParserListenerUtils {
     /**
      * Internal implementation of EnumPair.
      */
-    private static class EnumPairImpl implements EnumTypeDefinition.EnumPair {
+    private static class EnumPairImpl implements EnumTypeDefinition.EnumPair, Serializable {
+        private static final long serialVersionUID = 1L;
+
         private QName qname;
         private SchemaPath path;
         private String description;
@@ -1223,9 +1225,8 @@ public final class ParserListenerUtils {
             return baseType;
         }
 
-        List<QName> path = new ArrayList<>(actualPath);
-        path.add(new QName(namespace, revision, prefix, typeName));
-        SchemaPath schemaPath = new SchemaPath(path, true);
+        SchemaPath schemaPath = SchemaPath.create(actualPath, true).createChild(
+                new QName(namespace, revision, prefix, typeName));
 
         QName qname = schemaPath.getPath().get(schemaPath.getPath().size() - 1);
         ExtendedType.Builder typeBuilder = new ExtendedType.Builder(qname, baseType, "", "", schemaPath);
@@ -1241,25 +1242,18 @@ public final class ParserListenerUtils {
     private static SchemaPath createTypePath(Stack<QName> actual, String typeName) {
         QName last = actual.peek();
         QName typeQName = new QName(last.getNamespace(), last.getRevision(), last.getPrefix(), typeName);
-        List<QName> path = new ArrayList<>(actual);
-        path.add(typeQName);
-        return new SchemaPath(path, true);
+        return SchemaPath.create(actual, true).createChild(typeQName);
     }
 
     private static SchemaPath createBaseTypePath(Stack<QName> actual, String typeName) {
-        List<QName> path = new ArrayList<>(actual);
-        path.add(BaseTypes.constructQName(typeName));
-        return new SchemaPath(path, true);
+        return SchemaPath.create(actual, true).createChild(BaseTypes.constructQName(typeName));
     }
 
     private static SchemaPath createExtendedBaseTypePath(Stack<QName> actual, URI namespace, Date revision,
             String prefix, String typeName) {
         QName extTypeName = new QName(namespace, revision, prefix, typeName);
         QName baseTypeName = BaseTypes.constructQName(typeName);
-        List<QName> path = new ArrayList<>(actual);
-        path.add(extTypeName);
-        path.add(baseTypeName);
-        return new SchemaPath(path, true);
+        return SchemaPath.create(actual, true).createChild(extTypeName).createChild(baseTypeName);
     }
 
     /**
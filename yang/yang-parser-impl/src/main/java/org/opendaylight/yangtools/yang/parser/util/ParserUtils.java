@@ -80,9 +80,7 @@ public final class ParserUtils {
      * @return new SchemaPath from given path and qname
      */
     public static SchemaPath createSchemaPath(SchemaPath schemaPath, QName... qname) {
-        List<QName> path = new ArrayList<>(schemaPath.getPath());
-        path.addAll(Arrays.asList(qname));
-        return new SchemaPath(path, schemaPath.isAbsolute());
+        return schemaPath.createChild(Arrays.asList(qname));
     }
 
     /**
@@ -217,7 +215,7 @@ public final class ParserUtils {
                 path.add(name);
             }
         }
-        return new SchemaPath(path, absolute);
+        return SchemaPath.create(path, absolute);
     }
 
     /**
@@ -538,9 +536,7 @@ public final class ParserUtils {
 
     public static DataSchemaNodeBuilder wrapChildNode(String moduleName, int line, DataSchemaNode node,
             SchemaPath parentPath, QName qname) {
-        List<QName> path = new ArrayList<>(parentPath.getPath());
-        path.add(qname);
-        SchemaPath schemaPath = new SchemaPath(path, parentPath.isAbsolute());
+        SchemaPath schemaPath = parentPath.createChild(qname);
 
         if (node instanceof AnyXmlSchemaNode) {
             return new AnyXmlBuilder(moduleName, line, qname, schemaPath, ((AnyXmlSchemaNode) node));
@@ -567,9 +563,7 @@ public final class ParserUtils {
         Set<GroupingBuilder> result = new HashSet<>();
         for (GroupingDefinition node : nodes) {
             QName qname = new QName(ns, rev, pref, node.getQName().getLocalName());
-            List<QName> path = new ArrayList<>(parentPath.getPath());
-            path.add(qname);
-            SchemaPath schemaPath = new SchemaPath(path, parentPath.isAbsolute());
+            SchemaPath schemaPath = parentPath.createChild(qname);
             result.add(new GroupingBuilderImpl(moduleName, line, qname, schemaPath, node));
         }
         return result;
@@ -581,9 +575,7 @@ public final class ParserUtils {
         Set<TypeDefinitionBuilder> result = new HashSet<>();
         for (TypeDefinition<?> node : nodes) {
             QName qname = new QName(ns, rev, pref, node.getQName().getLocalName());
-            List<QName> path = new ArrayList<>(parentPath.getPath());
-            path.add(qname);
-            SchemaPath schemaPath = new SchemaPath(path, parentPath.isAbsolute());
+            SchemaPath schemaPath = parentPath.createChild(qname);
             result.add(new TypeDefinitionBuilderImpl(moduleName, line, qname, schemaPath, ((ExtendedType) node)));
         }
         return result;
@@ -594,9 +586,7 @@ public final class ParserUtils {
         List<UnknownSchemaNodeBuilder> result = new ArrayList<>();
         for (UnknownSchemaNode node : nodes) {
             QName qname = new QName(ns, rev, pref, node.getQName().getLocalName());
-            List<QName> path = new ArrayList<>(parentPath.getPath());
-            path.add(qname);
-            SchemaPath schemaPath = new SchemaPath(path, parentPath.isAbsolute());
+            SchemaPath schemaPath = parentPath.createChild(qname);
             result.add(new UnknownSchemaNodeBuilder(moduleName, line, qname, schemaPath, node));
         }
         return result;
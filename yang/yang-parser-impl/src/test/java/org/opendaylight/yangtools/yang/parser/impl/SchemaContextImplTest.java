@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleIdentifier;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Stopwatch;
+
+public class SchemaContextImplTest {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaContextImplTest.class);
+    private static final int MODULE_COUNT = 500;
+    private static final Date OLD_REVISION = new Date(1000000000000L);
+    private static final Date NEW_REVISION = new Date(1300000000000L);
+
+    private SchemaContextImpl context;
+
+    @Before
+    public void init() {
+        final Set<Module> modules = new LinkedHashSet<>();
+        for (int i = 0; i < MODULE_COUNT; ++i) {
+            modules.add(mockModule("module" + i, NEW_REVISION));
+        }
+        modules.add(mockModule("module0", OLD_REVISION));
+        context = new SchemaContextImpl(modules, Collections.<ModuleIdentifier, String> emptyMap());
+    }
+
+    @Test
+    public void testFindModuleByName() {
+        assertEquals(NEW_REVISION, context.findModuleByName("module0", null).getRevision());
+        assertEquals(OLD_REVISION, context.findModuleByName("module0", OLD_REVISION).getRevision());
+        assertEquals(NEW_REVISION, context.findModuleByName("module42", NEW_REVISION).getRevision());
+        assertNull(context.findModuleByName("module42", OLD_REVISION));
+        assertNull(context.findModuleByName("unknown", null));
+        assertNull(context.findModuleByName(null, null));
+    }
+
+    @Test
+    public void testFindModuleByNameReturnsNewestRevision() {
+        // Older revision first, so that set iteration order would pick it
+        final Set<Module> modules = new LinkedHashSet<>();
+        modules.add(mockModule("foo", OLD_REVISION));
+        modules.add(mockModule("foo", null));
+        modules.add(mockModule("foo", NEW_REVISION));
+        final SchemaContextImpl fooContext = new SchemaContextImpl(modules,
+                Collections.<ModuleIdentifier, String> emptyMap());
+
+        assertEquals(NEW_REVISION, fooContext.findModuleByName("foo", null).getRevision());
+        assertEquals(NEW_REVISION, fooContext.findModuleByNamespaceAndRevision(namespace("foo"), null).getRevision());
+        assertEquals(OLD_REVISION, fooContext.findModuleByName("foo", OLD_REVISION).getRevision());
+    }
+
+    @Test
+    public void testFindModuleByNamespace() {
+        final URI ns = namespace("module0");
+        assertEquals(2, context.findModuleByNamespace(ns).size());
+        assertSame(context.findModuleByNamespace(ns), context.findModuleByNamespace(ns));
+        assertEquals(NEW_REVISION, context.findModuleByNamespaceAndRevision(ns, null).getRevision());
+        assertEquals(OLD_REVISION, context.findModuleByNamespaceAndRevision(ns, OLD_REVISION).getRevision());
+        assertTrue(context.findModuleByNamespace(URI.create("urn:unknown")).isEmpty());
+        assertNull(context.findModuleByNamespaceAndRevision(null, null));
+    }
+
+    @Test
+    public void testDataChildByName() {
+        final Module module = context.findModuleByName("module7", NEW_REVISION);
+        final DataSchemaNode child = module.getChildNodes().iterator().next();
+        assertSame(child, context.getDataChildByName(child.getQName()));
+        assertSame(child, context.getDataChildByName("module7-data"));
+        assertNull(context.getDataChildByName("unknown"));
+        assertEquals(MODULE_COUNT + 1, context.getChildNodes().size());
+        assertSame(context.getDataDefinitions(), context.getDataDefinitions());
+    }
+
+    @Test
+    public void testModulesSortedOnce() {
+        final Set<Module> sorted = context.getModules();
+        assertEquals(MODULE_COUNT + 1, sorted.size());
+        assertSame(sorted, context.getModules());
+    }
+
+    @Test
+    public void testLookupPerformance() {
+        final Stopwatch watch = new Stopwatch().start();
+        for (int i = 0; i < 100000; ++i) {
+            final String name = "module" + (i % MODULE_COUNT);
+            assertEquals(name, context.findModuleByName(name, null).getName());
+            assertEquals(name, context.findModuleByNamespaceAndRevision(namespace(name), null).getName());
+        }
+        watch.stop();
+        LOG.info("200000 lookups among {} modules took {}", MODULE_COUNT, watch);
+    }
+
+    private static URI namespace(final String name) {
+        return URI.create("urn:opendaylight:" + name);
+    }
+
+    private static Module mockModule(final String name, final Date revision) {
+        final QName qname = new QName(namespace(name), revision, name + "-data");
+        final DataSchemaNode child = mock(DataSchemaNode.class);
+        doReturn(qname).when(child).getQName();
+
+        final Module module = mock(Module.class);
+        doReturn(name).when(module).getName();
+        doReturn(namespace(name)).when(module).getNamespace();
+        doReturn(revision).when(module).getRevision();
+        doReturn(Collections.singleton(child)).when(module).getChildNodes();
+        doReturn(Collections.<ModuleImport> emptySet()).when(module).getImports();
+        return module;
+    }
+}
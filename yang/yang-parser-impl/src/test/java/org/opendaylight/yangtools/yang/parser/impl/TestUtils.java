@@ -121,7 +121,7 @@ final class TestUtils {
         for (String name : names) {
             path.add(new QName(namespace, revision, prefix, name));
         }
-        return new SchemaPath(path, absolute);
+        return SchemaPath.create(path, absolute);
     }
 
     public static Date createDate(String date) {
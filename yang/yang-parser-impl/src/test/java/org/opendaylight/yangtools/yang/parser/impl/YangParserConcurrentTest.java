@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2013 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.parser.util.YangParseException;
+
+public class YangParserConcurrentTest {
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentParseMatchesSequential() throws Exception {
+        final File dir = new File(getClass().getResource("/ietf").toURI());
+        final List<File> files = new ArrayList<>();
+        for (String fileName : dir.list()) {
+            files.add(new File(dir, fileName));
+        }
+        Collections.sort(files);
+
+        final Set<Module> sequential = new YangParserImpl().parseYangModels(files);
+        final Set<Module> concurrent = new YangParserImpl(executor).parseYangModels(files);
+
+        assertEquals(sequential.size(), concurrent.size());
+        for (Module expected : sequential) {
+            final Module actual = findModule(concurrent, expected);
+            assertNotNull(actual);
+            assertEquals(expected.getNamespace(), actual.getNamespace());
+            assertEquals(expected.getChildNodes().size(), actual.getChildNodes().size());
+            assertEquals(expected.getTypeDefinitions().size(), actual.getTypeDefinitions().size());
+        }
+    }
+
+    private static Module findModule(final Set<Module> modules, final Module expected) {
+        for (Module module : modules) {
+            if (module.getName().equals(expected.getName()) && module.getRevision().equals(expected.getRevision())) {
+                return module;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testConcurrentParseFailure() throws Exception {
+        final File yang = new File(getClass().getResource("/negative-scenario/duplicity/container.yang").toURI());
+        try (InputStream stream = new FileInputStream(yang)) {
+            new YangParserImpl(executor).parseYangModelsFromStreams(Collections.singletonList(stream));
+            fail("YangParseException should by thrown");
+        } catch (YangParseException e) {
+            String expected = "Error in module 'container' at line 10: Can not add 'container foo': node with same name 'foo' already declared at line 6.";
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+}
@@ -191,7 +191,7 @@ public class YangParserSimpleTest {
         for (String name : names) {
             path.add(new QName(ns, rev, prefix, name));
         }
-        return new SchemaPath(path, true);
+        return SchemaPath.create(path, true);
     }
 
 }
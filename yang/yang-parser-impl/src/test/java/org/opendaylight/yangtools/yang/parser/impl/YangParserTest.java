@@ -693,7 +693,7 @@ public class YangParserTest {
         List<QName> path = new ArrayList<>();
         path.add(new QName(barNS, barRev, "br", "interfaces"));
         path.add(new QName(barNS, barRev, "br", "ifEntry"));
-        SchemaPath expectedPath = new SchemaPath(path, true);
+        SchemaPath expectedPath = SchemaPath.create(path, true);
 
         assertEquals(expectedPath, dev.getTargetPath());
         assertEquals(Deviate.ADD, dev.getDeviate());
@@ -206,7 +206,7 @@ public class YangParserWithContextTest {
         QName qname = new QName(URI.create("urn:opendaylight.baz"), simpleDateFormat.parse("2013-02-27"), "baz",
                 "target");
         path.add(qname);
-        SchemaPath expectedPath = new SchemaPath(path, true);
+        SchemaPath expectedPath = SchemaPath.create(path, true);
         assertEquals(expectedPath, usesNode.getGroupingPath());
 
         // test refine
@@ -397,7 +397,7 @@ public class YangParserWithContextTest {
         List<QName> path = new ArrayList<>();
         path.add(new QName(expectedNS, expectedRev, "bar", "interfaces"));
         path.add(new QName(expectedNS, expectedRev, "bar", "ifEntry"));
-        SchemaPath expectedPath = new SchemaPath(path, true);
+        SchemaPath expectedPath = SchemaPath.create(path, true);
 
         assertEquals(expectedPath, dev.getTargetPath());
         assertEquals(Deviate.ADD, dev.getDeviate());
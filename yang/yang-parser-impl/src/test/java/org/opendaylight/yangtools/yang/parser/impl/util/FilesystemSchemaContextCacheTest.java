@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.impl.TestUtils;
+import org.opendaylight.yangtools.yang.parser.impl.YangParserImpl;
+
+public class FilesystemSchemaContextCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<File> yangFiles;
+    private File cacheDir;
+
+    @Before
+    public void init() throws Exception {
+        yangFiles = Arrays.asList(new File(getClass().getResource("/model").toURI()).listFiles());
+        cacheDir = folder.newFolder("cache");
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        final FilesystemSchemaContextCache cache = new FilesystemSchemaContextCache(cacheDir);
+        final SchemaContext parsed = cache.getSchemaContext(yangFiles);
+        final File cached = cacheFile();
+        assertTrue(cached.isFile());
+
+        final SchemaContext loaded = cache.getSchemaContext(yangFiles);
+        assertNotSame(parsed, loaded);
+        assertSameModules(parsed, loaded);
+
+        final ContainerSchemaNode network = (ContainerSchemaNode) loaded.findModuleByName("baz", null)
+                .getDataChildByName("network");
+        assertNotNull(network);
+        assertEquals(parsed.findModuleByName("baz", null).getDataChildByName("network").getPath(), network.getPath());
+    }
+
+    @Test
+    public void testKeyIgnoresOrder() throws Exception {
+        final List<File> reversed = new ArrayList<>(yangFiles);
+        Collections.reverse(reversed);
+        assertEquals(FilesystemSchemaContextCache.computeKey(yangFiles),
+                FilesystemSchemaContextCache.computeKey(reversed));
+        assertFalse(FilesystemSchemaContextCache.computeKey(yangFiles).equals(
+                FilesystemSchemaContextCache.computeKey(yangFiles.subList(1, yangFiles.size()))));
+    }
+
+    @Test
+    public void testCorruptedCacheFile() throws Exception {
+        final FilesystemSchemaContextCache cache = new FilesystemSchemaContextCache(cacheDir);
+        final SchemaContext parsed = cache.getSchemaContext(yangFiles);
+        final File cached = cacheFile();
+
+        try (RandomAccessFile raf = new RandomAccessFile(cached, "rw")) {
+            raf.seek(raf.length() - 1);
+            final int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xff);
+        }
+
+        final String key = FilesystemSchemaContextCache.computeKey(yangFiles);
+        assertFalse(cache.load(key).isPresent());
+        assertFalse(cached.exists());
+
+        final SchemaContext reparsed = cache.getSchemaContext(yangFiles);
+        assertSameModules(parsed, reparsed);
+        assertTrue(cache.load(key).isPresent());
+    }
+
+    @Test
+    public void testKeyIgnoresLocation() throws Exception {
+        final File copyDir = folder.newFolder("copy");
+        final List<File> copies = new ArrayList<>(yangFiles.size());
+        for (File file : yangFiles) {
+            final File copy = new File(copyDir, file.getName());
+            Files.copy(file.toPath(), copy.toPath());
+            copies.add(copy);
+        }
+        assertEquals(FilesystemSchemaContextCache.computeKey(yangFiles),
+                FilesystemSchemaContextCache.computeKey(copies));
+    }
+
+    @Test
+    public void testIdentities() throws Exception {
+        final List<File> files = new ArrayList<>();
+        files.add(new File(getClass().getResource("/types/custom-types-test@2012-4-4.yang").toURI()));
+        files.add(new File(getClass().getResource("/ietf/iana-timezones@2012-07-09.yang").toURI()));
+        files.add(new File(getClass().getResource("/ietf/ietf-inet-types@2010-09-24.yang").toURI()));
+        files.add(new File(getClass().getResource("/ietf/ietf-yang-types@2010-09-24.yang").toURI()));
+
+        final FilesystemSchemaContextCache cache = new FilesystemSchemaContextCache(cacheDir);
+        cache.getSchemaContext(files);
+        final SchemaContext loaded = cache.getSchemaContext(files);
+
+        final Module types = loaded.findModuleByName("custom-types-test", null);
+        final IdentitySchemaNode cryptoBase = findIdentity(types, "crypto-base");
+        final IdentitySchemaNode cryptoAlg = findIdentity(types, "crypto-alg");
+        assertEquals(cryptoBase, cryptoAlg.getBaseIdentity());
+        assertTrue(cryptoBase.getDerivedIdentities().contains(cryptoAlg));
+
+        // Parsing against a loaded context links new identities to loaded ones
+        final Module test3;
+        try (InputStream stream = getClass().getResourceAsStream("/context-test/test3.yang")) {
+            test3 = TestUtils.loadModuleWithContext("test3", stream, loaded);
+        }
+        final IdentitySchemaNode pt = findIdentity(test3, "pt");
+        final IdentitySchemaNode serviceType = findIdentity(types, "service-type");
+        assertEquals(serviceType, pt.getBaseIdentity());
+        assertTrue(serviceType.getDerivedIdentities().contains(pt));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final FilesystemSchemaContextCache cache = new FilesystemSchemaContextCache(cacheDir, new YangParserImpl(),
+                2);
+        final File bar = new File(getClass().getResource("/model/bar.yang").toURI());
+        final File baz = new File(getClass().getResource("/model/baz.yang").toURI());
+        final List<File> first = Collections.singletonList(bar);
+        final List<File> second = Arrays.asList(bar, baz);
+        final List<File> third = yangFiles;
+        final String firstKey = FilesystemSchemaContextCache.computeKey(first);
+        final String secondKey = FilesystemSchemaContextCache.computeKey(second);
+
+        cache.getSchemaContext(first);
+        cache.getSchemaContext(second);
+        assertEquals(2, cacheDir.listFiles().length);
+
+        // Make the first context the most recently used one
+        new File(cacheDir, secondKey + ".ctx").setLastModified(System.currentTimeMillis() - 60000);
+        assertTrue(cache.load(firstKey).isPresent());
+
+        cache.getSchemaContext(third);
+        assertEquals(2, cacheDir.listFiles().length);
+        assertTrue(cache.load(firstKey).isPresent());
+        assertFalse(cache.load(secondKey).isPresent());
+        assertTrue(cache.load(FilesystemSchemaContextCache.computeKey(third)).isPresent());
+    }
+
+    private static IdentitySchemaNode findIdentity(final Module module, final String name) {
+        for (IdentitySchemaNode identity : module.getIdentities()) {
+            if (name.equals(identity.getQName().getLocalName())) {
+                return identity;
+            }
+        }
+        throw new AssertionError("Identity " + name + " not found in " + module.getName());
+    }
+
+    private File cacheFile() {
+        final File[] files = cacheDir.listFiles();
+        assertEquals(1, files.length);
+        return files[0];
+    }
+
+    private static void assertSameModules(final SchemaContext expected, final SchemaContext actual) {
+        assertEquals(expected.getModules().size(), actual.getModules().size());
+        for (Module module : expected.getModules()) {
+            final Module other = actual.findModuleByName(module.getName(), module.getRevision());
+            assertNotNull(other);
+            assertEquals(module.getNamespace(), other.getNamespace());
+            assertEquals(module.getChildNodes().size(), other.getChildNodes().size());
+            for (DataSchemaNode child : module.getChildNodes()) {
+                assertNotNull(other.getDataChildByName(child.getQName()));
+            }
+        }
+    }
+}
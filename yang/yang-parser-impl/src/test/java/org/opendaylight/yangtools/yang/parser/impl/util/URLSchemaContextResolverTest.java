@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.concepts.ObjectRegistration;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
+
+import com.google.common.collect.ImmutableSet;
+
+public class URLSchemaContextResolverTest {
+    /**
+     * Executor which runs scheduled tasks only when asked to.
+     */
+    private static final class ManualExecutor extends ScheduledThreadPoolExecutor {
+        private final List<Runnable> scheduled = new ArrayList<>();
+
+        ManualExecutor() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+            scheduled.add(command);
+            return null;
+        }
+
+        int runScheduled() {
+            final List<Runnable> tasks = new ArrayList<>(scheduled);
+            scheduled.clear();
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return tasks.size();
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<SchemaContext> updates = new ArrayList<>();
+    private final ManualExecutor executor = new ManualExecutor();
+    private URLSchemaContextResolver resolver;
+
+    @Before
+    public void setUp() {
+        resolver = new URLSchemaContextResolver(executor, 200, TimeUnit.MILLISECONDS);
+        resolver.registerSchemaContextListener(new SchemaContextListener() {
+            @Override
+            public void onGlobalContextUpdated(final SchemaContext context) {
+                updates.add(context);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        resolver.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRegistrationsAreBatched() {
+        resolver.registerSource(getClass().getResource("/model/bar.yang"));
+        resolver.registerSource(getClass().getResource("/model/baz.yang"));
+        resolver.registerSource(getClass().getResource("/model/foo.yang"));
+        assertTrue(updates.isEmpty());
+
+        assertEquals(1, executor.runScheduled());
+        assertEquals(1, updates.size());
+        SchemaContext context = updates.get(0);
+        assertEquals(3, context.getModules().size());
+        assertSame(context, resolver.getSchemaContext().get());
+        assertEquals(0, executor.runScheduled());
+    }
+
+    @Test
+    public void testAddedSourceReusesModules() {
+        resolver.registerSource(getClass().getResource("/ietf/ietf-inet-types@2010-09-24.yang"));
+        SchemaContext first = update();
+        Module inetTypes = first.getModules().iterator().next();
+
+        resolver.registerSource(getClass().getResource("/ietf/ietf-yang-types@2010-09-24.yang"));
+        SchemaContext second = update();
+        assertEquals(2, second.getModules().size());
+        assertTrue(second.getModules().contains(inetTypes));
+        assertSame(inetTypes, second.findModuleByName(inetTypes.getName(), inetTypes.getRevision()));
+    }
+
+    @Test
+    public void testDerivedIdentityRebuildsContext() {
+        resolver.registerSource(getClass().getResource("/ietf/iana-timezones@2012-07-09.yang"));
+        resolver.registerSource(getClass().getResource("/ietf/ietf-inet-types@2010-09-24.yang"));
+        resolver.registerSource(getClass().getResource("/ietf/ietf-yang-types@2010-09-24.yang"));
+        resolver.registerSource(getClass().getResource("/types/custom-types-test@2012-4-4.yang"));
+        SchemaContext first = update();
+        Module customTypes = first.findModuleByName("custom-types-test", null);
+        IdentitySchemaNode serviceType = findIdentity(customTypes, "service-type");
+        int derivedCount = serviceType.getDerivedIdentities().size();
+
+        // test3 derives an identity from service-type
+        resolver.registerSource(getClass().getResource("/context-test/test3.yang"));
+        SchemaContext second = update();
+        assertEquals(first.getModules().size() + 1, second.getModules().size());
+        assertEquals(derivedCount, serviceType.getDerivedIdentities().size());
+        assertNotSame(customTypes, second.findModuleByName("custom-types-test", null));
+        assertEquals(derivedCount + 1, findIdentity(second.findModuleByName("custom-types-test", null),
+                "service-type").getDerivedIdentities().size());
+    }
+
+    @Test
+    public void testRemovalRebuildsContext() throws Exception {
+        ObjectRegistration<?> registration = resolver.registerSource(getClass().getResource(
+                "/ietf/ietf-inet-types@2010-09-24.yang"));
+        resolver.registerSource(getClass().getResource("/ietf/ietf-yang-types@2010-09-24.yang"));
+        assertEquals(2, update().getModules().size());
+
+        registration.close();
+        SchemaContext context = update();
+        assertEquals(1, context.getModules().size());
+        assertEquals("ietf-yang-types", context.getModules().iterator().next().getName());
+    }
+
+    @Test
+    public void testClosedResolverDoesNotSchedule() {
+        resolver.close();
+        resolver.registerSource(getClass().getResource("/model/bar.yang"));
+        assertEquals(0, executor.runScheduled());
+        assertTrue(updates.isEmpty());
+    }
+
+    @Test
+    public void testInvalidBodyIsReportedByUpdate() throws IOException {
+        // Only the header is read on registration, the body is parsed by the update
+        final File source = folder.newFile("broken.yang");
+        Files.write(source.toPath(), ("module broken { namespace \"urn:broken\"; prefix b; revision 2014-01-01;\n"
+                + "container c { leaf { type string; } } }").getBytes(StandardCharsets.UTF_8));
+
+        resolver.registerSource(source.toURI().toURL());
+        assertEquals(1, executor.runScheduled());
+        assertTrue(updates.isEmpty());
+        assertFalse(resolver.getSchemaContext().isPresent());
+    }
+
+    @Test
+    public void testScanBodyStatements() {
+        assertEquals(ImmutableSet.of("identity", "leaf"), YangModelDependencyInfo.scanBodyStatements(
+                new ByteArrayInputStream(("module m { namespace \"urn:m\"; prefix m; // augment \"/a:b\"\n"
+                        + "identity i { description \"augment or deviation\"; } leaf augment { type string; } }")
+                        .getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private SchemaContext update() {
+        assertEquals(1, executor.runScheduled());
+        assertEquals(1, updates.size());
+        return updates.remove(0);
+    }
+
+    private static IdentitySchemaNode findIdentity(final Module module, final String name) {
+        for (IdentitySchemaNode identity : module.getIdentities()) {
+            if (name.equals(identity.getQName().getLocalName())) {
+                return identity;
+            }
+        }
+        throw new AssertionError("Identity " + name + " not found in " + module.getName());
+    }
+}
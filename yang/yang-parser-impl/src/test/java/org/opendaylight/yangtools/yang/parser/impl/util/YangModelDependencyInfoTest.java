@@ -9,11 +9,22 @@ package org.opendaylight.yangtools.yang.parser.impl.util;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
 
 public class YangModelDependencyInfoTest {
+    private static final String[] RESOURCES = { "/ietf/ietf-inet-types@2010-09-24.yang",
+            "/ietf/ietf-yang-types@2010-09-24.yang", "/parse-methods/dependencies/m2@2013-30-09.yang",
+            "/submodule-test/subfoo.yang", "/model/foo.yang", "/model/bar.yang", "/model/baz.yang" };
 
     @Test
     public void testModuleWithNoImports() {
@@ -37,4 +48,63 @@ public class YangModelDependencyInfoTest {
         assertEquals(2, info.getDependencies().size());
     }
 
+    @Test
+    public void testHeaderOfSubmodule() {
+        InputStream stream = getClass().getResourceAsStream("/submodule-test/subfoo.yang");
+        YangModelDependencyInfo info = YangModelDependencyInfo.fromHeader(stream);
+        assertTrue(info instanceof YangModelDependencyInfo.SubmoduleDependencyInfo);
+        assertEquals("subfoo", info.getName());
+        assertEquals("foo", ((YangModelDependencyInfo.SubmoduleDependencyInfo) info).getParentModule());
+        assertEquals(2, info.getDependencies().size());
+    }
+
+    @Test
+    public void testHeaderWithCommentsAndConcatenation() {
+        String source = "// leading comment\n" //
+                + "module \"test\" {\n" //
+                + "  yang-version 1;\n" //
+                + "  namespace \"urn:\" + 'test'; /* block\n comment */\n" //
+                + "  prefix t;\n" //
+                + "  import imported { prefix i; revision-date 2013-07-03; }\n" //
+                + "  ext:annotation \"{ not a block\";\n" //
+                + "  description \"revision 2000-01-01; }\";\n" //
+                + "  revision 2013-02-27 { description \"older\"; }\n" //
+                + "  revision 2014-01-10;\n" //
+                + "  container c { \n";
+        YangModelDependencyInfo info = YangModelDependencyInfo.fromHeader(new ByteArrayInputStream(source
+                .getBytes(Charsets.UTF_8)));
+        assertEquals("test", info.getName());
+        assertEquals("2014-01-10", info.getFormattedRevision());
+        assertEquals(1, info.getDependencies().size());
+        ModuleImport imported = info.getDependencies().iterator().next();
+        assertEquals("imported", imported.getModuleName());
+        assertNotNull(imported.getRevision());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHeaderOfInvalidSource() {
+        YangModelDependencyInfo.fromHeader(new ByteArrayInputStream("container c {}".getBytes(Charsets.UTF_8)));
+    }
+
+    @Test
+    public void testHeaderMatchesFullParse() throws IOException {
+        for (byte[] source : loadResources()) {
+            YangModelDependencyInfo parsed = YangModelDependencyInfo.fromInputStream(new ByteArrayInputStream(source));
+            YangModelDependencyInfo scanned = YangModelDependencyInfo.fromHeader(new ByteArrayInputStream(source));
+            assertEquals(parsed, scanned);
+            assertEquals(parsed.getClass(), scanned.getClass());
+            assertEquals(parsed.getDependencies(), scanned.getDependencies());
+        }
+    }
+
+    private List<byte[]> loadResources() throws IOException {
+        final List<byte[]> ret = new ArrayList<>(RESOURCES.length);
+        for (String resource : RESOURCES) {
+            try (InputStream stream = getClass().getResourceAsStream(resource)) {
+                assertNotNull(resource, stream);
+                ret.add(ByteStreams.toByteArray(stream));
+            }
+        }
+        return ret;
+    }
 }
@@ -55,7 +55,7 @@ public class BitImplTest {
         List<QName> qnamesA = new ArrayList<>();
         qnamesA.add(qnameA1);
         qnamesA.add(qnameA2);
-        SchemaPath schemaPathA = new SchemaPath(qnamesA, true);
+        SchemaPath schemaPathA = SchemaPath.create(qnamesA, true);
 
         QName qnameB = new QName(uriB, new Date(5000000), "some name");
 
@@ -64,7 +64,7 @@ public class BitImplTest {
         List<QName> qnamesB = new ArrayList<>();
         qnamesB.add(qnameB1);
         qnamesB.add(qnameB2);
-        SchemaPath schemaPathB = new SchemaPath(qnamesB, true);
+        SchemaPath schemaPathB = SchemaPath.create(qnamesB, true);
 
         BitImpl biB = null;
         BitImpl biA = new BitImpl(55L, qnameA, schemaPathA, "description", "reference", Status.CURRENT, null);
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.util;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+public class DataSchemaNodeIndexTest {
+    private static final URI NS_A = URI.create("urn:a");
+    private static final URI NS_B = URI.create("urn:b");
+
+    @Test
+    public void testLookup() {
+        final DataSchemaNode a = mockNode(new QName(NS_A, "child"));
+        final DataSchemaNode b = mockNode(new QName(NS_B, "child"));
+        final DataSchemaNode other = mockNode(new QName(NS_A, "other"));
+
+        final Set<DataSchemaNode> nodes = new TreeSet<>(Comparators.SCHEMA_NODE_COMP);
+        nodes.add(b);
+        nodes.add(other);
+        nodes.add(a);
+
+        final DataSchemaNodeIndex index = DataSchemaNodeIndex.create(nodes);
+        assertSame(a, index.get(new QName(NS_A, "child")));
+        assertSame(b, index.get(new QName(NS_B, "child")));
+        assertSame(other, index.get("other"));
+        // first node in iteration order wins
+        assertSame(nodes.iterator().next(), index.get("child"));
+
+        assertNull(index.get(new QName(NS_B, "other")));
+        assertNull(index.get("unknown"));
+        assertNull(index.get((QName) null));
+        assertNull(index.get((String) null));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertSame(DataSchemaNodeIndex.empty(), DataSchemaNodeIndex.create(new TreeSet<DataSchemaNode>()));
+        assertNull(DataSchemaNodeIndex.empty().get("child"));
+    }
+
+    private static DataSchemaNode mockNode(final QName qname) {
+        final DataSchemaNode node = mock(DataSchemaNode.class);
+        doReturn(qname).when(node).getQName();
+        return node;
+    }
+}
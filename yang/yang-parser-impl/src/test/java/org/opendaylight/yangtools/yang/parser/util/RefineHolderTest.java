@@ -188,7 +188,7 @@ public class RefineHolderTest {
         List<QName> qnamesB = new ArrayList<>();
         qnamesA.add(qnameA);
         qnamesB.add(qnameB);
-        SchemaPath schemaPathB = new SchemaPath(qnamesB, true);
+        SchemaPath schemaPathB = SchemaPath.create(qnamesB, true);
 
         UnknownSchemaNodeBuilder usnb = new UnknownSchemaNodeBuilder("usnb", 151, new QName(simpleUri, "tst"), schemaPathB);
         UnknownSchemaNodeBuilder usnb1 = new UnknownSchemaNodeBuilder("usnb", 151, new QName(simpleUri, "tst"), schemaPathB);